@@ -108,6 +108,13 @@ public interface Deployment {
      */
     void setResources(Map<String, String> requests, Map<String, String> limits);
 
+    /**
+     * This method sets environment variables of the cloud deployment, existing variables with the same name are replaced.
+     *
+     * @param environmentVariables map with variable names and values
+     */
+    void setEnvironmentVariables(Map<String, String> environmentVariables);
+
     /**
      * This method waits until Deployment is deployed using the specified versionTag (for example, 7.7.0).
      *
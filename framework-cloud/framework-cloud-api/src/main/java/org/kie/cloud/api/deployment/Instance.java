@@ -15,6 +15,7 @@
 
 package org.kie.cloud.api.deployment;
 
+import java.io.File;
 import java.time.Instant;
 
 /**
@@ -43,6 +44,23 @@ public interface Instance {
 
     CommandExecutionResult runCommand(String... command);
 
+    /**
+     * Copy file from the instance to local file system.
+     *
+     * @param sourcePath Absolute path of the file in the instance.
+     * @param destination Local file, overwritten if it exists.
+     */
+    void copyFile(String sourcePath, File destination);
+
+    /**
+     * Forward a port of the instance to a free local port, so the instance can be accessed directly instead of through a route
+     * balancing requests among all instances.
+     *
+     * @param port Port of the instance.
+     * @return Forwarded port, has to be closed once it isn't needed anymore.
+     */
+    PortForward forwardPort(int port);
+
     /**
      * Return true if instance is currently running.
      *
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.kie.cloud.api.deployment;
+
+import java.util.Optional;
+
+/**
+ * JVM configuration of a deployment, only configured options are changed.
+ */
+public class JvmOptions {
+
+    /**
+     * Garbage collector selected by its JVM options. Availability depends on JDK version of the image.
+     */
+    public enum GarbageCollector {
+        SERIAL("-XX:+UseSerialGC"),
+        PARALLEL("-XX:+UseParallelGC"),
+        G1("-XX:+UseG1GC"),
+        SHENANDOAH("-XX:+UseShenandoahGC"),
+        ZGC("-XX:+UnlockExperimentalVMOptions -XX:+UseZGC");
+
+        private final String options;
+
+        GarbageCollector(String options) {
+            this.options = options;
+        }
+
+        public String getOptions() {
+            return options;
+        }
+    }
+
+    /**
+     * Unified logging (JDK 9+) of garbage collections to standard output, so GC log is part of the instance log.
+     */
+    public static final String GC_LOGGING_OPTIONS = "-Xlog:gc:stdout:uptime,level,tags";
+
+    private GarbageCollector garbageCollector;
+    private Integer initialMemoryRatio;
+    private Integer maxMemoryRatio;
+    private Integer maxMetaspaceSize;
+    private String javaOptsAppend;
+    private boolean gcLogging;
+
+    public Optional<GarbageCollector> getGarbageCollector() {
+        return Optional.ofNullable(garbageCollector);
+    }
+
+    public JvmOptions withGarbageCollector(GarbageCollector garbageCollector) {
+        this.garbageCollector = garbageCollector;
+        return this;
+    }
+
+    public Optional<Integer> getInitialMemoryRatio() {
+        return Optional.ofNullable(initialMemoryRatio);
+    }
+
+    /**
+     * @param initialMemoryRatio Initial heap size in percents of the maximal heap size.
+     */
+    public JvmOptions withInitialMemoryRatio(int initialMemoryRatio) {
+        this.initialMemoryRatio = initialMemoryRatio;
+        return this;
+    }
+
+    public Optional<Integer> getMaxMemoryRatio() {
+        return Optional.ofNullable(maxMemoryRatio);
+    }
+
+    /**
+     * @param maxMemoryRatio Maximal heap size in percents of the container memory limit.
+     */
+    public JvmOptions withMaxMemoryRatio(int maxMemoryRatio) {
+        this.maxMemoryRatio = maxMemoryRatio;
+        return this;
+    }
+
+    public Optional<Integer> getMaxMetaspaceSize() {
+        return Optional.ofNullable(maxMetaspaceSize);
+    }
+
+    /**
+     * @param maxMetaspaceSize Maximal metaspace size in megabytes.
+     */
+    public JvmOptions withMaxMetaspaceSize(int maxMetaspaceSize) {
+        this.maxMetaspaceSize = maxMetaspaceSize;
+        return this;
+    }
+
+    public Optional<String> getJavaOptsAppend() {
+        return Optional.ofNullable(javaOptsAppend);
+    }
+
+    /**
+     * @param javaOptsAppend JVM options appended to options computed by the image, for example <code>-XX:MaxGCPauseMillis=100</code>.
+     * Options are added to the original <code>JAVA_OPTS_APPEND</code> of the deployment unless it already contains them, options of
+     * a previous <code>setJvmOptions</code> call are replaced.
+     */
+    public JvmOptions withJavaOptsAppend(String javaOptsAppend) {
+        this.javaOptsAppend = javaOptsAppend;
+        return this;
+    }
+
+    public boolean isGcLogging() {
+        return gcLogging;
+    }
+
+    /**
+     * @param gcLogging Log every garbage collection to standard output, see {@link #GC_LOGGING_OPTIONS}. Options are added to the original
+     * <code>JAVA_OPTS_APPEND</code> of the deployment before <code>javaOptsAppend</code>, unless it already contains them. Without
+     * GC logging, options added by a previous <code>setJvmOptions</code> call are removed.
+     */
+    public JvmOptions withGcLogging(boolean gcLogging) {
+        this.gcLogging = gcLogging;
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return "JvmOptions [garbageCollector=" + garbageCollector + ", initialMemoryRatio=" + initialMemoryRatio + ", maxMemoryRatio=" + maxMemoryRatio +
+               ", maxMetaspaceSize=" + maxMetaspaceSize + ", javaOptsAppend=" + javaOptsAppend + ", gcLogging=" + gcLogging + "]";
+    }
+}
@@ -64,4 +64,12 @@ public interface KieServerDeployment extends Deployment {
      * Wait until Kie server pods are restarted. This happens after any change made into Kie server config map when OpenShiftStartupStrategy is used.
      */
     void waitForContainerRespin();
+
+    /**
+     * Change JVM configuration of Kie server. Pods are rolled out with the new configuration, the method waits until the rollout
+     * is finished. Nothing is rolled out if the configuration is already applied.
+     *
+     * @param jvmOptions JVM configuration, only configured options are changed.
+     */
+    void setJvmOptions(JvmOptions jvmOptions);
 }
@@ -0,0 +1,34 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.kie.cloud.api.deployment;
+
+/**
+ * Port of an instance forwarded to a local port, see {@link Instance#forwardPort(int)}.
+ */
+public interface PortForward extends AutoCloseable {
+
+    /**
+     * @return Local port connected to the forwarded port of the instance.
+     */
+    int getLocalPort();
+
+    /**
+     * Stop forwarding.
+     */
+    @Override
+    void close();
+}
@@ -67,4 +67,12 @@ public interface WorkbenchDeployment extends Deployment {
      * @return Workbench user password
      */
     String getPassword();
+
+    /**
+     * Change JVM configuration of Kie Workbench. Pods are rolled out with the new configuration, the method waits until the rollout
+     * is finished. Nothing is rolled out if the configuration is already applied.
+     *
+     * @param jvmOptions JVM configuration, only configured options are changed.
+     */
+    void setJvmOptions(JvmOptions jvmOptions);
 }
@@ -15,6 +15,11 @@
 
 package org.kie.cloud.api.git;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
 public interface GitProvider {
 
     String createGitRepository(String repositoryName, String repositoryPath);
@@ -22,4 +27,23 @@ public interface GitProvider {
     void deleteGitRepository(String repositoryName);
 
     String getRepositoryUrl(String repositoryName);
+
+    /**
+     * Create several repositories, implementations may create them in parallel.
+     *
+     * @param repositories Repository paths mapped by repository name.
+     * @return Names of created repositories in the order of the map.
+     */
+    default List<String> createGitRepositories(Map<String, String> repositories) {
+        List<String> repositoryNames = new ArrayList<>();
+        repositories.forEach((repositoryName, repositoryPath) -> repositoryNames.add(createGitRepository(repositoryName, repositoryPath)));
+        return repositoryNames;
+    }
+
+    /**
+     * Delete several repositories, implementations may delete them in parallel.
+     */
+    default void deleteGitRepositories(Collection<String> repositoryNames) {
+        repositoryNames.forEach(this::deleteGitRepository);
+    }
 }
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.cloud.api.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * SHA-256 hash of directory content and additional values, used as a key of caches of content created from a directory.
+ * Equal content gives equal hash regardless of the directory location and file timestamps.
+ */
+public class ContentHash {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final MessageDigest digest;
+
+    private ContentHash(MessageDigest digest) {
+        this.digest = digest;
+    }
+
+    public static ContentHash create() {
+        try {
+            return new ContentHash(MessageDigest.getInstance("SHA-256"));
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("SHA-256 is not supported", e);
+        }
+    }
+
+    /**
+     * Add relative paths, sizes, executable flags and content of all files of the directory.
+     *
+     * @param directory Hashed directory.
+     * @param excludedDirectories Names of top level subdirectories which are not hashed, for example build output.
+     */
+    public ContentHash addDirectory(Path directory, String... excludedDirectories) throws IOException {
+        List<String> excluded = Arrays.asList(excludedDirectories);
+        List<Path> files;
+        try (Stream<Path> paths = Files.walk(directory)) {
+            files = paths.filter(Files::isRegularFile)
+                         .filter(file -> !excluded.contains(directory.relativize(file).getName(0).toString()))
+                         .sorted()
+                         .collect(Collectors.toList());
+        }
+        for (Path file : files) {
+            String entry = directory.relativize(file).toString().replace(File.separatorChar, '/') + '\0' + Files.size(file) + '\0' + Files.isExecutable(file);
+            addValue("file", entry);
+            addContent(file);
+        }
+        return this;
+    }
+
+    /**
+     * Add content of a single file under the given name.
+     */
+    public ContentHash addFile(String name, Path file) throws IOException {
+        addValue("file", name + '\0' + Files.size(file));
+        addContent(file);
+        return this;
+    }
+
+    public ContentHash addValue(String name, String value) {
+        digest.update((name + '\0' + value + '\0').getBytes(StandardCharsets.UTF_8));
+        return this;
+    }
+
+    /**
+     * @return Hex encoded hash of everything added so far. Resets the hash, so it is called once all content is added.
+     */
+    public String getHash() {
+        StringBuilder hash = new StringBuilder();
+        for (byte b : digest.digest()) {
+            hash.append(String.format("%02x", b));
+        }
+        return hash.toString();
+    }
+
+    private void addContent(Path file) throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        try (InputStream input = Files.newInputStream(file)) {
+            for (int read; (read = input.read(buffer)) > 0;) {
+                digest.update(buffer, 0, read);
+            }
+        }
+    }
+}
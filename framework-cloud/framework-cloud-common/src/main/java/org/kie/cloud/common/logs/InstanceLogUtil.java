@@ -53,9 +53,16 @@ public class InstanceLogUtil {
         }
     }
 
-    private static File getOutputFile(String instanceName, String customLogFolderName) {
+    /**
+     * @return File stored beside instance logs, for example a profiling recording of the instance.
+     */
+    public static File getOutputFile(String name, String customLogFolderName, String suffix) {
         File outputDirectory = new File(System.getProperty(INSTANCES_LOGS_OUTPUT_DIRECTORY, DEFAULT_LOG_OUTPUT_DIRECTORY), customLogFolderName);
         outputDirectory.mkdirs();
-        return new File(outputDirectory, instanceName + LOG_SUFFIX);
+        return new File(outputDirectory, name + suffix);
+    }
+
+    private static File getOutputFile(String instanceName, String customLogFolderName) {
+        return getOutputFile(instanceName, customLogFolderName, LOG_SUFFIX);
     }
 }
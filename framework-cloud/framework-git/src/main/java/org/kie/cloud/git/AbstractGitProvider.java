@@ -16,16 +16,27 @@
 package org.kie.cloud.git;
 
 import java.io.File;
-import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
 
-import org.apache.commons.io.FileUtils;
 import org.eclipse.jgit.api.Git;
-import org.eclipse.jgit.api.RemoteAddCommand;
-import org.eclipse.jgit.api.RemoteRemoveCommand;
 import org.eclipse.jgit.transport.CredentialsProvider;
-import org.eclipse.jgit.transport.URIish;
+import org.eclipse.jgit.transport.PushResult;
+import org.eclipse.jgit.transport.RefSpec;
+import org.eclipse.jgit.transport.RemoteRefUpdate;
 import org.eclipse.jgit.transport.UsernamePasswordCredentialsProvider;
 import org.kie.cloud.api.git.GitProvider;
+import org.kie.cloud.git.constants.GitConstants;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -33,31 +44,109 @@ public abstract class AbstractGitProvider implements GitProvider {
 
     private static final Logger logger = LoggerFactory.getLogger(AbstractGitProvider.class);
 
+    private static final String TARGET_BRANCH_REF = "refs/heads/master";
+
+    private final ConcurrentMap<String, Object> repositoryLocks = new ConcurrentHashMap<>();
+
+    /**
+     * Create repositories in parallel, number of concurrent creations is limited by {@link GitConstants#GIT_PROVIDER_PARALLELISM}.
+     */
+    @Override
+    public List<String> createGitRepositories(Map<String, String> repositories) {
+        return runInParallel(repositories.entrySet(), repository -> createGitRepository(repository.getKey(), repository.getValue()), "creating");
+    }
+
+    /**
+     * Delete repositories in parallel, number of concurrent deletions is limited by {@link GitConstants#GIT_PROVIDER_PARALLELISM}.
+     */
+    @Override
+    public void deleteGitRepositories(Collection<String> repositoryNames) {
+        runInParallel(repositoryNames, repositoryName -> {
+            deleteGitRepository(repositoryName);
+            return repositoryName;
+        }, "deleting");
+    }
+
+    /**
+     * @return Lock guarding operations on the repository, so operations on different repositories can run concurrently.
+     */
+    protected Object getRepositoryLock(String repositoryName) {
+        return repositoryLocks.computeIfAbsent(repositoryName, name -> new Object());
+    }
+
+    /**
+     * Push content of the directory to branch master of the repository. Content is committed only once to {@link GitSourceCache},
+     * repositories created from the same directory content get the cached commit.
+     */
     protected void pushToGitRepository(String httpUrl, String repositoryPath,
             String username, String password) {
         try {
-            File originalDirectory = new File(repositoryPath);
-            File tempDirectory = Files.createTempDirectory("openshift-git").toFile();
-            FileUtils.copyDirectory(originalDirectory, tempDirectory);
-
-            Git git = Git.init().setDirectory(tempDirectory).call();
-
-            RemoteAddCommand remoteAdd = git.remoteAdd();
-            remoteAdd.setName("origin");
-            remoteAdd.setUri(new URIish(httpUrl));
-            remoteAdd.call();
-            git.add().addFilepattern(".").call();
-            git.commit().setMessage("Initial commit").call();
+            GitSourceCache sourceCache = GitSourceCache.getInstance();
+            String sourceRef = sourceCache.getSourceRef(new File(repositoryPath));
 
             CredentialsProvider credentialsProvider = new UsernamePasswordCredentialsProvider(username, password);
-            git.push().setCredentialsProvider(credentialsProvider).setRemote("origin").setPushAll().call();
-
-            RemoteRemoveCommand remoteRemove = git.remoteRemove();
-            remoteRemove.setName("origin");
-            remoteRemove.call();
+            // Git created for an existing repository doesn't close it, the cache repository stays open
+            Git git = new Git(sourceCache.getRepository());
+            Iterable<PushResult> results = git.push()
+                                              .setCredentialsProvider(credentialsProvider)
+                                              .setRemote(httpUrl)
+                                              .setRefSpecs(new RefSpec(sourceRef + ":" + TARGET_BRANCH_REF))
+                                              .call();
+            for (PushResult result : results) {
+                for (RemoteRefUpdate update : result.getRemoteUpdates()) {
+                    if (update.getStatus() != RemoteRefUpdate.Status.OK && update.getStatus() != RemoteRefUpdate.Status.UP_TO_DATE) {
+                        throw new RuntimeException("Push of " + update.getRemoteName() + " was rejected with status " + update.getStatus() + ": " + update.getMessage());
+                    }
+                }
+            }
         } catch (Exception e) {
             logger.error("Error pushing to remote repository {}", httpUrl);
             throw new RuntimeException("Error pushing to remote repository" + httpUrl, e);
         }
     }
+
+    /**
+     * Run the task for all items, all tasks are finished before the first failure is thrown.
+     */
+    private static <T> List<String> runInParallel(Collection<T> items, Function<T, String> task, String action) {
+        if (items.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        int parallelism = Math.max(1, Math.min(GitConstants.getGitProviderParallelism(), items.size()));
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "git-provider");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<String>> futures = new ArrayList<>();
+            for (T item : items) {
+                futures.add(executor.submit(() -> task.apply(item)));
+            }
+
+            List<String> results = new ArrayList<>();
+            RuntimeException failure = null;
+            for (Future<String> future : futures) {
+                try {
+                    results.add(future.get());
+                } catch (ExecutionException e) {
+                    if (failure == null) {
+                        failure = new RuntimeException("Error while " + action + " Git repositories", e.getCause());
+                    } else {
+                        failure.addSuppressed(e.getCause());
+                    }
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while " + action + " Git repositories", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
 }
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.cloud.git;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.commons.io.FileUtils;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.storage.file.FileRepositoryBuilder;
+import org.eclipse.jgit.transport.RefSpec;
+import org.kie.cloud.api.util.ContentHash;
+import org.kie.cloud.git.constants.GitConstants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Local bare repository caching the initial commit of every pushed source directory under ref <code>refs/sources/[content hash]</code>.
+ * A source directory is committed only once, later pushes of the same content just send the cached objects. The cache is kept
+ * in directory {@link GitConstants#GIT_CACHE_DIR} if defined, so it survives between runs, otherwise in a temporary directory.
+ */
+public class GitSourceCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(GitSourceCache.class);
+
+    private static final String SOURCE_REF_PREFIX = "refs/sources/";
+    private static final String GIT_DIRECTORY = ".git";
+
+    private static GitSourceCache instance;
+
+    private final Repository repository;
+    private final ConcurrentMap<String, Object> sourceLocks = new ConcurrentHashMap<>();
+
+    GitSourceCache(File cacheDirectory) {
+        try {
+            if (!new File(cacheDirectory, "objects").isDirectory()) {
+                Git.init().setBare(true).setDirectory(cacheDirectory).call().close();
+            }
+            repository = new FileRepositoryBuilder().setGitDir(cacheDirectory).setMustExist(true).build();
+        } catch (IOException | GitAPIException e) {
+            throw new RuntimeException("Unable to open Git source cache in " + cacheDirectory, e);
+        }
+    }
+
+    public static synchronized GitSourceCache getInstance() {
+        if (instance == null) {
+            String cacheDirectory = GitConstants.getGitCacheDir();
+            if (cacheDirectory != null && !cacheDirectory.isEmpty()) {
+                instance = new GitSourceCache(new File(cacheDirectory));
+            } else {
+                try {
+                    File temporaryDirectory = Files.createTempDirectory("git-source-cache").toFile();
+                    Runtime.getRuntime().addShutdownHook(new Thread(() -> FileUtils.deleteQuietly(temporaryDirectory)));
+                    instance = new GitSourceCache(temporaryDirectory);
+                } catch (IOException e) {
+                    throw new RuntimeException("Unable to create directory for Git source cache", e);
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * @param sourceDirectory Directory with the content of the repository.
+     * @return Cached ref pointing to the commit of the directory content, the commit is created if the content isn't cached yet.
+     */
+    public String getSourceRef(File sourceDirectory) {
+        try {
+            String sourceRef = SOURCE_REF_PREFIX + contentHash(sourceDirectory.toPath());
+            // Only the same content is committed exclusively, different sources can be cached concurrently
+            synchronized (sourceLocks.computeIfAbsent(sourceRef, ref -> new Object())) {
+                if (repository.exactRef(sourceRef) != null) {
+                    logger.debug("Source directory {} found in Git source cache as {}", sourceDirectory, sourceRef);
+                    return sourceRef;
+                }
+
+                File tempDirectory = Files.createTempDirectory("openshift-git").toFile();
+                try {
+                    FileUtils.copyDirectory(sourceDirectory, tempDirectory);
+                    try (Git git = Git.init().setDirectory(tempDirectory).call()) {
+                        git.add().addFilepattern(".").call();
+                        git.commit().setMessage("Initial commit").call();
+                        git.push().setRemote(repository.getDirectory().getAbsolutePath()).setRefSpecs(new RefSpec("HEAD:" + sourceRef)).call();
+                    }
+                } finally {
+                    FileUtils.deleteQuietly(tempDirectory);
+                }
+                logger.info("Source directory {} committed to Git source cache as {}", sourceDirectory, sourceRef);
+                return sourceRef;
+            }
+        } catch (IOException | GitAPIException e) {
+            throw new RuntimeException("Error while caching source directory " + sourceDirectory, e);
+        }
+    }
+
+    public Repository getRepository() {
+        return repository;
+    }
+
+    /**
+     * Hash of relative paths, executable flags and content of all files in the directory, Git metadata excluded.
+     */
+    static String contentHash(Path directory) throws IOException {
+        return ContentHash.create().addDirectory(directory, GIT_DIRECTORY).getHash();
+    }
+}
@@ -30,6 +30,14 @@ public class GitConstants implements Constants {
     public static final String GOGS_USER = "gogs.username";
     public static final String GOGS_PASSWORD = "gogs.password";
 
+    public static final String LOCAL_GIT_HOST = "git.local.host";
+    public static final String LOCAL_GIT_PORT = "git.local.port";
+
+    public static final String GIT_CACHE_DIR = "git.cache.dir";
+
+    public static final String GIT_PROVIDER_PARALLELISM = "git.provider.parallelism";
+    private static final int DEFAULT_GIT_PROVIDER_PARALLELISM = 4;
+
     private static final Logger logger = LoggerFactory.getLogger(GitConstants.class);
 
     public static String getGitProvider() {
@@ -56,6 +64,22 @@ public class GitConstants implements Constants {
         return System.getProperty(GOGS_PASSWORD);
     }
 
+    public static String getLocalGitHost() {
+        return System.getProperty(LOCAL_GIT_HOST);
+    }
+
+    public static String getLocalGitPort() {
+        return System.getProperty(LOCAL_GIT_PORT);
+    }
+
+    public static String getGitCacheDir() {
+        return System.getProperty(GIT_CACHE_DIR);
+    }
+
+    public static int getGitProviderParallelism() {
+        return Integer.getInteger(GIT_PROVIDER_PARALLELISM, DEFAULT_GIT_PROVIDER_PARALLELISM);
+    }
+
     public static String readMandatoryParameter(String systemPropertyName) {
         verifySystemPropertyIsSet(systemPropertyName);
         return System.getProperty(systemPropertyName);
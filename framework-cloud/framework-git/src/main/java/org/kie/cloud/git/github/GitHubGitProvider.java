@@ -30,26 +30,29 @@ public class GitHubGitProvider extends AbstractGitProvider {
     private static final Logger logger = LoggerFactory.getLogger(GitHubGitProvider.class);
 
     private final GitHubClient client;
+    // Service is stateless apart from the client, a single instance is shared by all threads
+    private final RepositoryService service;
 
     public GitHubGitProvider(String user, String password) {
         client = new GitHubClient();
         client.setCredentials(GitConstants.getGitHubUser(), GitConstants.getGitHubPassword());
+        service = new RepositoryService(client);
     }
 
     @Override
     public String createGitRepository(String repositoryName, String repositoryPath) {
 
         try {
-            RepositoryService service = new RepositoryService(client);
+            synchronized (getRepositoryLock(repositoryName)) {
+                Repository repository = new Repository();
+                repository.setName(repositoryName);
+                repository.setPrivate(false);
+                repository = service.createRepository(repository);
+                String httpUrl = repository.getSshUrl();
 
-            Repository repository = new Repository();
-            repository.setName(repositoryName);
-            repository.setPrivate(false);
-            repository = service.createRepository(repository);
-            String httpUrl = repository.getSshUrl();
-
-            pushToGitRepository(httpUrl, repositoryPath, GitConstants.getGitHubUser(),
-                    GitConstants.getGitHubPassword());
+                pushToGitRepository(httpUrl, repositoryPath, GitConstants.getGitHubUser(),
+                        GitConstants.getGitHubPassword());
+            }
         } catch (Exception e) {
             logger.error("Error while preparing GitHub project " + repositoryName, e);
             throw new RuntimeException("Error while preparing GitHub project " + repositoryName, e);
@@ -61,7 +64,9 @@ public class GitHubGitProvider extends AbstractGitProvider {
     @Override
     public void deleteGitRepository(String repositoryName) {
         try {
-            client.delete("/repos/" + GitConstants.getGitHubUser() + "/" + repositoryName);
+            synchronized (getRepositoryLock(repositoryName)) {
+                client.delete("/repos/" + GitConstants.getGitHubUser() + "/" + repositoryName);
+            }
         } catch (IOException e) {
             logger.error("Error while deleting GitHub project " + repositoryName, e);
             throw new RuntimeException("Error while deleting GitHub project " + repositoryName, e);
@@ -71,7 +76,6 @@ public class GitHubGitProvider extends AbstractGitProvider {
     @Override
     public String getRepositoryUrl(String repositoryName) {
         try {
-            RepositoryService service = new RepositoryService(client);
             Repository repository = service.getRepository(GitConstants.getGitHubUser(), repositoryName);
             return repository.getSvnUrl();
         } catch (IOException e) {
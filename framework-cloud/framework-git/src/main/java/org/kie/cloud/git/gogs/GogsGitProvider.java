@@ -23,9 +23,13 @@ import java.util.Base64;
 import org.apache.http.HttpHeaders;
 import org.apache.http.HttpStatus;
 import org.apache.http.StatusLine;
+import org.apache.http.client.fluent.Executor;
 import org.apache.http.client.fluent.Request;
 import org.apache.http.entity.ContentType;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.kie.cloud.git.AbstractGitProvider;
+import org.kie.cloud.git.constants.GitConstants;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -34,6 +38,7 @@ public class GogsGitProvider extends AbstractGitProvider {
     private final String url;
     private final String user;
     private final String password;
+    private final Executor httpExecutor;
 
     private static final String URL_API_SUFFIX = "/api/v1/";
     private static final String URL_CREATE_REPOSITORY_SUFFIX = "user/repos";
@@ -46,25 +51,35 @@ public class GogsGitProvider extends AbstractGitProvider {
         this.url = url;
         this.user = user;
         this.password = password;
+
+        // Connections are shared by all threads using the provider, pool is sized for parallel bulk operations
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(GitConstants.getGitProviderParallelism());
+        connectionManager.setDefaultMaxPerRoute(GitConstants.getGitProviderParallelism());
+        httpExecutor = Executor.newInstance(HttpClientBuilder.create().setConnectionManager(connectionManager).build());
     }
 
     @Override
     public String createGitRepository(String repositoryName, String repositoryPath) {
-        createRepository(repositoryName);
-        pushToGitRepository(getRepositoryUrl(repositoryName), repositoryPath,
-                user, password);
+        synchronized (getRepositoryLock(repositoryName)) {
+            createRepository(repositoryName);
+            pushToGitRepository(getRepositoryUrl(repositoryName), repositoryPath,
+                    user, password);
+        }
 
         return repositoryName;
     }
 
     @Override
-    public synchronized void deleteGitRepository(String repositoryName) {
+    public void deleteGitRepository(String repositoryName) {
         try {
-            final StatusLine statusLine = Request.Delete(deleteRepositoryUrl(repositoryName))
-                    .addHeader(HttpHeaders.AUTHORIZATION, authHeaderValue())
-                    .execute()
-                    .returnResponse()
-                    .getStatusLine();
+            final StatusLine statusLine;
+            synchronized (getRepositoryLock(repositoryName)) {
+                statusLine = httpExecutor.execute(Request.Delete(deleteRepositoryUrl(repositoryName))
+                        .addHeader(HttpHeaders.AUTHORIZATION, authHeaderValue()))
+                        .returnResponse()
+                        .getStatusLine();
+            }
 
             if (statusLine.getStatusCode() != HttpStatus.SC_NO_CONTENT) {
                 logger.error("Bad status code '{}' while deleting Gogs project, error message '{}'", statusLine.getStatusCode(), statusLine.getReasonPhrase());
@@ -90,13 +105,12 @@ public class GogsGitProvider extends AbstractGitProvider {
         }
     }
 
-    private synchronized void createRepository(String repositoryName) {
+    private void createRepository(String repositoryName) {
         logger.info("Creating Git repository {}", repositoryName);
         try {
-            final StatusLine statusLine = Request.Post(createRepositoryUrl())
+            final StatusLine statusLine = httpExecutor.execute(Request.Post(createRepositoryUrl())
                     .addHeader(HttpHeaders.AUTHORIZATION, authHeaderValue())
-                    .bodyString("{ \"name\" : \""+ repositoryName + "\" }", ContentType.APPLICATION_JSON)
-                    .execute()
+                    .bodyString("{ \"name\" : \""+ repositoryName + "\" }", ContentType.APPLICATION_JSON))
                     .returnResponse()
                     .getStatusLine();
 
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.kie.cloud.git.local;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.apache.commons.io.FileUtils;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.kie.cloud.git.AbstractGitProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Git provider creating repositories directly in the directory of {@link LocalGitServer}, no remote API is called.
+ */
+public class LocalGitProvider extends AbstractGitProvider {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalGitProvider.class);
+
+    private static final String URL_GIT_SUFFIX = ".git";
+
+    private final LocalGitServer server;
+    private final String host;
+
+    /**
+     * @param server Server serving the repositories.
+     * @param host Host name or address of the machine running the server, used in repository URLs.
+     */
+    public LocalGitProvider(LocalGitServer server, String host) {
+        this.server = server;
+        this.host = host;
+    }
+
+    @Override
+    public String createGitRepository(String repositoryName, String repositoryPath) {
+        logger.info("Creating Git repository {}", repositoryName);
+        File repositoryDirectory = getRepositoryDirectory(repositoryName);
+        synchronized (getRepositoryLock(repositoryName)) {
+            try (Git git = Git.init().setBare(true).setDirectory(repositoryDirectory).call()) {
+                logger.debug("Created bare repository {}", git.getRepository().getDirectory());
+            } catch (GitAPIException e) {
+                throw new RuntimeException("Error while creating Git repository " + repositoryName, e);
+            }
+            // Content is pushed directly to the repository directory, no credentials are needed
+            pushToGitRepository(repositoryDirectory.getAbsolutePath(), repositoryPath, "", "");
+        }
+
+        return repositoryName;
+    }
+
+    @Override
+    public void deleteGitRepository(String repositoryName) {
+        try {
+            synchronized (getRepositoryLock(repositoryName)) {
+                FileUtils.deleteDirectory(getRepositoryDirectory(repositoryName));
+            }
+        } catch (IOException e) {
+            logger.error("Error while deleting Git repository {}", repositoryName);
+            throw new RuntimeException("Error while deleting Git repository", e);
+        }
+    }
+
+    @Override
+    public String getRepositoryUrl(String repositoryName) {
+        return "http://" + host + ":" + server.getPort() + "/" + repositoryName + URL_GIT_SUFFIX;
+    }
+
+    private File getRepositoryDirectory(String repositoryName) {
+        return new File(server.getRepositoriesDirectory(), repositoryName + URL_GIT_SUFFIX);
+    }
+}
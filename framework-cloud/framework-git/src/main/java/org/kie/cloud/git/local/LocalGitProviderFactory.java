@@ -0,0 +1,86 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.kie.cloud.git.local;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.file.Files;
+
+import org.apache.commons.io.FileUtils;
+import org.kie.cloud.api.git.GitProvider;
+import org.kie.cloud.api.git.GitProviderFactory;
+import org.kie.cloud.git.constants.GitConstants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Git provider factory serving repositories by {@link LocalGitServer} running in the test JVM. One server is shared by all providers
+ * and stopped together with the JVM. Pods can clone the repositories only if the cluster can reach the machine running the tests
+ * under {@link GitConstants#LOCAL_GIT_HOST}.
+ */
+public class LocalGitProviderFactory implements GitProviderFactory {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalGitProviderFactory.class);
+
+    private static LocalGitServer server;
+
+    @Override
+    public String providerType() {
+        return "Local";
+    }
+
+    @Override
+    public GitProvider createGitProvider() {
+        return new LocalGitProvider(getServer(), getHost());
+    }
+
+    private static synchronized LocalGitServer getServer() {
+        if (server == null) {
+            try {
+                File repositoriesDirectory = Files.createTempDirectory("local-git").toFile();
+                server = new LocalGitServer(repositoriesDirectory, getPort());
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                    server.close();
+                    FileUtils.deleteQuietly(repositoriesDirectory);
+                }));
+            } catch (IOException e) {
+                throw new RuntimeException("Unable to create directory for local Git repositories", e);
+            }
+        }
+        return server;
+    }
+
+    private static int getPort() {
+        String port = GitConstants.getLocalGitPort();
+        return port == null || port.isEmpty() ? 0 : Integer.parseInt(port);
+    }
+
+    private static String getHost() {
+        String host = GitConstants.getLocalGitHost();
+        if (host != null && !host.isEmpty()) {
+            return host;
+        }
+        try {
+            return InetAddress.getLocalHost().getHostAddress();
+        } catch (UnknownHostException e) {
+            logger.warn("Unable to resolve address of local host, using localhost in repository URLs", e);
+            return "localhost";
+        }
+    }
+}
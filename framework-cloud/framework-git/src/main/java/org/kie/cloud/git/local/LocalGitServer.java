@@ -0,0 +1,176 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.cloud.git.local;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.storage.file.FileRepositoryBuilder;
+import org.eclipse.jgit.transport.PacketLineOut;
+import org.eclipse.jgit.transport.ReceivePack;
+import org.eclipse.jgit.transport.RefAdvertiser;
+import org.eclipse.jgit.transport.RefAdvertiser.PacketLineOutRefAdvertiser;
+import org.eclipse.jgit.transport.UploadPack;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Minimal in-JVM Git server serving bare repositories of a directory over the smart HTTP protocol, so repositories can be cloned
+ * and pushed by any Git client. Repositories are accessible anonymously, the server is meant only for test content.
+ *
+ * Repository <code>[directory]/[name].git</code> is available at <code>http://[host]:[port]/[name].git</code>.
+ */
+public class LocalGitServer implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalGitServer.class);
+
+    private static final Pattern REQUEST_PATH = Pattern.compile("^/([^/]+\\.git)/(info/refs|git-upload-pack|git-receive-pack)$");
+    private static final String UPLOAD_PACK = "git-upload-pack";
+    private static final String RECEIVE_PACK = "git-receive-pack";
+    private static final String INFO_REFS = "info/refs";
+    private static final String SERVICE_PARAMETER = "service=";
+
+    private final File repositoriesDirectory;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    /**
+     * Start the server.
+     *
+     * @param repositoriesDirectory Directory containing bare repositories.
+     * @param port Port to listen on, any free port if 0.
+     */
+    public LocalGitServer(File repositoriesDirectory, int port) {
+        this.repositoriesDirectory = repositoriesDirectory;
+        try {
+            server = HttpServer.create(new InetSocketAddress(port), 0);
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to start local Git server on port " + port, e);
+        }
+        executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "local-git-server");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+        logger.info("Local Git server serving {} started on port {}", repositoriesDirectory, getPort());
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public File getRepositoriesDirectory() {
+        return repositoriesDirectory;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            Matcher matcher = REQUEST_PATH.matcher(exchange.getRequestURI().getPath());
+            File gitDirectory = matcher.matches() ? new File(repositoriesDirectory, matcher.group(1)) : null;
+            if (gitDirectory == null || !gitDirectory.isDirectory()) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+
+            try (Repository repository = new FileRepositoryBuilder().setGitDir(gitDirectory).setMustExist(true).build()) {
+                if (INFO_REFS.equals(matcher.group(2))) {
+                    advertiseRefs(exchange, repository);
+                } else {
+                    servePack(exchange, repository, matcher.group(2));
+                }
+            }
+        } catch (Exception e) {
+            logger.warn("Local Git server failed to handle request {} {}", exchange.getRequestMethod(), exchange.getRequestURI(), e);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static void advertiseRefs(HttpExchange exchange, Repository repository) throws IOException {
+        String query = exchange.getRequestURI().getQuery();
+        String service = query != null && query.startsWith(SERVICE_PARAMETER) ? query.substring(SERVICE_PARAMETER.length()) : "";
+        if (!UPLOAD_PACK.equals(service) && !RECEIVE_PACK.equals(service)) {
+            // Dumb HTTP protocol is not supported
+            exchange.sendResponseHeaders(403, -1);
+            return;
+        }
+
+        exchange.getResponseHeaders().set("Content-Type", "application/x-" + service + "-advertisement");
+        exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+        exchange.sendResponseHeaders(200, 0);
+        try (OutputStream output = exchange.getResponseBody()) {
+            PacketLineOut packetLineOut = new PacketLineOut(output);
+            packetLineOut.writeString("# service=" + service + "\n");
+            packetLineOut.end();
+            RefAdvertiser advertiser = new PacketLineOutRefAdvertiser(packetLineOut);
+            if (UPLOAD_PACK.equals(service)) {
+                UploadPack uploadPack = new UploadPack(repository);
+                uploadPack.setBiDirectionalPipe(false);
+                uploadPack.sendAdvertisedRefs(advertiser);
+            } else {
+                ReceivePack receivePack = new ReceivePack(repository);
+                receivePack.setBiDirectionalPipe(false);
+                receivePack.sendAdvertisedRefs(advertiser);
+            }
+        }
+    }
+
+    private static void servePack(HttpExchange exchange, Repository repository, String service) throws IOException {
+        if (!"POST".equals(exchange.getRequestMethod())) {
+            exchange.sendResponseHeaders(405, -1);
+            return;
+        }
+
+        InputStream input = exchange.getRequestBody();
+        if ("gzip".equals(exchange.getRequestHeaders().getFirst("Content-Encoding"))) {
+            input = new GZIPInputStream(input);
+        }
+        exchange.getResponseHeaders().set("Content-Type", "application/x-" + service + "-result");
+        exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+        exchange.sendResponseHeaders(200, 0);
+        try (OutputStream output = exchange.getResponseBody()) {
+            if (UPLOAD_PACK.equals(service)) {
+                UploadPack uploadPack = new UploadPack(repository);
+                uploadPack.setBiDirectionalPipe(false);
+                uploadPack.upload(input, output, null);
+            } else {
+                ReceivePack receivePack = new ReceivePack(repository);
+                receivePack.setBiDirectionalPipe(false);
+                receivePack.receive(input, output, null);
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.kie.cloud.git;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class GitSourceCacheTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testContentHash() throws IOException {
+        File first = createSource("first", "<project/>");
+        File second = createSource("second", "<project/>");
+        String hash = GitSourceCache.contentHash(first.toPath());
+
+        assertThat(GitSourceCache.contentHash(second.toPath())).isEqualTo(hash);
+
+        FileUtils.writeStringToFile(new File(second, "src/main/resources/kmodule.xml"), "<kmodule/>", StandardCharsets.UTF_8);
+        assertThat(GitSourceCache.contentHash(second.toPath())).isNotEqualTo(hash);
+    }
+
+    @Test
+    public void testSameContentIsCommittedOnce() throws IOException {
+        GitSourceCache cache = new GitSourceCache(temporaryFolder.newFolder("cache"));
+        String sourceRef = cache.getSourceRef(createSource("first", "<project/>"));
+
+        assertThat(sourceRef).startsWith("refs/sources/");
+        assertThat(cache.getRepository().exactRef(sourceRef)).isNotNull();
+        assertThat(cache.getSourceRef(createSource("second", "<project/>"))).isEqualTo(sourceRef);
+        assertThat(cache.getSourceRef(createSource("third", "<project>changed</project>"))).isNotEqualTo(sourceRef);
+        assertThat(cache.getRepository().getRefDatabase().getRefs("refs/sources/")).hasSize(2);
+    }
+
+    private File createSource(String name, String pomContent) throws IOException {
+        File source = temporaryFolder.newFolder(name);
+        FileUtils.writeStringToFile(new File(source, "pom.xml"), pomContent, StandardCharsets.UTF_8);
+        return source;
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.kie.cloud.git.local;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.io.FileUtils;
+import org.eclipse.jgit.api.Git;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class LocalGitProviderTest {
+
+    private static final String REPOSITORY_NAME = "local-repository";
+    private static final String FILE_NAME = "pom.xml";
+    private static final String FILE_CONTENT = "<project/>";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private LocalGitServer server;
+    private LocalGitProvider provider;
+
+    @Before
+    public void startServer() throws IOException {
+        server = new LocalGitServer(temporaryFolder.newFolder("repositories"), 0);
+        provider = new LocalGitProvider(server, "localhost");
+    }
+
+    @After
+    public void stopServer() {
+        server.close();
+    }
+
+    @Test
+    public void testCloneAndPush() throws Exception {
+        File source = temporaryFolder.newFolder("source");
+        FileUtils.writeStringToFile(new File(source, FILE_NAME), FILE_CONTENT, StandardCharsets.UTF_8);
+        provider.createGitRepository(REPOSITORY_NAME, source.getAbsolutePath());
+
+        String repositoryUrl = provider.getRepositoryUrl(REPOSITORY_NAME);
+        assertThat(repositoryUrl).isEqualTo("http://localhost:" + server.getPort() + "/" + REPOSITORY_NAME + ".git");
+
+        File clone = temporaryFolder.newFolder("clone");
+        try (Git git = Git.cloneRepository().setURI(repositoryUrl).setBranch("master").setDirectory(clone).call()) {
+            assertThat(new String(Files.readAllBytes(new File(clone, FILE_NAME).toPath()), StandardCharsets.UTF_8)).isEqualTo(FILE_CONTENT);
+
+            FileUtils.writeStringToFile(new File(clone, "README.md"), "readme", StandardCharsets.UTF_8);
+            git.add().addFilepattern(".").call();
+            git.commit().setMessage("Second commit").call();
+            git.push().setRemote("origin").call();
+        }
+
+        File secondClone = temporaryFolder.newFolder("second-clone");
+        try (Git git = Git.cloneRepository().setURI(repositoryUrl).setDirectory(secondClone).call()) {
+            assertThat(new File(secondClone, "README.md")).exists();
+        }
+    }
+
+    @Test
+    public void testDeletedRepositoryIsNotServed() throws Exception {
+        File source = temporaryFolder.newFolder("source");
+        FileUtils.writeStringToFile(new File(source, FILE_NAME), FILE_CONTENT, StandardCharsets.UTF_8);
+        provider.createGitRepository(REPOSITORY_NAME, source.getAbsolutePath());
+        provider.deleteGitRepository(REPOSITORY_NAME);
+
+        Throwable thrown = catchThrowable(() -> Git.lsRemoteRepository().setRemote(provider.getRepositoryUrl(REPOSITORY_NAME)).call());
+        assertThat(thrown).isNotNull();
+    }
+
+    @Test
+    public void testCreateAndDeleteRepositoriesInParallel() throws Exception {
+        File source = temporaryFolder.newFolder("source");
+        FileUtils.writeStringToFile(new File(source, FILE_NAME), FILE_CONTENT, StandardCharsets.UTF_8);
+        Map<String, String> repositories = new LinkedHashMap<>();
+        for (int i = 0; i < 10; i++) {
+            repositories.put(REPOSITORY_NAME + "-" + i, source.getAbsolutePath());
+        }
+
+        List<String> repositoryNames = provider.createGitRepositories(repositories);
+        assertThat(repositoryNames).containsExactlyElementsOf(repositories.keySet());
+        for (String repositoryName : repositoryNames) {
+            assertThat(Git.lsRemoteRepository().setRemote(provider.getRepositoryUrl(repositoryName)).call()).isNotEmpty();
+        }
+
+        provider.deleteGitRepositories(repositoryNames);
+        for (String repositoryName : repositoryNames) {
+            Throwable thrown = catchThrowable(() -> Git.lsRemoteRepository().setRemote(provider.getRepositoryUrl(repositoryName)).call());
+            assertThat(thrown).as("Deleted repository %s", repositoryName).isNotNull();
+        }
+    }
+
+    @Test
+    public void testFailuresAreCollected() throws Exception {
+        File source = temporaryFolder.newFolder("source");
+        FileUtils.writeStringToFile(new File(source, FILE_NAME), FILE_CONTENT, StandardCharsets.UTF_8);
+        String missingSource = new File(temporaryFolder.getRoot(), "missing").getAbsolutePath();
+        Map<String, String> repositories = new LinkedHashMap<>();
+        repositories.put(REPOSITORY_NAME + "-missing-1", missingSource);
+        repositories.put(REPOSITORY_NAME + "-1", source.getAbsolutePath());
+        repositories.put(REPOSITORY_NAME + "-missing-2", missingSource);
+        repositories.put(REPOSITORY_NAME + "-2", source.getAbsolutePath());
+
+        Throwable thrown = catchThrowable(() -> provider.createGitRepositories(repositories));
+        assertThat(thrown).isInstanceOf(RuntimeException.class)
+                          .hasMessage("Error while creating Git repositories")
+                          .hasCauseInstanceOf(RuntimeException.class);
+        assertThat(thrown.getSuppressed()).hasSize(1);
+
+        // Failure of one repository doesn't stop creation of the others
+        assertThat(Git.lsRemoteRepository().setRemote(provider.getRepositoryUrl(REPOSITORY_NAME + "-1")).call()).isNotEmpty();
+        assertThat(Git.lsRemoteRepository().setRemote(provider.getRepositoryUrl(REPOSITORY_NAME + "-2")).call()).isNotEmpty();
+    }
+}
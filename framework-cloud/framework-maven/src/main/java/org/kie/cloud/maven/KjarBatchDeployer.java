@@ -0,0 +1,182 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.kie.cloud.maven;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+
+import org.kie.cloud.api.deployment.MavenRepositoryDeployment;
+import org.kie.cloud.maven.util.MavenUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Builds and deploys several Maven projects concurrently.
+ *
+ * A project is built only after projects providing its parent or dependencies. Projects building the same groupId and artifactId,
+ * for example two versions of a kjar, are deployed in the given order so they don't overwrite each other's repository metadata.
+ * Number of concurrent builds is limited by property {@link #BUILD_PARALLELISM_KEY}. Maven older than 3.9 doesn't lock the local
+ * repository shared by the builds, with such Maven the projects are built one at a time.
+ */
+public class KjarBatchDeployer {
+
+    private static final Logger logger = LoggerFactory.getLogger(KjarBatchDeployer.class);
+
+    public static final String BUILD_PARALLELISM_KEY = "kjars.build.parallelism";
+
+    // The same directory is never built concurrently, even by different batches, as builds share its target directory
+    private static final ConcurrentMap<Path, Object> PROJECT_LOCKS = new ConcurrentHashMap<>();
+
+    private final List<Path> basedirs;
+    private final BiConsumer<String, MavenRepositoryDeployment> projectDeployer;
+
+    KjarBatchDeployer(Collection<String> basedirs, BiConsumer<String, MavenRepositoryDeployment> projectDeployer) {
+        this.basedirs = basedirs.stream().map(basedir -> Paths.get(basedir).toAbsolutePath().normalize()).distinct().collect(Collectors.toList());
+        this.projectDeployer = projectDeployer;
+    }
+
+    /**
+     * @param basedirs Directories of the projects, in the order projects with the same artifact are deployed.
+     */
+    public static KjarBatchDeployer create(Collection<String> basedirs) {
+        return new KjarBatchDeployer(basedirs, MavenDeployer::buildAndDeployMavenProject);
+    }
+
+    public void deploy(MavenRepositoryDeployment repositoryDeployment) {
+        if (basedirs.isEmpty()) {
+            return;
+        }
+
+        List<KjarProject> projects = basedirs.stream().map(KjarProject::read).collect(Collectors.toList());
+        Map<KjarProject, List<KjarProject>> prerequisites = getPrerequisites(projects);
+
+        int parallelism = Math.max(1, Math.min(getBuildParallelism(), projects.size()));
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "kjar-build");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            Map<KjarProject, CompletableFuture<Void>> builds = new LinkedHashMap<>();
+            for (KjarProject project : projects) {
+                scheduleBuild(project, prerequisites, builds, new ArrayList<>(), executor, repositoryDeployment);
+            }
+            waitForBuilds(builds);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private CompletableFuture<Void> scheduleBuild(KjarProject project, Map<KjarProject, List<KjarProject>> prerequisites, Map<KjarProject, CompletableFuture<Void>> builds,
+            List<KjarProject> path, ExecutorService executor, MavenRepositoryDeployment repositoryDeployment) {
+        CompletableFuture<Void> build = builds.get(project);
+        if (build != null) {
+            return build;
+        }
+        if (path.contains(project)) {
+            throw new RuntimeException("Cyclic dependency between Maven projects " + path);
+        }
+
+        path.add(project);
+        CompletableFuture<?>[] prerequisiteBuilds = prerequisites.get(project).stream()
+                                                                 .map(prerequisite -> scheduleBuild(prerequisite, prerequisites, builds, path, executor, repositoryDeployment))
+                                                                 .toArray(CompletableFuture[]::new);
+        path.remove(project);
+
+        build = CompletableFuture.allOf(prerequisiteBuilds).thenRunAsync(() -> buildAndDeploy(project, repositoryDeployment), executor);
+        builds.put(project, build);
+        return build;
+    }
+
+    private void buildAndDeploy(KjarProject project, MavenRepositoryDeployment repositoryDeployment) {
+        synchronized (PROJECT_LOCKS.computeIfAbsent(project.getBasedir(), basedir -> new Object())) {
+            logger.info("Building and deploying kjar: {}", project);
+            projectDeployer.accept(project.getBasedir().toString(), repositoryDeployment);
+        }
+    }
+
+    /**
+     * @return Projects every project has to wait for, the projects it requires and earlier projects building the same artifact.
+     */
+    static Map<KjarProject, List<KjarProject>> getPrerequisites(List<KjarProject> projects) {
+        Map<KjarProject, List<KjarProject>> prerequisites = new LinkedHashMap<>();
+        for (int i = 0; i < projects.size(); i++) {
+            KjarProject project = projects.get(i);
+            List<KjarProject> projectPrerequisites = new ArrayList<>();
+            for (int j = 0; j < projects.size(); j++) {
+                KjarProject other = projects.get(j);
+                if (i != j && (project.requires(other) || (j < i && project.sharesArtifactWith(other) && !other.requires(project)))) {
+                    projectPrerequisites.add(other);
+                }
+            }
+            prerequisites.put(project, projectPrerequisites);
+        }
+        return prerequisites;
+    }
+
+    /**
+     * Wait for all builds, a failed build is reported once even if projects depending on it were skipped because of it.
+     */
+    private static void waitForBuilds(Map<KjarProject, CompletableFuture<Void>> builds) {
+        Set<Throwable> failures = Collections.newSetFromMap(new IdentityHashMap<>());
+        RuntimeException failure = null;
+        for (Map.Entry<KjarProject, CompletableFuture<Void>> build : builds.entrySet()) {
+            try {
+                build.getValue().join();
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                if (failures.add(cause)) {
+                    if (failure == null) {
+                        failure = new RuntimeException("Error while building and deploying kjar " + build.getKey(), cause);
+                    } else {
+                        failure.addSuppressed(cause);
+                    }
+                } else {
+                    logger.warn("Kjar {} was not built because a project it depends on failed", build.getKey());
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private static int getBuildParallelism() {
+        int parallelism = Integer.getInteger(BUILD_PARALLELISM_KEY, Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+        if (parallelism > 1 && !MavenUtil.supportsLocalRepositoryLocking()) {
+            logger.warn("Maven {} doesn't lock the local repository, kjars are built one at a time", MavenUtil.getMavenVersion().orElse("of unknown version"));
+            return 1;
+        }
+        return parallelism;
+    }
+}
@@ -0,0 +1,328 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.kie.cloud.maven;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.kie.cloud.api.deployment.MavenRepositoryDeployment;
+import org.kie.cloud.api.util.ContentHash;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Local cache of deployed Maven projects keyed by hash of project sources, used settings.xml and cache entries of required projects.
+ *
+ * A project missing in the cache is deployed once into a file repository of its cache entry, every deployment then uploads files
+ * of the entry to the target repository, so the Maven build runs only for content not built before. The cache is kept in directory
+ * {@link #CACHE_DIR_KEY} if defined, so it survives between runs, otherwise in a temporary directory.
+ *
+ * As a cached project isn't built, its artifacts are copied to the local repository instead, where projects depending on it
+ * resolve them. Only dependencies on projects deployed through the cache before are part of the key of a project, changes of
+ * other dependencies don't invalidate the cached build.
+ */
+class KjarBuildCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(KjarBuildCache.class);
+
+    public static final String CACHE_ENABLED_KEY = "kjars.build.cache";
+    public static final String CACHE_DIR_KEY = "kjars.build.cache.dir";
+
+    private static final String CACHE_REPOSITORY_ID = "kjar-build-cache";
+    private static final String BUILD_DIRECTORY = "target";
+    private static final String MAVEN_METADATA_PREFIX = "maven-metadata";
+    private static final String SNAPSHOT = "SNAPSHOT";
+    private static final Pattern CHECKSUM_FILE = Pattern.compile("\\.(md5|sha1|sha256|sha512|asc)$");
+    private static final int HTTP_TIMEOUT_MILLIS = 60_000;
+
+    private static KjarBuildCache instance;
+
+    private final Path cacheDirectory;
+    private final ConcurrentMap<String, Object> entryLocks = new ConcurrentHashMap<>();
+    // Last deployed cache entry of every project directory
+    private final ConcurrentMap<Path, CachedProject> cachedProjects = new ConcurrentHashMap<>();
+
+    KjarBuildCache(Path cacheDirectory) {
+        this.cacheDirectory = cacheDirectory;
+    }
+
+    static boolean isEnabled() {
+        return Boolean.parseBoolean(System.getProperty(CACHE_ENABLED_KEY, "true"));
+    }
+
+    static synchronized KjarBuildCache getInstance() {
+        if (instance == null) {
+            try {
+                String cacheDirectory = System.getProperty(CACHE_DIR_KEY);
+                if (cacheDirectory != null && !cacheDirectory.isEmpty()) {
+                    instance = new KjarBuildCache(Files.createDirectories(Paths.get(cacheDirectory)));
+                } else {
+                    Path temporaryDirectory = Files.createTempDirectory("kjar-build-cache");
+                    Runtime.getRuntime().addShutdownHook(new Thread(() -> deleteQuietly(temporaryDirectory)));
+                    instance = new KjarBuildCache(temporaryDirectory);
+                }
+            } catch (IOException e) {
+                throw new RuntimeException("Unable to create directory for kjar build cache", e);
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Deploy the project to the repository, building it only if the same sources were not built yet.
+     *
+     * @param basedir Directory of the project.
+     * @param settingsXmlPath settings.xml used for the build, part of the cache key.
+     * @param localRepository Local repository of the builds, artifacts of cached projects are copied there.
+     * @param builder Deploys the project to the file repository URL it is given.
+     * @param repositoryDeployment Target repository.
+     */
+    void deploy(Path basedir, Optional<Path> settingsXmlPath, Path localRepository, Consumer<String> builder, MavenRepositoryDeployment repositoryDeployment) {
+        Path entry = getEntry(basedir, settingsXmlPath, localRepository, builder);
+        long start = System.currentTimeMillis();
+        upload(entry, repositoryDeployment);
+        logger.info("Uploaded cached build of {} to {} in {} ms", basedir, repositoryDeployment.getSnapshotsRepositoryUrl(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * @return Cache entry of the project, built if it is missing or installed to the local repository if it is found.
+     */
+    Path getEntry(Path basedir, Optional<Path> settingsXmlPath, Path localRepository, Consumer<String> builder) {
+        KjarProject project = KjarProject.read(basedir);
+        String hash = entryHash(project, settingsXmlPath);
+        Path entry = cacheDirectory.resolve(hash);
+        synchronized (entryLocks.computeIfAbsent(hash, h -> new Object())) {
+            if (Files.isDirectory(entry)) {
+                logger.debug("Build of {} found in kjar build cache as {}", basedir, hash);
+                install(entry, localRepository);
+            } else {
+                build(basedir, hash, entry, localRepository, builder);
+            }
+            cachedProjects.put(basedir.toAbsolutePath().normalize(), new CachedProject(project, hash));
+            return entry;
+        }
+    }
+
+    private void build(Path basedir, String hash, Path entry, Path localRepository, Consumer<String> builder) {
+        // Build into a temporary directory first, an interrupted build must not leave an incomplete entry
+        Path buildEntry = null;
+        try {
+            buildEntry = Files.createTempDirectory(cacheDirectory, hash + ".");
+            builder.accept(String.format("%s::default::%s", CACHE_REPOSITORY_ID, buildEntry.toUri()));
+            try {
+                Files.move(buildEntry, entry, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                // Another JVM sharing the cache directory stored the same build meanwhile
+                if (!Files.isDirectory(entry)) {
+                    throw e;
+                }
+                logger.debug("Build of {} was stored in kjar build cache as {} concurrently", basedir, hash);
+                install(entry, localRepository);
+                return;
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Error while storing build of " + basedir + " into kjar build cache", e);
+        } finally {
+            if (buildEntry != null) {
+                deleteQuietly(buildEntry);
+            }
+        }
+        logger.info("Build of {} stored in kjar build cache as {}", basedir, hash);
+    }
+
+    /**
+     * Copy artifacts of the entry to the local repository as the Maven build would install them. Timestamped snapshot files
+     * get the SNAPSHOT version, repository metadata and checksums are not copied.
+     */
+    private static void install(Path entry, Path localRepository) {
+        List<Path> files;
+        try (Stream<Path> paths = Files.walk(entry)) {
+            files = paths.filter(Files::isRegularFile)
+                         .filter(file -> !file.getFileName().toString().startsWith(MAVEN_METADATA_PREFIX))
+                         .filter(file -> !CHECKSUM_FILE.matcher(file.getFileName().toString()).find())
+                         .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new RuntimeException("Error while reading kjar build cache entry " + entry, e);
+        }
+
+        for (Path file : files) {
+            Path installedFile = localRepository.resolve(entry.relativize(file.getParent()).toString()).resolve(getInstalledFileName(file));
+            try {
+                Files.createDirectories(installedFile.getParent());
+                // Concurrent builds may read the file, it is replaced at once
+                Path temporaryFile = Files.createTempFile(installedFile.getParent(), installedFile.getFileName().toString(), ".tmp");
+                Files.copy(file, temporaryFile, StandardCopyOption.REPLACE_EXISTING);
+                Files.move(temporaryFile, installedFile, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                throw new RuntimeException("Error while installing " + file + " to local repository " + localRepository, e);
+            }
+        }
+    }
+
+    /**
+     * @return Name of the repository file in the local repository, <code>kjar-1.0-20201012.101010-1.jar</code> in version directory
+     * <code>1.0-SNAPSHOT</code> is installed as <code>kjar-1.0-SNAPSHOT.jar</code>.
+     */
+    static String getInstalledFileName(Path repositoryFile) {
+        String fileName = repositoryFile.getFileName().toString();
+        Path versionDirectory = repositoryFile.getParent();
+        String version = versionDirectory.getFileName().toString();
+        if (!version.endsWith(SNAPSHOT) || versionDirectory.getParent() == null) {
+            return fileName;
+        }
+        String artifactId = versionDirectory.getParent().getFileName().toString();
+        String baseVersion = version.substring(0, version.length() - SNAPSHOT.length());
+        Matcher timestamped = Pattern.compile(Pattern.quote(artifactId + "-" + baseVersion) + "\\d{8}\\.\\d{6}-\\d+(.*)").matcher(fileName);
+        return timestamped.matches() ? artifactId + "-" + version + timestamped.group(1) : fileName;
+    }
+
+    private static void upload(Path entry, MavenRepositoryDeployment repositoryDeployment) {
+        String credentials = repositoryDeployment.getUsername() + ":" + repositoryDeployment.getPassword();
+        String authorization = "Basic " + Base64.getEncoder().encodeToString(credentials.getBytes(StandardCharsets.UTF_8));
+        upload(entry, repositoryDeployment.getSnapshotsRepositoryUrl().toExternalForm(), authorization);
+    }
+
+    /**
+     * Upload files of the entry to the repository. Artifact level metadata are skipped, they list only the version of the entry and
+     * would drop versions deployed before from the repository copy. Resolution of an exact version doesn't need them.
+     */
+    static void upload(Path entry, String repositoryUrl, String authorization) {
+        List<Path> files;
+        try (Stream<Path> paths = Files.walk(entry)) {
+            // Metadata go last, so they never reference artifacts not uploaded yet
+            files = paths.filter(Files::isRegularFile)
+                         .filter(file -> !isArtifactMetadata(file))
+                         .sorted(Comparator.comparing((Path file) -> file.getFileName().toString().startsWith(MAVEN_METADATA_PREFIX))
+                                           .thenComparing(Comparator.naturalOrder()))
+                         .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new RuntimeException("Error while reading kjar build cache entry " + entry, e);
+        }
+
+        String baseUrl = repositoryUrl.replaceAll("/+$", "");
+        for (Path file : files) {
+            String relativePath = entry.relativize(file).toString().replace(File.separatorChar, '/');
+            uploadFile(file, baseUrl + "/" + relativePath, authorization);
+        }
+    }
+
+    /**
+     * @return True for metadata and their checksums in an artifact directory, which contains version directories. Metadata
+     * of a snapshot version directory, resolving its timestamped files, are uploaded.
+     */
+    private static boolean isArtifactMetadata(Path file) {
+        if (!file.getFileName().toString().startsWith(MAVEN_METADATA_PREFIX)) {
+            return false;
+        }
+        try (Stream<Path> siblings = Files.list(file.getParent())) {
+            return siblings.anyMatch(Files::isDirectory);
+        } catch (IOException e) {
+            throw new RuntimeException("Error while reading directory " + file.getParent(), e);
+        }
+    }
+
+    private static void uploadFile(Path file, String fileUrl, String authorization) {
+        try {
+            HttpURLConnection connection = (HttpURLConnection) new URL(fileUrl).openConnection();
+            connection.setConnectTimeout(HTTP_TIMEOUT_MILLIS);
+            connection.setReadTimeout(HTTP_TIMEOUT_MILLIS);
+            connection.setRequestMethod("PUT");
+            connection.setRequestProperty("Authorization", authorization);
+            connection.setDoOutput(true);
+            connection.setFixedLengthStreamingMode(Files.size(file));
+            try (OutputStream output = connection.getOutputStream()) {
+                Files.copy(file, output);
+            }
+            int responseCode = connection.getResponseCode();
+            // Drain the response so the connection can be reused
+            try (InputStream response = responseCode < HttpURLConnection.HTTP_BAD_REQUEST ? connection.getInputStream() : connection.getErrorStream()) {
+                while (response != null && response.read() != -1) {
+                }
+            }
+            if (responseCode >= HttpURLConnection.HTTP_BAD_REQUEST) {
+                throw new RuntimeException("Upload of " + fileUrl + " failed with response code " + responseCode);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Error while uploading " + fileUrl, e);
+        }
+    }
+
+    /**
+     * Hash of relative paths and content of all project files, build directory excluded, content of settings.xml and hashes
+     * of cache entries of projects the project requires.
+     */
+    String entryHash(KjarProject project, Optional<Path> settingsXmlPath) {
+        try {
+            ContentHash hash = ContentHash.create().addDirectory(project.getBasedir(), BUILD_DIRECTORY);
+            if (settingsXmlPath.isPresent()) {
+                hash.addFile("settings.xml", settingsXmlPath.get());
+            }
+            cachedProjects.values()
+                          .stream()
+                          .filter(cachedProject -> project.requires(cachedProject.project))
+                          .map(cachedProject -> cachedProject.hash)
+                          .distinct()
+                          .sorted()
+                          .forEach(requiredHash -> hash.addValue("requires", requiredHash));
+            return hash.getHash();
+        } catch (IOException e) {
+            throw new RuntimeException("Error while computing content hash of " + project.getBasedir(), e);
+        }
+    }
+
+    private static void deleteQuietly(Path directory) {
+        if (!Files.exists(directory)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        } catch (IOException e) {
+            logger.warn("Unable to delete {}", directory, e);
+        }
+    }
+
+    private static class CachedProject {
+
+        private final KjarProject project;
+        private final String hash;
+
+        CachedProject(KjarProject project, String hash) {
+            this.project = project;
+            this.hash = hash;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.kie.cloud.maven;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+/**
+ * Coordinates a Maven project directory provides and requires, read from pom.xml of the project and its modules.
+ * Only the pom files are read, properties are resolved from the pom itself and unresolvable versions are ignored.
+ */
+class KjarProject {
+
+    private static final String POM_FILE = "pom.xml";
+    private static final Pattern PROPERTY_REFERENCE = Pattern.compile("\\$\\{([^}]+)\\}");
+
+    private final Path basedir;
+    private final Set<String> providedArtifacts = new HashSet<>();
+    private final Set<String> providedCoordinates = new HashSet<>();
+    private final Set<String> requiredCoordinates = new HashSet<>();
+
+    private KjarProject(Path basedir) {
+        this.basedir = basedir;
+    }
+
+    static KjarProject read(Path basedir) {
+        KjarProject project = new KjarProject(basedir);
+        project.readPom(basedir.resolve(POM_FILE).toFile());
+        // Coordinates provided by the reactor itself are not external requirements
+        project.requiredCoordinates.removeAll(project.providedCoordinates);
+        project.requiredCoordinates.removeIf(coordinates -> project.providedArtifacts.contains(coordinates));
+        return project;
+    }
+
+    Path getBasedir() {
+        return basedir;
+    }
+
+    /**
+     * @return True if this project needs an artifact built by the other project, as a parent or a dependency.
+     */
+    boolean requires(KjarProject other) {
+        return requiredCoordinates.stream().anyMatch(coordinates -> other.providedCoordinates.contains(coordinates) || other.providedArtifacts.contains(coordinates));
+    }
+
+    /**
+     * @return True if both projects build an artifact with the same groupId and artifactId, for example different versions of a kjar.
+     */
+    boolean sharesArtifactWith(KjarProject other) {
+        return providedArtifacts.stream().anyMatch(other.providedArtifacts::contains);
+    }
+
+    @Override
+    public String toString() {
+        return basedir.toString();
+    }
+
+    private void readPom(File pomFile) {
+        Element project;
+        try {
+            project = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(pomFile).getDocumentElement();
+        } catch (Exception e) {
+            throw new RuntimeException("Error while reading " + pomFile, e);
+        }
+
+        Map<String, String> properties = new HashMap<>();
+        Optional<Element> parent = child(project, "parent");
+        parent.ifPresent(p -> {
+            properties.put("project.parent.groupId", text(p, "groupId"));
+            properties.put("project.parent.version", text(p, "version"));
+        });
+        String groupId = Optional.ofNullable(text(project, "groupId")).orElse(properties.get("project.parent.groupId"));
+        String version = Optional.ofNullable(text(project, "version")).orElse(properties.get("project.parent.version"));
+        properties.put("project.groupId", groupId);
+        properties.put("project.artifactId", text(project, "artifactId"));
+        properties.put("project.version", version);
+        properties.put("version", version);
+        child(project, "properties").ifPresent(p -> children(p, null).forEach(property -> properties.put(property.getTagName(), property.getTextContent().trim())));
+
+        providedArtifacts.add(groupId + ":" + text(project, "artifactId"));
+        providedCoordinates.add(groupId + ":" + text(project, "artifactId") + ":" + version);
+        parent.ifPresent(p -> require(p, properties));
+        child(project, "dependencies").ifPresent(dependencies -> children(dependencies, "dependency").forEach(dependency -> require(dependency, properties)));
+        child(project, "modules").ifPresent(modules -> children(modules, "module")
+                .forEach(module -> readPom(new File(new File(pomFile.getParentFile(), module.getTextContent().trim()), POM_FILE))));
+    }
+
+    private void require(Element element, Map<String, String> properties) {
+        String groupId = resolve(text(element, "groupId"), properties);
+        String artifact = groupId + ":" + resolve(text(element, "artifactId"), properties);
+        String version = resolve(text(element, "version"), properties);
+        // Without a known version any version of the artifact is considered required
+        requiredCoordinates.add(version == null || version.contains("${") ? artifact : artifact + ":" + version);
+    }
+
+    private static String resolve(String value, Map<String, String> properties) {
+        if (value == null) {
+            return null;
+        }
+        Matcher matcher = PROPERTY_REFERENCE.matcher(value);
+        StringBuffer resolved = new StringBuffer();
+        while (matcher.find()) {
+            String property = properties.get(matcher.group(1));
+            matcher.appendReplacement(resolved, Matcher.quoteReplacement(property != null ? property : matcher.group()));
+        }
+        return matcher.appendTail(resolved).toString();
+    }
+
+    private static String text(Element element, String name) {
+        return child(element, name).map(Node::getTextContent).map(String::trim).orElse(null);
+    }
+
+    private static Optional<Element> child(Element element, String name) {
+        return children(element, name).stream().findFirst();
+    }
+
+    private static List<Element> children(Element element, String name) {
+        List<Element> children = new ArrayList<>();
+        for (Node node = element.getFirstChild(); node != null; node = node.getNextSibling()) {
+            if (node instanceof Element && (name == null || name.equals(((Element) node).getTagName()))) {
+                children.add((Element) node);
+            }
+        }
+        return children;
+    }
+}
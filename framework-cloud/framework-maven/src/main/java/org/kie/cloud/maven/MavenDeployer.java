@@ -15,10 +15,12 @@
 
 package org.kie.cloud.maven;
 
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import org.apache.maven.it.VerificationException;
 import org.kie.cloud.api.constants.ConfigurationInitializer;
@@ -33,6 +35,8 @@ public class MavenDeployer {
 
     private static final String SETTINGS_XML_PATH_KEY = "kjars.build.settings.xml";
 
+    public static final String EMBEDDED_BUILD_KEY = "kjars.build.embedded";
+
     // Keep those for Backward Compatibility with system properties
     public static final String MAVEN_REPO_URL_KEY = "maven.repo.url";
     public static final String MAVEN_REPO_USERNAME_KEY = "maven.repo.username";
@@ -49,17 +53,25 @@ public class MavenDeployer {
      * @param environment Map of key / value environment variables that could be used
      */
     public static void buildAndInstallMavenProject(String basedir) {
-        buildMavenProject(basedir, "install", null);
+        buildMavenProject(basedir, "install", mavenUtil -> {});
     }
 
     /**
      * Build Maven project from specified directory using maven command "clean deploy".
+     * Unless disabled by property {@link KjarBuildCache#CACHE_ENABLED_KEY}, the project is built only once for the same sources
+     * and settings.xml, later deployments upload the cached artifacts.
      *
      * @param basedir Directory to build a project from.
      * @param environment Map of key / value environment variables that could be used
      */
     public static void buildAndDeployMavenProject(String basedir, MavenRepositoryDeployment repositoryDeployment) {
-        buildMavenProject(basedir, "deploy", repositoryDeployment);
+        if (KjarBuildCache.isEnabled()) {
+            KjarBuildCache.getInstance().deploy(Paths.get(basedir), getExistingSettingsXmlPath(), getLocalRepository(basedir),
+                    cacheRepository -> buildMavenProject(basedir, "deploy", mavenUtil -> mavenUtil.setSystemProperty("altDeploymentRepository", cacheRepository)),
+                    repositoryDeployment);
+        } else {
+            buildMavenProject(basedir, "deploy", mavenUtil -> addDistributionRepository(mavenUtil, repositoryDeployment));
+        }
     }
 
     /**
@@ -67,15 +79,18 @@ public class MavenDeployer {
      *
      * @param basedir Directory to build a project from.
      * @param buildCommand Build command, for example "install" or "deploy".
+     * @param configuration Additional configuration of the build.
      */
-    private static void buildMavenProject(String basedir, String buildCommand, MavenRepositoryDeployment repositoryDeployment) {
+    private static void buildMavenProject(String basedir, String buildCommand, Consumer<MavenUtil> configuration) {
         try {
-            MavenUtil mavenUtil = MavenUtil.forProject(Paths.get(basedir)).forkJvm();
-            addSettingsXmlPathIfExists(mavenUtil);
-
-            if (repositoryDeployment != null) {
-                addDistributionRepository(mavenUtil, repositoryDeployment);
+            MavenUtil mavenUtil = MavenUtil.forProject(Paths.get(basedir));
+            if (!isEmbeddedBuild()) {
+                mavenUtil.forkJvm();
             }
+            // Projects can be built concurrently by KjarBatchDeployer
+            mavenUtil.useLocalRepositoryLocking();
+            getExistingSettingsXmlPath().ifPresent(mavenUtil::useSettingsXml);
+            configuration.accept(mavenUtil);
 
             mavenUtil.executeGoals(buildCommand);
 
@@ -86,14 +101,27 @@ public class MavenDeployer {
     }
 
     /**
-     * Add settings.xml file to maven build if it was defined and exists.
+     * @return Local repository of builds of the project.
+     */
+    private static Path getLocalRepository(String basedir) {
+        try {
+            Optional<Path> settingsXmlPath = getExistingSettingsXmlPath();
+            MavenUtil mavenUtil = settingsXmlPath.isPresent() ? MavenUtil.forProject(Paths.get(basedir), settingsXmlPath.get()) : MavenUtil.forProject(Paths.get(basedir));
+            return mavenUtil.getLocalRepository();
+        } catch (VerificationException e) {
+            throw new RuntimeException("Error while resolving local repository of Maven project from basedir " + basedir, e);
+        }
+    }
+
+    /**
+     * Get settings.xml file for maven build if it was defined and exists.
      *
-     * @param mavenUtil
+     * @return Path to settings.xml, empty if it wasn't defined.
      */
-    private static void addSettingsXmlPathIfExists(MavenUtil mavenUtil) {
-        getSettingsXmlPath().map(Paths::get).ifPresent(settingsXmlPath -> {
+    private static Optional<Path> getExistingSettingsXmlPath() {
+        return getSettingsXmlPath().map(Paths::get).map(settingsXmlPath -> {
             if (settingsXmlPath.toFile().exists()) {
-                mavenUtil.useSettingsXml(settingsXmlPath);
+                return settingsXmlPath;
             } else {
                 throw new RuntimeException("Path to settings.xml file with value " + settingsXmlPath + " points to non existing location.");
             }
@@ -118,6 +146,13 @@ public class MavenDeployer {
         return "-D" + key + "=" + value;
     }
 
+    /**
+     * @return True if projects should be built by Maven embedded in this JVM instead of a forked Maven process, see {@link MavenUtil}.
+     */
+    private static boolean isEmbeddedBuild() {
+        return getSystemProperty(EMBEDDED_BUILD_KEY).map(Boolean::parseBoolean).orElse(false);
+    }
+
     private static Optional<String> getSettingsXmlPath() {
         return getSystemProperty(SETTINGS_XML_PATH_KEY);
     }
@@ -15,15 +15,42 @@
 
 package org.kie.cloud.maven.util;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
 import org.apache.maven.it.VerificationException;
 import org.apache.maven.it.Verifier;
 
+/**
+ * Runs Maven builds through maven-verifier, either in a forked Maven process or, by default, embedded in this JVM.
+ *
+ * Embedded builds save the JVM startup and Maven core class loading of every build, but Maven changes JVM wide state while it runs:
+ * it redirects standard streams and replaces system properties. Embedded builds therefore run one at a time and the streams,
+ * system properties and context class loader are restored after each build. Other threads of the JVM still see the changed state
+ * while a build runs.
+ */
 public class MavenUtil {
+
+    private static final Object EMBEDDED_BUILD_LOCK = new Object();
+
+    private static final Pattern MAVEN_CORE_JAR = Pattern.compile("maven-core-((\\d+)\\.(\\d+)[^/]*)\\.jar");
+
+    private static Optional<String> mavenVersion;
+
     private final Verifier maven;
+    private boolean forked;
 
     private MavenUtil(Verifier maven) {
         this.maven = maven;
@@ -57,6 +84,7 @@ public class MavenUtil {
 
     public MavenUtil forkJvm() {
         maven.setForkJvm(true);
+        forked = true;
 
         // copy the DNS configuration
         if (System.getProperty("sun.net.spi.nameservice.nameservers") != null) {
@@ -68,7 +96,49 @@ public class MavenUtil {
         return this;
     }
 
+    /**
+     * Guard local repository access by file locks, so concurrent Maven processes sharing the local repository don't corrupt it.
+     * Supported by Maven 3.9 and newer, older versions ignore it, see {@link #supportsLocalRepositoryLocking()}.
+     */
+    public MavenUtil useLocalRepositoryLocking() {
+        maven.setSystemProperty("aether.syncContext.named.factory", "file-lock");
+        maven.setSystemProperty("aether.syncContext.named.nameMapper", "file-gav");
+        return this;
+    }
+
+    /**
+     * @return Local repository used by the build, from property <code>maven.repo.local</code>, used settings.xml or the default location.
+     */
+    public Path getLocalRepository() {
+        return Paths.get(maven.getLocalRepository());
+    }
+
     public void executeGoals(String... goals) throws VerificationException {
+        if (forked) {
+            executeVerifierGoals(goals);
+            return;
+        }
+
+        synchronized (EMBEDDED_BUILD_LOCK) {
+            Properties systemProperties = (Properties) System.getProperties().clone();
+            PrintStream out = System.out;
+            PrintStream err = System.err;
+            InputStream in = System.in;
+            ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+            try {
+                executeVerifierGoals(goals);
+            } finally {
+                // -D options of the build must not leak to the tests, nor the streams redirected to the build log
+                System.setProperties(systemProperties);
+                System.setOut(out);
+                System.setErr(err);
+                System.setIn(in);
+                Thread.currentThread().setContextClassLoader(contextClassLoader);
+            }
+        }
+    }
+
+    private void executeVerifierGoals(String... goals) throws VerificationException {
         try {
             maven.executeGoals(Arrays.asList(goals));
         } finally {
@@ -77,6 +147,74 @@ public class MavenUtil {
         }
     }
 
+    /**
+     * @return Version of the Maven installation running the builds, empty if the installation wasn't found.
+     */
+    public static synchronized Optional<String> getMavenVersion() {
+        if (mavenVersion == null) {
+            mavenVersion = findMavenHome().flatMap(MavenUtil::readMavenVersion);
+        }
+        return mavenVersion;
+    }
+
+    /**
+     * @return True if the Maven installation supports {@link #useLocalRepositoryLocking()}, so builds can run concurrently.
+     */
+    public static boolean supportsLocalRepositoryLocking() {
+        return getMavenVersion().map(MavenUtil::supportsLocalRepositoryLocking).orElse(false);
+    }
+
+    static boolean supportsLocalRepositoryLocking(String version) {
+        Matcher matcher = MAVEN_CORE_JAR.matcher("maven-core-" + version + ".jar");
+        if (!matcher.matches()) {
+            return false;
+        }
+        int major = Integer.parseInt(matcher.group(2));
+        int minor = Integer.parseInt(matcher.group(3));
+        return major > 3 || (major == 3 && minor >= 9);
+    }
+
+    /**
+     * @return Version of maven-core library of the Maven installation.
+     */
+    static Optional<String> readMavenVersion(Path mavenHome) {
+        try (Stream<Path> libraries = Files.list(mavenHome.resolve("lib"))) {
+            return libraries.map(library -> MAVEN_CORE_JAR.matcher(library.getFileName().toString()))
+                            .filter(Matcher::matches)
+                            .map(matcher -> matcher.group(1))
+                            .findFirst();
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Find Maven installation the same way as maven-verifier, from property <code>maven.home</code> or environment variable
+     * <code>M2_HOME</code>, otherwise the installation of <code>mvn</code> found on PATH.
+     */
+    private static Optional<Path> findMavenHome() {
+        String mavenHome = Optional.ofNullable(System.getProperty("maven.home")).orElse(System.getenv("M2_HOME"));
+        if (mavenHome != null) {
+            return Optional.of(Paths.get(mavenHome));
+        }
+        String path = System.getenv("PATH");
+        if (path == null) {
+            return Optional.empty();
+        }
+        for (String directory : path.split(File.pathSeparator)) {
+            Path mvn = Paths.get(directory, "mvn");
+            if (Files.isExecutable(mvn)) {
+                try {
+                    // mvn on PATH is often a link to bin directory of the installation
+                    return Optional.ofNullable(mvn.toRealPath().getParent().getParent());
+                } catch (IOException e) {
+                    return Optional.empty();
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
     public MavenUtil addCliOptions(List<String> options) {
         //use add to avoid override of default options
         options.stream().forEach(maven::addCliOption);
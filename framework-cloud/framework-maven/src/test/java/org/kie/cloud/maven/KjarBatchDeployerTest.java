@@ -0,0 +1,140 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.cloud.maven;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.kie.cloud.api.deployment.MavenRepositoryDeployment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class KjarBatchDeployerTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final List<String> deployedProjects = Collections.synchronizedList(new ArrayList<>());
+
+    @Test
+    public void testPrerequisites() throws IOException {
+        KjarProject second = project("second", "<groupId>org.kie</groupId><artifactId>kjar</artifactId><version>2.0</version>");
+        KjarProject first = project("first", "<groupId>org.kie</groupId><artifactId>kjar</artifactId><version>1.0</version>");
+        KjarProject dependent = project("dependent", "<groupId>org.kie</groupId><artifactId>dependent</artifactId><version>1.0</version>" + dependency("kjar", "1.0"));
+
+        Map<KjarProject, List<KjarProject>> prerequisites = KjarBatchDeployer.getPrerequisites(Arrays.asList(second, first, dependent));
+
+        assertThat(prerequisites.get(second)).isEmpty();
+        // Versions of the same artifact are deployed in the given order
+        assertThat(prerequisites.get(first)).containsExactly(second);
+        assertThat(prerequisites.get(dependent)).containsExactly(first);
+    }
+
+    @Test
+    public void testSameArtifactRequiredByEarlierProject() throws IOException {
+        KjarProject newer = project("newer", "<groupId>org.kie</groupId><artifactId>kjar</artifactId><version>2.0</version>" + dependency("kjar", "1.0"));
+        KjarProject older = project("older", "<groupId>org.kie</groupId><artifactId>kjar</artifactId><version>1.0</version>");
+
+        Map<KjarProject, List<KjarProject>> prerequisites = KjarBatchDeployer.getPrerequisites(Arrays.asList(newer, older));
+
+        assertThat(prerequisites.get(newer)).containsExactly(older);
+        assertThat(prerequisites.get(older)).isEmpty();
+    }
+
+    @Test(timeout = 30_000)
+    public void testPrerequisitesAreDeployedFirst() throws IOException {
+        Path dependent = basedir("dependent", "<groupId>org.kie</groupId><artifactId>dependent</artifactId><version>1.0</version>" + dependency("kjar", "1.0"));
+        Path kjar = basedir("kjar", "<parent><groupId>org.kie</groupId><artifactId>parent</artifactId><version>1.0</version></parent><artifactId>kjar</artifactId>");
+        Path independent = basedir("independent", "<groupId>org.kie</groupId><artifactId>independent</artifactId><version>1.0</version>");
+        Path parent = basedir("parent", "<groupId>org.kie</groupId><artifactId>parent</artifactId><version>1.0</version><packaging>pom</packaging>");
+
+        deployer(dependent, kjar, independent, parent).deploy(null);
+
+        assertThat(deployedProjects).containsExactlyInAnyOrder("dependent", "kjar", "independent", "parent");
+        assertThat(deployedProjects.indexOf("parent")).isLessThan(deployedProjects.indexOf("kjar"));
+        assertThat(deployedProjects.indexOf("kjar")).isLessThan(deployedProjects.indexOf("dependent"));
+    }
+
+    @Test(timeout = 30_000)
+    public void testCyclicDependencyIsReported() throws IOException {
+        Path first = basedir("first", "<groupId>org.kie</groupId><artifactId>first</artifactId><version>1.0</version>" + dependency("second", "1.0"));
+        Path second = basedir("second", "<groupId>org.kie</groupId><artifactId>second</artifactId><version>1.0</version>" + dependency("first", "1.0"));
+
+        Throwable thrown = catchThrowable(() -> deployer(first, second).deploy(null));
+
+        assertThat(thrown).isInstanceOf(RuntimeException.class).hasMessageContaining("Cyclic dependency");
+        assertThat(deployedProjects).isEmpty();
+    }
+
+    @Test(timeout = 30_000)
+    public void testFailureSkipsDependentProjects() throws IOException {
+        Path failing = basedir("failing", "<groupId>org.kie</groupId><artifactId>failing</artifactId><version>1.0</version>");
+        Path dependent = basedir("dependent", "<groupId>org.kie</groupId><artifactId>dependent</artifactId><version>1.0</version>" + dependency("failing", "1.0"));
+        Path independent = basedir("independent", "<groupId>org.kie</groupId><artifactId>independent</artifactId><version>1.0</version>");
+        IllegalStateException failure = new IllegalStateException("Expected failure");
+
+        Throwable thrown = catchThrowable(() -> new KjarBatchDeployer(toStrings(failing, dependent, independent), (basedir, repository) -> {
+            if (basedir.equals(failing.toString())) {
+                throw failure;
+            }
+            record(basedir, repository);
+        }).deploy(null));
+
+        assertThat(thrown).isInstanceOf(RuntimeException.class)
+                          .hasMessageContaining(failing.toString())
+                          .hasCause(failure);
+        // The failure is reported once, although the dependent project failed because of it too
+        assertThat(thrown.getSuppressed()).isEmpty();
+        assertThat(deployedProjects).containsExactly("independent");
+    }
+
+    private KjarBatchDeployer deployer(Path... basedirs) {
+        return new KjarBatchDeployer(toStrings(basedirs), this::record);
+    }
+
+    private void record(String basedir, MavenRepositoryDeployment repositoryDeployment) {
+        deployedProjects.add(Paths.get(basedir).getFileName().toString());
+    }
+
+    private static List<String> toStrings(Path... basedirs) {
+        return Arrays.stream(basedirs).map(Path::toString).collect(Collectors.toList());
+    }
+
+    private KjarProject project(String name, String pomContent) throws IOException {
+        return KjarProject.read(basedir(name, pomContent));
+    }
+
+    private Path basedir(String name, String pomContent) throws IOException {
+        Path basedir = temporaryFolder.newFolder(name).toPath();
+        KjarProjectTest.writePom(basedir, pomContent);
+        return basedir;
+    }
+
+    private static String dependency(String artifactId, String version) {
+        return "<dependencies><dependency><groupId>org.kie</groupId><artifactId>" + artifactId + "</artifactId><version>" + version + "</version></dependency></dependencies>";
+    }
+}
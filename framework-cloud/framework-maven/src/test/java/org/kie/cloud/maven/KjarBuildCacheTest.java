@@ -0,0 +1,254 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.cloud.maven;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class KjarBuildCacheTest {
+
+    private static final String GROUP_ID = "org.kie.cloud.test";
+    private static final String VERSION = "1.0.0-SNAPSHOT";
+    private static final String SECOND_VERSION = "2.0.0-SNAPSHOT";
+    private static final String ARTIFACT_DIRECTORY = "org/kie/cloud/test/%s";
+    private static final String VERSION_DIRECTORY = ARTIFACT_DIRECTORY + "/" + VERSION;
+    private static final String MAVEN_METADATA = "maven-metadata.xml";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private KjarBuildCache cache;
+    private Path localRepository;
+    private final List<String> builtArtifacts = new ArrayList<>();
+
+    @Before
+    public void setUp() throws IOException {
+        cache = new KjarBuildCache(temporaryFolder.newFolder("cache").toPath());
+        localRepository = temporaryFolder.newFolder("local-repository").toPath();
+    }
+
+    @Test
+    public void testSameSourcesAreBuiltOnce() throws IOException {
+        Path first = createProject("first", "kjar", null);
+        Path second = createProject("second", "kjar", null);
+
+        Path entry = cache.getEntry(first, Optional.empty(), localRepository, builder("kjar"));
+        assertThat(entry.resolve(String.format(VERSION_DIRECTORY, "kjar")).resolve(timestampedFile("kjar", VERSION, "jar"))).exists();
+
+        assertThat(cache.getEntry(second, Optional.empty(), localRepository, builder("kjar"))).isEqualTo(entry);
+        assertThat(builtArtifacts).containsExactly("kjar");
+    }
+
+    @Test
+    public void testChangedSourcesAreBuiltAgain() throws IOException {
+        Path project = createProject("project", "kjar", null);
+        Path entry = cache.getEntry(project, Optional.empty(), localRepository, builder("kjar"));
+
+        // Build output is not part of the key
+        writeFile(project.resolve("target/kjar.jar"), "jar");
+        assertThat(cache.getEntry(project, Optional.empty(), localRepository, builder("kjar"))).isEqualTo(entry);
+
+        writeFile(project.resolve("src/main/resources/META-INF/kmodule.xml"), "<kmodule/>");
+        assertThat(cache.getEntry(project, Optional.empty(), localRepository, builder("kjar"))).isNotEqualTo(entry);
+
+        Path settingsXml = temporaryFolder.newFile("settings.xml").toPath();
+        cache.getEntry(project, Optional.of(settingsXml), localRepository, builder("kjar"));
+        assertThat(builtArtifacts).containsExactly("kjar", "kjar", "kjar");
+    }
+
+    @Test
+    public void testChangedDependencyInvalidatesDependentProject() throws IOException {
+        Path upstream = createProject("upstream", "upstream", null);
+        Path dependent = createProject("dependent", "dependent", "upstream");
+
+        cache.getEntry(upstream, Optional.empty(), localRepository, builder("upstream"));
+        Path dependentEntry = cache.getEntry(dependent, Optional.empty(), localRepository, builder("dependent"));
+        assertThat(cache.getEntry(dependent, Optional.empty(), localRepository, builder("dependent"))).isEqualTo(dependentEntry);
+
+        writeFile(upstream.resolve("src/main/resources/rules.drl"), "package rules;");
+        cache.getEntry(upstream, Optional.empty(), localRepository, builder("upstream"));
+        assertThat(cache.getEntry(dependent, Optional.empty(), localRepository, builder("dependent"))).isNotEqualTo(dependentEntry);
+        assertThat(builtArtifacts).containsExactly("upstream", "dependent", "upstream", "dependent");
+    }
+
+    @Test
+    public void testCachedBuildIsInstalledToLocalRepository() throws IOException {
+        Path project = createProject("project", "kjar", null);
+        cache.getEntry(project, Optional.empty(), localRepository, builder("kjar"));
+
+        // Local repository was cleaned, for example by a new run with a persistent cache
+        Path cleanLocalRepository = temporaryFolder.newFolder("clean-local-repository").toPath();
+        cache.getEntry(project, Optional.empty(), cleanLocalRepository, builder("kjar"));
+
+        Path versionDirectory = cleanLocalRepository.resolve(String.format(VERSION_DIRECTORY, "kjar"));
+        assertThat(versionDirectory.resolve("kjar-" + VERSION + ".jar")).hasContent("jar");
+        assertThat(versionDirectory.resolve("kjar-" + VERSION + ".pom")).hasContent("pom");
+        assertThat(versionDirectory.resolve(timestampedFile("kjar", VERSION, "jar"))).doesNotExist();
+        assertThat(versionDirectory.resolve(MAVEN_METADATA)).doesNotExist();
+        assertThat(versionDirectory.resolve("kjar-" + VERSION + ".jar.sha1")).doesNotExist();
+        assertThat(builtArtifacts).containsExactly("kjar");
+    }
+
+    @Test
+    public void testEntryStoredConcurrentlyIsUsed() throws IOException {
+        Path project = createProject("project", "kjar", null);
+
+        Path entry = cache.getEntry(project, Optional.empty(), localRepository, repository -> {
+            builder("kjar").accept(repository);
+            // Another JVM sharing the cache directory stores the same build first, the temporary directory is named [hash].[random]
+            Path buildEntry = toPath(repository);
+            Path storedEntry = buildEntry.resolveSibling(buildEntry.getFileName().toString().split("\\.")[0]);
+            writeFile(storedEntry.resolve(String.format(VERSION_DIRECTORY, "kjar")).resolve("kjar-" + VERSION + ".jar"), "other build");
+        });
+
+        assertThat(entry.resolve(String.format(VERSION_DIRECTORY, "kjar")).resolve("kjar-" + VERSION + ".jar")).hasContent("other build");
+        assertThat(localRepository.resolve(String.format(VERSION_DIRECTORY, "kjar")).resolve("kjar-" + VERSION + ".jar")).hasContent("other build");
+        try (Stream<Path> entries = Files.list(entry.getParent())) {
+            assertThat(entries).containsExactly(entry);
+        }
+    }
+
+    @Test
+    public void testUploadKeepsVersionsOfRepositoryMetadata() throws IOException {
+        Map<String, String> repository = new ConcurrentHashMap<>();
+        String artifactMetadata = String.format(ARTIFACT_DIRECTORY, "kjar") + "/" + MAVEN_METADATA;
+        String repositoryMetadata = artifactMetadata("0.9.0", VERSION, SECOND_VERSION);
+        repository.put(artifactMetadata, repositoryMetadata);
+
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            try (InputStream body = exchange.getRequestBody()) {
+                repository.put(exchange.getRequestURI().getPath().substring(1), read(body));
+            }
+            exchange.sendResponseHeaders(201, -1);
+            exchange.close();
+        });
+        server.start();
+        try {
+            String repositoryUrl = "http://localhost:" + server.getAddress().getPort() + "/";
+            for (String version : Arrays.asList(VERSION, SECOND_VERSION)) {
+                Path project = createProject("project-" + version, "kjar", version, null);
+                KjarBuildCache.upload(cache.getEntry(project, Optional.empty(), localRepository, builder("kjar", version)), repositoryUrl, "Basic dXNlcjpwYXNzd29yZA==");
+            }
+        } finally {
+            server.stop(0);
+        }
+
+        for (String version : Arrays.asList(VERSION, SECOND_VERSION)) {
+            String versionDirectory = String.format(ARTIFACT_DIRECTORY, "kjar") + "/" + version + "/";
+            assertThat(repository).containsKeys(versionDirectory + timestampedFile("kjar", version, "jar"), versionDirectory + MAVEN_METADATA);
+        }
+        assertThat(repository.get(artifactMetadata)).isEqualTo(repositoryMetadata);
+        assertThat(repository).doesNotContainKeys(artifactMetadata + ".sha1");
+    }
+
+    @Test
+    public void testInstalledFileName() {
+        assertThat(KjarBuildCache.getInstalledFileName(Paths.get("org/kie/kjar/1.0-SNAPSHOT/kjar-1.0-20201012.101010-12.jar"))).isEqualTo("kjar-1.0-SNAPSHOT.jar");
+        assertThat(KjarBuildCache.getInstalledFileName(Paths.get("org/kie/kjar/1.0-SNAPSHOT/kjar-1.0-20201012.101010-1-sources.jar"))).isEqualTo("kjar-1.0-SNAPSHOT-sources.jar");
+        assertThat(KjarBuildCache.getInstalledFileName(Paths.get("org/kie/kjar/1.0/kjar-1.0.jar"))).isEqualTo("kjar-1.0.jar");
+    }
+
+    /**
+     * @return Builder deploying a jar and pom of the artifact to the cache repository, as Maven deploy would.
+     */
+    private Consumer<String> builder(String artifactId) {
+        return builder(artifactId, VERSION);
+    }
+
+    private Consumer<String> builder(String artifactId, String version) {
+        return repository -> {
+            builtArtifacts.add(artifactId);
+            Path artifactDirectory = toPath(repository).resolve(String.format(ARTIFACT_DIRECTORY, artifactId));
+            Path versionDirectory = artifactDirectory.resolve(version);
+            writeFile(versionDirectory.resolve(timestampedFile(artifactId, version, "jar")), "jar");
+            writeFile(versionDirectory.resolve(timestampedFile(artifactId, version, "jar.sha1")), "sha1");
+            writeFile(versionDirectory.resolve(timestampedFile(artifactId, version, "pom")), "pom");
+            writeFile(versionDirectory.resolve(MAVEN_METADATA), "<metadata/>");
+            // Artifact level metadata list just the deployed version
+            writeFile(artifactDirectory.resolve(MAVEN_METADATA), artifactMetadata(version));
+            writeFile(artifactDirectory.resolve(MAVEN_METADATA + ".sha1"), "sha1");
+        };
+    }
+
+    private static String read(InputStream input) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        for (int read = input.read(buffer); read != -1; read = input.read(buffer)) {
+            output.write(buffer, 0, read);
+        }
+        return new String(output.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static String timestampedFile(String artifactId, String version, String extension) {
+        return artifactId + "-" + version.replace("SNAPSHOT", "20201012.101010-1") + "." + extension;
+    }
+
+    private static String artifactMetadata(String... versions) {
+        StringBuilder metadata = new StringBuilder("<metadata><versioning><versions>");
+        Arrays.stream(versions).forEach(version -> metadata.append("<version>").append(version).append("</version>"));
+        return metadata.append("</versions></versioning></metadata>").toString();
+    }
+
+    private static Path toPath(String repository) {
+        return Paths.get(URI.create(repository.substring(repository.indexOf("::default::") + "::default::".length())));
+    }
+
+    private Path createProject(String name, String artifactId, String dependencyArtifactId) throws IOException {
+        return createProject(name, artifactId, VERSION, dependencyArtifactId);
+    }
+
+    private Path createProject(String name, String artifactId, String version, String dependencyArtifactId) throws IOException {
+        Path project = temporaryFolder.newFolder(name).toPath();
+        String dependencies = dependencyArtifactId == null ? "" : "<dependencies><dependency><groupId>" + GROUP_ID + "</groupId><artifactId>"
+                + dependencyArtifactId + "</artifactId><version>" + VERSION + "</version></dependency></dependencies>";
+        writeFile(project.resolve("pom.xml"), "<project><groupId>" + GROUP_ID + "</groupId><artifactId>" + artifactId + "</artifactId><version>"
+                + version + "</version>" + dependencies + "</project>");
+        return project;
+    }
+
+    private static void writeFile(Path file, String content) {
+        try {
+            Files.createDirectories(file.getParent());
+            Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
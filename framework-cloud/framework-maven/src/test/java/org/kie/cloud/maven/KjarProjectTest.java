@@ -0,0 +1,108 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.cloud.maven;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class KjarProjectTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testParentAndDependencies() throws IOException {
+        KjarProject parent = project("parent", "<groupId>org.kie</groupId><artifactId>parent</artifactId><version>1.0</version><packaging>pom</packaging>");
+        KjarProject library = project("library", "<groupId>org.kie</groupId><artifactId>library</artifactId><version>2.0</version>");
+        KjarProject oldLibrary = project("old-library", "<groupId>org.kie</groupId><artifactId>library</artifactId><version>1.0</version>");
+        KjarProject kjar = project("kjar", "<parent><groupId>org.kie</groupId><artifactId>parent</artifactId><version>1.0</version></parent>"
+                + "<artifactId>kjar</artifactId>"
+                + "<properties><library.version>2.0</library.version></properties>"
+                + "<dependencies><dependency><groupId>${project.groupId}</groupId><artifactId>library</artifactId><version>${library.version}</version></dependency></dependencies>");
+
+        assertThat(kjar.requires(parent)).isTrue();
+        assertThat(kjar.requires(library)).isTrue();
+        assertThat(kjar.requires(oldLibrary)).isFalse();
+        assertThat(parent.requires(kjar)).isFalse();
+        assertThat(library.requires(kjar)).isFalse();
+    }
+
+    @Test
+    public void testUnresolvedVersionRequiresAnyVersion() throws IOException {
+        KjarProject library = project("library", "<groupId>org.kie</groupId><artifactId>library</artifactId><version>1.0</version>");
+        KjarProject kjar = project("kjar", "<groupId>org.kie</groupId><artifactId>kjar</artifactId><version>1.0</version>"
+                + "<dependencies><dependency><groupId>org.kie</groupId><artifactId>library</artifactId><version>${defined.elsewhere}</version></dependency></dependencies>");
+
+        assertThat(kjar.requires(library)).isTrue();
+    }
+
+    @Test
+    public void testMultiModuleProject() throws IOException {
+        KjarProject external = project("external", "<groupId>org.kie</groupId><artifactId>external</artifactId><version>1.0</version>");
+        Path reactorBasedir = temporaryFolder.newFolder("reactor").toPath();
+        String parent = "<parent><groupId>org.kie</groupId><artifactId>reactor</artifactId><version>1.0</version></parent>";
+        writePom(reactorBasedir.resolve("api"), parent + "<artifactId>api</artifactId>"
+                + "<dependencies><dependency><groupId>org.kie</groupId><artifactId>external</artifactId><version>1.0</version></dependency></dependencies>");
+        writePom(reactorBasedir.resolve("impl"), parent + "<artifactId>impl</artifactId>"
+                + "<dependencies><dependency><groupId>${project.groupId}</groupId><artifactId>api</artifactId><version>${project.version}</version></dependency></dependencies>");
+        KjarProject reactor = project(reactorBasedir, "<groupId>org.kie</groupId><artifactId>reactor</artifactId><version>1.0</version><packaging>pom</packaging>"
+                + "<modules><module>api</module><module>impl</module></modules>");
+        KjarProject client = project("client", "<groupId>org.kie</groupId><artifactId>client</artifactId><version>1.0</version>"
+                + "<dependencies><dependency><groupId>org.kie</groupId><artifactId>impl</artifactId><version>1.0</version></dependency></dependencies>");
+
+        assertThat(reactor.requires(external)).isTrue();
+        assertThat(reactor.requires(reactor)).isFalse();
+        assertThat(client.requires(reactor)).isTrue();
+        assertThat(external.requires(reactor)).isFalse();
+    }
+
+    @Test
+    public void testSameArtifactInSeveralVersions() throws IOException {
+        KjarProject first = project("first", "<groupId>org.kie</groupId><artifactId>kjar</artifactId><version>1.0</version>");
+        KjarProject second = project("second", "<groupId>org.kie</groupId><artifactId>kjar</artifactId><version>2.0</version>");
+        KjarProject other = project("other", "<groupId>org.kie</groupId><artifactId>other</artifactId><version>1.0</version>");
+        KjarProject dependent = project("dependent", "<groupId>org.kie</groupId><artifactId>dependent</artifactId><version>1.0</version>"
+                + "<dependencies><dependency><groupId>org.kie</groupId><artifactId>kjar</artifactId><version>2.0</version></dependency></dependencies>");
+
+        assertThat(first.sharesArtifactWith(second)).isTrue();
+        assertThat(first.sharesArtifactWith(other)).isFalse();
+        assertThat(first.requires(second)).isFalse();
+        assertThat(dependent.requires(second)).isTrue();
+        assertThat(dependent.requires(first)).isFalse();
+    }
+
+    private KjarProject project(String name, String pomContent) throws IOException {
+        return project(temporaryFolder.newFolder(name).toPath(), pomContent);
+    }
+
+    private static KjarProject project(Path basedir, String pomContent) throws IOException {
+        writePom(basedir, pomContent);
+        return KjarProject.read(basedir);
+    }
+
+    static void writePom(Path basedir, String pomContent) throws IOException {
+        Files.createDirectories(basedir);
+        Files.write(basedir.resolve("pom.xml"), ("<project>" + pomContent + "</project>").getBytes(StandardCharsets.UTF_8));
+    }
+}
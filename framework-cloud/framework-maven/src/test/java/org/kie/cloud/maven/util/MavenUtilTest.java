@@ -0,0 +1,53 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.cloud.maven.util;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MavenUtilTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testReadMavenVersion() throws IOException {
+        Path mavenHome = temporaryFolder.newFolder("maven").toPath();
+        assertThat(MavenUtil.readMavenVersion(mavenHome)).isEmpty();
+
+        Files.createDirectories(mavenHome.resolve("lib"));
+        Files.createFile(mavenHome.resolve("lib/maven-core-api-3.9.6.jar"));
+        Files.createFile(mavenHome.resolve("lib/maven-core-3.8.6.jar"));
+        assertThat(MavenUtil.readMavenVersion(mavenHome)).contains("3.8.6");
+    }
+
+    @Test
+    public void testSupportsLocalRepositoryLocking() {
+        assertThat(MavenUtil.supportsLocalRepositoryLocking("3.6.3")).isFalse();
+        assertThat(MavenUtil.supportsLocalRepositoryLocking("3.8.6")).isFalse();
+        assertThat(MavenUtil.supportsLocalRepositoryLocking("3.9.0")).isTrue();
+        assertThat(MavenUtil.supportsLocalRepositoryLocking("3.10.1")).isTrue();
+        assertThat(MavenUtil.supportsLocalRepositoryLocking("4.0.0-alpha-8")).isTrue();
+        assertThat(MavenUtil.supportsLocalRepositoryLocking("unknown")).isFalse();
+    }
+}
@@ -16,6 +16,8 @@
 package org.kie.cloud.openshift.operator.deployment;
 
 import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -27,6 +29,7 @@ import org.kie.cloud.openshift.deployment.RouterUtil;
 import org.kie.cloud.openshift.operator.model.KieApp;
 import org.kie.cloud.openshift.operator.model.KieAppDoneable;
 import org.kie.cloud.openshift.operator.model.KieAppList;
+import org.kie.cloud.openshift.operator.model.components.Env;
 import org.kie.cloud.openshift.operator.model.components.Server;
 import org.kie.cloud.openshift.operator.model.components.Spec;
 import org.kie.cloud.openshift.resource.Project;
@@ -55,6 +58,26 @@ public class KieServerOperatorDeployment extends KieServerDeploymentImpl {
         }
     }
 
+    /**
+     * Environment variables are set in Kie server of KieApp, the operator propagates them to the deployment config.
+     */
+    @Override
+    public void setEnvironmentVariables(Map<String, String> environmentVariables) {
+        KieApp kieApp = kieAppClient.withName(OpenShiftConstants.getKieApplicationName()).get();
+
+        Spec appliedSpec = kieApp.getStatus().getApplied();
+        Server server = getAssociatedServerObject(appliedSpec);
+        List<Env> env = Arrays.stream(server.getEnv())
+                              .filter(envVar -> !environmentVariables.containsKey(envVar.getName()))
+                              .collect(Collectors.toList());
+        environmentVariables.forEach((name, value) -> env.add(new Env(name, value)));
+        server.setEnv(env.toArray(new Env[0]));
+
+        // Update current spec
+        kieApp.setSpec(appliedSpec);
+        kieAppClient.createOrReplace(kieApp);
+    }
+
     @Override
     public void waitForScale() {
         KieApp kieApp = kieAppClient.withName(OpenShiftConstants.getKieApplicationName()).get();
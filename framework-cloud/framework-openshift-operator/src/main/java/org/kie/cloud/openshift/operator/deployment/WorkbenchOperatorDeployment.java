@@ -15,7 +15,11 @@
 
 package org.kie.cloud.openshift.operator.deployment;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import io.fabric8.kubernetes.client.dsl.NonNamespaceOperation;
 import io.fabric8.kubernetes.client.dsl.Resource;
@@ -26,6 +30,8 @@ import org.kie.cloud.openshift.operator.model.KieApp;
 import org.kie.cloud.openshift.operator.model.KieAppDoneable;
 import org.kie.cloud.openshift.operator.model.KieAppList;
 import org.kie.cloud.openshift.operator.model.components.Console;
+import org.kie.cloud.openshift.operator.model.components.Env;
+import org.kie.cloud.openshift.operator.model.components.Spec;
 import org.kie.cloud.openshift.resource.Project;
 
 public class WorkbenchOperatorDeployment extends WorkbenchDeploymentImpl {
@@ -47,6 +53,26 @@ public class WorkbenchOperatorDeployment extends WorkbenchDeploymentImpl {
         }
     }
 
+    /**
+     * Environment variables are set in console of KieApp, the operator propagates them to the deployment config.
+     */
+    @Override
+    public void setEnvironmentVariables(Map<String, String> environmentVariables) {
+        KieApp kieApp = kieAppClient.withName(OpenShiftConstants.getKieApplicationName()).get();
+
+        Spec appliedSpec = kieApp.getStatus().getApplied();
+        Console console = appliedSpec.getObjects().getConsole();
+        List<Env> env = Arrays.stream(console.getEnv())
+                              .filter(envVar -> !environmentVariables.containsKey(envVar.getName()))
+                              .collect(Collectors.toList());
+        environmentVariables.forEach((name, value) -> env.add(new Env(name, value)));
+        console.setEnv(env.toArray(new Env[0]));
+
+        // Update current spec
+        kieApp.setSpec(appliedSpec);
+        kieAppClient.createOrReplace(kieApp);
+    }
+
     @Override
     public void waitForScale() {
         KieApp kieApp = kieAppClient.withName(OpenShiftConstants.getKieApplicationName()).get();
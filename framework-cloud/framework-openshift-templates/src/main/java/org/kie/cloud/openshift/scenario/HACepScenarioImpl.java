@@ -47,7 +47,7 @@ import org.kie.cloud.api.deployment.Deployment;
 import org.kie.cloud.api.deployment.HACepDeployment;
 import org.kie.cloud.api.deployment.MavenRepositoryDeployment;
 import org.kie.cloud.api.scenario.HACepScenario;
-import org.kie.cloud.maven.MavenDeployer;
+import org.kie.cloud.maven.KjarBatchDeployer;
 import org.kie.cloud.openshift.constants.OpenShiftConstants;
 import org.kie.cloud.openshift.deployment.HACepDeploymentImpl;
 import org.kie.cloud.openshift.deployment.external.ExternalDeployment;
@@ -365,11 +365,10 @@ public class HACepScenarioImpl extends OpenShiftScenario<HACepScenario> implemen
         if (!kjars.isEmpty()) {
             final MavenRepositoryDeployment mavenRepositoryDeployment = this.getMavenRepositoryDeployment();
 
-            for (String kjar : kjars) {
-                logger.info("Building and deploying kjar: {}", kjar);
-                MavenDeployer.buildAndDeployMavenProject(HACepScenarioImpl.class.getResource(kjar)
-                                                                 .getFile(), mavenRepositoryDeployment);
-            }
+            final List<String> kjarDirectories = kjars.stream()
+                    .map(kjar -> HACepScenarioImpl.class.getResource(kjar).getFile())
+                    .collect(Collectors.toList());
+            KjarBatchDeployer.create(kjarDirectories).deploy(mavenRepositoryDeployment);
         }
     }
 
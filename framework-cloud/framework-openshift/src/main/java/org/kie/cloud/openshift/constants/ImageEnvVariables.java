@@ -52,4 +52,10 @@ public class ImageEnvVariables {
     public static final String ORG_APPFORMER_SIMPLIFIED_MONITORING_ENABLED = "ORG_APPFORMER_SIMPLIFIED_MONITORING_ENABLED";
 
     public static final String KIE_SERVER_CONTAINER_DEPLOYMENT = "KIE_SERVER_CONTAINER_DEPLOYMENT";
+
+    public static final String JAVA_OPTS_APPEND = "JAVA_OPTS_APPEND";
+    public static final String JAVA_INITIAL_MEM_RATIO = "JAVA_INITIAL_MEM_RATIO";
+    public static final String JAVA_MAX_MEM_RATIO = "JAVA_MAX_MEM_RATIO";
+    public static final String GC_MAX_METASPACE_SIZE = "GC_MAX_METASPACE_SIZE";
+    public static final String GC_CONTAINER_OPTIONS = "GC_CONTAINER_OPTIONS";
 }
@@ -142,6 +142,7 @@ public class OpenShiftConstants implements Constants {
     public static final String SSO_IMAGE_STREAMS = "sso.image.streams";
 
     public static final String PROMETHEUS_VERSION = "prometheus.version";
+    public static final String PROMETHEUS_OPERATOR_NAMESPACE = "prometheus.operator.namespace";
 
     public static final String AMQ_IMAGE_STREAMS = "amq.image.streams";
 
@@ -212,6 +213,10 @@ public class OpenShiftConstants implements Constants {
         return System.getProperty(PROMETHEUS_VERSION);
     }
 
+    public static String getPrometheusOperatorNamespace() {
+        return System.getProperty(PROMETHEUS_OPERATOR_NAMESPACE);
+    }
+
     public static String getAmqImageStreams() {
         return System.getProperty(AMQ_IMAGE_STREAMS);
     }
@@ -21,8 +21,10 @@ import java.net.URISyntaxException;
 import java.net.URL;
 import java.time.Duration;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -32,10 +34,12 @@ import java.util.stream.Collectors;
 
 import cz.xtf.core.openshift.OpenShift;
 import cz.xtf.core.waiting.SimpleWaiter;
+import io.fabric8.kubernetes.api.model.EnvVar;
 import io.fabric8.kubernetes.api.model.Pod;
 import io.fabric8.kubernetes.api.model.Quantity;
 import io.fabric8.kubernetes.api.model.Service;
 import io.fabric8.openshift.api.model.DeploymentConfig;
+import io.fabric8.openshift.api.model.DeploymentConfigStatus;
 import io.fabric8.openshift.api.model.ImageStreamTag;
 import io.fabric8.openshift.api.model.Route;
 import io.fabric8.openshift.api.model.RouteList;
@@ -43,8 +47,10 @@ import org.apache.commons.lang3.StringUtils;
 import org.kie.cloud.api.deployment.Deployment;
 import org.kie.cloud.api.deployment.DeploymentTimeoutException;
 import org.kie.cloud.api.deployment.Instance;
+import org.kie.cloud.api.deployment.JvmOptions;
 import org.kie.cloud.api.deployment.constants.DeploymentConstants;
 import org.kie.cloud.api.protocol.Protocol;
+import org.kie.cloud.openshift.constants.ImageEnvVariables;
 import org.kie.cloud.openshift.constants.OpenShiftConstants;
 import org.kie.cloud.openshift.resource.OpenShiftResourceConstants;
 import org.kie.cloud.openshift.resource.Project;
@@ -62,6 +68,9 @@ public abstract class OpenShiftDeployment implements Deployment {
 
     private OpenShift openShift;
     private Project project;
+    // JAVA_OPTS_APPEND before the first setJvmOptions call and the value set by the last call
+    private String originalJavaOptsAppend;
+    private String appliedJavaOptsAppend;
 
     public OpenShiftDeployment(Project project) {
         this.project = project;
@@ -266,6 +275,134 @@ public abstract class OpenShiftDeployment implements Deployment {
                  .done();
     }
 
+    @Override
+    public void setEnvironmentVariables(Map<String, String> environmentVariables) {
+        List<EnvVar> env = deploymentConfig().getSpec().getTemplate().getSpec().getContainers().get(0).getEnv().stream()
+                                             .filter(envVar -> !environmentVariables.containsKey(envVar.getName()))
+                                             .collect(toList());
+        environmentVariables.forEach((name, value) -> env.add(new EnvVar(name, value, null)));
+
+        openShift
+                 .deploymentConfigs()
+                 .withName(getDeploymentConfigName())
+                 .edit()
+                 .editOrNewSpec()
+                 .editTemplate()
+                 .editOrNewSpec()
+                 .editContainer(0)
+                 .withEnv(env)
+                 .endContainer()
+                 .endSpec()
+                 .endTemplate()
+                 .endSpec()
+                 .done();
+    }
+
+    /**
+     * Change JVM configuration by environment variables of the image and wait until the deployment is rolled out.
+     * Nothing is rolled out if the configuration is already applied.
+     *
+     * JAVA_OPTS_APPEND is rebuilt from its original value on every call, so options of the previous call are replaced.
+     * The original value is the one found by the first call, or the current one if it was changed by other means since.
+     *
+     * @param jvmOptions JVM configuration, only configured options are changed.
+     */
+    public synchronized void setJvmOptions(JvmOptions jvmOptions) {
+        Map<String, String> currentEnvironmentVariables = getEnvironmentVariables();
+        String currentJavaOptsAppend = currentEnvironmentVariables.getOrDefault(ImageEnvVariables.JAVA_OPTS_APPEND, "").trim();
+        if (!currentJavaOptsAppend.equals(appliedJavaOptsAppend)) {
+            originalJavaOptsAppend = currentJavaOptsAppend;
+        }
+        Map<String, String> environmentVariables = toEnvironmentVariables(jvmOptions, originalJavaOptsAppend, currentJavaOptsAppend);
+        appliedJavaOptsAppend = environmentVariables.getOrDefault(ImageEnvVariables.JAVA_OPTS_APPEND, currentJavaOptsAppend);
+        if (environmentVariables.entrySet().stream().allMatch(envVar -> envVar.getValue().equals(currentEnvironmentVariables.get(envVar.getKey())))) {
+            logger.info("{} already applied, skipping rollout.", jvmOptions);
+            return;
+        }
+
+        logger.info("Applying {}, waiting for rollout.", jvmOptions);
+        long previousVersion = getLatestVersion();
+        setEnvironmentVariables(environmentVariables);
+        waitForRollout(previousVersion);
+    }
+
+    private static Map<String, String> toEnvironmentVariables(JvmOptions jvmOptions, String originalJavaOptsAppend, String currentJavaOptsAppend) {
+        Map<String, String> environmentVariables = new HashMap<>();
+        jvmOptions.getGarbageCollector().ifPresent(garbageCollector -> environmentVariables.put(ImageEnvVariables.GC_CONTAINER_OPTIONS, garbageCollector.getOptions()));
+        jvmOptions.getInitialMemoryRatio().ifPresent(ratio -> environmentVariables.put(ImageEnvVariables.JAVA_INITIAL_MEM_RATIO, String.valueOf(ratio)));
+        jvmOptions.getMaxMemoryRatio().ifPresent(ratio -> environmentVariables.put(ImageEnvVariables.JAVA_MAX_MEM_RATIO, String.valueOf(ratio)));
+        jvmOptions.getMaxMetaspaceSize().ifPresent(size -> environmentVariables.put(ImageEnvVariables.GC_MAX_METASPACE_SIZE, String.valueOf(size)));
+        String javaOptsAppend = toJavaOptsAppend(originalJavaOptsAppend, jvmOptions);
+        if (!javaOptsAppend.equals(currentJavaOptsAppend)) {
+            environmentVariables.put(ImageEnvVariables.JAVA_OPTS_APPEND, javaOptsAppend);
+        }
+        return environmentVariables;
+    }
+
+    /**
+     * @return Original JAVA_OPTS_APPEND with GC logging and requested options appended, options configured by other means are kept.
+     */
+    private static String toJavaOptsAppend(String originalJavaOptsAppend, JvmOptions jvmOptions) {
+        String javaOptsAppend = originalJavaOptsAppend;
+        if (jvmOptions.isGcLogging()) {
+            javaOptsAppend = appendOptions(javaOptsAppend, JvmOptions.GC_LOGGING_OPTIONS);
+        }
+        return appendOptions(javaOptsAppend, jvmOptions.getJavaOptsAppend().orElse(""));
+    }
+
+    /**
+     * @return Options with added options appended, unchanged if they already contain them.
+     */
+    static String appendOptions(String options, String addedOptions) {
+        String added = addedOptions.trim();
+        if (added.isEmpty() || (" " + options + " ").contains(" " + added + " ")) {
+            return options;
+        }
+        return options.isEmpty() ? added : options + " " + added;
+    }
+
+    /**
+     * @return Environment variables of the deployment with a value, variables referencing other resources are skipped.
+     */
+    protected Map<String, String> getEnvironmentVariables() {
+        return deploymentConfig().getSpec().getTemplate().getSpec().getContainers().get(0).getEnv().stream()
+                                 .filter(envVar -> envVar.getValue() != null)
+                                 .collect(Collectors.toMap(EnvVar::getName, EnvVar::getValue, (first, second) -> second));
+    }
+
+    /**
+     * @return Latest version of the deployment config, increased by every rollout.
+     */
+    protected long getLatestVersion() {
+        return deploymentConfig().getStatus().getLatestVersion();
+    }
+
+    /**
+     * Wait until a version newer than the given one is rolled out, all its pods are available and pods of previous versions are terminated.
+     *
+     * @param previousVersion Latest version before the change triggering the rollout.
+     */
+    protected void waitForRollout(long previousVersion) {
+        try {
+            new SimpleWaiter(() -> OpenShiftCaller.repeatableCall(() -> isRolledOut(previousVersion))).timeout(OpenShiftResourceConstants.DEPLOYMENT_NEW_VERSION_TIMEOUT)
+                                                                                                       .reason("Waiting for rollout of deployment config " + getDeploymentConfigName() + " newer than version " + previousVersion)
+                                                                                                       .waitFor();
+        } catch (AssertionError e) {
+            throw new DeploymentTimeoutException("Timeout while waiting for rollout of deployment config " + getDeploymentConfigName());
+        }
+        waitForScale();
+    }
+
+    private boolean isRolledOut(long previousVersion) {
+        DeploymentConfig deploymentConfig = deploymentConfig();
+        DeploymentConfigStatus status = deploymentConfig.getStatus();
+        Integer replicas = deploymentConfig.getSpec().getReplicas();
+        return status.getLatestVersion() > previousVersion &&
+               Objects.equals(status.getUpdatedReplicas(), replicas) &&
+               Objects.equals(status.getAvailableReplicas(), replicas) &&
+               Objects.equals(status.getReplicas(), replicas);
+    }
+
     protected Optional<URL> getHttpRouteUrl(String serviceName) {
         return getRoute(Protocol.http, serviceName).map(toURL());
     }
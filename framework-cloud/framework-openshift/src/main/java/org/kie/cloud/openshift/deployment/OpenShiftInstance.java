@@ -15,6 +15,8 @@
  */
 package org.kie.cloud.openshift.deployment;
 
+import java.io.File;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.time.Instant;
 import java.util.ArrayList;
@@ -30,12 +32,15 @@ import io.fabric8.kubernetes.api.model.Container;
 import io.fabric8.kubernetes.api.model.ContainerStateRunning;
 import io.fabric8.kubernetes.api.model.Pod;
 import io.fabric8.kubernetes.api.model.PodSpec;
+import io.fabric8.kubernetes.client.LocalPortForward;
 import io.fabric8.kubernetes.client.dsl.LogWatch;
 import org.kie.cloud.api.deployment.CommandExecutionResult;
 import org.kie.cloud.api.deployment.Instance;
+import org.kie.cloud.api.deployment.PortForward;
 import rx.Observable;
 import rx.observables.StringObservable;
 
+import static org.kie.cloud.openshift.util.CommandUtil.copyFileImpl;
 import static org.kie.cloud.openshift.util.CommandUtil.runCommandImpl;
 
 public class OpenShiftInstance implements Instance {
@@ -69,6 +74,32 @@ public class OpenShiftInstance implements Instance {
         return runCommandImpl(openshift.pods().withName(name), command);
     }
 
+    @Override
+    public void copyFile(String sourcePath, File destination) {
+        copyFileImpl(openshift.pods().withName(name), sourcePath, destination);
+    }
+
+    @Override
+    public PortForward forwardPort(int port) {
+        LocalPortForward portForward = openshift.pods().withName(name).portForward(port);
+        return new PortForward() {
+
+            @Override
+            public int getLocalPort() {
+                return portForward.getLocalPort();
+            }
+
+            @Override
+            public void close() {
+                try {
+                    portForward.close();
+                } catch (IOException e) {
+                    throw new RuntimeException("Error while closing port forward of port " + port + " of instance " + name, e);
+                }
+            }
+        };
+    }
+
     @Override
     public boolean isRunning() {
         return exists() && getContainerRunningState() != null;
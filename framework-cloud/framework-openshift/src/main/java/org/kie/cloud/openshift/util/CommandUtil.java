@@ -15,16 +15,27 @@
 
 package org.kie.cloud.openshift.util;
 
+import java.io.BufferedOutputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import io.fabric8.kubernetes.api.model.DoneablePod;
 import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.client.dsl.ExecListener;
 import io.fabric8.kubernetes.client.dsl.ExecWatch;
 import io.fabric8.kubernetes.client.dsl.PodResource;
 import io.fabric8.kubernetes.client.dsl.internal.ExecWebSocketListener;
+import okhttp3.Response;
 import org.kie.cloud.api.deployment.CommandExecutionResult;
 
 public class CommandUtil {
+
+    private static final long COPY_TIMEOUT_MINUTES = 30;
+
     public static CommandExecutionResult runCommandImpl(PodResource<Pod, DoneablePod> pod, String... command) {
         ByteArrayOutputStream output = new ByteArrayOutputStream();
         ByteArrayOutputStream error = new ByteArrayOutputStream();
@@ -41,6 +52,51 @@ public class CommandUtil {
 
     }
 
+    /**
+     * Copy file from the pod by streaming it as a tar archive, the same way as <code>oc cp</code> does. Requires tar in the pod.
+     */
+    public static void copyFileImpl(PodResource<Pod, DoneablePod> pod, String sourcePath, File destination) {
+        int separator = sourcePath.lastIndexOf('/');
+        String directory = separator > 0 ? sourcePath.substring(0, separator) : "/";
+        String fileName = sourcePath.substring(separator + 1);
+
+        ByteArrayOutputStream error = new ByteArrayOutputStream();
+        CountDownLatch finished = new CountDownLatch(1);
+        ExecListener listener = new ExecListener() {
+
+            @Override
+            public void onOpen(Response response) {
+            }
+
+            @Override
+            public void onFailure(Throwable t, Response response) {
+                finished.countDown();
+            }
+
+            @Override
+            public void onClose(int code, String reason) {
+                finished.countDown();
+            }
+        };
+
+        destination.getAbsoluteFile().getParentFile().mkdirs();
+        try (TarFileOutputStream output = new TarFileOutputStream(new BufferedOutputStream(new FileOutputStream(destination)))) {
+            try (ExecWatch execWatch = pod.writingOutput(output).writingError(error).usingListener(listener).exec("tar", "cf", "-", "-C", directory, fileName)) {
+                if (!finished.await(COPY_TIMEOUT_MINUTES, TimeUnit.MINUTES)) {
+                    throw new RuntimeException("Timeout while copying file " + sourcePath + " from pod");
+                }
+            }
+            if (!output.isComplete()) {
+                throw new RuntimeException("File " + sourcePath + " wasn't copied from pod completely: " + error.toString());
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Error while copying file " + sourcePath + " from pod to " + destination, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while copying file " + sourcePath + " from pod", e);
+        }
+    }
+
     private static void waitUntilCommandIsFinished(ExecWatch execWatch) {
         if (execWatch instanceof ExecWebSocketListener) {
             ((ExecWebSocketListener) execWatch).waitUntilReady();
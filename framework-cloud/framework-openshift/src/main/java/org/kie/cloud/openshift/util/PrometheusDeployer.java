@@ -15,28 +15,28 @@
  */
 package org.kie.cloud.openshift.util;
 
-import java.io.BufferedReader;
-import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.net.MalformedURLException;
-import java.net.URL;
-import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.Collections;
-import java.util.stream.Collectors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 import cz.xtf.builder.builders.SecretBuilder;
+import cz.xtf.core.openshift.OpenShift;
 import cz.xtf.core.openshift.OpenShifts;
+import cz.xtf.core.waiting.SimpleWaiter;
+import io.fabric8.kubernetes.api.model.NamespaceBuilder;
 import io.fabric8.kubernetes.api.model.Secret;
 import io.fabric8.kubernetes.api.model.ServiceAccount;
 import io.fabric8.kubernetes.api.model.apiextensions.CustomResourceDefinition;
 import io.fabric8.kubernetes.api.model.apps.Deployment;
+import io.fabric8.kubernetes.api.model.rbac.ClusterRole;
 import io.fabric8.kubernetes.api.model.rbac.ClusterRoleBinding;
+import io.fabric8.kubernetes.api.model.rbac.RoleBinding;
+import io.fabric8.kubernetes.api.model.rbac.RoleBindingBuilder;
 import io.fabric8.kubernetes.client.dsl.NonNamespaceOperation;
 import io.fabric8.kubernetes.client.dsl.Resource;
 import org.kie.cloud.api.deployment.KieServerDeployment;
@@ -52,47 +52,44 @@ import org.kie.cloud.openshift.prometheus.servicemonitor.components.Endpoint;
 import org.kie.cloud.openshift.prometheus.servicemonitor.components.Selector;
 import org.kie.cloud.openshift.prometheus.servicemonitor.components.Spec;
 import org.kie.cloud.openshift.resource.Project;
-import org.kie.cloud.openshift.util.operator.OperatorDeployer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Utility class used for deploying Prometheus monitoring to OpenShift project.
+ * Deploys Prometheus monitoring Kie server of a project.
+ *
+ * Prometheus operator watching all namespaces is installed only once per cluster into namespace defined by
+ * {@link OpenShiftConstants#getPrometheusOperatorNamespace()}, it is reused if it already runs there. Every project gets just its
+ * own Prometheus custom resource and service monitor. Manifests are bundled as classpath resources per Prometheus operator version.
  */
 public class PrometheusDeployer {
 
-    private static final ObjectMapper YAML_MAPPER = new ObjectMapper(new YAMLFactory());
     private static final Logger logger = LoggerFactory.getLogger(PrometheusDeployer.class);
 
-    private static final String PROMETHEUS_OPERATOR_SERVICE_ACCOUNT = "https://raw.githubusercontent.com/coreos/prometheus-operator/%s/example/rbac/prometheus-operator/prometheus-operator-service-account.yaml";
-    private static final String PROMETHEUS_SERVICE_ACCOUNT = "https://raw.githubusercontent.com/coreos/prometheus-operator/%s/example/rbac/prometheus/prometheus-service-account.yaml";
-    private static final String PROMETHEUS_OPERATOR_CLUSTER_ROLE = "https://raw.githubusercontent.com/coreos/prometheus-operator/%s/example/rbac/prometheus-operator/prometheus-operator-cluster-role.yaml";
-    private static final String PROMETHEUS_CLUSTER_ROLE = "https://raw.githubusercontent.com/coreos/prometheus-operator/%s/example/rbac/prometheus/prometheus-cluster-role.yaml";
-    private static final String PROMETHEUS_OPERATOR_CLUSTER_ROLE_BINDING = "https://raw.githubusercontent.com/coreos/prometheus-operator/%s/example/rbac/prometheus-operator/prometheus-operator-cluster-role-binding.yaml";
-    private static final String PROMETHEUS_CLUSTER_ROLE_BINDING = "https://raw.githubusercontent.com/coreos/prometheus-operator/%s/example/rbac/prometheus/prometheus-cluster-role-binding.yaml";
-    private static final String PROMETHEUS_OPERATOR_DEPLOYMENT = "https://raw.githubusercontent.com/coreos/prometheus-operator/%s/example/rbac/prometheus-operator/prometheus-operator-deployment.yaml";
-    private static final String PROMETHEUS_CUSTOM_RESOURCE = "https://raw.githubusercontent.com/coreos/prometheus-operator/%s/example/rbac/prometheus/prometheus.yaml";
+    private static final String MANIFESTS_LOCATION = "/org/kie/cloud/openshift/prometheus/%s/%s";
+
+    private static final String PROMETHEUS_OPERATOR_SERVICE_ACCOUNT = "prometheus-operator-service-account.yaml";
+    private static final String PROMETHEUS_SERVICE_ACCOUNT = "prometheus-service-account.yaml";
+    private static final String PROMETHEUS_OPERATOR_CLUSTER_ROLE = "prometheus-operator-cluster-role.yaml";
+    private static final String PROMETHEUS_CLUSTER_ROLE = "prometheus-cluster-role.yaml";
+    private static final String PROMETHEUS_OPERATOR_CLUSTER_ROLE_BINDING = "prometheus-operator-cluster-role-binding.yaml";
+    private static final String PROMETHEUS_OPERATOR_DEPLOYMENT = "prometheus-operator-deployment.yaml";
+    private static final String PROMETHEUS_CUSTOM_RESOURCE = "prometheus.yaml";
+
+    private static final String PROMETHEUS_OPERATOR_NAME = "prometheus-operator";
+    private static final String PROMETHEUS_NAME = "prometheus";
+    private static final String PROMETHEUS_CRD_NAME = "prometheuses.monitoring.coreos.com";
+    private static final String SERVICE_MONITOR_CRD_NAME = "servicemonitors.monitoring.coreos.com";
 
     private static final String METRIC_SECRET_NAME = "metrics-secret";
     private static final String METRIC_SECRET_USERNAME_KEY = "username";
     private static final String METRIC_SECRET_PASSWORD_KEY = "password";
 
-    private static final String PROMETHEUS_OPERATOR_NAME = "prometheus";
-
     public static PrometheusDeployment deploy(Project project, KieServerDeployment kieServerDeployment) {
-        addClusterRoleToAdminUser(project);
+        installOperatorIfMissing(project);
 
-        createServiceAccount(project, versioned(PROMETHEUS_OPERATOR_SERVICE_ACCOUNT));
-        createServiceAccount(project, versioned(PROMETHEUS_SERVICE_ACCOUNT));
-        addPrometheusOperatorSecurityConstrains(project);
-
-        createPrometheusOperatorClusterRole(project, versioned(PROMETHEUS_OPERATOR_CLUSTER_ROLE));
-        createPrometheusOperatorClusterRoleBinding(project, versioned(PROMETHEUS_OPERATOR_CLUSTER_ROLE_BINDING));
-        createPrometheusOperatorDeployment(project, versioned(PROMETHEUS_OPERATOR_DEPLOYMENT));
-
-        createPrometheusOperatorClusterRole(project, versioned(PROMETHEUS_CLUSTER_ROLE));
-        createPrometheusOperatorClusterRoleBinding(project, versioned(PROMETHEUS_CLUSTER_ROLE_BINDING));
-        createPrometheusCustomResource(project, versioned(PROMETHEUS_CUSTOM_RESOURCE));
+        createPrometheusServiceAccount(project);
+        createPrometheusCustomResource(project);
         exposePrometheusRoute(project);
 
         createMetricsSecret(project, kieServerDeployment);
@@ -102,79 +99,128 @@ public class PrometheusDeployer {
         return prometheusDeployment;
     }
 
+    /**
+     * Prometheus operator is shared by all projects, so it is kept running. Prometheus of the project is deleted together with the project.
+     */
     public static void undeployOperator(Project project) {
-        OperatorDeployer.undeploy(project, PROMETHEUS_OPERATOR_NAME);
+        logger.info("Prometheus operator in namespace {} is shared by all projects, it is not undeployed.", OpenShiftConstants.getPrometheusOperatorNamespace());
     }
 
-    private static String versioned(String url) {
-        return String.format(url, OpenShiftConstants.getPrometheusVersion());
-    }
+    private static synchronized void installOperatorIfMissing(Project project) {
+        String operatorNamespace = OpenShiftConstants.getPrometheusOperatorNamespace();
+        if (isOperatorInstalled(operatorNamespace)) {
+            logger.info("Prometheus operator is already running in namespace {}.", operatorNamespace);
+            return;
+        }
 
-    private static void addClusterRoleToAdminUser(Project project) {
-        String execute = project.runOcCommandAsAdmin("adm", "policy", "add-cluster-role-to-user", "cluster-admin", OpenShiftConstants.getOpenShiftAdminUserName());
-        logger.info(execute);
+        logger.info("Installing Prometheus operator {} to namespace {}.", OpenShiftConstants.getPrometheusVersion(), operatorNamespace);
+        addClusterRoleToAdminUser(project);
+        OpenShift admin = OpenShifts.admin();
+        if (admin.namespaces().withName(operatorNamespace).get() == null) {
+            admin.namespaces().create(new NamespaceBuilder().withNewMetadata().withName(operatorNamespace).endMetadata().build());
+        }
+
+        ServiceAccount serviceAccount = loadManifest(PROMETHEUS_OPERATOR_SERVICE_ACCOUNT, manifest -> admin.serviceAccounts().load(manifest).get());
+        serviceAccount.getMetadata().setNamespace(operatorNamespace);
+        admin.serviceAccounts().inNamespace(operatorNamespace).createOrReplace(serviceAccount);
+        addPrivilegedSecurityConstraint(project, operatorNamespace, PROMETHEUS_OPERATOR_NAME);
+
+        createClusterRole(admin, PROMETHEUS_OPERATOR_CLUSTER_ROLE);
+        createClusterRole(admin, PROMETHEUS_CLUSTER_ROLE);
+        ClusterRoleBinding clusterRoleBinding = loadManifest(PROMETHEUS_OPERATOR_CLUSTER_ROLE_BINDING, manifest -> admin.rbac().clusterRoleBindings().load(manifest).get());
+        clusterRoleBinding.getSubjects().get(0).setNamespace(operatorNamespace);
+        admin.rbac().clusterRoleBindings().createOrReplace(clusterRoleBinding);
+
+        Deployment deployment = loadManifest(PROMETHEUS_OPERATOR_DEPLOYMENT, manifest -> admin.apps().deployments().load(manifest).get());
+        deployment.getMetadata().setNamespace(operatorNamespace);
+        admin.apps().deployments().inNamespace(operatorNamespace).createOrReplace(deployment);
+
+        // Custom resource definitions are registered by the operator once it starts
+        new SimpleWaiter(() -> isOperatorInstalled(operatorNamespace)).timeout(TimeUnit.MINUTES, 5L)
+                                                                       .reason("Waiting for Prometheus operator to start and register its custom resource definitions.")
+                                                                       .waitFor();
     }
 
-    private static void createServiceAccount(Project project, String serviceAccountUrl) {
-        try {
-            ServiceAccount serviceAccount = project.getOpenShift().serviceAccounts().load(new URL(serviceAccountUrl)).get();
-            serviceAccount.getMetadata().setNamespace(project.getName());
-            project.getOpenShift().serviceAccounts().create(serviceAccount);
-        } catch (MalformedURLException e) {
-            throw new RuntimeException("Malformed service account URL: " + serviceAccountUrl, e);
-        }
+    private static boolean isOperatorInstalled(String operatorNamespace) {
+        OpenShift admin = OpenShifts.admin();
+        Deployment deployment = admin.apps().deployments().inNamespace(operatorNamespace).withName(PROMETHEUS_OPERATOR_NAME).get();
+        return deployment != null
+               && deployment.getStatus() != null
+               && deployment.getStatus().getReadyReplicas() != null
+               && deployment.getStatus().getReadyReplicas() > 0
+               && admin.customResourceDefinitions().withName(PROMETHEUS_CRD_NAME).get() != null
+               && admin.customResourceDefinitions().withName(SERVICE_MONITOR_CRD_NAME).get() != null
+               && admin.rbac().clusterRoles().withName(PROMETHEUS_NAME).get() != null;
     }
 
-    private static void createPrometheusOperatorClusterRole(Project project, String clusterRoleUrl) {
-        String execute = project.runOcCommandAsAdmin("apply", "-f", clusterRoleUrl);
-        logger.info(execute);
+    private static InputStream manifest(String name) {
+        String location = String.format(MANIFESTS_LOCATION, OpenShiftConstants.getPrometheusVersion(), name);
+        InputStream manifest = PrometheusDeployer.class.getResourceAsStream(location);
+        if (manifest == null) {
+            throw new RuntimeException("Prometheus manifest " + location + " not found, Prometheus operator version " + OpenShiftConstants.getPrometheusVersion() + " is not bundled.");
+        }
+        return manifest;
     }
 
-    private static void createPrometheusOperatorClusterRoleBinding(Project project, String clusterRoleBindingUrl) {
-        try {
-            ClusterRoleBinding clusterRoleBinding = project.getOpenShift().rbac().clusterRoleBindings().load(new URL(clusterRoleBindingUrl)).get();
-            clusterRoleBinding.getSubjects().get(0).setNamespace(project.getName());
-            clusterRoleBinding.getMetadata().setNamespace(project.getName());
-            clusterRoleBinding.setApiVersion("rbac.authorization.k8s.io/v1"); // Workaround to make REST call work
-            OpenShifts.admin().inNamespace(project.getName()).rbac().clusterRoleBindings().createOrReplace(clusterRoleBinding);
-        } catch (MalformedURLException e) {
-            throw new RuntimeException("Malformed cluster role binding URL: " + clusterRoleBindingUrl, e);
+    private static <T> T loadManifest(String name, Function<InputStream, T> loader) {
+        try (InputStream manifest = manifest(name)) {
+            return loader.apply(manifest);
+        } catch (IOException e) {
+            throw new RuntimeException("IO exception while loading Prometheus manifest " + name + ".", e);
         }
     }
 
-    private static void addPrometheusOperatorSecurityConstrains(Project project) {
-        String execute = project.runOcCommandAsAdmin("adm", "policy", "add-scc-to-user", "privileged", "-n", project.getName(), "-z", "prometheus-operator");
+    private static void addClusterRoleToAdminUser(Project project) {
+        String execute = project.runOcCommandAsAdmin("adm", "policy", "add-cluster-role-to-user", "cluster-admin", OpenShiftConstants.getOpenShiftAdminUserName());
         logger.info(execute);
-        execute = project.runOcCommandAsAdmin("adm", "policy", "add-scc-to-user", "privileged", "-n", project.getName(), "-z", "prometheus");
+    }
+
+    private static void addPrivilegedSecurityConstraint(Project project, String namespace, String serviceAccountName) {
+        String execute = project.runOcCommandAsAdmin("adm", "policy", "add-scc-to-user", "privileged", "-n", namespace, "-z", serviceAccountName);
         logger.info(execute);
     }
 
-    private static void createPrometheusOperatorDeployment(Project project, String deploymentUrl) {
-        try {
-            Deployment deployment = project.getOpenShift().apps().deployments().load(new URL(deploymentUrl)).get();
-            deployment.getMetadata().setNamespace(project.getName());
-            Path deploymentFile = storeObjectAsYamlToTempFile(deployment);
-            String execute = project.runOcCommandAsAdmin("apply", "-f", deploymentFile.toString());
-            logger.info(execute);
+    private static void createClusterRole(OpenShift admin, String clusterRoleManifest) {
+        ClusterRole clusterRole = loadManifest(clusterRoleManifest, manifest -> admin.rbac().clusterRoles().load(manifest).get());
+        admin.rbac().clusterRoles().createOrReplace(clusterRole);
+    }
 
-            project.getOpenShift().waiters().areExactlyNPodsReady(1, "app.kubernetes.io/name", "prometheus-operator").waitFor();
-            project.getOpenShift().waiters().areExactlyNPodsRunning(1, "app.kubernetes.io/name", "prometheus-operator").waitFor();
-        } catch (MalformedURLException e) {
-            throw new RuntimeException("Malformed deployment URL: " + deploymentUrl, e);
-        }
+    /**
+     * Prometheus monitors only its own project, so the cluster role is bound just within the project.
+     */
+    private static void createPrometheusServiceAccount(Project project) {
+        ServiceAccount serviceAccount = loadManifest(PROMETHEUS_SERVICE_ACCOUNT, manifest -> project.getOpenShift().serviceAccounts().load(manifest).get());
+        serviceAccount.getMetadata().setNamespace(project.getName());
+        project.getOpenShift().serviceAccounts().create(serviceAccount);
+        addPrivilegedSecurityConstraint(project, project.getName(), PROMETHEUS_NAME);
+
+        RoleBinding roleBinding = new RoleBindingBuilder().withNewMetadata()
+                                                              .withName(PROMETHEUS_NAME)
+                                                              .withNamespace(project.getName())
+                                                          .endMetadata()
+                                                          .withNewRoleRef()
+                                                              .withApiGroup("rbac.authorization.k8s.io")
+                                                              .withKind("ClusterRole")
+                                                              .withName(PROMETHEUS_NAME)
+                                                          .endRoleRef()
+                                                          .addNewSubject()
+                                                              .withKind("ServiceAccount")
+                                                              .withName(PROMETHEUS_NAME)
+                                                              .withNamespace(project.getName())
+                                                          .endSubject()
+                                                          .build();
+        project.getOpenShiftAdmin().rbac().roleBindings().inNamespace(project.getName()).createOrReplace(roleBinding);
     }
 
-    private static void createPrometheusCustomResource(Project project, String customResourceUrl) {
-        try (InputStream in = (new URL(customResourceUrl)).openStream(); BufferedReader br = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
-            String customResource = br.lines().collect(Collectors.joining(System.lineSeparator()));
-            Path customResourceFile = storeStringAsYamlToTempFile(customResource);
-            String execute = project.runOcCommandAsAdmin("apply", "-f", customResourceFile.toString());
+    private static void createPrometheusCustomResource(Project project) {
+        try (InputStream customResource = manifest(PROMETHEUS_CUSTOM_RESOURCE)) {
+            Path customResourceFile = Files.createTempFile("prometheus", ".yaml");
+            Files.copy(customResource, customResourceFile, StandardCopyOption.REPLACE_EXISTING);
+            String execute = project.runOcCommandAsAdmin("apply", "-n", project.getName(), "-f", customResourceFile.toString());
             logger.info(execute);
 
             project.getOpenShift().waiters().areExactlyNPodsReady(2, "prometheus", "prometheus").waitFor();
             project.getOpenShift().waiters().areExactlyNPodsRunning(2, "prometheus", "prometheus").waitFor();
-        } catch (MalformedURLException e) {
-            throw new RuntimeException("Malformed deployment URL: " + customResourceUrl, e);
         } catch (IOException e) {
             throw new RuntimeException("IO exception while loading custom resource.", e);
         }
@@ -189,7 +235,7 @@ public class PrometheusDeployer {
     }
 
     private static void createServiceMonitorCustomResource(Project project) {
-        CustomResourceDefinition customResourceDefinition = OpenShifts.admin().customResourceDefinitions().withName("servicemonitors.monitoring.coreos.com").get();
+        CustomResourceDefinition customResourceDefinition = OpenShifts.admin().customResourceDefinitions().withName(SERVICE_MONITOR_CRD_NAME).get();
         NonNamespaceOperation<ServiceMonitor, ServiceMonitorList, ServiceMonitorDoneable, Resource<ServiceMonitor, ServiceMonitorDoneable>> serviceMonitorClient = OpenShifts.admin().customResources(customResourceDefinition, ServiceMonitor.class, ServiceMonitorList.class, ServiceMonitorDoneable.class).inNamespace(project.getName());
        
         AuthOption username = new AuthOption();
@@ -237,21 +283,4 @@ public class PrometheusDeployer {
         String execute = project.runOcCommandAsAdmin("expose", "service", "prometheus-operated");
         logger.info(execute);
     }
-
-    private static Path storeObjectAsYamlToTempFile(Object objectToBeMapped) {
-        try {
-            byte[] yamlValue = YAML_MAPPER.writeValueAsBytes(objectToBeMapped);
-            return Files.write(File.createTempFile("prometheus", ".yaml").toPath(), yamlValue);
-        } catch (IOException e) {
-            throw new RuntimeException("Error while storing object to temporary YAML file.", e);
-        }
-    }
-
-    private static Path storeStringAsYamlToTempFile(String stringToBeStored) {
-        try {
-            return Files.write(File.createTempFile("prometheus", ".yaml").toPath(), stringToBeStored.getBytes());
-        } catch (IOException e) {
-            throw new RuntimeException("Error while storing object to temporary YAML file.", e);
-        }
-    }
 }
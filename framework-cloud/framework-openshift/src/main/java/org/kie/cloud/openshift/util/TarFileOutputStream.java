@@ -0,0 +1,156 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.kie.cloud.openshift.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Consumes a tar archive streamed from a pod and writes content of its first regular file to the destination stream, so the
+ * archive is never stored locally. Extended headers (pax, GNU long names) preceding the file are skipped, any entries after
+ * the file are ignored.
+ */
+public class TarFileOutputStream extends OutputStream {
+
+    private static final int BLOCK_SIZE = 512;
+    private static final int SIZE_OFFSET = 124;
+    private static final int SIZE_LENGTH = 12;
+    private static final int TYPE_FLAG_OFFSET = 156;
+
+    private enum State {
+        HEADER,
+        CONTENT,
+        SKIP,
+        DONE
+    }
+
+    private final OutputStream destination;
+    private final byte[] header = new byte[BLOCK_SIZE];
+    private final byte[] singleByte = new byte[1];
+
+    private State state = State.HEADER;
+    private int headerLength;
+    private long remaining;
+
+    public TarFileOutputStream(OutputStream destination) {
+        this.destination = destination;
+    }
+
+    /**
+     * @return True if the whole content of a file was written to the destination.
+     */
+    public boolean isComplete() {
+        return state == State.DONE && remaining == 0;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        singleByte[0] = (byte) b;
+        write(singleByte, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        int position = offset;
+        int end = offset + length;
+        while (position < end && state != State.DONE) {
+            int count;
+            switch (state) {
+                case HEADER:
+                    count = Math.min(end - position, BLOCK_SIZE - headerLength);
+                    System.arraycopy(bytes, position, header, headerLength, count);
+                    headerLength += count;
+                    if (headerLength == BLOCK_SIZE) {
+                        readHeader();
+                    }
+                    break;
+                case CONTENT:
+                    count = (int) Math.min(end - position, remaining);
+                    destination.write(bytes, position, count);
+                    remaining -= count;
+                    if (remaining == 0) {
+                        state = State.DONE;
+                    }
+                    break;
+                case SKIP:
+                    count = (int) Math.min(end - position, remaining);
+                    remaining -= count;
+                    if (remaining == 0) {
+                        state = State.HEADER;
+                    }
+                    break;
+                default:
+                    throw new IllegalStateException("Unexpected state " + state);
+            }
+            position += count;
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        destination.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        destination.close();
+    }
+
+    private void readHeader() {
+        headerLength = 0;
+        if (isEmptyBlock()) {
+            // End of archive without any regular file
+            state = State.DONE;
+            remaining = -1;
+            return;
+        }
+
+        long size = parseSize();
+        char typeFlag = (char) header[TYPE_FLAG_OFFSET];
+        if (typeFlag == '0' || typeFlag == '\0') {
+            remaining = size;
+            state = size == 0 ? State.DONE : State.CONTENT;
+        } else {
+            // Skip content of other entries including padding to full blocks
+            remaining = (size + BLOCK_SIZE - 1) / BLOCK_SIZE * BLOCK_SIZE;
+            state = remaining == 0 ? State.HEADER : State.SKIP;
+        }
+    }
+
+    private boolean isEmptyBlock() {
+        for (byte b : header) {
+            if (b != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long parseSize() {
+        if ((header[SIZE_OFFSET] & 0x80) != 0) {
+            // Base-256 encoding used for files bigger than 8 GB
+            long size = 0;
+            for (int i = SIZE_OFFSET + 1; i < SIZE_OFFSET + SIZE_LENGTH; i++) {
+                size = (size << 8) | (header[i] & 0xff);
+            }
+            return size;
+        }
+        String octal = new String(header, SIZE_OFFSET, SIZE_LENGTH, StandardCharsets.US_ASCII).replace('\0', ' ').trim();
+        return octal.isEmpty() ? 0 : Long.parseLong(octal, 8);
+    }
+}
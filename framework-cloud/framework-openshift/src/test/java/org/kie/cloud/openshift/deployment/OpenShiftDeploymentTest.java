@@ -0,0 +1,122 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.kie.cloud.openshift.deployment;
+
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+import org.kie.cloud.api.deployment.JvmOptions;
+import org.kie.cloud.openshift.constants.ImageEnvVariables;
+import org.kie.cloud.openshift.resource.Project;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class OpenShiftDeploymentTest {
+
+    private static final String ORIGINAL_JAVA_OPTS_APPEND = "-Dorg.kie.server.bypass.auth.user=true";
+
+    @Test
+    public void testAppendOptionsKeepsExistingOptions() {
+        assertThat(OpenShiftDeployment.appendOptions("-XX:MaxGCPauseMillis=100", "-Xlog:gc")).isEqualTo("-XX:MaxGCPauseMillis=100 -Xlog:gc");
+        assertThat(OpenShiftDeployment.appendOptions("", "-Xlog:gc")).isEqualTo("-Xlog:gc");
+    }
+
+    @Test
+    public void testAppendOptionsIsIdempotent() {
+        String options = OpenShiftDeployment.appendOptions("-XX:MaxGCPauseMillis=100", "-Xlog:gc");
+
+        assertThat(OpenShiftDeployment.appendOptions(options, "-Xlog:gc")).isEqualTo(options);
+        assertThat(OpenShiftDeployment.appendOptions(options, " ")).isEqualTo(options);
+        assertThat(OpenShiftDeployment.appendOptions("-Xlog:gc:stdout", "-Xlog:gc")).isEqualTo("-Xlog:gc:stdout -Xlog:gc");
+    }
+
+    @Test
+    public void testGcLoggingIsRemovedWhenTurnedOff() {
+        InMemoryDeployment deployment = new InMemoryDeployment(ORIGINAL_JAVA_OPTS_APPEND);
+
+        deployment.setJvmOptions(new JvmOptions().withGcLogging(true));
+        assertThat(deployment.getJavaOptsAppend()).isEqualTo(ORIGINAL_JAVA_OPTS_APPEND + " " + JvmOptions.GC_LOGGING_OPTIONS);
+
+        deployment.setJvmOptions(new JvmOptions().withGcLogging(false));
+        assertThat(deployment.getJavaOptsAppend()).isEqualTo(ORIGINAL_JAVA_OPTS_APPEND);
+        assertThat(deployment.rollouts).isEqualTo(2);
+    }
+
+    @Test
+    public void testJavaOptsAppendIsReplaced() {
+        InMemoryDeployment deployment = new InMemoryDeployment(ORIGINAL_JAVA_OPTS_APPEND);
+
+        deployment.setJvmOptions(new JvmOptions().withGcLogging(true).withJavaOptsAppend("-XX:MaxGCPauseMillis=100"));
+        deployment.setJvmOptions(new JvmOptions().withGcLogging(true).withJavaOptsAppend("-XX:MaxGCPauseMillis=200"));
+        assertThat(deployment.getJavaOptsAppend()).isEqualTo(ORIGINAL_JAVA_OPTS_APPEND + " " + JvmOptions.GC_LOGGING_OPTIONS + " -XX:MaxGCPauseMillis=200");
+
+        deployment.setJvmOptions(new JvmOptions().withGcLogging(true).withJavaOptsAppend("-XX:MaxGCPauseMillis=200"));
+        assertThat(deployment.rollouts).isEqualTo(2);
+    }
+
+    @Test
+    public void testJavaOptsAppendChangedByOtherMeansIsKept() {
+        InMemoryDeployment deployment = new InMemoryDeployment(ORIGINAL_JAVA_OPTS_APPEND);
+        deployment.setJvmOptions(new JvmOptions().withGcLogging(true));
+
+        // For example a parameter sweep setting JAVA_OPTS_APPEND directly
+        deployment.setEnvironmentVariables(Collections.singletonMap(ImageEnvVariables.JAVA_OPTS_APPEND, "-XX:+UseStringDeduplication"));
+        deployment.setJvmOptions(new JvmOptions().withGcLogging(true));
+        assertThat(deployment.getJavaOptsAppend()).isEqualTo("-XX:+UseStringDeduplication " + JvmOptions.GC_LOGGING_OPTIONS);
+    }
+
+    /**
+     * Kie server deployment keeping its environment variables in memory, every change is a rollout.
+     */
+    private static class InMemoryDeployment extends KieServerDeploymentImpl {
+
+        private final Map<String, String> environmentVariables = new HashMap<>();
+        private int rollouts;
+
+        InMemoryDeployment(String javaOptsAppend) {
+            super((Project) Proxy.newProxyInstance(Project.class.getClassLoader(), new Class<?>[] { Project.class }, (proxy, method, args) -> null));
+            environmentVariables.put(ImageEnvVariables.JAVA_OPTS_APPEND, javaOptsAppend);
+        }
+
+        String getJavaOptsAppend() {
+            return environmentVariables.get(ImageEnvVariables.JAVA_OPTS_APPEND);
+        }
+
+        @Override
+        public void setEnvironmentVariables(Map<String, String> environmentVariables) {
+            this.environmentVariables.putAll(environmentVariables);
+            rollouts++;
+        }
+
+        @Override
+        protected Map<String, String> getEnvironmentVariables() {
+            return new HashMap<>(environmentVariables);
+        }
+
+        @Override
+        protected long getLatestVersion() {
+            return rollouts;
+        }
+
+        @Override
+        protected void waitForRollout(long previousVersion) {
+        }
+    }
+}
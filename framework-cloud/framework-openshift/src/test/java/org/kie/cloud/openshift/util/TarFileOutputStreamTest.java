@@ -0,0 +1,92 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.kie.cloud.openshift.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TarFileOutputStreamTest {
+
+    @Test
+    public void testFileContentIsExtracted() throws IOException {
+        byte[] content = "recording content".getBytes(StandardCharsets.UTF_8);
+        byte[] archive = concat(header("recording.jfr", '0', content.length), padded(content), new byte[1024]);
+
+        ByteArrayOutputStream destination = new ByteArrayOutputStream();
+        TarFileOutputStream output = new TarFileOutputStream(destination);
+        // Write in small chunks to cross block boundaries
+        for (int i = 0; i < archive.length; i += 100) {
+            output.write(archive, i, Math.min(100, archive.length - i));
+        }
+
+        assertThat(output.isComplete()).isTrue();
+        assertThat(destination.toByteArray()).isEqualTo(content);
+    }
+
+    @Test
+    public void testExtendedHeaderIsSkipped() throws IOException {
+        byte[] paxRecord = "30 path=very/long/recording.jfr\n".getBytes(StandardCharsets.UTF_8);
+        byte[] content = new byte[700];
+        Arrays.fill(content, (byte) 7);
+        byte[] archive = concat(header("PaxHeader", 'x', paxRecord.length), padded(paxRecord), header("recording.jfr", '0', content.length), padded(content));
+
+        ByteArrayOutputStream destination = new ByteArrayOutputStream();
+        TarFileOutputStream output = new TarFileOutputStream(destination);
+        output.write(archive);
+
+        assertThat(output.isComplete()).isTrue();
+        assertThat(destination.toByteArray()).isEqualTo(content);
+    }
+
+    @Test
+    public void testTruncatedArchiveIsNotComplete() throws IOException {
+        byte[] archive = concat(header("recording.jfr", '0', 1000), new byte[200]);
+
+        TarFileOutputStream output = new TarFileOutputStream(new ByteArrayOutputStream());
+        output.write(archive);
+
+        assertThat(output.isComplete()).isFalse();
+    }
+
+    private static byte[] header(String name, char typeFlag, long size) {
+        byte[] header = new byte[512];
+        byte[] nameBytes = name.getBytes(StandardCharsets.US_ASCII);
+        System.arraycopy(nameBytes, 0, header, 0, nameBytes.length);
+        byte[] sizeBytes = String.format("%011o", size).getBytes(StandardCharsets.US_ASCII);
+        System.arraycopy(sizeBytes, 0, header, 124, sizeBytes.length);
+        header[156] = (byte) typeFlag;
+        return header;
+    }
+
+    private static byte[] padded(byte[] content) {
+        return Arrays.copyOf(content, (content.length + 511) / 512 * 512);
+    }
+
+    private static byte[] concat(byte[]... parts) {
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        for (byte[] part : parts) {
+            result.write(part, 0, part.length);
+        }
+        return result.toByteArray();
+    }
+}
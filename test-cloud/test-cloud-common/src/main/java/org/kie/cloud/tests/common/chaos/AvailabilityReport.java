@@ -0,0 +1,103 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.kie.cloud.tests.common.chaos;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.kie.cloud.tests.common.statistics.Histogram;
+
+/**
+ * Impacts of all faults injected during one load run, aggregated per fault type.
+ */
+public class AvailabilityReport {
+
+    private final double availability;
+    private final Map<String, List<FaultImpact>> impactsPerType = new TreeMap<>();
+
+    private AvailabilityReport(double availability) {
+        this.availability = availability;
+    }
+
+    /**
+     * Analyze every injection in the period between the previous and the next injection.
+     *
+     * @param timeline Requests of the load.
+     * @param injections Injected faults in order of injection.
+     * @param endMillis End of the load since the start of the timeline.
+     */
+    public static AvailabilityReport create(RequestTimeline timeline, List<FaultInjection> injections, long endMillis) {
+        AvailabilityReport report = new AvailabilityReport(timeline.getAvailability());
+        for (int i = 0; i < injections.size(); i++) {
+            long baselineFrom = i == 0 ? 0 : injections.get(i - 1).getOffsetMillis();
+            long windowEnd = i == injections.size() - 1 ? endMillis : injections.get(i + 1).getOffsetMillis();
+            FaultImpact impact = FaultImpact.analyze(timeline, injections.get(i), baselineFrom, windowEnd);
+            report.impactsPerType.computeIfAbsent(impact.getInjection().getFault().getType(), type -> new ArrayList<>()).add(impact);
+        }
+        return report;
+    }
+
+    /**
+     * @return Fraction of successful requests of the whole load.
+     */
+    public double getAvailability() {
+        return availability;
+    }
+
+    public Map<String, List<FaultImpact>> getImpactsPerType() {
+        return impactsPerType;
+    }
+
+    /**
+     * @return Time to detect in milliseconds of detected faults of given type.
+     */
+    public Histogram getTimeToDetect(String type) {
+        Histogram histogram = new Histogram();
+        impactsPerType.getOrDefault(type, new ArrayList<>()).stream()
+                      .filter(FaultImpact::isDetected)
+                      .forEach(impact -> histogram.record(impact.getTimeToDetectMillis()));
+        return histogram;
+    }
+
+    /**
+     * @return Time to recover in milliseconds of recovered faults of given type.
+     */
+    public Histogram getTimeToRecover(String type) {
+        Histogram histogram = new Histogram();
+        impactsPerType.getOrDefault(type, new ArrayList<>()).stream()
+                      .filter(FaultImpact::isRecovered)
+                      .forEach(impact -> histogram.record(impact.getTimeToRecoverMillis()));
+        return histogram;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder report = new StringBuilder(String.format("Availability %.4f%%", availability * 100));
+        impactsPerType.forEach((type, impacts) -> {
+            long unrecovered = impacts.stream().filter(impact -> !impact.isRecovered()).count();
+            report.append(String.format("%n%s: faults=%d, unrecovered=%d, failed=%d, lost=%d, timeToDetect [ms]: %s, timeToRecover [ms]: %s",
+                                        type, impacts.size(), unrecovered,
+                                        impacts.stream().mapToLong(FaultImpact::getFailedRequests).sum(),
+                                        impacts.stream().mapToLong(FaultImpact::getLostRequests).sum(),
+                                        getTimeToDetect(type), getTimeToRecover(type)));
+            impacts.forEach(impact -> report.append(String.format("%n  %s", impact)));
+        });
+        return report.toString();
+    }
+}
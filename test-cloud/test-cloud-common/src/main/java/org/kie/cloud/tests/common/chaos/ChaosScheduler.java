@@ -0,0 +1,100 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.kie.cloud.tests.common.chaos;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Injects faults at scheduled times relative to the start of a {@link RequestTimeline}, so injections can be matched with
+ * requests recorded by the timeline. Faults are injected one by one on a single thread.
+ */
+public class ChaosScheduler implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChaosScheduler.class);
+
+    private final List<ScheduledFault> scheduledFaults = new ArrayList<>();
+    private final List<FaultInjection> injections = new CopyOnWriteArrayList<>();
+    private ScheduledExecutorService executor;
+
+    /**
+     * @param delay Time of injection since the start of the timeline.
+     */
+    public ChaosScheduler schedule(Duration delay, Fault fault) {
+        scheduledFaults.add(new ScheduledFault(delay, fault));
+        return this;
+    }
+
+    /**
+     * Start injecting scheduled faults, typically right before the load is started.
+     */
+    public synchronized void start(RequestTimeline timeline) {
+        if (executor != null) {
+            throw new IllegalStateException("Chaos scheduler has already been started");
+        }
+        executor = Executors.newSingleThreadScheduledExecutor();
+        long startOffsetMillis = timeline.currentOffsetMillis();
+        for (ScheduledFault scheduledFault : scheduledFaults) {
+            long delayMillis = Math.max(0, scheduledFault.delay.toMillis() - startOffsetMillis);
+            executor.schedule(() -> inject(scheduledFault.fault, timeline), delayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void inject(Fault fault, RequestTimeline timeline) {
+        long offsetMillis = timeline.currentOffsetMillis();
+        logger.info("Injecting fault {} at {} ms", fault, offsetMillis);
+        try {
+            fault.inject();
+            injections.add(new FaultInjection(fault, offsetMillis));
+        } catch (RuntimeException e) {
+            logger.error("Injection of fault {} failed", fault, e);
+        }
+    }
+
+    /**
+     * @return Faults injected so far in order of injection.
+     */
+    public List<FaultInjection> getInjections() {
+        return injections;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    private static class ScheduledFault {
+
+        private final Duration delay;
+        private final Fault fault;
+
+        ScheduledFault(Duration delay, Fault fault) {
+            this.delay = delay;
+            this.fault = fault;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.kie.cloud.tests.common.chaos;
+
+import org.kie.cloud.api.deployment.Deployment;
+
+/**
+ * Failure injected into a deployment while it is under load. Injection only triggers the failure, it doesn't wait for the
+ * deployment to recover, recovery is observed in the load instead.
+ */
+public interface Fault {
+
+    /**
+     * @return Type of the fault, faults of the same type are aggregated in {@link AvailabilityReport}.
+     */
+    String getType();
+
+    void inject();
+
+    /**
+     * Delete all pods of the deployment, OpenShift starts new ones.
+     */
+    static Fault deletePods(String type, Deployment deployment) {
+        return fault(type, deployment::deleteInstances);
+    }
+
+    /**
+     * Scale the deployment to given number of pods.
+     */
+    static Fault scale(String type, Deployment deployment, int replicas) {
+        return fault(type, () -> deployment.scale(replicas));
+    }
+
+    static Fault fault(String type, Runnable injection) {
+        return new Fault() {
+
+            @Override
+            public String getType() {
+                return type;
+            }
+
+            @Override
+            public void inject() {
+                injection.run();
+            }
+
+            @Override
+            public String toString() {
+                return type;
+            }
+        };
+    }
+}
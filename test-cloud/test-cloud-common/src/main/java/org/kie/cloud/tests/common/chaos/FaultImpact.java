@@ -0,0 +1,195 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.kie.cloud.tests.common.chaos;
+
+/**
+ * Impact of one injected fault on the load, computed from a {@link RequestTimeline}.
+ *
+ * Baseline throughput is the mean number of successful requests per bucket before the injection. The fault is detected in
+ * the first bucket since the injection with a failed request or with throughput below {@link #DETECTION_RATIO} of the baseline.
+ * The load is recovered in the first bucket after detection which starts {@link #STABLE_BUCKETS} consecutive buckets without
+ * failures and with throughput at least {@link #RECOVERY_RATIO} of the baseline. Times are measured from the injection.
+ */
+public class FaultImpact {
+
+    public static final double DETECTION_RATIO = 0.5;
+    public static final double RECOVERY_RATIO = 0.9;
+    public static final int STABLE_BUCKETS = 5;
+
+    private final FaultInjection injection;
+    private final double baselineThroughput;
+    private final long timeToDetectMillis;
+    private final long timeToRecoverMillis;
+    private final long failedRequests;
+    private final long successfulRequests;
+    private final long lostRequests;
+    private final double throughputDrop;
+
+    private FaultImpact(FaultInjection injection, double baselineThroughput, long timeToDetectMillis, long timeToRecoverMillis,
+                        long failedRequests, long successfulRequests, long lostRequests, double throughputDrop) {
+        this.injection = injection;
+        this.baselineThroughput = baselineThroughput;
+        this.timeToDetectMillis = timeToDetectMillis;
+        this.timeToRecoverMillis = timeToRecoverMillis;
+        this.failedRequests = failedRequests;
+        this.successfulRequests = successfulRequests;
+        this.lostRequests = lostRequests;
+        this.throughputDrop = throughputDrop;
+    }
+
+    /**
+     * @param timeline Requests of the load.
+     * @param injection Analyzed fault.
+     * @param baselineFromMillis Start of the period before the injection used to compute baseline throughput.
+     * @param windowEndMillis End of the period in which impact of the fault is looked for, typically the next injection.
+     */
+    public static FaultImpact analyze(RequestTimeline timeline, FaultInjection injection, long baselineFromMillis, long windowEndMillis) {
+        long injectionBucket = timeline.bucketIndex(injection.getOffsetMillis());
+        // Bucket of the injection and the last one of the window are partial
+        long baselineFromBucket = timeline.bucketIndex(baselineFromMillis);
+        long endBucket = timeline.bucketIndex(windowEndMillis);
+
+        double baseline = 0;
+        if (injectionBucket > baselineFromBucket) {
+            long baselineSuccesses = 0;
+            for (long bucket = baselineFromBucket; bucket < injectionBucket; bucket++) {
+                baselineSuccesses += timeline.getSuccesses(bucket);
+            }
+            baseline = (double) baselineSuccesses / (injectionBucket - baselineFromBucket);
+        }
+
+        long detectionBucket = -1;
+        for (long bucket = injectionBucket; bucket < endBucket && detectionBucket < 0; bucket++) {
+            if (isDegraded(timeline, bucket, baseline, DETECTION_RATIO)) {
+                detectionBucket = bucket;
+            }
+        }
+
+        long recoveryBucket = -1;
+        if (detectionBucket >= 0) {
+            for (long bucket = detectionBucket + 1; bucket + STABLE_BUCKETS <= endBucket && recoveryBucket < 0; bucket++) {
+                if (isStable(timeline, bucket, baseline)) {
+                    recoveryBucket = bucket;
+                }
+            }
+        }
+
+        // Impact lasts until recovery, a fault without any detected impact has none
+        long impactEndBucket = detectionBucket < 0 ? injectionBucket : (recoveryBucket < 0 ? endBucket : recoveryBucket);
+        long failed = 0;
+        long successful = 0;
+        double lost = 0;
+        double minimalThroughput = baseline;
+        for (long bucket = injectionBucket; bucket < impactEndBucket; bucket++) {
+            long successes = timeline.getSuccesses(bucket);
+            failed += timeline.getFailures(bucket);
+            successful += successes;
+            lost += Math.max(0, baseline - successes);
+            minimalThroughput = Math.min(minimalThroughput, successes);
+        }
+
+        long resolution = timeline.getResolutionMillis();
+        return new FaultImpact(injection,
+                               baseline * 1000 / resolution,
+                               detectionBucket < 0 ? -1 : Math.max(0, detectionBucket * resolution - injection.getOffsetMillis()),
+                               detectionBucket < 0 ? 0 : (recoveryBucket < 0 ? -1 : recoveryBucket * resolution - injection.getOffsetMillis()),
+                               failed,
+                               successful,
+                               Math.round(lost),
+                               baseline == 0 ? 0 : (1 - minimalThroughput / baseline) * 100);
+    }
+
+    private static boolean isDegraded(RequestTimeline timeline, long bucket, double baseline, double ratio) {
+        return timeline.getFailures(bucket) > 0 || timeline.getSuccesses(bucket) < baseline * ratio;
+    }
+
+    private static boolean isStable(RequestTimeline timeline, long fromBucket, double baseline) {
+        for (long bucket = fromBucket; bucket < fromBucket + STABLE_BUCKETS; bucket++) {
+            if (isDegraded(timeline, bucket, baseline, RECOVERY_RATIO)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public FaultInjection getInjection() {
+        return injection;
+    }
+
+    /**
+     * @return Successful requests per second before the injection.
+     */
+    public double getBaselineThroughput() {
+        return baselineThroughput;
+    }
+
+    public boolean isDetected() {
+        return timeToDetectMillis >= 0;
+    }
+
+    public boolean isRecovered() {
+        return timeToRecoverMillis >= 0;
+    }
+
+    /**
+     * @return Milliseconds from injection to the first degraded bucket, -1 if the fault had no visible impact.
+     */
+    public long getTimeToDetectMillis() {
+        return timeToDetectMillis;
+    }
+
+    /**
+     * @return Milliseconds from injection to recovery, 0 if the fault had no visible impact, -1 if the load didn't recover.
+     */
+    public long getTimeToRecoverMillis() {
+        return timeToRecoverMillis;
+    }
+
+    /**
+     * @return Failed requests between injection and recovery.
+     */
+    public long getFailedRequests() {
+        return failedRequests;
+    }
+
+    /**
+     * @return Fraction of successful requests between injection and recovery, 1 if the fault had no visible impact.
+     */
+    public double getAvailability() {
+        return successfulRequests + failedRequests == 0 ? 1 : (double) successfulRequests / (successfulRequests + failedRequests);
+    }
+
+    /**
+     * @return Successful requests missing compared to the baseline throughput between injection and recovery.
+     */
+    public long getLostRequests() {
+        return lostRequests;
+    }
+
+    /**
+     * @return Drop of the lowest throughput between injection and recovery in percents of the baseline throughput.
+     */
+    public double getThroughputDrop() {
+        return throughputDrop;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: baseline=%.1f/s, timeToDetect=%d ms, timeToRecover=%d ms, failed=%d, lost=%d, throughputDrop=%.1f%%",
+                             injection, baselineThroughput, timeToDetectMillis, timeToRecoverMillis, failedRequests, lostRequests, throughputDrop);
+    }
+}
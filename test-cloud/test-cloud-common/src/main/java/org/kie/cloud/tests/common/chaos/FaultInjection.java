@@ -0,0 +1,44 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.kie.cloud.tests.common.chaos;
+
+/**
+ * Fault injected at a time since the start of a {@link RequestTimeline}.
+ */
+public class FaultInjection {
+
+    private final Fault fault;
+    private final long offsetMillis;
+
+    public FaultInjection(Fault fault, long offsetMillis) {
+        this.fault = fault;
+        this.offsetMillis = offsetMillis;
+    }
+
+    public Fault getFault() {
+        return fault;
+    }
+
+    public long getOffsetMillis() {
+        return offsetMillis;
+    }
+
+    @Override
+    public String toString() {
+        return fault + " at " + offsetMillis + " ms";
+    }
+}
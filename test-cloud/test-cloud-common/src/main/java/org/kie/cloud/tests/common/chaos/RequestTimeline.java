@@ -0,0 +1,113 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.kie.cloud.tests.common.chaos;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.kie.cloud.tests.common.load.UserAction;
+
+/**
+ * Number of successful and failed requests in time buckets of fixed length since the timeline was created. Requests are
+ * counted in the bucket in which they completed.
+ */
+public class RequestTimeline {
+
+    private final long startNanos;
+    private final long resolutionMillis;
+    private final ConcurrentSkipListMap<Long, Bucket> buckets = new ConcurrentSkipListMap<>();
+
+    /**
+     * @param resolution Length of one bucket.
+     */
+    public RequestTimeline(Duration resolution) {
+        if (resolution.toMillis() <= 0) {
+            throw new IllegalArgumentException("Resolution has to be at least one millisecond: " + resolution);
+        }
+        this.startNanos = System.nanoTime();
+        this.resolutionMillis = resolution.toMillis();
+    }
+
+    /**
+     * @return Action executing given action and recording its outcome, failures are rethrown so the load driver counts them too.
+     */
+    public UserAction wrap(UserAction action) {
+        return user -> {
+            try {
+                action.execute(user);
+            } catch (Exception | AssertionError e) {
+                record(currentOffsetMillis(), false);
+                throw e;
+            }
+            record(currentOffsetMillis(), true);
+        };
+    }
+
+    /**
+     * @param offsetMillis Time of request completion in milliseconds since the timeline was created.
+     * @param success True if the request succeeded.
+     */
+    public void record(long offsetMillis, boolean success) {
+        Bucket bucket = buckets.computeIfAbsent(bucketIndex(offsetMillis), index -> new Bucket());
+        if (success) {
+            bucket.successes.increment();
+        } else {
+            bucket.failures.increment();
+        }
+    }
+
+    /**
+     * @return Milliseconds since the timeline was created.
+     */
+    public long currentOffsetMillis() {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    public long bucketIndex(long offsetMillis) {
+        return offsetMillis / resolutionMillis;
+    }
+
+    public long getResolutionMillis() {
+        return resolutionMillis;
+    }
+
+    public long getSuccesses(long bucketIndex) {
+        Bucket bucket = buckets.get(bucketIndex);
+        return bucket == null ? 0 : bucket.successes.sum();
+    }
+
+    public long getFailures(long bucketIndex) {
+        Bucket bucket = buckets.get(bucketIndex);
+        return bucket == null ? 0 : bucket.failures.sum();
+    }
+
+    /**
+     * @return Fraction of successful requests in the whole timeline, 1 if there were no requests.
+     */
+    public double getAvailability() {
+        long successes = buckets.values().stream().mapToLong(bucket -> bucket.successes.sum()).sum();
+        long failures = buckets.values().stream().mapToLong(bucket -> bucket.failures.sum()).sum();
+        return successes + failures == 0 ? 1 : (double) successes / (successes + failures);
+    }
+
+    private static class Bucket {
+
+        private final LongAdder successes = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+    }
+}
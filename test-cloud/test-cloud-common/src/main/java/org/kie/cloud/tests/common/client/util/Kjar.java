@@ -31,6 +31,7 @@ public enum Kjar {
     MIGRATION_PROJECT_200_SNAPSHOT("org.kie.server.testing", "migration-project", "2.0.0-SNAPSHOT", "migration-project-200-snapshot"),
     USERTASK("org.kie.server.testing", "usertask-project", "1.0.0.Final"),
     STATELESS_SESSION("org.kie.server.testing", "stateless-session", "1.0.0.Final"),
+    RULE_THROUGHPUT("org.kie.server.testing", "rule-throughput", "1.0.0.Final"),
     EXTERNAL_SIGNAL("org.kie.server.testing", "external-signal", "1.0.0.Final");
 
     private String groupId;
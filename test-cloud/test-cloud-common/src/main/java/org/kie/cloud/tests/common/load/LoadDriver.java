@@ -0,0 +1,240 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.cloud.tests.common.load;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import org.kie.cloud.tests.common.statistics.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Simulates a population of users repeatedly executing an action with a think time between iterations.
+ *
+ * Users are not bound to threads. Every iteration of a user is a task scheduled on a shared pool of <code>concurrency</code>
+ * threads, think time is just a scheduling delay, so tens of thousands of mostly thinking users need only a few threads. As the
+ * KIE server clients are blocking, <code>concurrency</code> limits the number of requests in flight. Use {@link LoadDriverBuilder} to
+ * create the driver.
+ *
+ * If a target rate is defined, users are paced instead of thinking: every user starts its iterations at a fixed interval
+ * (number of users / rate), so the whole population executes the given number of actions per second as long as the server keeps up.
+ *
+ * The run waits at most ramp up + duration + {@link #FINISH_TIMEOUT} for the users to finish, users still running an action
+ * after that are reported in the thrown exception.
+ */
+public class LoadDriver {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadDriver.class);
+
+    /**
+     * Time given to the users to finish their last action once ramp up and duration elapsed.
+     */
+    public static final Duration FINISH_TIMEOUT = Duration.ofMinutes(5);
+
+    private static final int REPORTED_USERS_LIMIT = 10;
+
+    private final int users;
+    private final int concurrency;
+    private final Duration rampUp;
+    private final Duration duration;
+    private final long iterationsPerUser;
+    private final long totalIterations;
+    private final ThinkTime thinkTime;
+    private final double rate;
+    private final UserAction action;
+
+    private ScheduledThreadPoolExecutor executor;
+    private CountDownLatch finishedUsers;
+    private final Set<Integer> runningUsers = ConcurrentHashMap.newKeySet();
+    private long endNanos;
+    private final Histogram latency = new Histogram();
+    private final LongAdder iterations = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final AtomicBoolean errorLogged = new AtomicBoolean();
+
+    LoadDriver(int users, int concurrency, Duration rampUp, Duration duration, long iterationsPerUser, long totalIterations, ThinkTime thinkTime,
+               double rate, UserAction action) {
+        this.users = users;
+        this.concurrency = concurrency;
+        this.rampUp = rampUp;
+        this.duration = duration;
+        this.iterationsPerUser = iterationsPerUser;
+        this.totalIterations = totalIterations;
+        this.thinkTime = thinkTime;
+        this.rate = rate;
+        this.action = action;
+    }
+
+    /**
+     * Run the load and wait until every user finished its iterations or the duration elapsed. The driver can be run only once.
+     *
+     * @return Summary of the run.
+     */
+    public synchronized LoadResult run() {
+        if (executor != null) {
+            throw new IllegalStateException("Load driver has already been run");
+        }
+        if (totalIterations < 0) {
+            logger.info("Starting {} simulated users on {} threads, ramp up {}, duration {}, {} iterations per user", users, concurrency, rampUp, duration, iterationsPerUser);
+        } else {
+            logger.info("Starting {} simulated users on {} threads, ramp up {}, duration {}, {} iterations in total", users, concurrency, rampUp, duration, totalIterations);
+        }
+
+        executor = new ScheduledThreadPoolExecutor(concurrency, new LoadDriverThreadFactory());
+        finishedUsers = new CountDownLatch(users);
+        Instant startTime = Instant.now();
+        endNanos = System.nanoTime() + duration.toNanos();
+
+        try {
+            long rampUpMillis = rampUp.toMillis();
+            for (int i = 0; i < users; i++) {
+                long startDelay = users == 1 ? 0 : rampUpMillis * i / (users - 1);
+                runningUsers.add(i);
+                executor.schedule(new UserIteration(new SimulatedUser(i), getIterations(i)), startDelay, TimeUnit.MILLISECONDS);
+            }
+            if (!finishedUsers.await(getAwaitMillis(), TimeUnit.MILLISECONDS)) {
+                throw new RuntimeException("Simulated users " + describeRunningUsers() + " did not finish within " + FINISH_TIMEOUT
+                        + " after ramp up and duration elapsed");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for simulated users", e);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        LoadResult result = new LoadResult(iterations.sum(), errors.sum(), latency, Duration.between(startTime, Instant.now()));
+        logger.info("Simulated users finished: {}", result);
+        return result;
+    }
+
+    /**
+     * @return Number of iterations of the given user. A total number of iterations is spread evenly, the first
+     * <code>total % users</code> users execute one iteration more.
+     */
+    private long getIterations(int userId) {
+        if (totalIterations < 0) {
+            return iterationsPerUser;
+        }
+        return totalIterations / users + (userId < totalIterations % users ? 1 : 0);
+    }
+
+    private long getAwaitMillis() {
+        try {
+            return rampUp.plus(duration).plus(FINISH_TIMEOUT).toMillis();
+        } catch (ArithmeticException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    private String describeRunningUsers() {
+        String reported = runningUsers.stream()
+                                      .sorted()
+                                      .limit(REPORTED_USERS_LIMIT)
+                                      .map(String::valueOf)
+                                      .collect(Collectors.joining(", ", "[", "]"));
+        int notReported = runningUsers.size() - REPORTED_USERS_LIMIT;
+        return notReported > 0 ? reported + " and " + notReported + " more" : reported;
+    }
+
+    private class UserIteration implements Runnable {
+
+        private final SimulatedUser user;
+        private final long userIterations;
+
+        UserIteration(SimulatedUser user, long userIterations) {
+            this.user = user;
+            this.userIterations = userIterations;
+        }
+
+        @Override
+        public void run() {
+            boolean scheduled = false;
+            try {
+                if (isFinished()) {
+                    return;
+                }
+
+                long startNanos = System.nanoTime();
+                try {
+                    action.execute(user);
+                    latency.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+                } catch (Exception | AssertionError e) {
+                    errors.increment();
+                    if (errorLogged.compareAndSet(false, true)) {
+                        logger.warn("Action of simulated user {} failed, further errors are only counted", user.getId(), e);
+                    }
+                }
+                iterations.increment();
+                user.nextIteration();
+
+                if (isFinished()) {
+                    return;
+                }
+                executor.schedule(this, nextDelayMillis(startNanos), TimeUnit.MILLISECONDS);
+                scheduled = true;
+            } catch (RejectedExecutionException e) {
+                logger.debug("Simulated user {} stopped, load driver is shutting down", user.getId());
+            } catch (Error e) {
+                errors.increment();
+                logger.error("Simulated user {} stopped by an error", user.getId(), e);
+                throw e;
+            } finally {
+                if (!scheduled) {
+                    runningUsers.remove(user.getId());
+                    finishedUsers.countDown();
+                }
+            }
+        }
+
+        private long nextDelayMillis(long iterationStartNanos) {
+            if (rate <= 0) {
+                return thinkTime.nextMillis();
+            }
+            long pacingNanos = (long) (users * TimeUnit.SECONDS.toNanos(1) / rate);
+            long elapsedNanos = System.nanoTime() - iterationStartNanos;
+            return TimeUnit.NANOSECONDS.toMillis(Math.max(0, pacingNanos - elapsedNanos));
+        }
+
+        private boolean isFinished() {
+            return user.getIteration() >= userIterations || System.nanoTime() - endNanos >= 0;
+        }
+    }
+
+    private static class LoadDriverThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger threadCount = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "load-driver-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
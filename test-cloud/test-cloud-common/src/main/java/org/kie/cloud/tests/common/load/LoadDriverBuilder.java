@@ -0,0 +1,110 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.cloud.tests.common.load;
+
+import java.time.Duration;
+
+/**
+ * Builder of {@link LoadDriver}. By default one user executes the action once without any think time, the run is limited
+ * to 24 hours.
+ */
+public class LoadDriverBuilder {
+
+    private final UserAction action;
+    private int users = 1;
+    private int concurrency = 1;
+    private Duration rampUp = Duration.ZERO;
+    private Duration duration = Duration.ofHours(24);
+    private long iterationsPerUser = 1;
+    private long totalIterations = -1;
+    private ThinkTime thinkTime = ThinkTime.none();
+    private double rate = 0;
+
+    public LoadDriverBuilder(UserAction action) {
+        this.action = action;
+    }
+
+    public LoadDriverBuilder withUsers(int users) {
+        this.users = users;
+        return this;
+    }
+
+    /**
+     * @param concurrency Number of threads executing actions, i.e. maximal number of requests in flight.
+     */
+    public LoadDriverBuilder withConcurrency(int concurrency) {
+        this.concurrency = concurrency;
+        return this;
+    }
+
+    /**
+     * @param rampUp Time in which users are started, evenly distributed.
+     */
+    public LoadDriverBuilder withRampUp(Duration rampUp) {
+        this.rampUp = rampUp;
+        return this;
+    }
+
+    /**
+     * @param duration Maximal duration of the run, users don't start new iterations once it elapses.
+     */
+    public LoadDriverBuilder withDuration(Duration duration) {
+        this.duration = duration;
+        return this;
+    }
+
+    public LoadDriverBuilder withIterationsPerUser(long iterationsPerUser) {
+        this.iterationsPerUser = iterationsPerUser;
+        this.totalIterations = -1;
+        return this;
+    }
+
+    /**
+     * @param totalIterations Number of iterations of all users together, replaces iterations per user. Iterations are spread evenly,
+     * the first <code>totalIterations % users</code> users execute one iteration more. Has to be at least the number of users.
+     */
+    public LoadDriverBuilder withTotalIterations(long totalIterations) {
+        if (totalIterations < 0) {
+            throw new IllegalArgumentException("Total number of iterations can't be negative: " + totalIterations);
+        }
+        this.totalIterations = totalIterations;
+        return this;
+    }
+
+    public LoadDriverBuilder withThinkTime(ThinkTime thinkTime) {
+        this.thinkTime = thinkTime;
+        return this;
+    }
+
+    /**
+     * @param rate Target number of actions per second of all users together, replaces think time. Zero disables pacing.
+     */
+    public LoadDriverBuilder withRate(double rate) {
+        this.rate = rate;
+        return this;
+    }
+
+    public LoadDriver build() {
+        if (users < 1 || concurrency < 1) {
+            throw new IllegalArgumentException("Number of users and concurrency have to be positive, users: " + users + ", concurrency: " + concurrency);
+        }
+        if (totalIterations >= 0 && totalIterations < users) {
+            throw new IllegalArgumentException("Total number of iterations " + totalIterations + " is lower than the number of users " + users
+                    + ", some users wouldn't execute any action");
+        }
+        return new LoadDriver(users, concurrency, rampUp, duration, iterationsPerUser, totalIterations, thinkTime, rate, action);
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.cloud.tests.common.load;
+
+import java.time.Duration;
+
+import org.kie.cloud.tests.common.statistics.Histogram;
+
+/**
+ * Summary of one {@link LoadDriver} run.
+ */
+public class LoadResult {
+
+    private final long iterations;
+    private final long errors;
+    private final Histogram latency;
+    private final Duration elapsedTime;
+
+    LoadResult(long iterations, long errors, Histogram latency, Duration elapsedTime) {
+        this.iterations = iterations;
+        this.errors = errors;
+        this.latency = latency;
+        this.elapsedTime = elapsedTime;
+    }
+
+    /**
+     * @return Number of executed actions, including failed ones.
+     */
+    public long getIterations() {
+        return iterations;
+    }
+
+    /**
+     * @return Number of actions which threw an exception.
+     */
+    public long getErrors() {
+        return errors;
+    }
+
+    /**
+     * @return Latency of successful actions in milliseconds.
+     */
+    public Histogram getLatency() {
+        return latency;
+    }
+
+    public Duration getElapsedTime() {
+        return elapsedTime;
+    }
+
+    /**
+     * @return Executed actions per second.
+     */
+    public double getThroughput() {
+        long elapsedMillis = elapsedTime.toMillis();
+        return elapsedMillis == 0 ? 0 : iterations * 1000.0 / elapsedMillis;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("iterations=%d, errors=%d, elapsed=%s, throughput=%.1f/s, latency [ms]: %s", iterations, errors, elapsedTime, getThroughput(), latency);
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.cloud.tests.common.load;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * State of one simulated user. Actions of a user are never executed concurrently, so the state doesn't need to be thread safe.
+ */
+public class SimulatedUser {
+
+    private final int id;
+    private long iteration = 0;
+    private final Map<String, Object> attributes = new HashMap<>();
+
+    public SimulatedUser(int id) {
+        this.id = id;
+    }
+
+    /**
+     * @return Index of the user, from 0 to number of users - 1.
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * @return Number of actions the user already executed.
+     */
+    public long getIteration() {
+        return iteration;
+    }
+
+    void nextIteration() {
+        iteration++;
+    }
+
+    /**
+     * @return User specific attributes kept between actions, for example IDs of started process instances.
+     */
+    public Map<String, Object> getAttributes() {
+        return attributes;
+    }
+}
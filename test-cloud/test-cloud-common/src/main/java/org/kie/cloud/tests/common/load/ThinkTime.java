@@ -0,0 +1,104 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.cloud.tests.common.load;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Distribution of time a simulated user waits between two actions.
+ */
+@FunctionalInterface
+public interface ThinkTime {
+
+    /**
+     * @return Next think time in milliseconds.
+     */
+    long nextMillis();
+
+    static ThinkTime none() {
+        return () -> 0;
+    }
+
+    static ThinkTime constant(Duration thinkTime) {
+        long millis = thinkTime.toMillis();
+        return () -> millis;
+    }
+
+    static ThinkTime uniform(Duration min, Duration max) {
+        long minMillis = min.toMillis();
+        long maxMillis = max.toMillis();
+        if (maxMillis < minMillis) {
+            throw new IllegalArgumentException("Maximal think time " + max + " is lower than minimal think time " + min);
+        }
+        return () -> minMillis + ThreadLocalRandom.current().nextLong(maxMillis - minMillis + 1);
+    }
+
+    /**
+     * Exponential distribution, think time of users arriving independently of each other.
+     */
+    static ThinkTime exponential(Duration mean) {
+        double meanMillis = mean.toMillis();
+        return () -> Math.round(-meanMillis * Math.log(1 - ThreadLocalRandom.current().nextDouble()));
+    }
+
+    /**
+     * Normal distribution, negative values are truncated to zero.
+     */
+    static ThinkTime normal(Duration mean, Duration standardDeviation) {
+        double meanMillis = mean.toMillis();
+        double deviationMillis = standardDeviation.toMillis();
+        return () -> Math.max(0, Math.round(meanMillis + deviationMillis * ThreadLocalRandom.current().nextGaussian()));
+    }
+
+    /**
+     * Parse think time from its textual definition, suitable for system properties.
+     * Supported formats: <code>none</code>, <code>constant:&lt;time&gt;</code>, <code>uniform:&lt;min&gt;:&lt;max&gt;</code>,
+     * <code>exponential:&lt;mean&gt;</code> and <code>normal:&lt;mean&gt;:&lt;deviation&gt;</code>,
+     * where time is a number with unit ms, s or m, for example <code>exponential:1500ms</code>.
+     */
+    static ThinkTime parse(String definition) {
+        String[] parts = definition.trim().split(":");
+        String distribution = parts[0];
+        if ("none".equals(distribution) && parts.length == 1) {
+            return none();
+        } else if ("constant".equals(distribution) && parts.length == 2) {
+            return constant(parseDuration(parts[1]));
+        } else if ("uniform".equals(distribution) && parts.length == 3) {
+            return uniform(parseDuration(parts[1]), parseDuration(parts[2]));
+        } else if ("exponential".equals(distribution) && parts.length == 2) {
+            return exponential(parseDuration(parts[1]));
+        } else if ("normal".equals(distribution) && parts.length == 3) {
+            return normal(parseDuration(parts[1]), parseDuration(parts[2]));
+        }
+        throw new IllegalArgumentException("Unsupported think time definition " + definition);
+    }
+
+    /**
+     * Parse duration defined as a number with unit ms, s or m, for example <code>250ms</code>.
+     */
+    static Duration parseDuration(String duration) {
+        String value = duration.trim();
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        } else if (value.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+        } else if (value.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        throw new IllegalArgumentException("Duration " + duration + " doesn't have unit ms, s or m");
+    }
+}
@@ -0,0 +1,29 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.cloud.tests.common.load;
+
+/**
+ * Action executed by simulated user in every iteration, typically one or more requests to KIE server.
+ */
+@FunctionalInterface
+public interface UserAction {
+
+    /**
+     * @param user User executing the action.
+     * @throws Exception Any exception is counted as an error of the action.
+     */
+    void execute(SimulatedUser user) throws Exception;
+}
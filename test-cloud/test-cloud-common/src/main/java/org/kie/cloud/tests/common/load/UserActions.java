@@ -0,0 +1,97 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.cloud.tests.common.load;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.kie.server.api.model.instance.TaskSummary;
+import org.kie.server.client.ProcessServicesClient;
+import org.kie.server.client.UserTaskServicesClient;
+
+/**
+ * Actions of simulated users based on KIE server clients.
+ */
+public class UserActions {
+
+    /**
+     * Attribute of simulated user holding ID of the last process instance the user started.
+     */
+    public static final String LAST_PROCESS_INSTANCE_ID = "lastProcessInstanceId";
+
+    private UserActions() {}
+
+    /**
+     * Start process instance with the same parameters in every iteration.
+     */
+    public static UserAction startProcess(ProcessServicesClient processClient, String containerId, String processId, Map<String, Object> parameters) {
+        return startProcess(processClient, containerId, processId, user -> parameters);
+    }
+
+    /**
+     * Start process instance with user specific parameters. ID of started process instance is stored in user attribute
+     * {@link #LAST_PROCESS_INSTANCE_ID}.
+     */
+    public static UserAction startProcess(ProcessServicesClient processClient, String containerId, String processId, Function<SimulatedUser, Map<String, Object>> parameters) {
+        return user -> {
+            Long processInstanceId = processClient.startProcess(containerId, processId, parameters.apply(user));
+            if (processInstanceId == null) {
+                throw new IllegalStateException("Process " + processId + " wasn't started");
+            }
+            user.getAttributes().put(LAST_PROCESS_INSTANCE_ID, processInstanceId);
+        };
+    }
+
+    /**
+     * Send signal to the last process instance started by the user. Iteration of user who didn't start any process instance does nothing.
+     */
+    public static UserAction signalLastProcessInstance(ProcessServicesClient processClient, String containerId, String signalName, Object event) {
+        return user -> {
+            Long processInstanceId = (Long) user.getAttributes().get(LAST_PROCESS_INSTANCE_ID);
+            if (processInstanceId != null) {
+                processClient.signalProcessInstance(containerId, processInstanceId, signalName, event);
+            }
+        };
+    }
+
+    /**
+     * Claim, start and complete first task the user is potential owner of. Iteration without any available task does nothing.
+     *
+     * @param userName Function returning name of KIE server user for the simulated user.
+     */
+    public static UserAction completeNextTask(UserTaskServicesClient taskClient, String containerId, Function<SimulatedUser, String> userName,
+                                              Map<String, Object> outputParameters) {
+        return user -> {
+            String name = userName.apply(user);
+            List<TaskSummary> tasks = taskClient.findTasksAssignedAsPotentialOwner(name, 0, 1);
+            if (!tasks.isEmpty()) {
+                taskClient.completeAutoProgress(containerId, tasks.get(0).getId(), name, outputParameters);
+            }
+        };
+    }
+
+    /**
+     * @return Action executing all given actions one after another in every iteration.
+     */
+    public static UserAction sequence(UserAction... actions) {
+        return user -> {
+            for (UserAction action : actions) {
+                action.execute(user);
+            }
+        };
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.kie.cloud.tests.common.metrics;
+
+import java.util.Arrays;
+
+/**
+ * Values of one metric series scraped over time, stored in primitive arrays.
+ */
+public class MetricSeries {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final String series;
+    private long[] timestamps = new long[INITIAL_CAPACITY];
+    private double[] values = new double[INITIAL_CAPACITY];
+    private int size;
+
+    public MetricSeries(String series) {
+        this.series = series;
+    }
+
+    /**
+     * @return Metric name including labels.
+     */
+    public String getSeries() {
+        return series;
+    }
+
+    /**
+     * @param timestamp Scrape time in epoch milliseconds.
+     * @param value Scraped value.
+     */
+    public synchronized void add(long timestamp, double value) {
+        if (size == timestamps.length) {
+            timestamps = Arrays.copyOf(timestamps, size * 2);
+            values = Arrays.copyOf(values, size * 2);
+        }
+        timestamps[size] = timestamp;
+        values[size] = value;
+        size++;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized long getTimestamp(int index) {
+        checkIndex(index);
+        return timestamps[index];
+    }
+
+    public synchronized double getValue(int index) {
+        checkIndex(index);
+        return values[index];
+    }
+
+    public synchronized double getLastValue() {
+        return size == 0 ? Double.NaN : values[size - 1];
+    }
+
+    /**
+     * @return Maximal value, NaN values are skipped.
+     */
+    public synchronized double getMax() {
+        double max = Double.NaN;
+        for (int i = 0; i < size; i++) {
+            if (!Double.isNaN(values[i])) {
+                max = Double.isNaN(max) ? values[i] : Math.max(max, values[i]);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * @return Average of all values, NaN values are skipped.
+     */
+    public synchronized double getMean() {
+        double sum = 0;
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (!Double.isNaN(values[i])) {
+                sum += values[i];
+                count++;
+            }
+        }
+        return count == 0 ? Double.NaN : sum / count;
+    }
+
+    /**
+     * @return Increase of a counter between the first and the last scrape, counter resets (for example pod restarts) are taken into account.
+     */
+    public synchronized double getIncrease() {
+        double increase = 0;
+        for (int i = 1; i < size; i++) {
+            double delta = values[i] - values[i - 1];
+            increase += delta >= 0 ? delta : values[i];
+        }
+        return increase;
+    }
+
+    /**
+     * @return Average per-second rate of a counter between the first and the last scrape.
+     */
+    public synchronized double getRate() {
+        if (size < 2 || timestamps[size - 1] == timestamps[0]) {
+            return 0;
+        }
+        return getIncrease() * 1000 / (timestamps[size - 1] - timestamps[0]);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of " + size + " values of series " + series);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return series + " [" + size() + " values, last " + getLastValue() + "]";
+    }
+}
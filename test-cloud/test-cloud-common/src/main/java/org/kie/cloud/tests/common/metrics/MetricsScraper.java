@@ -0,0 +1,229 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.kie.cloud.tests.common.metrics;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.kie.cloud.api.deployment.Instance;
+import org.kie.cloud.api.deployment.KieServerDeployment;
+import org.kie.cloud.api.deployment.PortForward;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Polls metrics endpoints in Prometheus text format at a fixed interval and keeps all scraped series in memory, so metrics are
+ * available without deploying Prometheus. KIE server exposes the metrics only if its Prometheus extension is enabled, see
+ * {@link #PROMETHEUS_EXTENSION_DISABLED}.
+ */
+public class MetricsScraper implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(MetricsScraper.class);
+
+    public static final String KIE_SERVER_METRICS_PATH = "/services/rest/metrics";
+    public static final String PROMETHEUS_EXTENSION_DISABLED = "PROMETHEUS_SERVER_EXT_DISABLED";
+
+    private static final int KIE_SERVER_PORT = 8080;
+    private static final String ROUTE_TARGET = "route";
+
+    private final Duration interval;
+    private final Map<String, MetricsSource> targets = new LinkedHashMap<>();
+    private final List<PortForward> portForwards = new ArrayList<>();
+    private final SortedMap<String, SortedMap<String, MetricSeries>> series = new ConcurrentSkipListMap<>();
+    private final Map<String, String> types = new ConcurrentHashMap<>();
+    private final AtomicLong scrapes = new AtomicLong();
+    private final AtomicLong failedScrapes = new AtomicLong();
+    private ScheduledExecutorService executor;
+
+    /**
+     * @param interval Time between two scrapes of all targets.
+     */
+    public MetricsScraper(Duration interval) {
+        this.interval = interval;
+    }
+
+    /**
+     * Scrape every Kie server instance directly through a forwarded port, the instances running at the time of the call are scraped.
+     */
+    public static MetricsScraper forKieServerInstances(KieServerDeployment kieServerDeployment, Duration interval) {
+        MetricsScraper scraper = new MetricsScraper(interval);
+        for (Instance instance : kieServerDeployment.getInstances()) {
+            PortForward portForward = instance.forwardPort(KIE_SERVER_PORT);
+            scraper.portForwards.add(portForward);
+            scraper.addTarget(instance.getName(), MetricsSource.http(toUrl("http://localhost:" + portForward.getLocalPort() + KIE_SERVER_METRICS_PATH),
+                                                                     kieServerDeployment.getUsername(), kieServerDeployment.getPassword()));
+        }
+        return scraper;
+    }
+
+    /**
+     * Scrape Kie server through its route, every scrape reaches just one of the instances chosen by the router.
+     */
+    public static MetricsScraper forKieServerRoute(KieServerDeployment kieServerDeployment, Duration interval) {
+        URL url = toUrl(kieServerDeployment.getUrl().toExternalForm() + KIE_SERVER_METRICS_PATH);
+        return new MetricsScraper(interval).addTarget(ROUTE_TARGET, MetricsSource.http(url, kieServerDeployment.getUsername(), kieServerDeployment.getPassword()));
+    }
+
+    public MetricsScraper addTarget(String name, MetricsSource source) {
+        targets.put(name, source);
+        return this;
+    }
+
+    /**
+     * Start scraping all targets in background, first scrape is done immediately.
+     */
+    public synchronized void start() {
+        if (executor != null) {
+            throw new IllegalStateException("Metrics scraper is already started");
+        }
+        executor = Executors.newSingleThreadScheduledExecutor();
+        executor.scheduleAtFixedRate(this::scrape, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Scrape all targets once. Failures are logged and counted, so a temporarily unavailable target doesn't stop scraping.
+     */
+    public void scrape() {
+        long timestamp = System.currentTimeMillis();
+        targets.forEach((target, source) -> scrape(target, source, timestamp));
+    }
+
+    private void scrape(String target, MetricsSource source, long timestamp) {
+        SortedMap<String, MetricSeries> targetSeries = series.computeIfAbsent(target, name -> new ConcurrentSkipListMap<>());
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(source.open(), StandardCharsets.UTF_8))) {
+            PrometheusTextParser.parse(reader, new PrometheusTextParser.SampleConsumer() {
+
+                @Override
+                public void accept(String seriesName, double value) {
+                    targetSeries.computeIfAbsent(seriesName, MetricSeries::new).add(timestamp, value);
+                }
+
+                @Override
+                public void type(String metricName, String type) {
+                    types.putIfAbsent(metricName, type);
+                }
+            });
+            scrapes.incrementAndGet();
+        } catch (IOException | RuntimeException e) {
+            failedScrapes.incrementAndGet();
+            logger.warn("Scraping metrics of {} failed: {}", target, e.getMessage());
+        }
+    }
+
+    /**
+     * Stop scraping and close forwarded ports. Scraped series stay available.
+     */
+    @Override
+    public synchronized void close() {
+        if (executor != null) {
+            executor.shutdownNow();
+            try {
+                executor.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while stopping metrics scraper", e);
+            }
+        }
+        for (PortForward portForward : portForwards) {
+            try {
+                portForward.close();
+            } catch (RuntimeException e) {
+                logger.warn("Closing port forward failed: {}", e.getMessage());
+            }
+        }
+        portForwards.clear();
+        logger.info("Metrics scraper stopped after {} successful and {} failed scrapes of {} targets", scrapes.get(), failedScrapes.get(), targets.size());
+    }
+
+    /**
+     * @return Scraped series per target, keyed by series name including labels.
+     */
+    public SortedMap<String, SortedMap<String, MetricSeries>> getSeries() {
+        return series;
+    }
+
+    /**
+     * @return All series of the metric, of all targets and with any labels.
+     */
+    public List<MetricSeries> getSeries(String metricName) {
+        List<MetricSeries> metricSeries = new ArrayList<>();
+        series.values().forEach(targetSeries -> targetSeries.forEach((seriesName, values) -> {
+            if (PrometheusTextParser.metricName(seriesName).equals(metricName)) {
+                metricSeries.add(values);
+            }
+        }));
+        return metricSeries;
+    }
+
+    /**
+     * @return Metric type declared by the target, for example <code>counter</code>.
+     */
+    public Optional<String> getType(String metricName) {
+        return Optional.ofNullable(types.get(metricName));
+    }
+
+    public long getScrapeCount() {
+        return scrapes.get();
+    }
+
+    public long getFailedScrapeCount() {
+        return failedScrapes.get();
+    }
+
+    /**
+     * @return All scraped values as CSV with columns target, series, timestamp and value.
+     */
+    public String toCsv() {
+        StringBuilder csv = new StringBuilder("target,series,timestamp,value").append(System.lineSeparator());
+        series.forEach((target, targetSeries) -> targetSeries.forEach((seriesName, values) -> {
+            for (int i = 0; i < values.size(); i++) {
+                csv.append(quote(target)).append(',').append(quote(seriesName)).append(',')
+                   .append(values.getTimestamp(i)).append(',').append(values.getValue(i)).append(System.lineSeparator());
+            }
+        }));
+        return csv.toString();
+    }
+
+    private static String quote(String value) {
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+
+    private static URL toUrl(String url) {
+        try {
+            return new URL(url);
+        } catch (MalformedURLException e) {
+            throw new RuntimeException("Malformed metrics URL " + url, e);
+        }
+    }
+}
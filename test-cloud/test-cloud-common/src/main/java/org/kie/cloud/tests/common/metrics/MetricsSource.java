@@ -0,0 +1,63 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.kie.cloud.tests.common.metrics;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+
+/**
+ * Endpoint exposing metrics in Prometheus text format.
+ */
+@FunctionalInterface
+public interface MetricsSource {
+
+    int HTTP_TIMEOUT_MILLIS = (int) Duration.ofSeconds(10).toMillis();
+
+    /**
+     * @return Stream of metrics in Prometheus text format, closed by the caller.
+     */
+    InputStream open() throws IOException;
+
+    /**
+     * @param url Metrics URL.
+     * @param username User name for basic authentication, no authentication if null.
+     * @param password Password for basic authentication.
+     */
+    static MetricsSource http(URL url, String username, String password) {
+        return () -> {
+            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+            connection.setConnectTimeout(HTTP_TIMEOUT_MILLIS);
+            connection.setReadTimeout(HTTP_TIMEOUT_MILLIS);
+            connection.setRequestProperty("Accept", "text/plain");
+            if (username != null) {
+                String credentials = Base64.getEncoder().encodeToString((username + ":" + password).getBytes(StandardCharsets.UTF_8));
+                connection.setRequestProperty("Authorization", "Basic " + credentials);
+            }
+            int responseCode = connection.getResponseCode();
+            if (responseCode != HttpURLConnection.HTTP_OK) {
+                connection.disconnect();
+                throw new IOException("Metrics request " + url + " failed with response code " + responseCode);
+            }
+            return connection.getInputStream();
+        };
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.kie.cloud.tests.common.metrics;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+/**
+ * Parser of Prometheus text exposition format. Lines are scanned by index without regular expressions, splitting or label maps,
+ * every sample allocates just its series name and value text.
+ */
+public final class PrometheusTextParser {
+
+    private static final String TYPE_COMMENT = "TYPE";
+
+    /**
+     * Consumer of parsed samples.
+     */
+    public interface SampleConsumer {
+
+        /**
+         * @param series Metric name including labels as exposed, for example <code>kie_server_job_executed_total{container_id="c1"}</code>.
+         * @param value Sample value.
+         */
+        void accept(String series, double value);
+
+        /**
+         * @param metricName Metric name.
+         * @param type Metric type, for example <code>counter</code> or <code>gauge</code>.
+         */
+        default void type(String metricName, String type) {}
+    }
+
+    private PrometheusTextParser() {}
+
+    public static void parse(BufferedReader reader, SampleConsumer consumer) throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            parseLine(line, consumer);
+        }
+    }
+
+    static void parseLine(String line, SampleConsumer consumer) {
+        int length = line.length();
+        int start = skipWhitespace(line, 0);
+        if (start == length) {
+            return;
+        }
+        if (line.charAt(start) == '#') {
+            parseComment(line, start + 1, consumer);
+            return;
+        }
+
+        int seriesEnd = start;
+        while (seriesEnd < length && isNameChar(line.charAt(seriesEnd))) {
+            seriesEnd++;
+        }
+        if (seriesEnd == start) {
+            throw new IllegalArgumentException("Missing metric name: " + line);
+        }
+        if (seriesEnd < length && line.charAt(seriesEnd) == '{') {
+            seriesEnd = labelsEnd(line, seriesEnd);
+        }
+
+        int valueStart = skipWhitespace(line, seriesEnd);
+        int valueEnd = skipNonWhitespace(line, valueStart);
+        if (valueStart == seriesEnd || valueStart == valueEnd) {
+            throw new IllegalArgumentException("Missing sample value: " + line);
+        }
+        // Optional timestamp is ignored, samples are timestamped by the scraper
+        consumer.accept(line.substring(start, seriesEnd), parseValue(line.substring(valueStart, valueEnd)));
+    }
+
+    /**
+     * @return Metric name of the series, without labels.
+     */
+    public static String metricName(String series) {
+        int labels = series.indexOf('{');
+        return labels < 0 ? series : series.substring(0, labels);
+    }
+
+    private static void parseComment(String line, int index, SampleConsumer consumer) {
+        int keywordStart = skipWhitespace(line, index);
+        int keywordEnd = skipNonWhitespace(line, keywordStart);
+        if (!line.regionMatches(keywordStart, TYPE_COMMENT, 0, TYPE_COMMENT.length()) || keywordEnd - keywordStart != TYPE_COMMENT.length()) {
+            return;
+        }
+        int nameStart = skipWhitespace(line, keywordEnd);
+        int nameEnd = skipNonWhitespace(line, nameStart);
+        int typeStart = skipWhitespace(line, nameEnd);
+        int typeEnd = skipNonWhitespace(line, typeStart);
+        if (nameStart < nameEnd && typeStart < typeEnd) {
+            consumer.type(line.substring(nameStart, nameEnd), line.substring(typeStart, typeEnd));
+        }
+    }
+
+    private static int labelsEnd(String line, int labelsStart) {
+        boolean quoted = false;
+        for (int i = labelsStart + 1; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '\\') {
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == '}') {
+                return i + 1;
+            }
+        }
+        throw new IllegalArgumentException("Unterminated labels: " + line);
+    }
+
+    /**
+     * Parse sample value, including special values <code>+Inf</code>, <code>-Inf</code> and <code>NaN</code> which are also used by the Prometheus HTTP API.
+     */
+    public static double parseValue(String value) {
+        switch (value) {
+            case "+Inf":
+                return Double.POSITIVE_INFINITY;
+            case "-Inf":
+                return Double.NEGATIVE_INFINITY;
+            case "NaN":
+                return Double.NaN;
+            default:
+                return Double.parseDouble(value);
+        }
+    }
+
+    private static boolean isNameChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_' || c == ':';
+    }
+
+    private static int skipWhitespace(String line, int index) {
+        while (index < line.length() && Character.isWhitespace(line.charAt(index))) {
+            index++;
+        }
+        return index;
+    }
+
+    private static int skipNonWhitespace(String line, int index) {
+        while (index < line.length() && !Character.isWhitespace(line.charAt(index))) {
+            index++;
+        }
+        return index;
+    }
+}
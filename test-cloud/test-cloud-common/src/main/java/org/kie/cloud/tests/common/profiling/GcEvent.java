@@ -0,0 +1,109 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.kie.cloud.tests.common.profiling;
+
+/**
+ * One garbage collection event of a GC log, see {@link GcLog}.
+ */
+public class GcEvent {
+
+    public static final long UNKNOWN = -1;
+
+    private final double uptime;
+    private final int gcId;
+    private final String description;
+    private final double durationMillis;
+    private final long heapBefore;
+    private final long heapAfter;
+    private final long heapCommitted;
+
+    public GcEvent(double uptime, int gcId, String description, double durationMillis, long heapBefore, long heapAfter, long heapCommitted) {
+        this.uptime = uptime;
+        this.gcId = gcId;
+        this.description = description;
+        this.durationMillis = durationMillis;
+        this.heapBefore = heapBefore;
+        this.heapAfter = heapAfter;
+        this.heapCommitted = heapCommitted;
+    }
+
+    /**
+     * @return JVM uptime in seconds when the event was logged.
+     */
+    public double getUptime() {
+        return uptime;
+    }
+
+    public int getGcId() {
+        return gcId;
+    }
+
+    /**
+     * @return Event description, for example <code>Pause Young (Normal) (G1 Evacuation Pause)</code>.
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * @return True if the event is a stop-the-world pause.
+     */
+    public boolean isPause() {
+        return description.startsWith("Pause");
+    }
+
+    public boolean isFullGc() {
+        return description.startsWith("Pause Full");
+    }
+
+    /**
+     * @return Duration in milliseconds, NaN if not logged (for example by concurrent collections of ZGC).
+     */
+    public double getDurationMillis() {
+        return durationMillis;
+    }
+
+    public boolean hasHeap() {
+        return heapBefore != UNKNOWN && heapAfter != UNKNOWN;
+    }
+
+    /**
+     * @return Used heap in bytes before the collection, {@link #UNKNOWN} if not logged.
+     */
+    public long getHeapBefore() {
+        return heapBefore;
+    }
+
+    /**
+     * @return Used heap in bytes after the collection, {@link #UNKNOWN} if not logged.
+     */
+    public long getHeapAfter() {
+        return heapAfter;
+    }
+
+    /**
+     * @return Committed heap in bytes, {@link #UNKNOWN} if not logged.
+     */
+    public long getHeapCommitted() {
+        return heapCommitted;
+    }
+
+    @Override
+    public String toString() {
+        return "GC(" + gcId + ") " + description + " at " + uptime + "s";
+    }
+}
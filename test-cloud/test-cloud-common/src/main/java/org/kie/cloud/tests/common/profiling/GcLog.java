@@ -0,0 +1,225 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.kie.cloud.tests.common.profiling;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.kie.cloud.api.deployment.Instance;
+import org.kie.cloud.tests.common.statistics.Histogram;
+
+/**
+ * Garbage collections logged by unified logging with tag <code>gc</code> and decorations <code>uptime</code>, see
+ * {@link org.kie.cloud.api.deployment.JvmOptions#GC_LOGGING_OPTIONS}. Lines which are not GC events, for example other output of
+ * the instance, are ignored, so the GC log can be parsed from the instance log.
+ *
+ * Allocation rate is computed from heap usage growth between consecutive collections. Concurrent collectors (Shenandoah, ZGC)
+ * log only their short pauses, so their pause statistics don't include time spent by concurrent phases.
+ */
+public class GcLog {
+
+    private static final Pattern UPTIME = Pattern.compile("\\[(\\d+(?:[.,]\\d+)?)s\\]");
+    private static final Pattern GC_ID = Pattern.compile("\\bGC\\((\\d+)\\) ");
+    private static final Pattern HEAP = Pattern.compile(" (\\d+)([KMGT])(?:\\(\\d+%\\))?->(\\d+)([KMGT])(?:\\(\\d+%\\))?(?:\\((\\d+)([KMGT])\\))?");
+    private static final Pattern DURATION = Pattern.compile(" (\\d+(?:[.,]\\d+)?)ms$");
+    private static final String SIZE_UNITS = "KMGT";
+
+    private static final double BYTES_IN_MEGABYTE = 1024 * 1024;
+
+    private final List<GcEvent> events;
+
+    GcLog(List<GcEvent> events) {
+        this.events = Collections.unmodifiableList(events);
+    }
+
+    /**
+     * @return GC log of the instance parsed from its log, instance has to run with GC logging enabled.
+     */
+    public static GcLog of(Instance instance) {
+        return parse(instance.getLogs());
+    }
+
+    public static GcLog parse(String log) {
+        List<GcEvent> events = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new StringReader(log))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                GcEvent event = parseLine(line.trim());
+                if (event != null) {
+                    events.add(event);
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Error while reading GC log", e);
+        }
+        return new GcLog(events);
+    }
+
+    static GcEvent parseLine(String line) {
+        Matcher gcId = GC_ID.matcher(line);
+        Matcher uptime = UPTIME.matcher(line);
+        if (!gcId.find() || !uptime.find()) {
+            return null;
+        }
+
+        String details = line.substring(gcId.end());
+        long heapBefore = GcEvent.UNKNOWN;
+        long heapAfter = GcEvent.UNKNOWN;
+        long heapCommitted = GcEvent.UNKNOWN;
+        double durationMillis = Double.NaN;
+        int descriptionEnd = details.length();
+
+        Matcher duration = DURATION.matcher(details);
+        if (duration.find()) {
+            durationMillis = parseDecimal(duration.group(1));
+            descriptionEnd = duration.start();
+        }
+        Matcher heap = HEAP.matcher(details);
+        if (heap.find()) {
+            heapBefore = toBytes(heap.group(1), heap.group(2));
+            heapAfter = toBytes(heap.group(3), heap.group(4));
+            if (heap.group(5) != null) {
+                heapCommitted = toBytes(heap.group(5), heap.group(6));
+            }
+            descriptionEnd = Math.min(descriptionEnd, heap.start());
+        }
+        return new GcEvent(parseDecimal(uptime.group(1)), Integer.parseInt(gcId.group(1)), details.substring(0, descriptionEnd).trim(),
+                           durationMillis, heapBefore, heapAfter, heapCommitted);
+    }
+
+    /**
+     * @param previous GC log of the same instance parsed earlier.
+     * @return Events logged after the previous log was parsed. All events are returned if the last previous event is missing, for example because the JVM was restarted.
+     */
+    public GcLog since(GcLog previous) {
+        if (previous.events.isEmpty()) {
+            return this;
+        }
+        GcEvent last = previous.events.get(previous.events.size() - 1);
+        for (int i = events.size() - 1; i >= 0; i--) {
+            GcEvent event = events.get(i);
+            if (event.getGcId() == last.getGcId() && event.getUptime() == last.getUptime() && event.getDescription().equals(last.getDescription())) {
+                return new GcLog(new ArrayList<>(events.subList(i + 1, events.size())));
+            }
+        }
+        return this;
+    }
+
+    public List<GcEvent> getEvents() {
+        return events;
+    }
+
+    /**
+     * @return Durations of stop-the-world pauses in microseconds.
+     */
+    public Histogram getPauses() {
+        Histogram pauses = new Histogram();
+        pauseEvents().forEach(event -> pauses.record(Math.round(event.getDurationMillis() * 1000)));
+        return pauses;
+    }
+
+    /**
+     * @return Total time of stop-the-world pauses in milliseconds.
+     */
+    public double getTotalPauseMillis() {
+        return pauseEvents().stream().mapToDouble(GcEvent::getDurationMillis).sum();
+    }
+
+    public long getFullGcCount() {
+        return events.stream().filter(GcEvent::isFullGc).count();
+    }
+
+    /**
+     * @return Time in seconds between the first and the last event.
+     */
+    public double getDuration() {
+        return events.size() < 2 ? 0 : events.get(events.size() - 1).getUptime() - events.get(0).getUptime();
+    }
+
+    /**
+     * @return Allocation rate in MB/s, heap growth between collections divided by time between the first and the last collection.
+     */
+    public double getAllocationRate() {
+        List<GcEvent> heapEvents = heapEvents();
+        if (heapEvents.size() < 2) {
+            return 0;
+        }
+        long allocated = 0;
+        for (int i = 1; i < heapEvents.size(); i++) {
+            allocated += Math.max(0, heapEvents.get(i).getHeapBefore() - heapEvents.get(i - 1).getHeapAfter());
+        }
+        double duration = heapEvents.get(heapEvents.size() - 1).getUptime() - heapEvents.get(0).getUptime();
+        return duration <= 0 ? 0 : allocated / BYTES_IN_MEGABYTE / duration;
+    }
+
+    /**
+     * @return Maximal used heap after collection in MB, upper estimation of the live data set.
+     */
+    public double getMaxHeapAfterGc() {
+        return heapEvents().stream().mapToLong(GcEvent::getHeapAfter).max().orElse(0) / BYTES_IN_MEGABYTE;
+    }
+
+    /**
+     * @return Trend of used heap after collection in MB per minute (least squares slope), a steadily positive trend indicates a leak
+     * or a heap too small for the workload.
+     */
+    public double getHeapAfterGcTrend() {
+        List<GcEvent> heapEvents = heapEvents();
+        if (heapEvents.size() < 2) {
+            return 0;
+        }
+        double meanTime = heapEvents.stream().mapToDouble(GcEvent::getUptime).average().getAsDouble();
+        double meanHeap = heapEvents.stream().mapToDouble(GcEvent::getHeapAfter).average().getAsDouble();
+        double covariance = 0;
+        double variance = 0;
+        for (GcEvent event : heapEvents) {
+            covariance += (event.getUptime() - meanTime) * (event.getHeapAfter() - meanHeap);
+            variance += (event.getUptime() - meanTime) * (event.getUptime() - meanTime);
+        }
+        return variance == 0 ? 0 : covariance / variance * 60 / BYTES_IN_MEGABYTE;
+    }
+
+    @Override
+    public String toString() {
+        Histogram pauses = getPauses();
+        return String.format("%d events in %.1f s, pauses [us]: %s, total pause %.1f ms, full GCs %d, allocation rate %.1f MB/s, max heap after GC %.1f MB, heap after GC trend %.2f MB/min",
+                             events.size(), getDuration(), pauses, getTotalPauseMillis(), getFullGcCount(), getAllocationRate(), getMaxHeapAfterGc(), getHeapAfterGcTrend());
+    }
+
+    private List<GcEvent> pauseEvents() {
+        return events.stream().filter(event -> event.isPause() && !Double.isNaN(event.getDurationMillis())).collect(Collectors.toList());
+    }
+
+    private List<GcEvent> heapEvents() {
+        return events.stream().filter(GcEvent::hasHeap).collect(Collectors.toList());
+    }
+
+    private static double parseDecimal(String value) {
+        return Double.parseDouble(value.replace(',', '.'));
+    }
+
+    private static long toBytes(String value, String unit) {
+        return Long.parseLong(value) << (10 * (SIZE_UNITS.indexOf(unit) + 1));
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.kie.cloud.tests.common.profiling;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Optional;
+
+import org.kie.cloud.api.deployment.CommandExecutionResult;
+import org.kie.cloud.api.deployment.Instance;
+import org.kie.cloud.common.logs.InstanceLogUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Java Flight Recorder recording of the Java process running in an instance, controlled by <code>jcmd</code> executed in the instance.
+ * Stopped recording is copied beside instance logs together with its summary, see {@link JfrSummary}.
+ */
+public class JfrRecording {
+
+    private static final Logger logger = LoggerFactory.getLogger(JfrRecording.class);
+
+    public static final String DEFAULT_SETTINGS = "profile";
+
+    private static final String JFR_SUFFIX = ".jfr";
+    private static final String SUMMARY_SUFFIX = "-jfr-summary.txt";
+    private static final String REMOTE_DIRECTORY = "/tmp/";
+    private static final int SUMMARY_LIMIT = 20;
+
+    private final Instance instance;
+    private final String name;
+    private final String pid;
+
+    private JfrRecording(Instance instance, String name, String pid) {
+        this.instance = instance;
+        this.name = name;
+        this.pid = pid;
+    }
+
+    /**
+     * Start recording of the Java process running in the instance.
+     *
+     * @param instance Instance running a single Java process, for example a Kie server.
+     * @param name Recording name, used also in name of the local recording file.
+     * @param settings JFR settings, for example <code>default</code> or <code>profile</code>.
+     * @return Started recording.
+     */
+    public static JfrRecording start(Instance instance, String name, String settings) {
+        String pid = findJavaProcess(instance);
+        CommandExecutionResult result = instance.runCommand("jcmd", pid, "JFR.start", "name=" + name, "settings=" + settings);
+        checkOutput(instance, result, "Started recording");
+        logger.info("Started JFR recording {} with settings {} of process {} in instance {}", name, settings, pid, instance.getName());
+        return new JfrRecording(instance, name, pid);
+    }
+
+    /**
+     * Stop the recording, copy it from the instance and summarize it.
+     *
+     * @param logFolderName Folder of instance logs where the recording and its summary are stored.
+     * @return Local recording file.
+     */
+    public File stop(String logFolderName) {
+        String remoteFile = REMOTE_DIRECTORY + instance.getName() + "-" + name + JFR_SUFFIX;
+        CommandExecutionResult result = instance.runCommand("jcmd", pid, "JFR.stop", "name=" + name, "filename=" + remoteFile);
+        checkOutput(instance, result, "Stopped recording");
+
+        File recording = InstanceLogUtil.getOutputFile(instance.getName() + "-" + name, logFolderName, JFR_SUFFIX);
+        try {
+            instance.copyFile(remoteFile, recording);
+        } finally {
+            instance.runCommand("rm", "-f", remoteFile);
+        }
+        logger.info("JFR recording {} of instance {} stored in {}", name, instance.getName(), recording.getAbsolutePath());
+
+        Optional<JfrSummary> summary = JfrSummary.summarize(recording);
+        summary.ifPresent(s -> writeSummary(s, InstanceLogUtil.getOutputFile(instance.getName() + "-" + name, logFolderName, SUMMARY_SUFFIX)));
+        return recording;
+    }
+
+    public Instance getInstance() {
+        return instance;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    private static String findJavaProcess(Instance instance) {
+        CommandExecutionResult result = instance.runCommand("jcmd", "-l");
+        String output = Optional.ofNullable(result.getOutput()).orElse("");
+        for (String line : output.split("\\r?\\n")) {
+            String[] process = line.trim().split("\\s+", 2);
+            if (process.length == 2 && process[0].matches("\\d+") && !process[1].contains("JCmd")) {
+                return process[0];
+            }
+        }
+        throw new RuntimeException("No Java process found in instance " + instance.getName() + ", jcmd output: " + output + " " + result.getError());
+    }
+
+    private static void checkOutput(Instance instance, CommandExecutionResult result, String expectedOutput) {
+        if (result.getOutput() == null || !result.getOutput().contains(expectedOutput)) {
+            throw new RuntimeException("Unexpected jcmd output in instance " + instance.getName() + ": " + result.getOutput() + " " + result.getError());
+        }
+    }
+
+    private void writeSummary(JfrSummary summary, File summaryFile) {
+        String text = summary.format(SUMMARY_LIMIT);
+        logger.info("Summary of JFR recording {} of instance {}:{}{}", name, instance.getName(), System.lineSeparator(), text);
+        try {
+            Files.write(summaryFile.toPath(), text.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new RuntimeException("Error while writing JFR summary " + summaryFile.getAbsolutePath(), e);
+        }
+    }
+}
@@ -0,0 +1,258 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.kie.cloud.tests.common.profiling;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Hot methods and allocations of a JFR recording, computed from the top frames of execution and allocation samples.
+ * The recording is read using the <code>jfr</code> tool of the JDK running the tests, as the framework doesn't depend on the JFR API.
+ */
+public class JfrSummary {
+
+    private static final Logger logger = LoggerFactory.getLogger(JfrSummary.class);
+
+    public static final String JFR_TOOL_KEY = "jfr.tool";
+
+    private static final String EXECUTION_SAMPLE = "jdk.ExecutionSample";
+    private static final String ALLOCATION_IN_NEW_TLAB = "jdk.ObjectAllocationInNewTLAB";
+    private static final String ALLOCATION_OUTSIDE_TLAB = "jdk.ObjectAllocationOutsideTLAB";
+    private static final String ALLOCATION_SAMPLE = "jdk.ObjectAllocationSample";
+
+    // Allocation weight of each event type, the whole TLAB is attributed to the sample which caused its allocation
+    private static final Map<String, String> ALLOCATION_WEIGHTS = new HashMap<>();
+    static {
+        ALLOCATION_WEIGHTS.put(ALLOCATION_IN_NEW_TLAB, "tlabSize");
+        ALLOCATION_WEIGHTS.put(ALLOCATION_OUTSIDE_TLAB, "allocationSize");
+        ALLOCATION_WEIGHTS.put(ALLOCATION_SAMPLE, "weight");
+    }
+
+    private static final String[] SIZE_UNITS = {"bytes", "kB", "MB", "GB", "TB"};
+
+    private final Map<String, Long> hotMethods = new HashMap<>();
+    private final Map<String, Long> allocatedClasses = new HashMap<>();
+    private final Map<String, Long> allocationSites = new HashMap<>();
+    private long executionSamples;
+    private long allocatedBytes;
+
+    JfrSummary() {}
+
+    /**
+     * @param recording Local JFR recording.
+     * @return Summary of the recording, empty if the <code>jfr</code> tool isn't available.
+     */
+    public static Optional<JfrSummary> summarize(File recording) {
+        File tool = new File(System.getProperty(JFR_TOOL_KEY, System.getProperty("java.home") + File.separator + "bin" + File.separator + "jfr"));
+        if (!tool.canExecute()) {
+            logger.warn("JFR tool {} not found, recording {} is not summarized. Set {} to the jfr tool of JDK 11 or newer.", tool, recording, JFR_TOOL_KEY);
+            return Optional.empty();
+        }
+
+        String events = String.join(",", EXECUTION_SAMPLE, ALLOCATION_IN_NEW_TLAB, ALLOCATION_OUTSIDE_TLAB, ALLOCATION_SAMPLE);
+        ProcessBuilder processBuilder = new ProcessBuilder(tool.getAbsolutePath(), "print", "--stack-depth", "1", "--events", events, recording.getAbsolutePath());
+        processBuilder.redirectError(ProcessBuilder.Redirect.INHERIT);
+        try {
+            Process process = processBuilder.start();
+            JfrSummary summary;
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                summary = parse(reader);
+            }
+            int exitCode = process.waitFor();
+            if (exitCode != 0) {
+                throw new RuntimeException("JFR tool failed to print recording " + recording.getAbsolutePath() + " with exit code " + exitCode);
+            }
+            return Optional.of(summary);
+        } catch (IOException e) {
+            throw new RuntimeException("Error while reading JFR recording " + recording.getAbsolutePath(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while reading JFR recording " + recording.getAbsolutePath(), e);
+        }
+    }
+
+    /**
+     * Parse events printed by <code>jfr print --stack-depth 1</code>.
+     */
+    static JfrSummary parse(BufferedReader reader) throws IOException {
+        JfrSummary summary = new JfrSummary();
+        String eventType = null;
+        String objectClass = null;
+        String topFrame = null;
+        long weight = 0;
+        boolean stackTrace = false;
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (eventType == null) {
+                if (line.endsWith(" {") && !line.startsWith(" ")) {
+                    eventType = line.substring(0, line.length() - 2);
+                    objectClass = null;
+                    topFrame = null;
+                    weight = 0;
+                }
+            } else if (line.equals("}")) {
+                summary.add(eventType, objectClass, topFrame, weight);
+                eventType = null;
+            } else if (stackTrace) {
+                String frame = line.trim();
+                if (topFrame == null && !frame.equals("]") && !frame.equals("...")) {
+                    int lineNumber = frame.indexOf(" line:");
+                    topFrame = lineNumber < 0 ? frame : frame.substring(0, lineNumber);
+                }
+                stackTrace = !frame.equals("]");
+            } else {
+                String field = line.trim();
+                int separator = field.indexOf(" = ");
+                if (separator < 0) {
+                    continue;
+                }
+                String name = field.substring(0, separator);
+                String value = field.substring(separator + 3);
+                if ("stackTrace".equals(name)) {
+                    stackTrace = value.equals("[");
+                } else if ("objectClass".equals(name)) {
+                    int classLoader = value.indexOf(" (");
+                    objectClass = classLoader < 0 ? value : value.substring(0, classLoader);
+                } else if (name.equals(ALLOCATION_WEIGHTS.get(eventType))) {
+                    weight = parseSize(value);
+                }
+            }
+        }
+        return summary;
+    }
+
+    /**
+     * Parse data amount printed by JFR tool, for example <code>512.0 kB</code>.
+     */
+    static long parseSize(String size) {
+        String[] parts = size.trim().split("\\s+");
+        if (parts.length == 2) {
+            for (int unit = 0; unit < SIZE_UNITS.length; unit++) {
+                if (parts[1].equals(SIZE_UNITS[unit]) || (unit == 0 && parts[1].equals("byte"))) {
+                    return Math.round(Double.parseDouble(parts[0].replace(',', '.')) * Math.pow(1024, unit));
+                }
+            }
+        }
+        throw new IllegalArgumentException("Unsupported data amount " + size);
+    }
+
+    private void add(String eventType, String objectClass, String topFrame, long weight) {
+        if (EXECUTION_SAMPLE.equals(eventType)) {
+            executionSamples++;
+            if (topFrame != null) {
+                hotMethods.merge(topFrame, 1L, Long::sum);
+            }
+        } else if (ALLOCATION_WEIGHTS.containsKey(eventType)) {
+            allocatedBytes += weight;
+            if (objectClass != null) {
+                allocatedClasses.merge(objectClass, weight, Long::sum);
+            }
+            if (topFrame != null) {
+                allocationSites.merge(topFrame, weight, Long::sum);
+            }
+        }
+    }
+
+    public long getExecutionSamples() {
+        return executionSamples;
+    }
+
+    /**
+     * @return Estimated amount of allocated memory in bytes.
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /**
+     * @return Number of execution samples per method on top of the stack, ordered from the hottest method.
+     */
+    public Map<String, Long> getHotMethods(int limit) {
+        return top(hotMethods, limit);
+    }
+
+    /**
+     * @return Estimated allocated bytes per class, ordered from the most allocated class.
+     */
+    public Map<String, Long> getAllocatedClasses(int limit) {
+        return top(allocatedClasses, limit);
+    }
+
+    /**
+     * @return Estimated allocated bytes per allocating method, ordered from the most allocating method.
+     */
+    public Map<String, Long> getAllocationSites(int limit) {
+        return top(allocationSites, limit);
+    }
+
+    /**
+     * @param limit Maximal number of items in each section.
+     * @return Human readable summary.
+     */
+    public String format(int limit) {
+        StringBuilder text = new StringBuilder();
+        text.append("Execution samples: ").append(executionSamples).append(System.lineSeparator());
+        appendSection(text, "Hot methods", getHotMethods(limit), executionSamples, false);
+        text.append("Allocated: ").append(formatSize(allocatedBytes)).append(System.lineSeparator());
+        appendSection(text, "Allocated classes", getAllocatedClasses(limit), allocatedBytes, true);
+        appendSection(text, "Allocation sites", getAllocationSites(limit), allocatedBytes, true);
+        return text.toString();
+    }
+
+    @Override
+    public String toString() {
+        return format(10);
+    }
+
+    private static void appendSection(StringBuilder text, String title, Map<String, Long> items, long total, boolean size) {
+        text.append(title).append(':').append(System.lineSeparator());
+        items.forEach((item, value) -> text.append(String.format("  %6.2f%%  %s", total == 0 ? 0 : 100.0 * value / total, item))
+                                           .append(size ? " (" + formatSize(value) + ")" : "")
+                                           .append(System.lineSeparator()));
+    }
+
+    private static String formatSize(long bytes) {
+        int unit = 0;
+        double value = bytes;
+        while (value >= 1024 && unit < SIZE_UNITS.length - 1) {
+            value /= 1024;
+            unit++;
+        }
+        return String.format("%.1f %s", value, SIZE_UNITS[unit]);
+    }
+
+    private static Map<String, Long> top(Map<String, Long> values, int limit) {
+        Map<String, Long> top = new LinkedHashMap<>();
+        values.entrySet().stream()
+              .sorted(Entry.<String, Long> comparingByValue().reversed().thenComparing(Entry.comparingByKey()))
+              .limit(limit)
+              .forEach(entry -> top.put(entry.getKey(), entry.getValue()));
+        return top;
+    }
+}
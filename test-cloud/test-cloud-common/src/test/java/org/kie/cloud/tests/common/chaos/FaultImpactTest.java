@@ -0,0 +1,85 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.kie.cloud.tests.common.chaos;
+
+import java.time.Duration;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class FaultImpactTest {
+
+    private static final FaultInjection INJECTION = new FaultInjection(Fault.fault("podDeletion", () -> {}), 10_000);
+
+    @Test
+    public void testOutageAndRecovery() {
+        RequestTimeline timeline = new RequestTimeline(Duration.ofSeconds(1));
+        recordSeconds(timeline, 0, 10, 10, 0);
+        recordSeconds(timeline, 10, 12, 0, 3);
+        recordSeconds(timeline, 12, 13, 5, 0);
+        recordSeconds(timeline, 13, 21, 10, 0);
+
+        FaultImpact impact = FaultImpact.analyze(timeline, INJECTION, 0, 21_000);
+
+        assertThat(impact.getBaselineThroughput()).isCloseTo(10, within(0.001));
+        assertThat(impact.getTimeToDetectMillis()).isZero();
+        assertThat(impact.getTimeToRecoverMillis()).isEqualTo(3_000);
+        assertThat(impact.getFailedRequests()).isEqualTo(6);
+        assertThat(impact.getLostRequests()).isEqualTo(25);
+        assertThat(impact.getThroughputDrop()).isCloseTo(100, within(0.001));
+        assertThat(impact.getAvailability()).isCloseTo(5.0 / 11, within(0.001));
+    }
+
+    @Test
+    public void testNoRecoveryInWindow() {
+        RequestTimeline timeline = new RequestTimeline(Duration.ofSeconds(1));
+        recordSeconds(timeline, 0, 10, 10, 0);
+        recordSeconds(timeline, 10, 21, 2, 1);
+
+        FaultImpact impact = FaultImpact.analyze(timeline, INJECTION, 0, 21_000);
+
+        assertThat(impact.isDetected()).isTrue();
+        assertThat(impact.isRecovered()).isFalse();
+        assertThat(impact.getFailedRequests()).isEqualTo(11);
+    }
+
+    @Test
+    public void testFaultWithoutImpact() {
+        RequestTimeline timeline = new RequestTimeline(Duration.ofSeconds(1));
+        recordSeconds(timeline, 0, 21, 10, 0);
+
+        FaultImpact impact = FaultImpact.analyze(timeline, INJECTION, 0, 21_000);
+
+        assertThat(impact.isDetected()).isFalse();
+        assertThat(impact.getTimeToRecoverMillis()).isZero();
+        assertThat(impact.getLostRequests()).isZero();
+        assertThat(impact.getAvailability()).isEqualTo(1);
+    }
+
+    private static void recordSeconds(RequestTimeline timeline, int fromSecond, int toSecond, int successes, int failures) {
+        for (int second = fromSecond; second < toSecond; second++) {
+            for (int i = 0; i < successes; i++) {
+                timeline.record(second * 1000L + i, true);
+            }
+            for (int i = 0; i < failures; i++) {
+                timeline.record(second * 1000L + i, false);
+            }
+        }
+    }
+}
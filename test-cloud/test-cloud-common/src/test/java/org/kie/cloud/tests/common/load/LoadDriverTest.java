@@ -0,0 +1,129 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.cloud.tests.common.load;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class LoadDriverTest {
+
+    @Test(timeout = 30_000)
+    public void testManyUsersOnFewThreads() {
+        Set<String> threadNames = ConcurrentHashMap.newKeySet();
+        AtomicInteger executions = new AtomicInteger();
+        LoadResult result = new LoadDriverBuilder(user -> {
+                                                      threadNames.add(Thread.currentThread().getName());
+                                                      executions.incrementAndGet();
+                                                  })
+                                                  .withUsers(10_000)
+                                                  .withConcurrency(4)
+                                                  .withIterationsPerUser(3)
+                                                  .withThinkTime(ThinkTime.uniform(Duration.ofMillis(1), Duration.ofMillis(20)))
+                                                  .build()
+                                                  .run();
+
+        assertThat(executions.get()).isEqualTo(30_000);
+        assertThat(result.getIterations()).isEqualTo(30_000);
+        assertThat(result.getErrors()).isZero();
+        assertThat(result.getLatency().getCount()).isEqualTo(30_000);
+        assertThat(threadNames).hasSize(4);
+    }
+
+    @Test(timeout = 30_000)
+    public void testDurationStopsUsers() {
+        LoadResult result = new LoadDriverBuilder(user -> {})
+                                                  .withUsers(10)
+                                                  .withConcurrency(2)
+                                                  .withIterationsPerUser(Long.MAX_VALUE)
+                                                  .withThinkTime(ThinkTime.constant(Duration.ofMillis(10)))
+                                                  .withDuration(Duration.ofMillis(500))
+                                                  .build()
+                                                  .run();
+
+        assertThat(result.getIterations()).isPositive().isLessThan(1000);
+    }
+
+    @Test(timeout = 30_000)
+    public void testErrorsAreCounted() {
+        LoadResult result = new LoadDriverBuilder(user -> {
+                                                      if (user.getId() % 2 == 0) {
+                                                          throw new IllegalStateException("Expected failure");
+                                                      }
+                                                  })
+                                                  .withUsers(10)
+                                                  .withIterationsPerUser(2)
+                                                  .build()
+                                                  .run();
+
+        assertThat(result.getIterations()).isEqualTo(20);
+        assertThat(result.getErrors()).isEqualTo(10);
+        assertThat(result.getLatency().getCount()).isEqualTo(10);
+    }
+
+    @Test(timeout = 30_000)
+    public void testTotalIterationsAreSpreadOverUsers() {
+        Map<Integer, AtomicInteger> userExecutions = new ConcurrentHashMap<>();
+        LoadResult result = new LoadDriverBuilder(user -> userExecutions.computeIfAbsent(user.getId(), id -> new AtomicInteger()).incrementAndGet())
+                                                  .withUsers(3)
+                                                  .withTotalIterations(11)
+                                                  .build()
+                                                  .run();
+
+        assertThat(result.getIterations()).isEqualTo(11);
+        assertThat(userExecutions.get(0).get()).isEqualTo(4);
+        assertThat(userExecutions.get(1).get()).isEqualTo(4);
+        assertThat(userExecutions.get(2).get()).isEqualTo(3);
+    }
+
+    @Test
+    public void testTotalIterationsLowerThanUsers() {
+        assertThatThrownBy(() -> new LoadDriverBuilder(user -> {}).withUsers(5).withTotalIterations(4).build())
+                                                  .isInstanceOf(IllegalArgumentException.class)
+                                                  .hasMessageContaining("lower than the number of users");
+    }
+
+    @Test(timeout = 30_000)
+    public void testErrorStopsOnlyFailingUser() {
+        LoadResult result = new LoadDriverBuilder(user -> {
+                                                      if (user.getId() == 0) {
+                                                          throw new NoClassDefFoundError("Expected failure");
+                                                      }
+                                                  })
+                                                  .withUsers(3)
+                                                  .withIterationsPerUser(2)
+                                                  .build()
+                                                  .run();
+
+        assertThat(result.getIterations()).isEqualTo(4);
+        assertThat(result.getErrors()).isEqualTo(1);
+    }
+
+    @Test
+    public void testParseThinkTime() {
+        assertThat(ThinkTime.parse("none").nextMillis()).isZero();
+        assertThat(ThinkTime.parse("constant:2s").nextMillis()).isEqualTo(2000);
+        assertThat(ThinkTime.parse("uniform:10ms:20ms").nextMillis()).isBetween(10L, 20L);
+        assertThat(ThinkTime.parse("exponential:1m").nextMillis()).isNotNegative();
+    }
+}
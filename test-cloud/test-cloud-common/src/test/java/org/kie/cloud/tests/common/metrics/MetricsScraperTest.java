@@ -0,0 +1,115 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.kie.cloud.tests.common.metrics;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MetricsScraperTest {
+
+    private static final String USERNAME = "user";
+    private static final String PASSWORD = "password";
+
+    private HttpServer server;
+    private final AtomicInteger requests = new AtomicInteger();
+    private volatile String authorization;
+
+    @Before
+    public void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext(MetricsScraper.KIE_SERVER_METRICS_PATH, exchange -> {
+            authorization = exchange.getRequestHeaders().getFirst("Authorization");
+            int request = requests.incrementAndGet();
+            byte[] body = String.join("\n",
+                                      "# TYPE kie_server_process_instance_started_total counter",
+                                      "kie_server_process_instance_started_total{container_id=\"c1\",process_id=\"p1\",} " + (request * 10.0),
+                                      "kie_server_process_instance_started_total{container_id=\"c1\",process_id=\"p2\",} 5.0",
+                                      "# TYPE kie_server_deployments_active_total gauge",
+                                      "kie_server_deployments_active_total{deployment_id=\"c1\",} 1.0",
+                                      "").getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(body);
+            }
+        });
+        server.start();
+    }
+
+    @After
+    public void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    public void testScrape() throws Exception {
+        MetricsScraper scraper = new MetricsScraper(Duration.ofMinutes(1)).addTarget("pod-1", MetricsSource.http(metricsUrl(), USERNAME, PASSWORD));
+        scraper.scrape();
+        scraper.scrape();
+        scraper.scrape();
+
+        assertThat(authorization).isEqualTo("Basic dXNlcjpwYXNzd29yZA==");
+        assertThat(scraper.getScrapeCount()).isEqualTo(3);
+        assertThat(scraper.getSeries().get("pod-1")).hasSize(3);
+
+        List<MetricSeries> started = scraper.getSeries("kie_server_process_instance_started_total");
+        assertThat(started).extracting(MetricSeries::getIncrease).containsExactly(20.0, 0.0);
+        assertThat(started.get(0).getLastValue()).isEqualTo(30.0);
+        assertThat(scraper.getType("kie_server_process_instance_started_total")).hasValue("counter");
+        assertThat(scraper.getType("kie_server_deployments_active_total")).hasValue("gauge");
+        assertThat(scraper.toCsv()).startsWith("target,series,timestamp,value")
+                                   .contains("\"pod-1\",\"kie_server_deployments_active_total{deployment_id=\"\"c1\"\",}\",");
+    }
+
+    @Test
+    public void testScrapeInBackground() throws Exception {
+        try (MetricsScraper scraper = new MetricsScraper(Duration.ofMillis(50)).addTarget("pod-1", MetricsSource.http(metricsUrl(), USERNAME, PASSWORD))) {
+            scraper.start();
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (scraper.getScrapeCount() < 3 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(50);
+            }
+            assertThat(scraper.getScrapeCount()).isGreaterThanOrEqualTo(3);
+        }
+    }
+
+    @Test
+    public void testFailedScrapeIsCounted() throws Exception {
+        MetricsScraper scraper = new MetricsScraper(Duration.ofMinutes(1)).addTarget("missing", MetricsSource.http(metricsUrl(), USERNAME, PASSWORD));
+        server.removeContext(MetricsScraper.KIE_SERVER_METRICS_PATH);
+        scraper.scrape();
+
+        assertThat(scraper.getFailedScrapeCount()).isEqualTo(1);
+        assertThat(scraper.getScrapeCount()).isZero();
+    }
+
+    private URL metricsUrl() throws IOException {
+        return new URL("http://localhost:" + server.getAddress().getPort() + MetricsScraper.KIE_SERVER_METRICS_PATH);
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.kie.cloud.tests.common.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+
+public class PrometheusTextParserTest {
+
+    private final Map<String, Double> samples = new LinkedHashMap<>();
+    private final Map<String, String> types = new LinkedHashMap<>();
+
+    private final PrometheusTextParser.SampleConsumer consumer = new PrometheusTextParser.SampleConsumer() {
+
+        @Override
+        public void accept(String series, double value) {
+            samples.put(series, value);
+        }
+
+        @Override
+        public void type(String metricName, String type) {
+            types.put(metricName, type);
+        }
+    };
+
+    @Test
+    public void testSamples() {
+        parse("# HELP kie_server_start_time Kie Server Start Time",
+              "# TYPE kie_server_start_time gauge",
+              "kie_server_start_time{name=\"myapp-kieserver\",server_id=\"myapp-kieserver\",location=\"http://myapp-kieserver:8080/services/rest/server\",version=\"7.45.0\",} 1.6035E12",
+              "",
+              "# TYPE kie_server_job_executed_total counter",
+              "kie_server_job_executed_total{container_id=\"c1\",failed=\"false\",command_name=\"org.jbpm.Command\",} 42.0 1603500000000",
+              "process_cpu_seconds_total 12.5");
+
+        assertThat(samples).containsExactly(
+                entry("kie_server_start_time{name=\"myapp-kieserver\",server_id=\"myapp-kieserver\",location=\"http://myapp-kieserver:8080/services/rest/server\",version=\"7.45.0\",}", 1.6035E12),
+                entry("kie_server_job_executed_total{container_id=\"c1\",failed=\"false\",command_name=\"org.jbpm.Command\",}", 42.0),
+                entry("process_cpu_seconds_total", 12.5));
+        assertThat(types).containsExactly(entry("kie_server_start_time", "gauge"), entry("kie_server_job_executed_total", "counter"));
+    }
+
+    @Test
+    public void testEscapedLabelValues() {
+        parse("metric{path=\"a}b\",quote=\"say \\\"hi\\\"\"} 1",
+              "histogram_bucket{le=\"+Inf\"} +Inf",
+              "gauge_nan NaN");
+
+        assertThat(samples).containsKeys("metric{path=\"a}b\",quote=\"say \\\"hi\\\"\"}", "histogram_bucket{le=\"+Inf\"}");
+        assertThat(samples.get("histogram_bucket{le=\"+Inf\"}")).isEqualTo(Double.POSITIVE_INFINITY);
+        assertThat(samples.get("gauge_nan")).isNaN();
+    }
+
+    @Test
+    public void testMalformedLines() {
+        assertThatThrownBy(() -> PrometheusTextParser.parseLine("metric{label=\"value\" 1", consumer)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PrometheusTextParser.parseLine("metric", consumer)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PrometheusTextParser.parseLine("metric abc", consumer)).isInstanceOf(NumberFormatException.class);
+    }
+
+    @Test
+    public void testMetricName() {
+        assertThat(PrometheusTextParser.metricName("kie_server_job_executed_total{container_id=\"c1\",}")).isEqualTo("kie_server_job_executed_total");
+        assertThat(PrometheusTextParser.metricName("process_cpu_seconds_total")).isEqualTo("process_cpu_seconds_total");
+    }
+
+    private void parse(String... lines) {
+        for (String line : lines) {
+            PrometheusTextParser.parseLine(line, consumer);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.kie.cloud.tests.common.profiling;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class GcLogTest {
+
+    private static final String INSTANCE_LOG = String.join("\n",
+            "[0.004s][info][gc] Using G1",
+            "12:00:01,000 INFO  [org.jboss.as] (Controller Boot Thread) WFLYSRV0025: JBoss EAP started",
+            "[10.000s][info][gc] GC(0) Pause Young (Normal) (G1 Evacuation Pause) 100M->20M(256M) 5.000ms",
+            "[12.000s][info][gc] GC(1) Pause Young (Normal) (G1 Evacuation Pause) 120M->30M(256M) 7.000ms",
+            "[14.000s][info][gc] GC(2) Pause Young (Concurrent Start) (G1 Humongous Allocation) 130M->40M(256M) 9.000ms",
+            "[14.100s][info][gc] GC(3) Concurrent Cycle",
+            "[14.200s][info][gc] GC(3) Pause Remark 45M->45M(256M) 1.000ms",
+            "[16.000s][info][gc] GC(4) Pause Full (G1 Compaction Pause) 145M->50M(256M) 100.000ms",
+            "12:00:20,000 INFO  [org.kie.server] (default task-1) Container started");
+
+    @Test
+    public void testParseEvents() {
+        GcLog log = GcLog.parse(INSTANCE_LOG);
+
+        assertThat(log.getEvents()).extracting(GcEvent::getGcId).containsExactly(0, 1, 2, 3, 3, 4);
+        GcEvent first = log.getEvents().get(0);
+        assertThat(first.getUptime()).isEqualTo(10.0);
+        assertThat(first.getDescription()).isEqualTo("Pause Young (Normal) (G1 Evacuation Pause)");
+        assertThat(first.getDurationMillis()).isEqualTo(5.0);
+        assertThat(first.getHeapBefore()).isEqualTo(100L * 1024 * 1024);
+        assertThat(first.getHeapAfter()).isEqualTo(20L * 1024 * 1024);
+        assertThat(first.getHeapCommitted()).isEqualTo(256L * 1024 * 1024);
+
+        GcEvent concurrentCycle = log.getEvents().get(3);
+        assertThat(concurrentCycle.isPause()).isFalse();
+        assertThat(concurrentCycle.hasHeap()).isFalse();
+        assertThat(concurrentCycle.getDurationMillis()).isNaN();
+    }
+
+    @Test
+    public void testPauses() {
+        GcLog log = GcLog.parse(INSTANCE_LOG);
+
+        assertThat(log.getPauses().getCount()).isEqualTo(5);
+        assertThat(log.getPauses().getMax()).isEqualTo(100_000);
+        assertThat(log.getTotalPauseMillis()).isCloseTo(122.0, within(0.001));
+        assertThat(log.getFullGcCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void testHeap() {
+        GcLog log = GcLog.parse(INSTANCE_LOG);
+
+        // (120 - 20) + (130 - 30) + (45 - 40) + (145 - 45) MB allocated in 6 seconds
+        assertThat(log.getAllocationRate()).isCloseTo(305.0 / 6, within(0.001));
+        assertThat(log.getMaxHeapAfterGc()).isEqualTo(50.0);
+        assertThat(log.getHeapAfterGcTrend()).isPositive();
+    }
+
+    @Test
+    public void testZgcHeapWithoutCommittedSize() {
+        GcEvent event = GcLog.parseLine("[3.078s][info][gc] GC(55) Garbage Collection (Allocation Rate) 16M(25%)->14M(22%)");
+
+        assertThat(event.getDescription()).isEqualTo("Garbage Collection (Allocation Rate)");
+        assertThat(event.getHeapBefore()).isEqualTo(16L * 1024 * 1024);
+        assertThat(event.getHeapAfter()).isEqualTo(14L * 1024 * 1024);
+        assertThat(event.getHeapCommitted()).isEqualTo(GcEvent.UNKNOWN);
+        assertThat(event.isPause()).isFalse();
+    }
+
+    @Test
+    public void testSince() {
+        GcLog previous = GcLog.parse(INSTANCE_LOG.substring(0, INSTANCE_LOG.indexOf("[14.000s]")));
+        GcLog current = GcLog.parse(INSTANCE_LOG);
+
+        assertThat(current.since(previous).getEvents()).extracting(GcEvent::getGcId).containsExactly(2, 3, 3, 4);
+
+        GcLog restarted = GcLog.parse("[1.000s][info][gc] GC(0) Pause Young (Normal) (G1 Evacuation Pause) 10M->2M(256M) 1.000ms");
+        assertThat(restarted.since(current).getEvents()).hasSize(1);
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.kie.cloud.tests.common.profiling;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+
+public class JfrSummaryTest {
+
+    private static final String PRINTED_EVENTS = String.join("\n",
+            "jdk.ExecutionSample {",
+            "  startTime = 07:46:56.625",
+            "  sampledThread = \"default task-1\" (javaThreadId = 201)",
+            "  state = \"STATE_RUNNABLE\"",
+            "  stackTrace = [",
+            "    java.util.HashMap.putVal(int, Object, Object, boolean, boolean) line: 627",
+            "    ...",
+            "  ]",
+            "}",
+            "",
+            "jdk.ExecutionSample {",
+            "  startTime = 07:46:56.645",
+            "  sampledThread = \"default task-2\" (javaThreadId = 202)",
+            "  state = \"STATE_RUNNABLE\"",
+            "  stackTrace = [",
+            "    java.util.HashMap.putVal(int, Object, Object, boolean, boolean) line: 631",
+            "    ...",
+            "  ]",
+            "}",
+            "",
+            "jdk.ExecutionSample {",
+            "  startTime = 07:46:56.665",
+            "  sampledThread = \"default task-1\" (javaThreadId = 201)",
+            "  state = \"STATE_RUNNABLE\"",
+            "  stackTrace = [",
+            "    org.drools.core.common.DefaultFactHandle.getObject() line: 212",
+            "    ...",
+            "  ]",
+            "}",
+            "",
+            "jdk.ObjectAllocationInNewTLAB {",
+            "  startTime = 07:46:56.700",
+            "  objectClass = byte[] (classLoader = bootstrap)",
+            "  allocationSize = 24 bytes",
+            "  tlabSize = 512.0 kB",
+            "  eventThread = \"default task-1\" (javaThreadId = 201)",
+            "  stackTrace = [",
+            "    java.util.Arrays.copyOf(byte[], int) line: 3745",
+            "    ...",
+            "  ]",
+            "}",
+            "",
+            "jdk.ObjectAllocationOutsideTLAB {",
+            "  startTime = 07:46:56.710",
+            "  objectClass = java.lang.Object[] (classLoader = bootstrap)",
+            "  allocationSize = 2.0 MB",
+            "  eventThread = \"default task-2\" (javaThreadId = 202)",
+            "  stackTrace = [",
+            "    java.util.ArrayList.grow(int) line: 237",
+            "    ...",
+            "  ]",
+            "}",
+            "",
+            "jdk.ObjectAllocationSample {",
+            "  startTime = 07:46:56.720",
+            "  objectClass = byte[] (classLoader = bootstrap)",
+            "  weight = 1.5 MB",
+            "  eventThread = \"default task-2\" (javaThreadId = 202)",
+            "  stackTrace = [",
+            "    java.util.Arrays.copyOf(byte[], int) line: 3745",
+            "    ...",
+            "  ]",
+            "}",
+            "");
+
+    @Test
+    public void testHotMethods() throws IOException {
+        JfrSummary summary = JfrSummary.parse(new BufferedReader(new StringReader(PRINTED_EVENTS)));
+
+        assertThat(summary.getExecutionSamples()).isEqualTo(3);
+        assertThat(summary.getHotMethods(10)).containsExactly(entry("java.util.HashMap.putVal(int, Object, Object, boolean, boolean)", 2L),
+                                                              entry("org.drools.core.common.DefaultFactHandle.getObject()", 1L));
+        assertThat(summary.getHotMethods(1)).hasSize(1);
+    }
+
+    @Test
+    public void testAllocations() throws IOException {
+        JfrSummary summary = JfrSummary.parse(new BufferedReader(new StringReader(PRINTED_EVENTS)));
+
+        assertThat(summary.getAllocatedBytes()).isEqualTo(4 * 1024 * 1024);
+        assertThat(summary.getAllocatedClasses(10)).containsExactly(entry("byte[]", 2 * 1024 * 1024L),
+                                                                    entry("java.lang.Object[]", 2 * 1024 * 1024L));
+        assertThat(summary.getAllocationSites(10)).containsExactly(entry("java.util.ArrayList.grow(int)", 2 * 1024 * 1024L),
+                                                                   entry("java.util.Arrays.copyOf(byte[], int)", 2 * 1024 * 1024L));
+        assertThat(summary.format(5)).contains("50.00%  byte[] (2.0 MB)");
+    }
+
+    @Test
+    public void testParseSize() {
+        assertThat(JfrSummary.parseSize("16 bytes")).isEqualTo(16);
+        assertThat(JfrSummary.parseSize("513.3 kB")).isEqualTo(525619);
+        assertThat(JfrSummary.parseSize("18.2 MB")).isEqualTo(19084083);
+        assertThatThrownBy(() -> JfrSummary.parseSize("18.2 parsecs")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
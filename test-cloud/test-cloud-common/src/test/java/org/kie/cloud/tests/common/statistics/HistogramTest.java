@@ -0,0 +1,94 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.cloud.tests.common.statistics;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.assertj.core.api.Assertions.withinPercentage;
+
+public class HistogramTest {
+
+    @Test
+    public void testEmptyHistogram() {
+        Histogram histogram = new Histogram();
+
+        assertThat(histogram.getCount()).isZero();
+        assertThat(histogram.getMin()).isZero();
+        assertThat(histogram.getMax()).isZero();
+        assertThat(histogram.getValueAtPercentile(99)).isZero();
+    }
+
+    @Test
+    public void testSmallValuesAreExact() {
+        Histogram histogram = new Histogram();
+        for (long value = 1; value <= 50; value++) {
+            histogram.record(value);
+        }
+
+        assertThat(histogram.getValueAtPercentile(50)).isEqualTo(25);
+        assertThat(histogram.getValueAtPercentile(90)).isEqualTo(45);
+        assertThat(histogram.getValueAtPercentile(100)).isEqualTo(50);
+        assertThat(histogram.getMean()).isCloseTo(25.5, within(0.001));
+    }
+
+    @Test
+    public void testBigValuesWithinRelativeError() {
+        Histogram histogram = new Histogram();
+        for (long value = 1; value <= 100_000; value++) {
+            histogram.record(value * 1000);
+        }
+
+        assertThat(histogram.getValueAtPercentile(50)).isCloseTo(50_000_000L, withinPercentage(3));
+        assertThat(histogram.getValueAtPercentile(99)).isCloseTo(99_000_000L, withinPercentage(3));
+        assertThat(histogram.getMin()).isEqualTo(1000);
+        assertThat(histogram.getMax()).isEqualTo(100_000_000L);
+    }
+
+    @Test
+    public void testNegativeValueRecordedAsZero() {
+        Histogram histogram = new Histogram();
+        histogram.record(-10);
+
+        assertThat(histogram.getMin()).isZero();
+        assertThat(histogram.getCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void testAdd() {
+        Histogram first = new Histogram();
+        first.record(10);
+        Histogram second = new Histogram();
+        second.record(1000);
+        second.record(2000);
+
+        first.add(second);
+
+        assertThat(first.getCount()).isEqualTo(3);
+        assertThat(first.getMin()).isEqualTo(10);
+        assertThat(first.getMax()).isEqualTo(2000);
+        assertThat(first.getValueAtPercentile(50)).isCloseTo(1000L, withinPercentage(3));
+    }
+
+    @Test
+    public void testBucketBoundaries() {
+        for (long value : new long[]{63, 64, 65, 127, 128, 1_000_000, Long.MAX_VALUE}) {
+            long bucketValue = Histogram.bucketValue(Histogram.bucketIndex(value));
+            assertThat((double) bucketValue).isCloseTo((double) value, withinPercentage(3.2));
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2010 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.server.testing;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlRootElement;
+
+import com.thoughtworks.xstream.annotations.XStreamAlias;
+import org.codehaus.jackson.annotate.JsonIgnore;
+
+@XStreamAlias("CloudComputer")
+@XmlRootElement
+@XmlAccessorType(XmlAccessType.FIELD)
+public class CloudComputer extends AbstractPersistable {
+
+    private int cpuPower; // in gigahertz
+    private int memory; // in gigabyte RAM
+    private int networkBandwidth; // in gigabyte per hour
+    private int cost; // in euro per month
+
+    public int getCpuPower() {
+        return cpuPower;
+    }
+
+    public void setCpuPower(int cpuPower) {
+        this.cpuPower = cpuPower;
+    }
+
+    public int getMemory() {
+        return memory;
+    }
+
+    public void setMemory(int memory) {
+        this.memory = memory;
+    }
+
+    public int getNetworkBandwidth() {
+        return networkBandwidth;
+    }
+
+    public void setNetworkBandwidth(int networkBandwidth) {
+        this.networkBandwidth = networkBandwidth;
+    }
+
+    public int getCost() {
+        return cost;
+    }
+
+    public void setCost(int cost) {
+        this.cost = cost;
+    }
+
+    // ************************************************************************
+    // Complex methods
+    // ************************************************************************
+
+    @JsonIgnore
+    public int getMultiplicand() {
+        return cpuPower * memory * networkBandwidth;
+    }
+
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2010 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.server.testing;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlIDREF;
+import javax.xml.bind.annotation.XmlRootElement;
+
+import com.thoughtworks.xstream.annotations.XStreamAlias;
+import org.codehaus.jackson.annotate.JsonIgnore;
+import org.optaplanner.core.api.domain.entity.PlanningEntity;
+import org.optaplanner.core.api.domain.variable.PlanningVariable;
+
+@PlanningEntity()
+@XStreamAlias("CloudProcess")
+@XmlRootElement
+@XmlAccessorType(XmlAccessType.FIELD)
+public class CloudProcess extends AbstractPersistable {
+
+    private int requiredCpuPower; // in gigahertz
+    private int requiredMemory; // in gigabyte RAM
+    private int requiredNetworkBandwidth; // in gigabyte per hour
+
+    // Planning variables: changes during planning, between score calculations.
+    // TODO use @XmlIDREF to avoid XML duplication
+    private CloudComputer computer;
+
+    public int getRequiredCpuPower() {
+        return requiredCpuPower;
+    }
+
+    public void setRequiredCpuPower(int requiredCpuPower) {
+        this.requiredCpuPower = requiredCpuPower;
+    }
+
+    public int getRequiredMemory() {
+        return requiredMemory;
+    }
+
+    public void setRequiredMemory(int requiredMemory) {
+        this.requiredMemory = requiredMemory;
+    }
+
+    public int getRequiredNetworkBandwidth() {
+        return requiredNetworkBandwidth;
+    }
+
+    public void setRequiredNetworkBandwidth(int requiredNetworkBandwidth) {
+        this.requiredNetworkBandwidth = requiredNetworkBandwidth;
+    }
+
+    @PlanningVariable(valueRangeProviderRefs = {"computerRange"})
+    public CloudComputer getComputer() {
+        return computer;
+    }
+
+    public void setComputer(CloudComputer computer) {
+        this.computer = computer;
+    }
+
+    // ************************************************************************
+    // Complex methods
+    // ************************************************************************
+
+    @JsonIgnore
+    public int getRequiredMultiplicand() {
+        return requiredCpuPower * requiredMemory * requiredNetworkBandwidth;
+    }
+
+    @JsonIgnore
+    public String getLabel() {
+        return "Process " + id;
+    }
+
+}
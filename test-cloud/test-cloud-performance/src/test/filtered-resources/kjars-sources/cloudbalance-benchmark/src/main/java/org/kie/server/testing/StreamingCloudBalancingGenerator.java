@@ -0,0 +1,172 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.kie.server.testing;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Generates cloud balancing problems of any size for benchmarks. Every computer and process is generated from its own random
+ * generator seeded by the problem seed and its index, so items are produced one by one without keeping any generator state and
+ * the same seed always yields the same items. A bigger problem generated with the same seed contains all processes of a smaller
+ * one, computers differ only by capacity added to keep the problem feasible.
+ */
+public class StreamingCloudBalancingGenerator {
+
+    // Hardware values offered by the original CloudBalancingGenerator
+    private static final int[] CPU_POWER = {3, 4, 6, 8, 12, 16, 24};
+    private static final int[] MEMORY = {2, 4, 8, 16, 32, 64, 96};
+    private static final int[] NETWORK_BANDWIDTH = {2, 4, 6, 8, 12, 16, 20};
+    private static final int[] CPU_POWER_COST = {110, 140, 180, 270, 400, 1000, 3000};
+    private static final int[] MEMORY_COST = {140, 180, 220, 300, 400, 600, 1000};
+    private static final int[] NETWORK_BANDWIDTH_COST = {100, 200, 300, 400, 600, 800, 1000};
+
+    private static final int MAXIMUM_REQUIRED_CPU_POWER = 12;
+    private static final int MAXIMUM_REQUIRED_MEMORY = 32;
+    private static final int MAXIMUM_REQUIRED_NETWORK_BANDWIDTH = 12;
+
+    // Different streams have to use different random sequences even for the same index
+    private static final long COMPUTER_STREAM = 1L;
+    private static final long PROCESS_STREAM = 2L;
+
+    private final long seed;
+
+    public StreamingCloudBalancingGenerator(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Convenience method for callers which load this class from the kjar class loader using reflection.
+     */
+    public static CloudBalance createCloudBalance(long seed, int computerListSize, int processListSize) {
+        return new StreamingCloudBalancingGenerator(seed).createCloudBalance(computerListSize, processListSize);
+    }
+
+    public CloudBalance createCloudBalance(int computerListSize, int processListSize) {
+        CloudBalance cloudBalance = new CloudBalance();
+        cloudBalance.setId(seed);
+        cloudBalance.setComputerList(computers(computerListSize).collect(Collectors.toCollection(() -> new ArrayList<>(computerListSize))));
+        cloudBalance.setProcessList(processes(processListSize).collect(Collectors.toCollection(() -> new ArrayList<>(processListSize))));
+        assureComputerCapacityTotalAtLeastProcessRequiredTotal(cloudBalance);
+        return cloudBalance;
+    }
+
+    public Stream<CloudComputer> computers(int count) {
+        return LongStream.range(0, count).mapToObj(this::computer);
+    }
+
+    public Stream<CloudProcess> processes(int count) {
+        return LongStream.range(0, count).mapToObj(this::process);
+    }
+
+    public CloudComputer computer(long id) {
+        Random random = random(COMPUTER_STREAM, id);
+        int cpuPowerIndex = random.nextInt(CPU_POWER.length);
+        int memoryIndex = distortIndex(random, cpuPowerIndex, MEMORY.length);
+        int networkBandwidthIndex = distortIndex(random, cpuPowerIndex, NETWORK_BANDWIDTH.length);
+
+        CloudComputer computer = new CloudComputer();
+        computer.setId(id);
+        computer.setCpuPower(CPU_POWER[cpuPowerIndex]);
+        computer.setMemory(MEMORY[memoryIndex]);
+        computer.setNetworkBandwidth(NETWORK_BANDWIDTH[networkBandwidthIndex]);
+        computer.setCost(CPU_POWER_COST[cpuPowerIndex] + MEMORY_COST[memoryIndex] + NETWORK_BANDWIDTH_COST[networkBandwidthIndex]);
+        return computer;
+    }
+
+    public CloudProcess process(long id) {
+        Random random = random(PROCESS_STREAM, id);
+        CloudProcess process = new CloudProcess();
+        process.setId(id);
+        process.setRequiredCpuPower(parabolicRandom(random, MAXIMUM_REQUIRED_CPU_POWER));
+        process.setRequiredMemory(parabolicRandom(random, MAXIMUM_REQUIRED_MEMORY));
+        process.setRequiredNetworkBandwidth(parabolicRandom(random, MAXIMUM_REQUIRED_NETWORK_BANDWIDTH));
+        // Planning variable computer is left on null
+        return process;
+    }
+
+    private Random random(long stream, long index) {
+        // SplitMix64 finalizer spreads neighbouring indexes over the whole seed space
+        long z = seed + stream * 0x9E3779B97F4A7C15L + index * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return new Random(z ^ (z >>> 31));
+    }
+
+    private static int distortIndex(Random random, int referenceIndex, int length) {
+        int index = referenceIndex;
+        double randomDouble = random.nextDouble();
+        double loweringThreshold = 0.25;
+        while (randomDouble < loweringThreshold && index >= 1) {
+            index--;
+            loweringThreshold *= 0.10;
+        }
+        double heighteningThreshold = 0.75;
+        while (randomDouble >= heighteningThreshold && index <= (length - 2)) {
+            index++;
+            heighteningThreshold = (1.0 - ((1.0 - heighteningThreshold) * 0.10));
+        }
+        return index;
+    }
+
+    private static int parabolicRandom(Random random, int maximumValue) {
+        double parabolaBase = 2000.0;
+        double parabolaRandomDouble = (Math.pow(parabolaBase, random.nextDouble()) - 1.0) / (parabolaBase - 1.0);
+        return Math.min(maximumValue, ((int) Math.floor(parabolaRandomDouble * maximumValue)) + 1);
+    }
+
+    /**
+     * Upgrades computers in round robin order until their total capacity covers requirements of all processes, so the
+     * problem always has a feasible solution.
+     */
+    private static void assureComputerCapacityTotalAtLeastProcessRequiredTotal(CloudBalance cloudBalance) {
+        List<CloudComputer> computerList = cloudBalance.getComputerList();
+        List<CloudProcess> processList = cloudBalance.getProcessList();
+        if (computerList.isEmpty()) {
+            return;
+        }
+
+        int cpuPowerLacking = processList.stream().mapToInt(CloudProcess::getRequiredCpuPower).sum()
+                - computerList.stream().mapToInt(CloudComputer::getCpuPower).sum();
+        for (int i = 0; cpuPowerLacking > 0; i++) {
+            CloudComputer computer = computerList.get(i % computerList.size());
+            int upgrade = Math.min(8, cpuPowerLacking);
+            computer.setCpuPower(computer.getCpuPower() + upgrade);
+            cpuPowerLacking -= upgrade;
+        }
+        int memoryLacking = processList.stream().mapToInt(CloudProcess::getRequiredMemory).sum()
+                - computerList.stream().mapToInt(CloudComputer::getMemory).sum();
+        for (int i = 0; memoryLacking > 0; i++) {
+            CloudComputer computer = computerList.get(i % computerList.size());
+            int upgrade = Math.min(8, memoryLacking);
+            computer.setMemory(computer.getMemory() + upgrade);
+            memoryLacking -= upgrade;
+        }
+        int networkBandwidthLacking = processList.stream().mapToInt(CloudProcess::getRequiredNetworkBandwidth).sum()
+                - computerList.stream().mapToInt(CloudComputer::getNetworkBandwidth).sum();
+        for (int i = 0; networkBandwidthLacking > 0; i++) {
+            CloudComputer computer = computerList.get(i % computerList.size());
+            int upgrade = Math.min(8, networkBandwidthLacking);
+            computer.setNetworkBandwidth(computer.getNetworkBandwidth() + upgrade);
+            networkBandwidthLacking -= upgrade;
+        }
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.kie.cloud.integrationtests.chaos;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+import org.kie.cloud.api.DeploymentScenarioBuilderFactory;
+import org.kie.cloud.api.DeploymentScenarioBuilderFactoryLoader;
+import org.kie.cloud.api.deployment.KieServerDeployment;
+import org.kie.cloud.api.scenario.KieServerWithDatabaseScenario;
+import org.kie.cloud.common.provider.KieServerClientProvider;
+import org.kie.cloud.integrationtests.category.Performance;
+import org.kie.cloud.maven.MavenDeployer;
+import org.kie.cloud.performance.results.Metric;
+import org.kie.cloud.performance.results.PerfResult;
+import org.kie.cloud.performance.results.PerfResultRecorder;
+import org.kie.cloud.performance.util.PropertyUtils;
+import org.kie.cloud.tests.common.AbstractMethodIsolatedCloudIntegrationTest;
+import org.kie.cloud.tests.common.chaos.AvailabilityReport;
+import org.kie.cloud.tests.common.chaos.ChaosScheduler;
+import org.kie.cloud.tests.common.chaos.Fault;
+import org.kie.cloud.tests.common.chaos.FaultImpact;
+import org.kie.cloud.tests.common.chaos.RequestTimeline;
+import org.kie.cloud.tests.common.client.util.Kjar;
+import org.kie.cloud.tests.common.load.LoadDriverBuilder;
+import org.kie.cloud.tests.common.load.LoadResult;
+import org.kie.cloud.tests.common.load.ThinkTime;
+import org.kie.cloud.tests.common.load.UserActions;
+import org.kie.server.api.model.KieContainerResource;
+import org.kie.server.api.model.ReleaseId;
+import org.kie.server.api.model.ServiceResponse;
+import org.kie.server.client.KieServicesClient;
+import org.kie.server.client.ProcessServicesClient;
+import org.kie.server.integrationtests.shared.KieServerAssert;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Injects faults into KIE server and its database while process instances are started at a constant rate, and measures how
+ * each fault affects the load: time to detect, time to recover, failed and lost requests and throughput drop, see
+ * {@link FaultImpact}. Impacts are aggregated per fault type and stored as results of scenario <code>chaosAvailability</code>.
+ *
+ * Faults are injected in order of <code>chaos.faults</code>, one every <code>chaos.interval</code> after a fault free baseline period.
+ */
+@RunWith(Parameterized.class)
+public class ChaosUnderLoadPerfIntegrationTest extends AbstractMethodIsolatedCloudIntegrationTest<KieServerWithDatabaseScenario> {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChaosUnderLoadPerfIntegrationTest.class);
+
+    private static final String KIE_SERVER_POD_DELETION = "kieServerPodDeletion";
+    private static final String DATABASE_RESTART = "databaseRestart";
+    private static final String KIE_SERVER_SCALE_UP = "kieServerScaleUp";
+    private static final String KIE_SERVER_SCALE_DOWN = "kieServerScaleDown";
+
+    private static final List<String> FAULTS = PropertyUtils.getList("chaos.faults", String.join(",", KIE_SERVER_POD_DELETION, DATABASE_RESTART, KIE_SERVER_SCALE_UP, KIE_SERVER_SCALE_DOWN));
+    private static final int SCALE_COUNT = Integer.parseInt(System.getProperty("chaos.scale", "1"));
+    private static final Duration BASELINE = ThinkTime.parseDuration(System.getProperty("chaos.baseline", "60s"));
+    private static final Duration INTERVAL = ThinkTime.parseDuration(System.getProperty("chaos.interval", "180s"));
+    private static final Duration RESOLUTION = ThinkTime.parseDuration(System.getProperty("chaos.resolution", "1s"));
+    private static final double RATE = Double.parseDouble(System.getProperty("chaos.rate", "20"));
+    private static final int CONCURRENCY = Integer.parseInt(System.getProperty("chaos.concurrency", "16"));
+    private static final Duration REQUEST_TIMEOUT = ThinkTime.parseDuration(System.getProperty("chaos.requestTimeout", "10s"));
+    private static final String HEAP = System.getProperty("heap", "4Gi");
+
+    private static final String ONE_TIMER_DATE_PROCESS_ID = "timers-testing.OneTimerDate";
+    private static final Kjar DEPLOYED_KJAR = Kjar.DEFINITION;
+    private static final String PROJECT_SOURCE_FOLDER = "/kjars-sources";
+
+    @Parameter(value = 0)
+    public String testScenarioName;
+
+    @Parameter(value = 1)
+    public KieServerWithDatabaseScenario deploymentScenario;
+
+    @Parameters(name = "{0}")
+    public static Collection<Object[]> data() {
+        List<Object[]> scenarios = new ArrayList<>();
+        DeploymentScenarioBuilderFactory deploymentScenarioFactory = DeploymentScenarioBuilderFactoryLoader.getInstance();
+
+        try {
+            KieServerWithDatabaseScenario kieServerPostgreSqlScenario = deploymentScenarioFactory.getKieServerWithPostgreSqlScenarioBuilder()
+                                                                                                 .withInternalMavenRepo(true)
+                                                                                                 .withMemoryLimit(HEAP)
+                                                                                                 .build();
+            scenarios.add(new Object[] { "KIE Server + PostgreSQL", kieServerPostgreSqlScenario });
+        } catch (UnsupportedOperationException ex) {
+            logger.info("KIE Server + PostgreSQL is skipped.", ex);
+        }
+
+        return scenarios;
+    }
+
+    private ProcessServicesClient processClient;
+
+    @Override
+    protected KieServerWithDatabaseScenario createDeploymentScenario(DeploymentScenarioBuilderFactory deploymentScenarioFactory) {
+        return deploymentScenario;
+    }
+
+    @Before
+    public void setUp() {
+        MavenDeployer.buildAndDeployMavenProject(ChaosUnderLoadPerfIntegrationTest.class.getResource(PROJECT_SOURCE_FOLDER + "/" + DEFINITION_PROJECT_NAME).getFile(),
+                                                 deploymentScenario.getMavenRepositoryDeployment());
+
+        KieServerDeployment kieServerDeployment = deploymentScenario.getKieServerDeployment();
+        KieServicesClient kieServerClient = KieServerClientProvider.getKieServerClient(kieServerDeployment);
+        ReleaseId releaseId = new ReleaseId(DEPLOYED_KJAR.getGroupId(), DEPLOYED_KJAR.getArtifactName(), DEPLOYED_KJAR.getVersion());
+        ServiceResponse<KieContainerResource> createContainer = kieServerClient.createContainer(CONTAINER_ID, new KieContainerResource(CONTAINER_ID, releaseId));
+        KieServerAssert.assertSuccess(createContainer);
+        kieServerDeployment.waitForContainerRespin();
+
+        kieServerDeployment.scale(SCALE_COUNT);
+        kieServerDeployment.waitForScale();
+
+        // Short timeout, so requests to a dead pod fail instead of blocking the load
+        processClient = KieServerClientProvider.getKieServerClient(kieServerDeployment, REQUEST_TIMEOUT.toMillis()).getServicesClient(ProcessServicesClient.class);
+    }
+
+    @After
+    public void waitForRecovery() {
+        deploymentScenario.getKieServerDeployment().scale(SCALE_COUNT);
+        deploymentScenario.getKieServerDeployment().waitForScale();
+        deploymentScenario.getDatabaseDeployment().waitForScale();
+    }
+
+    @Test
+    @Category(Performance.class)
+    public void testChaosUnderLoad() {
+        Duration duration = BASELINE.plus(INTERVAL.multipliedBy(FAULTS.size()));
+        RequestTimeline timeline = new RequestTimeline(RESOLUTION);
+
+        AvailabilityReport report;
+        try (ChaosScheduler chaos = new ChaosScheduler()) {
+            for (int i = 0; i < FAULTS.size(); i++) {
+                chaos.schedule(BASELINE.plus(INTERVAL.multipliedBy(i)), createFault(FAULTS.get(i)));
+            }
+
+            chaos.start(timeline);
+            LoadResult loadResult = new LoadDriverBuilder(timeline.wrap(UserActions.startProcess(processClient, CONTAINER_ID, ONE_TIMER_DATE_PROCESS_ID, Collections.emptyMap())))
+                                                         .withUsers(CONCURRENCY)
+                                                         .withConcurrency(CONCURRENCY)
+                                                         .withRate(RATE)
+                                                         .withDuration(duration)
+                                                         .withIterationsPerUser(Long.MAX_VALUE)
+                                                         .build()
+                                                         .run();
+            logger.info("Load under chaos: {}", loadResult);
+            report = AvailabilityReport.create(timeline, chaos.getInjections(), timeline.currentOffsetMillis());
+            assertThat(chaos.getInjections()).as("Injected faults").hasSameSizeAs(FAULTS);
+        }
+        logger.info("Availability report:\n{}", report);
+
+        report.getImpactsPerType().forEach((type, impacts) -> recordResult(report, type, impacts));
+        List<FaultImpact> unrecovered = report.getImpactsPerType().values().stream()
+                                              .flatMap(List::stream)
+                                              .filter(impact -> !impact.isRecovered())
+                                              .collect(Collectors.toList());
+        assertThat(unrecovered).as("Faults after which the load didn't recover before the next fault").isEmpty();
+    }
+
+    private Fault createFault(String type) {
+        switch (type) {
+            case KIE_SERVER_POD_DELETION:
+                return Fault.deletePods(type, deploymentScenario.getKieServerDeployment());
+            case DATABASE_RESTART:
+                return Fault.deletePods(type, deploymentScenario.getDatabaseDeployment());
+            case KIE_SERVER_SCALE_UP:
+                return Fault.scale(type, deploymentScenario.getKieServerDeployment(), SCALE_COUNT + 1);
+            case KIE_SERVER_SCALE_DOWN:
+                return Fault.scale(type, deploymentScenario.getKieServerDeployment(), SCALE_COUNT);
+            default:
+                throw new IllegalArgumentException("Unknown fault " + type);
+        }
+    }
+
+    private void recordResult(AvailabilityReport report, String type, List<FaultImpact> impacts) {
+        PerfResult result = PerfResultRecorder.newResult("chaosAvailability");
+        result.addParameter("faultType", type)
+              .addParameter("database", testScenarioName)
+              .addParameter("scale", SCALE_COUNT)
+              .addParameter("rate", RATE)
+              .addParameter("concurrency", CONCURRENCY)
+              .addParameter("interval", INTERVAL.getSeconds())
+              .addParameter("requestTimeout", REQUEST_TIMEOUT.getSeconds())
+              .addMetric("faults", Metric.lowerIsBetter(impacts.size(), "count"))
+              .addMetric("unrecovered", Metric.lowerIsBetter(impacts.stream().filter(impact -> !impact.isRecovered()).count(), "count"))
+              .addMetric("failedRequests", Metric.lowerIsBetter(impacts.stream().mapToLong(FaultImpact::getFailedRequests).sum(), "count"))
+              .addMetric("lostRequests", Metric.lowerIsBetter(impacts.stream().mapToLong(FaultImpact::getLostRequests).sum(), "count"))
+              .addMetric("throughputDrop", Metric.lowerIsBetter(impacts.stream().mapToDouble(FaultImpact::getThroughputDrop).max().orElse(0), "%"))
+              .addMetric("faultAvailability", Metric.higherIsBetter(impacts.stream().mapToDouble(FaultImpact::getAvailability).min().orElse(1) * 100, "%"))
+              .addMetric("availability", Metric.higherIsBetter(report.getAvailability() * 100, "%"))
+              .addHistogram("timeToDetect", report.getTimeToDetect(type), "ms")
+              .addHistogram("timeToRecover", report.getTimeToRecover(type), "ms");
+        PerfResultRecorder.record(result);
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.kie.cloud.integrationtests.dmn;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+import org.kie.cloud.api.DeploymentScenarioBuilderFactory;
+import org.kie.cloud.api.DeploymentScenarioBuilderFactoryLoader;
+import org.kie.cloud.api.deployment.KieServerDeployment;
+import org.kie.cloud.api.scenario.KieServerScenario;
+import org.kie.cloud.common.provider.KieServerClientProvider;
+import org.kie.cloud.integrationtests.category.Performance;
+import org.kie.cloud.maven.MavenDeployer;
+import org.kie.cloud.performance.dmn.DmnModel;
+import org.kie.cloud.performance.dmn.DmnProjectGenerator;
+import org.kie.cloud.performance.dmn.FeelComplexity;
+import org.kie.cloud.performance.results.Metric;
+import org.kie.cloud.performance.results.PerfResult;
+import org.kie.cloud.performance.results.PerfResultRecorder;
+import org.kie.cloud.performance.util.PropertyUtils;
+import org.kie.cloud.tests.common.AbstractMethodIsolatedCloudIntegrationTest;
+import org.kie.cloud.tests.common.client.util.KieServerUtils;
+import org.kie.cloud.tests.common.load.LoadDriverBuilder;
+import org.kie.cloud.tests.common.load.LoadResult;
+import org.kie.cloud.tests.common.load.ThinkTime;
+import org.kie.cloud.tests.common.load.UserAction;
+import org.kie.dmn.api.core.DMNContext;
+import org.kie.dmn.api.core.DMNDecisionResult;
+import org.kie.dmn.api.core.DMNResult;
+import org.kie.server.api.model.KieContainerResource;
+import org.kie.server.api.model.ServiceResponse;
+import org.kie.server.client.DMNServicesClient;
+import org.kie.server.client.KieServicesClient;
+import org.kie.server.integrationtests.shared.KieServerAssert;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measures latency of decision evaluation through the DMN client at controlled rates for generated decision models of
+ * various table sizes and FEEL complexity, see {@link DmnModel}. Every combination of model and rate is stored as a separate
+ * result of scenario <code>dmnEvaluation</code>.
+ */
+@RunWith(Parameterized.class)
+public class DmnEvaluationPerfIntegrationTest extends AbstractMethodIsolatedCloudIntegrationTest<KieServerScenario> {
+
+    private static final Logger logger = LoggerFactory.getLogger(DmnEvaluationPerfIntegrationTest.class);
+
+    private static final List<Integer> TABLE_SIZES = PropertyUtils.getList("dmn.tableSizes", "10,100,1000", Integer::valueOf);
+    private static final List<FeelComplexity> COMPLEXITIES = PropertyUtils.getList("dmn.complexities", "simple,moderate,complex", FeelComplexity::fromValue);
+    private static final List<Double> RATES = PropertyUtils.getList("dmn.rates", "50,200", Double::valueOf);
+    private static final int CONCURRENCY = Integer.parseInt(System.getProperty("dmn.concurrency", "16"));
+    private static final Duration WARMUP = ThinkTime.parseDuration(System.getProperty("dmn.warmup", "15s"));
+    private static final Duration DURATION = ThinkTime.parseDuration(System.getProperty("dmn.duration", "60s"));
+
+    private static final Duration CONTAINER_START_TIMEOUT = Duration.ofMinutes(10);
+
+    @Parameter(value = 0)
+    public String testScenarioName;
+
+    @Parameter(value = 1)
+    public KieServerScenario deploymentScenario;
+
+    @Parameters(name = "{0}")
+    public static Collection<Object[]> data() {
+        List<Object[]> scenarios = new ArrayList<>();
+        DeploymentScenarioBuilderFactory deploymentScenarioFactory = DeploymentScenarioBuilderFactoryLoader.getInstance();
+
+        try {
+            KieServerScenario kieServerScenario = deploymentScenarioFactory.getKieServerScenarioBuilder()
+                                                                           .withInternalMavenRepo(true)
+                                                                           .build();
+            scenarios.add(new Object[] { "KIE Server", kieServerScenario });
+        } catch (UnsupportedOperationException ex) {
+            logger.info("KIE Server is skipped.", ex);
+        }
+
+        return scenarios;
+    }
+
+    private List<DmnModel> models;
+    private DMNServicesClient dmnClient;
+
+    @Override
+    protected KieServerScenario createDeploymentScenario(DeploymentScenarioBuilderFactory deploymentScenarioFactory) {
+        return deploymentScenario;
+    }
+
+    @Before
+    public void deployModels() throws IOException {
+        models = new ArrayList<>();
+        for (Integer tableSize : TABLE_SIZES) {
+            for (FeelComplexity complexity : COMPLEXITIES) {
+                models.add(new DmnModel(tableSize, complexity));
+            }
+        }
+        Path projectDir = Files.createTempDirectory(DmnProjectGenerator.ARTIFACT_ID);
+        DmnProjectGenerator.generate(projectDir, models);
+        MavenDeployer.buildAndDeployMavenProject(projectDir.toString(), deploymentScenario.getMavenRepositoryDeployment());
+
+        KieServerDeployment kieServerDeployment = deploymentScenario.getKieServerDeployment();
+        KieServicesClient kieServerClient = KieServerClientProvider.getKieServerClient(kieServerDeployment);
+        ServiceResponse<KieContainerResource> createContainer = KieServerUtils.createContainer(kieServerClient,
+                                                                                               new KieContainerResource(CONTAINER_ID, DmnProjectGenerator.getReleaseId()),
+                                                                                               CONTAINER_START_TIMEOUT);
+        KieServerAssert.assertSuccess(createContainer);
+        kieServerDeployment.waitForContainerRespin();
+
+        dmnClient = KieServerClientProvider.getKieServerClient(kieServerDeployment).getServicesClient(DMNServicesClient.class);
+    }
+
+    @Test
+    @Category(Performance.class)
+    public void testDmnEvaluation() {
+        List<String> failedConfigurations = new ArrayList<>();
+        List<String> regressions = new ArrayList<>();
+        for (DmnModel model : models) {
+            for (Double rate : RATES) {
+                logger.info("Measuring evaluation of model {} at rate {}/s", model, rate);
+                evaluate(model, rate, WARMUP);
+                LoadResult loadResult = evaluate(model, rate, DURATION);
+                logger.info("Evaluation of model {} at rate {}/s: {}", model, rate, loadResult);
+                if (loadResult.getErrors() > 0) {
+                    failedConfigurations.add(model + " at rate " + rate);
+                }
+
+                PerfResult result = PerfResultRecorder.newResult("dmnEvaluation");
+                result.addParameter("tableSize", model.getTableSize())
+                      .addParameter("complexity", model.getComplexity().getValue())
+                      .addParameter("rate", rate)
+                      .addParameter("concurrency", CONCURRENCY)
+                      .addParameter("duration", DURATION.getSeconds())
+                      .addMetric("errors", Metric.lowerIsBetter(loadResult.getErrors(), "count"))
+                      .addMetric("throughput", Metric.higherIsBetter(loadResult.getThroughput(), "1/s"))
+                      .addHistogram("latency", loadResult.getLatency(), "ms");
+                regressions.addAll(PerfResultRecorder.recordAndCompare(result));
+            }
+        }
+
+        assertThat(failedConfigurations).as("Configurations with failed evaluations").isEmpty();
+        PerfResultRecorder.assertNoRegressions(regressions);
+    }
+
+    private LoadResult evaluate(DmnModel model, double rate, Duration duration) {
+        return new LoadDriverBuilder(evaluation(model)).withUsers(CONCURRENCY)
+                                                       .withConcurrency(CONCURRENCY)
+                                                       .withRate(rate)
+                                                       .withDuration(duration)
+                                                       .withIterationsPerUser(Long.MAX_VALUE)
+                                                       .build()
+                                                       .run();
+    }
+
+    private UserAction evaluation(DmnModel model) {
+        return user -> {
+            DMNContext context = dmnClient.newContext();
+            model.randomInputs().forEach(context::set);
+
+            ServiceResponse<DMNResult> response = dmnClient.evaluateAll(CONTAINER_ID, model.getNamespace(), model.getName(), context);
+            if (response.getType() != ServiceResponse.ResponseType.SUCCESS) {
+                throw new RuntimeException("Evaluation of model " + model + " failed: " + response.getMsg());
+            }
+            DMNResult dmnResult = response.getResult();
+            if (dmnResult.hasErrors()) {
+                throw new RuntimeException("Evaluation of model " + model + " failed: " + dmnResult.getMessages());
+            }
+            for (String decisionName : model.getDecisionNames()) {
+                DMNDecisionResult decisionResult = dmnResult.getDecisionResultByName(decisionName);
+                if (decisionResult == null || decisionResult.getEvaluationStatus() != DMNDecisionResult.DecisionEvaluationStatus.SUCCEEDED) {
+                    throw new RuntimeException("Decision " + decisionName + " of model " + model + " wasn't evaluated: " + decisionResult);
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.kie.cloud.integrationtests.maven;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.maven.it.VerificationException;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.kie.cloud.integrationtests.category.Performance;
+import org.kie.cloud.maven.util.MavenUtil;
+import org.kie.cloud.performance.results.Metric;
+import org.kie.cloud.performance.results.PerfResult;
+import org.kie.cloud.performance.results.PerfResultRecorder;
+import org.kie.cloud.tests.common.statistics.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares build time of the <code>kjars-sources</code> projects built by a forked Maven process and by Maven embedded in the test JVM,
+ * see {@link MavenUtil}. No cluster is needed. Embedded builds need system property <code>maven.home</code> pointing to a Maven installation.
+ */
+public class KjarBuildPerfIntegrationTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(KjarBuildPerfIntegrationTest.class);
+
+    private static final int WARMUP_ITERATIONS = Integer.parseInt(System.getProperty("kjarBuild.warmupIterations", "1"));
+    private static final int ITERATIONS = Integer.parseInt(System.getProperty("kjarBuild.iterations", "3"));
+
+    private static final String KJAR_SOURCES_FOLDER = "/kjars-sources";
+    private static final String SETTINGS_XML_PATH_KEY = "kjars.build.settings.xml";
+    private static final String BUILD_GOAL = "package";
+
+    private enum BuildMode {
+        FORKED,
+        EMBEDDED;
+
+        MavenUtil configure(MavenUtil mavenUtil) {
+            return this == FORKED ? mavenUtil.forkJvm() : mavenUtil;
+        }
+
+        String getName() {
+            return name().toLowerCase();
+        }
+    }
+
+    @Test
+    @Category(Performance.class)
+    public void testKjarBuild() throws Exception {
+        List<Path> projects = getProjects();
+        assertThat(projects).as("Projects in %s", KJAR_SOURCES_FOLDER).isNotEmpty();
+
+        PerfResult result = PerfResultRecorder.newResult("kjarBuild");
+        result.addParameter("projects", projects.size())
+              .addParameter("iterations", ITERATIONS);
+
+        Map<BuildMode, Double> meanBuildTimes = new EnumMap<>(BuildMode.class);
+        for (BuildMode mode : BuildMode.values()) {
+            for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+                for (Path project : projects) {
+                    build(mode, project);
+                }
+            }
+
+            Histogram buildTimes = new Histogram();
+            long start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                for (Path project : projects) {
+                    buildTimes.record(build(mode, project).toMillis());
+                }
+            }
+            Duration iterationTime = Duration.ofNanos((System.nanoTime() - start) / ITERATIONS);
+
+            logger.info("Kjar builds in {} mode: {}, all projects built in {} ms", mode.getName(), buildTimes, iterationTime.toMillis());
+            result.addHistogram(mode.getName() + ".build", buildTimes, "ms")
+                  .addDuration(mode.getName() + ".allProjects", iterationTime);
+            meanBuildTimes.put(mode, buildTimes.getMean());
+        }
+
+        double speedup = meanBuildTimes.get(BuildMode.FORKED) / meanBuildTimes.get(BuildMode.EMBEDDED);
+        logger.info("Embedded build is {} times faster than forked build", String.format("%.2f", speedup));
+        result.addMetric("embedded.speedup", Metric.higherIsBetter(speedup, "x"));
+        PerfResultRecorder.record(result);
+    }
+
+    private static Duration build(BuildMode mode, Path project) throws VerificationException {
+        MavenUtil mavenUtil = mode.configure(MavenUtil.forProject(project));
+        Optional.ofNullable(System.getProperty(SETTINGS_XML_PATH_KEY)).map(Paths::get).ifPresent(mavenUtil::useSettingsXml);
+
+        long start = System.nanoTime();
+        mavenUtil.executeGoals(BUILD_GOAL);
+        Duration buildTime = Duration.ofNanos(System.nanoTime() - start);
+        logger.debug("Project {} built in {} mode in {} ms", project.getFileName(), mode.getName(), buildTime.toMillis());
+        return buildTime;
+    }
+
+    private static List<Path> getProjects() throws IOException, URISyntaxException {
+        Path sources = Paths.get(KjarBuildPerfIntegrationTest.class.getResource(KJAR_SOURCES_FOLDER).toURI());
+        try (Stream<Path> projects = Files.list(sources)) {
+            return projects.filter(project -> Files.isRegularFile(project.resolve("pom.xml")))
+                           .sorted()
+                           .collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,305 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.kie.cloud.integrationtests.optaplanner;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+import org.kie.api.KieServices;
+import org.kie.api.runtime.KieContainer;
+import org.kie.cloud.api.DeploymentScenarioBuilderFactory;
+import org.kie.cloud.api.DeploymentScenarioBuilderFactoryLoader;
+import org.kie.cloud.api.deployment.KieServerDeployment;
+import org.kie.cloud.api.scenario.KieServerScenario;
+import org.kie.cloud.common.provider.KieServerClientProvider;
+import org.kie.cloud.integrationtests.category.Performance;
+import org.kie.cloud.maven.MavenDeployer;
+import org.kie.cloud.performance.optaplanner.PodMemorySampler;
+import org.kie.cloud.performance.optaplanner.SolverRun;
+import org.kie.cloud.performance.optaplanner.SolverRun.ScorePoint;
+import org.kie.cloud.performance.results.Metric;
+import org.kie.cloud.performance.results.PerfResult;
+import org.kie.cloud.performance.results.PerfResultRecorder;
+import org.kie.cloud.performance.util.PropertyUtils;
+import org.kie.cloud.tests.common.AbstractMethodIsolatedCloudIntegrationTest;
+import org.kie.cloud.tests.common.client.util.KieServerUtils;
+import org.kie.cloud.tests.common.load.ThinkTime;
+import org.kie.cloud.tests.common.statistics.Histogram;
+import org.kie.server.api.model.KieContainerResource;
+import org.kie.server.api.model.ReleaseId;
+import org.kie.server.api.model.ServiceResponse;
+import org.kie.server.client.KieServicesClient;
+import org.kie.server.client.SolverServicesClient;
+import org.kie.server.integrationtests.shared.KieServerAssert;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measures how OptaPlanner solvers running in KIE server scale with problem size and with number of solvers solving
+ * concurrently in one pod. Problems are generated by the seeded StreamingCloudBalancingGenerator of the cloudbalance-benchmark
+ * kjar, so every run solves the same problems. Every combination of problem size and concurrent solvers is stored as a
+ * separate result of scenario <code>optaplannerSolver</code>.
+ *
+ * Solvers live in memory of the pod which created them, so the scenario runs a single KIE server pod.
+ */
+@RunWith(Parameterized.class)
+public class OptaplannerSolverPerfIntegrationTest extends AbstractMethodIsolatedCloudIntegrationTest<KieServerScenario> {
+
+    private static final Logger logger = LoggerFactory.getLogger(OptaplannerSolverPerfIntegrationTest.class);
+
+    private static final List<Integer> PROBLEM_SIZES = PropertyUtils.getList("optaplanner.problemSizes", "150,600,2400", Integer::valueOf);
+    private static final int PROCESSES_PER_COMPUTER = Integer.parseInt(System.getProperty("optaplanner.processesPerComputer", "3"));
+    private static final List<Integer> CONCURRENT_SOLVERS = PropertyUtils.getList("optaplanner.concurrentSolvers", "1,2,4", Integer::valueOf);
+    private static final long SEED = Long.parseLong(System.getProperty("optaplanner.seed", "47"));
+    private static final List<Duration> CHECKPOINTS = PropertyUtils.getList("optaplanner.checkpoints", "10s,30s,60s,120s", ThinkTime::parseDuration);
+    private static final Duration POLL_INTERVAL = ThinkTime.parseDuration(System.getProperty("optaplanner.pollInterval", "1s"));
+    private static final Duration SOLVE_TIMEOUT = ThinkTime.parseDuration(System.getProperty("optaplanner.solveTimeout", "10m"));
+    // Solver termination is built into the kjar, these properties are passed by failsafe just to be recorded
+    private static final String SECONDS_SPENT_LIMIT = System.getProperty("optaplanner.secondsSpentLimit");
+    private static final String UNIMPROVED_SECONDS_SPENT_LIMIT = System.getProperty("optaplanner.unimprovedSecondsSpentLimit");
+    private static final String HEAP = System.getProperty("heap", "4Gi");
+
+    private static final String PROJECT_SOURCE_FOLDER = "/kjars-sources";
+    private static final String CLOUD_BALANCE_PROJECT = "cloudbalance-benchmark";
+    private static final ReleaseId CLOUD_BALANCE_RELEASE_ID = new ReleaseId("org.kie.server.testing", CLOUD_BALANCE_PROJECT, "1.0.0-SNAPSHOT");
+    private static final String SOLVER_CONFIG = "cloudbalance-benchmark-solver.xml";
+
+    private static final String CLASS_CLOUD_BALANCE = "org.kie.server.testing.CloudBalance";
+    private static final String CLASS_CLOUD_COMPUTER = "org.kie.server.testing.CloudComputer";
+    private static final String CLASS_CLOUD_PROCESS = "org.kie.server.testing.CloudProcess";
+    private static final String CLASS_GENERATOR = "org.kie.server.testing.StreamingCloudBalancingGenerator";
+
+    private static final Duration CONTAINER_START_TIMEOUT = Duration.ofMinutes(10);
+    private static final Duration CLIENT_TIMEOUT = Duration.ofMinutes(3);
+
+    @Parameter(value = 0)
+    public String testScenarioName;
+
+    @Parameter(value = 1)
+    public KieServerScenario deploymentScenario;
+
+    @Parameters(name = "{0}")
+    public static Collection<Object[]> data() {
+        List<Object[]> scenarios = new ArrayList<>();
+        DeploymentScenarioBuilderFactory deploymentScenarioFactory = DeploymentScenarioBuilderFactoryLoader.getInstance();
+
+        try {
+            KieServerScenario kieServerScenario = deploymentScenarioFactory.getKieServerScenarioBuilder()
+                                                                           .withInternalMavenRepo(true)
+                                                                           .build();
+            scenarios.add(new Object[] { "KIE Server", kieServerScenario });
+        } catch (UnsupportedOperationException ex) {
+            logger.info("KIE Server is skipped.", ex);
+        }
+
+        return scenarios;
+    }
+
+    private KieContainer kieContainer;
+    private SolverServicesClient solverClient;
+
+    @Override
+    protected KieServerScenario createDeploymentScenario(DeploymentScenarioBuilderFactory deploymentScenarioFactory) {
+        return deploymentScenario;
+    }
+
+    @Before
+    public void deployKjar() {
+        MavenDeployer.buildAndDeployMavenProject(OptaplannerSolverPerfIntegrationTest.class.getResource(PROJECT_SOURCE_FOLDER + "/" + CLOUD_BALANCE_PROJECT).getFile(),
+                                                 deploymentScenario.getMavenRepositoryDeployment());
+        kieContainer = KieServices.Factory.get().newKieContainer(KieServices.Factory.get().newReleaseId(CLOUD_BALANCE_RELEASE_ID.getGroupId(),
+                                                                                                        CLOUD_BALANCE_RELEASE_ID.getArtifactId(),
+                                                                                                        CLOUD_BALANCE_RELEASE_ID.getVersion()));
+
+        KieServerDeployment kieServerDeployment = deploymentScenario.getKieServerDeployment();
+        // Scale KIE server to 0 to apply the memory limit, solvers live in memory of a single pod
+        kieServerDeployment.scale(0);
+        kieServerDeployment.waitForScale();
+        kieServerDeployment.setResources(Collections.singletonMap("memory", HEAP), Collections.singletonMap("memory", HEAP));
+        kieServerDeployment.scale(1);
+        kieServerDeployment.waitForScale();
+        kieServerDeployment.setRouterTimeout(CLIENT_TIMEOUT);
+
+        KieServicesClient kieServerClient = KieServerClientProvider.getKieServerClient(kieServerDeployment, extraClasses(), CLIENT_TIMEOUT.toMillis());
+        ServiceResponse<KieContainerResource> createContainer = KieServerUtils.createContainer(kieServerClient,
+                                                                                               new KieContainerResource(CONTAINER_ID, CLOUD_BALANCE_RELEASE_ID),
+                                                                                               CONTAINER_START_TIMEOUT);
+        KieServerAssert.assertSuccess(createContainer);
+        kieServerDeployment.waitForContainerRespin();
+
+        solverClient = kieServerClient.getServicesClient(SolverServicesClient.class);
+    }
+
+    @After
+    public void resetRouterTimeout() {
+        deploymentScenario.getKieServerDeployment().resetRouterTimeout();
+    }
+
+    @Test
+    @Category(Performance.class)
+    public void testSolverScaling() throws InterruptedException {
+        List<String> failedConfigurations = new ArrayList<>();
+        List<String> regressions = new ArrayList<>();
+        for (Integer processes : PROBLEM_SIZES) {
+            int computers = Math.max(1, processes / PROCESSES_PER_COMPUTER);
+            for (Integer concurrentSolvers : CONCURRENT_SOLVERS) {
+                logger.info("Solving {} problems with {} computers and {} processes concurrently", concurrentSolvers, computers, processes);
+                List<SolverRun> runs;
+                PerfResult result = PerfResultRecorder.newResult("optaplannerSolver");
+                try (PodMemorySampler memorySampler = PodMemorySampler.start(deploymentScenario.getKieServerDeployment(), POLL_INTERVAL)) {
+                    runs = solve(computers, processes, concurrentSolvers);
+                    memorySampler.addTo(result);
+                }
+                runs.forEach(run -> logger.info("{}", run));
+
+                if (runs.stream().anyMatch(run -> !run.isFinished() || run.getBestScore() == null)) {
+                    failedConfigurations.add(concurrentSolvers + " solvers of " + processes + " processes");
+                }
+                addTo(result, computers, processes, concurrentSolvers, runs);
+                regressions.addAll(PerfResultRecorder.recordAndCompare(result));
+            }
+        }
+
+        assertThat(failedConfigurations).as("Configurations with solvers which didn't finish in " + SOLVE_TIMEOUT).isEmpty();
+        PerfResultRecorder.assertNoRegressions(regressions);
+    }
+
+    private List<SolverRun> solve(int computers, int processes, int concurrentSolvers) throws InterruptedException {
+        List<SolverRun> runs = new ArrayList<>();
+        try {
+            for (int i = 0; i < concurrentSolvers; i++) {
+                String solverId = "benchmark-" + i;
+                solverClient.createSolver(CONTAINER_ID, solverId, SOLVER_CONFIG);
+                // Every solver gets a different problem of the same size
+                Object problem = createProblem(SEED + i, computers, processes);
+                runs.add(new SolverRun(solverId));
+                solverClient.solvePlanningProblem(CONTAINER_ID, solverId, problem);
+            }
+
+            long deadline = System.nanoTime() + SOLVE_TIMEOUT.toNanos();
+            while (runs.stream().anyMatch(run -> !run.isFinished()) && System.nanoTime() < deadline) {
+                Thread.sleep(POLL_INTERVAL.toMillis());
+                for (SolverRun run : runs) {
+                    if (!run.isFinished()) {
+                        run.update(solverClient.getSolver(CONTAINER_ID, run.getSolverId()));
+                    }
+                }
+            }
+        } finally {
+            for (int i = 0; i < concurrentSolvers; i++) {
+                try {
+                    solverClient.disposeSolver(CONTAINER_ID, "benchmark-" + i);
+                } catch (RuntimeException e) {
+                    logger.warn("Error while disposing solver benchmark-{}", i, e);
+                }
+            }
+        }
+        return runs;
+    }
+
+    private void addTo(PerfResult result, int computers, int processes, int concurrentSolvers, List<SolverRun> runs) {
+        Histogram timeToBestScore = new Histogram();
+        Histogram solveTime = new Histogram();
+        long feasibleSolvers = 0;
+        double softScoreSum = 0;
+        List<ScorePoint> bestScores = new ArrayList<>();
+        for (SolverRun run : runs) {
+            ScorePoint bestScore = run.getBestScore();
+            if (bestScore == null) {
+                continue;
+            }
+            bestScores.add(bestScore);
+            timeToBestScore.record(run.getTimeToBestScoreMillis());
+            if (run.isFinished()) {
+                solveTime.record(run.getSolveTimeMillis());
+            }
+            if (bestScore.isFeasible()) {
+                feasibleSolvers++;
+            }
+            softScoreSum += bestScore.getSoftScore();
+        }
+
+        // Mean soft score of solvers which already had a score at the checkpoint, columns are the same for every run
+        Map<String, Long> softScoreProgression = new TreeMap<>();
+        for (Duration checkpoint : CHECKPOINTS) {
+            List<ScorePoint> scores = runs.stream()
+                                          .map(run -> run.getBestScoreAt(checkpoint.toMillis()))
+                                          .filter(score -> score != null && score.isInitialized())
+                                          .collect(Collectors.toList());
+            if (!scores.isEmpty()) {
+                softScoreProgression.put(String.format("%06ds", checkpoint.getSeconds()),
+                                         Math.round(scores.stream().mapToLong(ScorePoint::getSoftScore).average().getAsDouble()));
+            }
+        }
+
+        result.addParameter("computers", computers)
+              .addParameter("processes", processes)
+              .addParameter("concurrentSolvers", concurrentSolvers)
+              .addParameter("seed", SEED)
+              .addParameter("secondsSpentLimit", SECONDS_SPENT_LIMIT)
+              .addParameter("unimprovedSecondsSpentLimit", UNIMPROVED_SECONDS_SPENT_LIMIT)
+              .addParameter("heap", HEAP)
+              .addMetric("solvers", Metric.higherIsBetter(bestScores.size(), "count"))
+              .addMetric("feasibleSolvers", Metric.higherIsBetter(feasibleSolvers, "count"))
+              .addMetric("softScore.mean", Metric.higherIsBetter(bestScores.isEmpty() ? 0 : softScoreSum / bestScores.size(), "score"))
+              .addHistogram("timeToBestScore", timeToBestScore, "ms")
+              .addHistogram("solveTime", solveTime, "ms")
+              .addDistribution("softScoreProgression", softScoreProgression);
+    }
+
+    private Object createProblem(long seed, int computers, int processes) {
+        try {
+            Class<?> generator = kieContainer.getClassLoader().loadClass(CLASS_GENERATOR);
+            Method createCloudBalance = generator.getMethod("createCloudBalance", long.class, int.class, int.class);
+            return createCloudBalance.invoke(null, seed, computers, processes);
+        } catch (ClassNotFoundException | NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+            throw new RuntimeException("Error while generating planning problem", e);
+        }
+    }
+
+    private Set<Class<?>> extraClasses() {
+        Set<Class<?>> extra = new HashSet<>();
+        try {
+            extra.add(Class.forName(CLASS_CLOUD_BALANCE, true, kieContainer.getClassLoader()));
+            extra.add(Class.forName(CLASS_CLOUD_COMPUTER, true, kieContainer.getClassLoader()));
+            extra.add(Class.forName(CLASS_CLOUD_PROCESS, true, kieContainer.getClassLoader()));
+        } catch (ClassNotFoundException e) {
+            throw new RuntimeException("Error while loading solver classes", e);
+        }
+        return extra;
+    }
+}
@@ -0,0 +1,237 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.kie.cloud.integrationtests.router;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+import org.kie.cloud.api.DeploymentScenarioBuilderFactory;
+import org.kie.cloud.api.DeploymentScenarioBuilderFactoryLoader;
+import org.kie.cloud.api.deployment.Instance;
+import org.kie.cloud.api.deployment.KieServerDeployment;
+import org.kie.cloud.api.deployment.SmartRouterDeployment;
+import org.kie.cloud.api.scenario.WorkbenchRuntimeSmartRouterImmutableKieServerWithDatabaseScenario;
+import org.kie.cloud.common.provider.KieServerClientProvider;
+import org.kie.cloud.integrationtests.category.Performance;
+import org.kie.cloud.performance.results.PerfResult;
+import org.kie.cloud.performance.results.PerfResultRecorder;
+import org.kie.cloud.performance.router.Hop;
+import org.kie.cloud.performance.router.HopMeasurement;
+import org.kie.cloud.performance.router.InPodLoad;
+import org.kie.cloud.performance.statistics.ProcessInstanceStatistics;
+import org.kie.cloud.performance.util.PropertyUtils;
+import org.kie.cloud.provider.git.Git;
+import org.kie.cloud.tests.common.AbstractMethodIsolatedCloudIntegrationTest;
+import org.kie.cloud.tests.common.client.util.Kjar;
+import org.kie.cloud.tests.common.load.LoadDriverBuilder;
+import org.kie.cloud.tests.common.load.LoadResult;
+import org.kie.cloud.tests.common.load.ThinkTime;
+import org.kie.cloud.tests.common.load.UserActions;
+import org.kie.cloud.tests.common.time.TimeUtils;
+import org.kie.server.client.ProcessServicesClient;
+import org.kie.server.client.QueryServicesClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.kie.api.runtime.process.ProcessInstance.STATE_ACTIVE;
+
+/**
+ * Quantifies latency added by the OpenShift router and by the smart router, and compares HAProxy balance strategies of the
+ * KIE server route. The same workload, starting process timers-testing.OneTimerDate with a timer due immediately, is run
+ * from inside of a KIE server pod, through the KIE server route and through the smart router. Every hop is stored as a
+ * separate result of scenario <code>routerOverhead</code>, with overhead computed against the previous hop, see {@link Hop}.
+ *
+ * Pod which handled a request is taken from host name distribution of started process instances, the same way as in
+ * {@link org.kie.cloud.integrationtests.s2i.BaseJbpmEJBTimersPerfIntegrationTest}.
+ */
+@RunWith(Parameterized.class)
+public class SmartRouterOverheadPerfIntegrationTest extends AbstractMethodIsolatedCloudIntegrationTest<WorkbenchRuntimeSmartRouterImmutableKieServerWithDatabaseScenario> {
+
+    private static final Logger logger = LoggerFactory.getLogger(SmartRouterOverheadPerfIntegrationTest.class);
+
+    private static final String REPOSITORY_NAME = generateNameWithPrefix("KieServerS2iRouterRepository");
+
+    private static final int SCALE_COUNT = Integer.parseInt(System.getProperty("router.scale", "2"));
+    private static final List<String> BALANCES = PropertyUtils.getList("router.balances", "roundrobin,leastconn,source");
+    private static final int REQUESTS = Integer.parseInt(System.getProperty("router.requests", "2000"));
+    private static final int CONCURRENCY = Integer.parseInt(System.getProperty("router.concurrency", "8"));
+    private static final Duration BALANCE_SETTLE_TIME = ThinkTime.parseDuration(System.getProperty("router.balanceSettleTime", "15s"));
+    private static final Duration COMPLETION_TIMEOUT = ThinkTime.parseDuration(System.getProperty("router.completionTimeout", "10m"));
+    private static final String HEAP = System.getProperty("heap", "4Gi");
+
+    private static final String ONE_TIMER_DATE_PROCESS_ID = "timers-testing.OneTimerDate";
+    private static final String KIE_CONTAINER_DEPLOYMENT = CONTAINER_ID + "=" + Kjar.DEFINITION.toString();
+    private static final String REPO_BRANCH = "master";
+    private static final String PROJECT_SOURCE_FOLDER = "/kjars-sources";
+
+    private static String gitRepositoryName = Git.getProvider().createGitRepository(REPOSITORY_NAME, SmartRouterOverheadPerfIntegrationTest.class.getResource(PROJECT_SOURCE_FOLDER).getFile());
+
+    @Parameter(value = 0)
+    public String testScenarioName;
+
+    @Parameter(value = 1)
+    public WorkbenchRuntimeSmartRouterImmutableKieServerWithDatabaseScenario deploymentScenario;
+
+    @Parameters(name = "{0}")
+    public static Collection<Object[]> data() {
+        List<Object[]> scenarios = new ArrayList<>();
+        DeploymentScenarioBuilderFactory deploymentScenarioFactory = DeploymentScenarioBuilderFactoryLoader.getInstance();
+
+        try {
+            WorkbenchRuntimeSmartRouterImmutableKieServerWithDatabaseScenario smartRouterScenario = deploymentScenarioFactory.getWorkbenchRuntimeSmartRouterImmutableKieServerWithPostgreSqlScenarioBuilder()
+                                                                                                                             .withContainerDeployment(KIE_CONTAINER_DEPLOYMENT)
+                                                                                                                             .withSourceLocation(Git.getProvider().getRepositoryUrl(gitRepositoryName), REPO_BRANCH, DEFINITION_PROJECT_NAME)
+                                                                                                                             .withKieServerMemoryLimit(HEAP)
+                                                                                                                             .build();
+            scenarios.add(new Object[] { "KIE Server with Smart Router S2I", smartRouterScenario });
+        } catch (UnsupportedOperationException ex) {
+            logger.info("KIE Server with Smart Router S2I is skipped.", ex);
+        }
+
+        return scenarios;
+    }
+
+    private final List<String> pods = new ArrayList<>();
+    private QueryServicesClient queryServicesClient;
+
+    @Override
+    protected WorkbenchRuntimeSmartRouterImmutableKieServerWithDatabaseScenario createDeploymentScenario(DeploymentScenarioBuilderFactory deploymentScenarioFactory) {
+        return deploymentScenario;
+    }
+
+    @Before
+    public void setUp() {
+        KieServerDeployment kieServerDeployment = deploymentScenario.getKieServerDeployment();
+        kieServerDeployment.scale(SCALE_COUNT);
+        kieServerDeployment.waitForScale();
+        for (Instance instance : kieServerDeployment.getInstances()) {
+            pods.add(instance.getName());
+        }
+        queryServicesClient = KieServerClientProvider.getQueryClient(kieServerDeployment);
+    }
+
+    @After
+    public void resetRouterBalance() {
+        // Default balance strategy of OpenShift routes
+        deploymentScenario.getKieServerDeployment().setRouterBalance("leastconn");
+        deploymentScenario.getSmartRouterDeployment().setRouterBalance("leastconn");
+    }
+
+    @AfterClass
+    public static void deleteRepo() {
+        Git.getProvider().deleteGitRepository(gitRepositoryName);
+    }
+
+    @Test
+    @Category(Performance.class)
+    public void testRouterOverhead() {
+        KieServerDeployment kieServerDeployment = deploymentScenario.getKieServerDeployment();
+        SmartRouterDeployment smartRouterDeployment = deploymentScenario.getSmartRouterDeployment();
+        ProcessServicesClient routeClient = KieServerClientProvider.getProcessClient(kieServerDeployment);
+        ProcessServicesClient smartRouterClient = KieServerClientProvider.getSmartRouterClient(smartRouterDeployment, kieServerDeployment.getUsername(), kieServerDeployment.getPassword())
+                                                                         .getServicesClient(ProcessServicesClient.class);
+
+        // Requests from inside of the pod don't pass any router, so the baseline doesn't depend on balance strategy
+        Instance pod = kieServerDeployment.getInstances().get(0);
+        HopMeasurement podMeasurement = measure(() -> InPodLoad.startProcesses(pod, kieServerDeployment.getUsername(), kieServerDeployment.getPassword(),
+                                                                               CONTAINER_ID, ONE_TIMER_DATE_PROCESS_ID, REQUESTS, CONCURRENCY));
+        List<String> regressions = new ArrayList<>(record(podMeasurement, null, "none"));
+
+        List<String> failedConfigurations = new ArrayList<>();
+        for (String balance : BALANCES) {
+            logger.info("Setting route balance strategy {}", balance);
+            kieServerDeployment.setRouterBalance(balance);
+            smartRouterDeployment.setRouterBalance(balance);
+            // OpenShift router reloads its configuration asynchronously
+            TimeUtils.wait(BALANCE_SETTLE_TIME);
+
+            HopMeasurement routeMeasurement = measure(() -> HopMeasurement.of(Hop.ROUTE, startProcesses(routeClient)));
+            regressions.addAll(record(routeMeasurement, podMeasurement, balance));
+            HopMeasurement smartRouterMeasurement = measure(() -> HopMeasurement.of(Hop.SMART_ROUTER, startProcesses(smartRouterClient)));
+            regressions.addAll(record(smartRouterMeasurement, routeMeasurement, balance));
+
+            if (routeMeasurement.getErrors() > 0 || smartRouterMeasurement.getErrors() > 0) {
+                failedConfigurations.add(balance);
+            }
+        }
+
+        assertThat(podMeasurement.getErrors()).as("Failed requests from inside of the pod").isZero();
+        assertThat(failedConfigurations).as("Balance strategies with failed requests").isEmpty();
+        PerfResultRecorder.assertNoRegressions(regressions);
+    }
+
+    private LoadResult startProcesses(ProcessServicesClient processClient) {
+        return new LoadDriverBuilder(UserActions.startProcess(processClient, CONTAINER_ID, ONE_TIMER_DATE_PROCESS_ID, Collections.emptyMap()))
+                .withUsers(CONCURRENCY)
+                .withConcurrency(CONCURRENCY)
+                .withIterationsPerUser(Math.max(1, REQUESTS / CONCURRENCY))
+                .build()
+                .run();
+    }
+
+    /**
+     * Run the workload and attach number of process instances started by every pod during the run.
+     */
+    private HopMeasurement measure(Supplier<HopMeasurement> workload) {
+        Map<String, Long> startedBefore = startedHostNameDistribution();
+        HopMeasurement measurement = workload.get();
+        Map<String, Long> startedAfter = startedHostNameDistribution();
+
+        Map<String, Long> podDistribution = new TreeMap<>();
+        startedAfter.forEach((pod, count) -> podDistribution.put(pod, count - startedBefore.getOrDefault(pod, 0L)));
+        measurement.setPodDistribution(podDistribution);
+        logger.info("{}", measurement);
+        return measurement;
+    }
+
+    /**
+     * Host name distribution counts only completed process instances, so all started ones have to complete first.
+     */
+    private Map<String, Long> startedHostNameDistribution() {
+        TimeUtils.wait(COMPLETION_TIMEOUT, Duration.ofSeconds(1), () -> queryServicesClient.findProcessInstancesByStatus(Collections.singletonList(STATE_ACTIVE), 0, 1).isEmpty());
+        return new HashMap<>(ProcessInstanceStatistics.collect(queryServicesClient, pods).getStartedHostNameDistribution());
+    }
+
+    private List<String> record(HopMeasurement measurement, HopMeasurement previous, String balance) {
+        PerfResult result = PerfResultRecorder.newResult("routerOverhead");
+        result.addParameter("hop", measurement.getHop().getValue())
+              .addParameter("balance", balance)
+              .addParameter("scale", SCALE_COUNT)
+              .addParameter("requests", REQUESTS)
+              .addParameter("concurrency", CONCURRENCY)
+              .addParameter("heap", HEAP);
+        measurement.addTo(result, previous);
+        return PerfResultRecorder.recordAndCompare(result);
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.kie.cloud.integrationtests.rules;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+import org.kie.api.KieServices;
+import org.kie.cloud.api.DeploymentScenarioBuilderFactory;
+import org.kie.cloud.api.DeploymentScenarioBuilderFactoryLoader;
+import org.kie.cloud.api.scenario.ImmutableKieServerAmqScenario;
+import org.kie.cloud.api.settings.GitSettings;
+import org.kie.cloud.common.provider.KieServerClientProvider;
+import org.kie.cloud.integrationtests.category.Performance;
+import org.kie.cloud.maven.MavenDeployer;
+import org.kie.cloud.performance.results.Metric;
+import org.kie.cloud.performance.results.PerfResult;
+import org.kie.cloud.performance.results.PerfResultRecorder;
+import org.kie.cloud.performance.rules.PersonBatch;
+import org.kie.cloud.performance.rules.RuleThroughputConfiguration;
+import org.kie.cloud.performance.rules.Transport;
+import org.kie.cloud.tests.common.AbstractMethodIsolatedCloudIntegrationTest;
+import org.kie.cloud.tests.common.client.util.Kjar;
+import org.kie.cloud.tests.common.load.LoadDriverBuilder;
+import org.kie.cloud.tests.common.load.LoadResult;
+import org.kie.cloud.tests.common.load.ThinkTime;
+import org.kie.server.api.model.ReleaseId;
+import org.kie.server.client.KieServicesClient;
+import org.kie.server.client.RuleServicesClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measures throughput and latency of rule batches executed by <code>RuleServicesClient.executeCommandsWithResults</code> for
+ * every combination of transport, session type, batch size and concurrency, see {@link RuleThroughputConfiguration}.
+ * Each configuration is stored as a separate result of scenario <code>ruleThroughput</code>.
+ */
+@RunWith(Parameterized.class)
+public class RuleThroughputPerfIntegrationTest extends AbstractMethodIsolatedCloudIntegrationTest<ImmutableKieServerAmqScenario> {
+
+    private static final Logger logger = LoggerFactory.getLogger(RuleThroughputPerfIntegrationTest.class);
+
+    private static final Duration WARMUP = ThinkTime.parseDuration(System.getProperty("rules.warmup", "15s"));
+    private static final Duration DURATION = ThinkTime.parseDuration(System.getProperty("rules.duration", "60s"));
+
+    private static final String REPOSITORY_NAME = generateNameWithPrefix("KieServerS2iRulesRepository");
+    private static final Kjar DEPLOYED_KJAR = Kjar.RULE_THROUGHPUT;
+    private static final ReleaseId RELEASE_ID = new ReleaseId(DEPLOYED_KJAR.getGroupId(), DEPLOYED_KJAR.getArtifactName(), DEPLOYED_KJAR.getVersion());
+    private static final String KIE_CONTAINER_DEPLOYMENT = CONTAINER_ID + "=" + DEPLOYED_KJAR.toString();
+    private static final String REPO_BRANCH = "master";
+    private static final String PROJECT_SOURCE_FOLDER = "/kjars-sources";
+
+    @Parameter(value = 0)
+    public String testScenarioName;
+
+    @Parameter(value = 1)
+    public ImmutableKieServerAmqScenario deploymentScenario;
+
+    @Parameters(name = "{0}")
+    public static Collection<Object[]> data() {
+        List<Object[]> scenarios = new ArrayList<>();
+        DeploymentScenarioBuilderFactory deploymentScenarioFactory = DeploymentScenarioBuilderFactoryLoader.getInstance();
+
+        GitSettings gitSettings = GitSettings.fromProperties()
+                                             .withRepository(REPOSITORY_NAME,
+                                                             RuleThroughputPerfIntegrationTest.class.getResource(PROJECT_SOURCE_FOLDER).getFile());
+
+        try {
+            ImmutableKieServerAmqScenario scenario = deploymentScenarioFactory.getImmutableKieServerAmqScenarioBuilder()
+                                                                              .withContainerDeployment(KIE_CONTAINER_DEPLOYMENT)
+                                                                              .withGitSettings(gitSettings)
+                                                                              .withSourceLocation(REPO_BRANCH, DEPLOYED_KJAR.getArtifactName())
+                                                                              .withDroolsServerFilterClasses(false)
+                                                                              .build();
+            scenarios.add(new Object[] { "Immutable KIE Server AMQ S2I", scenario });
+        } catch (UnsupportedOperationException ex) {
+            logger.info("Immutable KIE Server AMQ S2I is skipped.", ex);
+        }
+
+        return scenarios;
+    }
+
+    private ClassLoader kjarClassLoader;
+    private RuleServicesClient restRuleClient;
+    private RuleServicesClient jmsRuleClient;
+
+    @Override
+    protected ImmutableKieServerAmqScenario createDeploymentScenario(DeploymentScenarioBuilderFactory deploymentScenarioFactory) {
+        return deploymentScenario;
+    }
+
+    @BeforeClass
+    public static void buildKjar() {
+        MavenDeployer.buildAndInstallMavenProject(RuleThroughputPerfIntegrationTest.class.getResource(PROJECT_SOURCE_FOLDER + "/" + DEPLOYED_KJAR.getArtifactName()).getFile());
+    }
+
+    @Before
+    public void setUp() throws ClassNotFoundException {
+        kjarClassLoader = KieServices.Factory.get().newKieContainer(RELEASE_ID).getClassLoader();
+        Set<Class<?>> extraClasses = Collections.singleton(Class.forName(PersonBatch.PERSON_CLASS_NAME, true, kjarClassLoader));
+
+        KieServicesClient restClient = KieServerClientProvider.getKieServerClient(deploymentScenario.getKieServerDeployment(), extraClasses);
+        restRuleClient = restClient.getServicesClient(RuleServicesClient.class);
+        KieServicesClient jmsClient = KieServerClientProvider.getKieServerJmsClient(deploymentScenario.getAmqDeployment().getTcpSslUrl(), extraClasses);
+        jmsRuleClient = KieServerClientProvider.getRuleJmsClient(jmsClient);
+    }
+
+    @After
+    public void deleteRepo() {
+        try {
+            deploymentScenario.getGitProvider().deleteGitRepository(REPOSITORY_NAME);
+        } catch (Exception ex) {
+            logger.warn("Could not delete the GIT repository. Skipping.");
+        }
+    }
+
+    @Test
+    @Category(Performance.class)
+    public void testRuleThroughput() {
+        List<String> failedConfigurations = new ArrayList<>();
+        List<String> regressions = new ArrayList<>();
+        for (RuleThroughputConfiguration configuration : RuleThroughputConfiguration.fromSystemProperties()) {
+            logger.info("Measuring rule throughput with {}", configuration);
+            RuleServicesClient ruleClient = configuration.getTransport() == Transport.JMS ? jmsRuleClient : restRuleClient;
+
+            runBatches(configuration, ruleClient, WARMUP, newBatch(configuration));
+            PersonBatch batch = newBatch(configuration);
+            LoadResult loadResult = runBatches(configuration, ruleClient, DURATION, batch);
+            logger.info("Rule throughput with {}: {}", configuration, loadResult);
+
+            long successfulBatches = loadResult.getIterations() - loadResult.getErrors();
+            boolean failed = loadResult.getErrors() > 0 || batch.getFiredRules() != successfulBatches * batch.getExpectedFiredRules();
+            if (failed) {
+                logger.error("Configuration {} failed, errors: {}, fired rules: {}, expected: {}", configuration, loadResult.getErrors(),
+                             batch.getFiredRules(), successfulBatches * batch.getExpectedFiredRules());
+                failedConfigurations.add(configuration.toString());
+            }
+
+            PerfResult result = PerfResultRecorder.newResult("ruleThroughput");
+            configuration.addTo(result);
+            result.addParameter("duration", DURATION.getSeconds())
+                  .addMetric("errors", Metric.lowerIsBetter(loadResult.getErrors(), "count"))
+                  .addMetric("throughput", Metric.higherIsBetter(loadResult.getThroughput(), "1/s"))
+                  .addMetric("factThroughput", Metric.higherIsBetter(loadResult.getThroughput() * configuration.getBatchSize(), "1/s"))
+                  .addHistogram("latency", loadResult.getLatency(), "ms");
+            regressions.addAll(PerfResultRecorder.recordAndCompare(result));
+        }
+
+        assertThat(failedConfigurations).as("Configurations with failed rule batches").isEmpty();
+        PerfResultRecorder.assertNoRegressions(regressions);
+    }
+
+    private PersonBatch newBatch(RuleThroughputConfiguration configuration) {
+        return new PersonBatch(kjarClassLoader, configuration.getBatchSize(), configuration.getSessionType());
+    }
+
+    private LoadResult runBatches(RuleThroughputConfiguration configuration, RuleServicesClient ruleClient, Duration duration, PersonBatch batch) {
+        return new LoadDriverBuilder(batch.execute(ruleClient, CONTAINER_ID)).withUsers(configuration.getConcurrency())
+                                                                            .withConcurrency(configuration.getConcurrency())
+                                                                            .withDuration(duration)
+                                                                            .withIterationsPerUser(Long.MAX_VALUE)
+                                                                            .build()
+                                                                            .run();
+    }
+}
@@ -15,7 +15,6 @@
  */
 package org.kie.cloud.integrationtests.s2i;
 
-import java.io.IOException;
 import java.time.Duration;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
@@ -41,6 +40,10 @@ import org.kie.cloud.api.deployment.Instance;
 import org.kie.cloud.api.scenario.WorkbenchRuntimeSmartRouterImmutableKieServerWithDatabaseScenario;
 import org.kie.cloud.common.provider.KieServerClientProvider;
 import org.kie.cloud.integrationtests.category.Performance;
+import org.kie.cloud.performance.results.PerfResult;
+import org.kie.cloud.performance.results.PerfResultRecorder;
+import org.kie.cloud.performance.statistics.ProcessInstanceStatistics;
+import org.kie.cloud.performance.statistics.TimerLagCollector;
 import org.kie.cloud.provider.git.Git;
 import org.kie.cloud.tests.common.AbstractMethodIsolatedCloudIntegrationTest;
 import org.kie.cloud.tests.common.client.util.Kjar;
@@ -49,9 +52,6 @@ import org.kie.cloud.tests.common.time.TimeUtils;
 import org.kie.server.api.exception.KieServicesHttpException;
 import org.kie.server.api.model.KieContainerResource;
 import org.kie.server.api.model.ReleaseId;
-import org.kie.server.api.model.definition.QueryFilterSpec;
-import org.kie.server.api.model.instance.ProcessInstance;
-import org.kie.server.api.util.QueryFilterSpecBuilder;
 import org.kie.server.client.KieServicesClient;
 import org.kie.server.client.ProcessServicesClient;
 import org.kie.server.client.QueryServicesClient;
@@ -130,7 +130,13 @@ public abstract class BaseJbpmEJBTimersPerfIntegrationTest extends AbstractMetho
 
     protected List<String> pods = new ArrayList<String>();
 
-    protected Map<String, Integer> completedHostNameDistribution;
+    protected Map<String, Long> startedHostNameDistribution;
+    protected Map<String, Long> completedHostNameDistribution;
+
+    protected TimerLagCollector timerLag;
+
+    protected Map<String, String> requests;
+    protected Map<String, String> limits;
 
     @Override
     protected WorkbenchRuntimeSmartRouterImmutableKieServerWithDatabaseScenario createDeploymentScenario(DeploymentScenarioBuilderFactory deploymentScenarioFactory) {
@@ -143,10 +149,10 @@ public abstract class BaseJbpmEJBTimersPerfIntegrationTest extends AbstractMetho
         deploymentScenario.getKieServerDeployment().scale(0);
         deploymentScenario.getKieServerDeployment().waitForScale();
 
-        Map<String, String> requests = new HashMap<String, String>();
+        requests = new HashMap<String, String>();
         requests.put(CPU, System.getProperty("requests.cpu","1000m"));
         requests.put(MEMORY, System.getProperty("requests.memory","1Gi"));
-        Map<String, String> limits = new HashMap<String, String>();
+        limits = new HashMap<String, String>();
         limits.put(CPU, System.getProperty("limits.cpu","4000m"));
         limits.put(MEMORY, System.getProperty("limits.memory","4Gi"));
         deploymentScenario.getKieServerDeployment().setResources(requests, limits);
@@ -182,7 +188,7 @@ public abstract class BaseJbpmEJBTimersPerfIntegrationTest extends AbstractMetho
 
     @Test
     @Category(Performance.class)
-    public void testContainerAfterExecServerS2IStart() throws IOException {
+    public void testContainerAfterExecServerS2IStart() {
         List<KieContainerResource> containers = kieServicesClient.listContainers().getResult().getContainers();
         assertThat(containers).isNotNull().hasSize(1);
 
@@ -202,11 +208,21 @@ public abstract class BaseJbpmEJBTimersPerfIntegrationTest extends AbstractMetho
 
         logger.info("============================= GATHERING STATISTICS =============================");
         gatherAndAssertStatistics();
-        writeCSV();
+        recordResults();
         logger.info("============================= STATISTICS GATHERED =============================");
     }
 
-    protected abstract void writeCSV() throws IOException;
+    /**
+     * @return Name of the scenario, used to group stored results and to find baseline results.
+     */
+    protected abstract String getScenarioName();
+
+    /**
+     * Add scenario specific parameters and metrics to the result.
+     *
+     * @param result Result of current run.
+     */
+    protected abstract void addScenarioResults(PerfResult result);
 
     protected abstract void runSingleScenario();
 
@@ -246,44 +262,40 @@ public abstract class BaseJbpmEJBTimersPerfIntegrationTest extends AbstractMetho
     }
 
     private void gatherAndAssertStatistics() {
-        int numberOfPages = 1 + (PROCESSES_COUNT / 5000);// including one additional page to check there are no more processes
-
-        List<ProcessInstance> completedProcesses = new ArrayList<>(PROCESSES_COUNT);
-
-        for (int i = 0; i < numberOfPages; i++) {
-            List<ProcessInstance> response = queryServicesClient.findProcessInstancesByStatus(Collections.singletonList(org.jbpm.process.instance.ProcessInstance.STATE_COMPLETED), i, 5000);
-            completedProcesses.addAll(response);
-        }
-
-        logger.info("Completed processes count: {}", completedProcesses.size());
-
-        List<ProcessInstance> activeProcesses = queryServicesClient.findProcessInstancesByStatus(Collections.singletonList(org.jbpm.process.instance.ProcessInstance.STATE_ACTIVE), 0, 100);
-        logger.info("Active processes count: {}", activeProcesses.size());
+        ProcessInstanceStatistics statistics = ProcessInstanceStatistics.collect(queryServicesClient, pods);
 
-        assertThat(activeProcesses).isEmpty();
+        logger.info("Completed processes count: {}", statistics.getCount(STATE_COMPLETED));
+        logger.info("Active processes count: {}", statistics.getCount(STATE_ACTIVE));
 
-        assertThat(completedProcesses).hasSize(PROCESSES_COUNT);
+        assertThat(statistics.getCount(STATE_ACTIVE)).isZero();
+        assertThat(statistics.getCount(STATE_COMPLETED)).isEqualTo(PROCESSES_COUNT);
 
-        Map<String, Integer> startedHostNameDistribution = new HashMap<>();
-        completedHostNameDistribution = new HashMap<>();
-
-        for (String pod : pods) {
-            completedHostNameDistribution.put(pod, 0);
-            startedHostNameDistribution.put(pod, 0);
-        }
-
-        for (int i = 0; i < numberOfPages; i++) {
-          for (String pod : pods) {
-           int sizeCompleted = queryServicesClient.findProcessInstancesByVariableAndValue("hostName", pod, COMPLETED_STATUS, i, 5000).size();
-           completedHostNameDistribution.put(pod, completedHostNameDistribution.get(pod) + sizeCompleted);
-
-           int sizeStarted = queryOldValue(i, pod);
-           startedHostNameDistribution.put(pod, startedHostNameDistribution.get(pod) + sizeStarted);
-          }
-        }
+        startedHostNameDistribution = statistics.getStartedHostNameDistribution();
+        completedHostNameDistribution = statistics.getCompletedHostNameDistribution();
 
         logger.info("Processes were completed with this distribution: {}", completedHostNameDistribution);
         logger.info("Processes were started with this distribution: {}", startedHostNameDistribution);
+
+        timerLag = TimerLagCollector.collect(queryServicesClient, PROCESSES_COUNT);
+        assertThat(timerLag.getTotalLag().getCount()).as("Number of processes with recorded timer lag").isEqualTo(PROCESSES_COUNT);
+    }
+
+    private void recordResults() {
+        PerfResult result = PerfResultRecorder.newResult(getScenarioName());
+        result.addParameter("processesCount", PROCESSES_COUNT)
+              .addParameter("scale", SCALE_COUNT)
+              .addParameter("heap", HEAP)
+              .addParameter("refreshInterval", REFRESH_INTERVAL)
+              .addParameter("routerTimeout", ROUTER_TIMEOUT)
+              .addParameter("routerBalance", ROUTER_BALANCE);
+        requests.forEach((key, value) -> result.addParameter("requests." + key, value));
+        limits.forEach((key, value) -> result.addParameter("limits." + key, value));
+        result.addDistribution("startedHostName", startedHostNameDistribution);
+        result.addDistribution("completedHostName", completedHostNameDistribution);
+        timerLag.addTo(result);
+        addScenarioResults(result);
+
+        PerfResultRecorder.record(result);
     }
 
     private void scaleKieServerTo(int count) {
@@ -295,13 +307,4 @@ public abstract class BaseJbpmEJBTimersPerfIntegrationTest extends AbstractMetho
         }
     }
 
-    private int queryOldValue(int page, String oldValue) {
-        QueryFilterSpec spec = new QueryFilterSpecBuilder()
-                .equalsTo("variableId", "hostName")
-                .equalsTo("oldValue", oldValue)
-                .get();
-
-        return queryServicesClient.query("jbpmOldValueVarSearch", QueryServicesClient.QUERY_MAP_PI_WITH_VARS, spec, page, 5000, ProcessInstance.class).size();
-    }
-
 }
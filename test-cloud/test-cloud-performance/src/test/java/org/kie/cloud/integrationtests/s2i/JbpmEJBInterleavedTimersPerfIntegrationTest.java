@@ -15,65 +15,78 @@
  */
 package org.kie.cloud.integrationtests.s2i;
 
-import java.io.FileWriter;
-import java.io.IOException;
-import java.nio.file.Paths;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Map;
 
-import org.apache.commons.csv.CSVFormat;
-import org.apache.commons.csv.CSVPrinter;
+import org.junit.BeforeClass;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
+import org.kie.cloud.performance.results.PerfResult;
+import org.kie.cloud.tests.common.load.LoadDriverBuilder;
+import org.kie.cloud.tests.common.load.LoadResult;
+import org.kie.cloud.tests.common.load.ThinkTime;
+import org.kie.cloud.tests.common.load.UserActions;
 import org.kie.cloud.tests.common.time.TimeUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 @RunWith(Parameterized.class)
 public class JbpmEJBInterleavedTimersPerfIntegrationTest extends BaseJbpmEJBTimersPerfIntegrationTest {
 
     private static final Logger logger = LoggerFactory.getLogger(BaseJbpmEJBTimersPerfIntegrationTest.class);
 
-    private static final String CSV_FILE = "./interleaveTimer__"+PROCESSES_COUNT+"_processes__"+SCALE_COUNT+"_pods.csv";
-    
     private static final int BATCH_COUNT = Integer.parseInt(System.getProperty("batchCount", "5"));
-    private static final int BATCH_SIZE = PROCESSES_COUNT / BATCH_COUNT;
     private static final int BATCH_DELAY = Integer.parseInt(System.getProperty("batchDelay", "10"));
     private static final int TIMER_DELAY = Integer.parseInt(System.getProperty("timerDelay", "1"));
     private static final int BATCH_MAX_TIME = Integer.parseInt(System.getProperty("batchMaxTime", "20"));
     
-    protected static final int STARTING_THREADS_COUNT = 20;
+    protected static final int STARTING_USERS = Integer.parseInt(System.getProperty("startingUsers", "20"));
+    protected static final int STARTING_CONCURRENCY = Integer.parseInt(System.getProperty("startingConcurrency", "20"));
+    protected static final String STARTING_THINK_TIME = System.getProperty("startingThinkTime", "none");
 
-    protected static final int PROCESSES_PER_THREAD = BATCH_SIZE / STARTING_THREADS_COUNT;
     
-    protected String[] startingTime = new String[BATCH_COUNT];
-    protected String[] processTime = new String[BATCH_COUNT];
+    protected LoadResult[] startingLoad = new LoadResult[BATCH_COUNT];
+    protected Duration[] startingTime = new Duration[BATCH_COUNT];
+    protected Duration[] processTime = new Duration[BATCH_COUNT];
     
+    @BeforeClass
+    public static void checkBatchSize() {
+        assertThat(getBatchSize(BATCH_COUNT - 1)).as("Processes per batch, %d users need at least one process each", STARTING_USERS)
+                                                 .isGreaterThanOrEqualTo(STARTING_USERS);
+    }
+
+    /**
+     * @return Number of processes started in the given batch, the first <code>PROCESSES_COUNT % BATCH_COUNT</code> batches
+     * start one process more so all batches together start exactly <code>PROCESSES_COUNT</code> processes.
+     */
+    private static int getBatchSize(int batch) {
+        return PROCESSES_COUNT / BATCH_COUNT + (batch < PROCESSES_COUNT % BATCH_COUNT ? 1 : 0);
+    }
+
     @Override
-    protected void writeCSV() throws IOException {
-        ArrayList<Object> record = new ArrayList<Object>();
-        try (
-               CSVPrinter csvPrinter = new CSVPrinter(new FileWriter(Paths.get(CSV_FILE).toAbsolutePath().toFile(), true), 
-                        CSVFormat.DEFAULT);
-            ) {
-             record.add(Instant.now());
-             record.add(PROCESSES_COUNT); 
-             record.add(STARTING_THREADS_COUNT);
-             for (int i = 0; i < BATCH_COUNT; i++) {
-                 logger.info("Recording batch no. {}:  {} - {}", i, startingTime[i], processTime[i]);
-                 record.add(startingTime[i].substring(2));
-                 record.add(processTime[i].substring(2));
-             }
-             record.add(HEAP);
-             record.addAll(completedHostNameDistribution.values());
-             csvPrinter.printRecord(record);
-             csvPrinter.flush();            
-            }
-        
+    protected String getScenarioName() {
+        return "interleaveTimer";
+    }
+
+    @Override
+    protected void addScenarioResults(PerfResult result) {
+        result.addParameter("startingUsers", STARTING_USERS)
+              .addParameter("startingConcurrency", STARTING_CONCURRENCY)
+              .addParameter("startingThinkTime", STARTING_THINK_TIME)
+              .addParameter("batchCount", BATCH_COUNT)
+              .addParameter("batchDelay", BATCH_DELAY)
+              .addParameter("timerDelay", TIMER_DELAY);
+        for (int i = 0; i < BATCH_COUNT; i++) {
+            logger.info("Recording batch no. {}:  {} - {}", i, startingTime[i], processTime[i]);
+            result.addDuration("batch." + i + ".startingTime", startingTime[i]);
+            result.addDuration("batch." + i + ".processTime", processTime[i]);
+            result.addHistogram("batch." + i + ".startLatency", startingLoad[i].getLatency(), "ms");
+        }
     }
 
     @Override
@@ -82,24 +95,28 @@ public class JbpmEJBInterleavedTimersPerfIntegrationTest extends BaseJbpmEJBTime
         for (int i = 0; i < BATCH_COUNT;) {
             logger.info("Starting batch no. {}", i);
 
-            logger.info("Starting {} processes", BATCH_SIZE);
+            logger.info("Starting {} processes", getBatchSize(i));
 
             Instant startTime = Instant.now();
-            // This is just to provide virtually "infinite" time to finish all iterations, i.e. maximum possible duration minus 1 hour,
-            // so we can be sure there won't be overflow
-            Duration maxDuration = Duration.between(startTime.plus(1, ChronoUnit.HOURS), Instant.MAX);
             Map<String, Object> params = Collections.singletonMap("timerDelay", TIMER_DELAY);
 
-            startAndWaitForStartingThreads(STARTING_THREADS_COUNT, maxDuration, PROCESSES_PER_THREAD, getStartingRunnable(CONTAINER_ID, ONE_TIMER_DURATION_PROCESS_ID, params));
-            
-            startingTime[i] = Duration.between(startTime, Instant.now()).toString();
+            startingLoad[i] = new LoadDriverBuilder(UserActions.startProcess(processServicesClient, CONTAINER_ID, ONE_TIMER_DURATION_PROCESS_ID, params))
+                    .withUsers(STARTING_USERS)
+                    .withConcurrency(STARTING_CONCURRENCY)
+                    .withTotalIterations(getBatchSize(i))
+                    .withThinkTime(ThinkTime.parse(STARTING_THINK_TIME))
+                    .build()
+                    .run();
+            assertThat(startingLoad[i].getErrors()).as("Number of failed process starts").isZero();
+
+            startingTime[i] = Duration.between(startTime, Instant.now());
             logger.info("Starting processes took: {}", startingTime[i]);
 
             Duration waitForCompletionDuration = Duration.of(BATCH_MAX_TIME, ChronoUnit.MINUTES);
             logger.info("Batch created. Waiting for a batch to be processed, max waiting time is {}", waitForCompletionDuration);
             waitForAllProcessesToComplete(waitForCompletionDuration);
 
-            processTime[i] = Duration.between(startTime, Instant.now()).toString();
+            processTime[i] = Duration.between(startTime, Instant.now());
             logger.info("Batch no. {} processed, took approximately {}", i, processTime[i]);
 
             if (++i < BATCH_COUNT) {
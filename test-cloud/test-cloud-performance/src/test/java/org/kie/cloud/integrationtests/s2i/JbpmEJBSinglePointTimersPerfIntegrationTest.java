@@ -15,21 +15,16 @@
  */
 package org.kie.cloud.integrationtests.s2i;
 
-import java.io.FileWriter;
-import java.io.IOException;
-import java.nio.file.Paths;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.OffsetDateTime;
 import java.time.temporal.ChronoUnit;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Map;
 
-import org.apache.commons.csv.CSVFormat;
-import org.apache.commons.csv.CSVPrinter;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
+import org.kie.cloud.performance.results.PerfResult;
 import org.kie.cloud.tests.common.time.TimeUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -44,29 +39,20 @@ public class JbpmEJBSinglePointTimersPerfIntegrationTest extends BaseJbpmEJBTime
     protected static final int PROCESSES_PER_THREAD = 1000;
     protected static final int STARTING_THREADS_COUNT = PROCESSES_COUNT / PROCESSES_PER_THREAD;
     
-    protected static final String CSV_FILE = "./ejbTimer__"+PROCESSES_COUNT+"_processes__"+SCALE_COUNT+"_pods.csv";
-    
-    private String startingTime, processTime;
+    private Duration startingTime, processTime;
     
    
     @Override
-    protected void writeCSV() throws IOException {
-        ArrayList<Object> record = new ArrayList<Object>();
-        try (
-               CSVPrinter csvPrinter = new CSVPrinter(new FileWriter(Paths.get(CSV_FILE).toAbsolutePath().toFile(), true), 
-                        CSVFormat.DEFAULT);
-            ) {
-             record.add(Instant.now());
-             record.add(PROCESSES_COUNT); 
-             record.add(STARTING_THREADS_COUNT);
-             record.add(startingTime.substring(2));
-             record.add(processTime.substring(2));
-             record.add(HEAP);
-             record.addAll(completedHostNameDistribution.values());
-             csvPrinter.printRecord(record);
-             csvPrinter.flush();            
-            }
-        
+    protected String getScenarioName() {
+        return "ejbTimer";
+    }
+
+    @Override
+    protected void addScenarioResults(PerfResult result) {
+        result.addParameter("startingThreads", STARTING_THREADS_COUNT)
+              .addParameter("perfIndex", PERF_INDEX);
+        result.addDuration("startingTime", startingTime);
+        result.addDuration("processTime", processTime);
     }
 
     @Override
@@ -81,7 +67,7 @@ public class JbpmEJBSinglePointTimersPerfIntegrationTest extends BaseJbpmEJBTime
         logger.info("Starting timers-testing.OneTimerDate");
         
         startAndWaitForStartingThreads(STARTING_THREADS_COUNT, maxDuration, PROCESSES_PER_THREAD, getStartingRunnable(CONTAINER_ID, "timers-testing.OneTimerDate", params));
-        startingTime = Duration.between(startTime, Instant.now()).toString();
+        startingTime = Duration.between(startTime, Instant.now());
         logger.info("Starting processes took: {}", startingTime);
 
         assertThat(Instant.now()).isBefore(fireAtTime.toInstant());
@@ -92,7 +78,7 @@ public class JbpmEJBSinglePointTimersPerfIntegrationTest extends BaseJbpmEJBTime
         
         logger.info("Waiting for process instances to be completed, max waiting time is {}", waitForCompletionDuration);
         waitForAllProcessesToComplete(waitForCompletionDuration);
-        processTime = Duration.between(fireAtTime.toInstant(), Instant.now()).toString();
+        processTime = Duration.between(fireAtTime.toInstant(), Instant.now());
         logger.info("Process instances completed, took approximately {}", processTime);
     }
     
@@ -0,0 +1,225 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.kie.cloud.integrationtests.scaling;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+import org.kie.cloud.api.DeploymentScenarioBuilderFactory;
+import org.kie.cloud.api.DeploymentScenarioBuilderFactoryLoader;
+import org.kie.cloud.api.deployment.KieServerDeployment;
+import org.kie.cloud.api.scenario.WorkbenchRuntimeSmartRouterImmutableKieServerWithDatabaseScenario;
+import org.kie.cloud.common.provider.KieServerClientProvider;
+import org.kie.cloud.integrationtests.category.Performance;
+import org.kie.cloud.performance.results.Metric;
+import org.kie.cloud.performance.results.PerfResult;
+import org.kie.cloud.performance.results.PerfResultRecorder;
+import org.kie.cloud.performance.router.Hop;
+import org.kie.cloud.performance.scaling.ScalingCurve;
+import org.kie.cloud.performance.scaling.ScalingPoint;
+import org.kie.cloud.performance.util.PropertyUtils;
+import org.kie.cloud.provider.git.Git;
+import org.kie.cloud.tests.common.AbstractMethodIsolatedCloudIntegrationTest;
+import org.kie.cloud.tests.common.client.util.Kjar;
+import org.kie.cloud.tests.common.load.LoadDriverBuilder;
+import org.kie.cloud.tests.common.load.LoadResult;
+import org.kie.cloud.tests.common.load.ThinkTime;
+import org.kie.cloud.tests.common.load.UserActions;
+import org.kie.cloud.tests.common.time.TimeUtils;
+import org.kie.server.client.ProcessServicesClient;
+import org.kie.server.client.QueryServicesClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.kie.api.runtime.process.ProcessInstance.STATE_ACTIVE;
+
+/**
+ * Steps the number of KIE server replicas through <code>scaling.replicas</code> and runs the same workload at every step:
+ * users start process timers-testing.OneTimerDate, whose timer is due immediately, for a fixed time without any think time.
+ * Throughput and latency of starting processes and throughput of DB backed timers completing the processes are stored for
+ * every step as results of scenario <code>scalingCurve</code>, together with speedup and efficiency against the step with
+ * the fewest replicas, see {@link ScalingCurve}.
+ */
+@RunWith(Parameterized.class)
+public class KieServerScalingCurvePerfIntegrationTest extends AbstractMethodIsolatedCloudIntegrationTest<WorkbenchRuntimeSmartRouterImmutableKieServerWithDatabaseScenario> {
+
+    private static final Logger logger = LoggerFactory.getLogger(KieServerScalingCurvePerfIntegrationTest.class);
+
+    private static final String REPOSITORY_NAME = generateNameWithPrefix("KieServerS2iScalingRepository");
+
+    private static final List<Integer> REPLICAS = PropertyUtils.getList("scaling.replicas", "1,2,4", Integer::valueOf)
+                                                           .stream()
+                                                           .sorted()
+                                                           .collect(Collectors.toList());
+    private static final Hop TARGET = Hop.SMART_ROUTER.getValue().equals(System.getProperty("scaling.target", "route")) ? Hop.SMART_ROUTER : Hop.ROUTE;
+    private static final int CONCURRENCY = Integer.parseInt(System.getProperty("scaling.concurrency", "32"));
+    private static final Duration WARMUP = ThinkTime.parseDuration(System.getProperty("scaling.warmup", "30s"));
+    private static final Duration DURATION = ThinkTime.parseDuration(System.getProperty("scaling.duration", "120s"));
+    private static final Duration COMPLETION_TIMEOUT = ThinkTime.parseDuration(System.getProperty("scaling.completionTimeout", "30m"));
+    private static final double EFFICIENCY_THRESHOLD = Double.parseDouble(System.getProperty("scaling.efficiencyThreshold", "0.7"));
+    private static final String HEAP = System.getProperty("heap", "4Gi");
+
+    private static final String ONE_TIMER_DATE_PROCESS_ID = "timers-testing.OneTimerDate";
+    private static final String KIE_CONTAINER_DEPLOYMENT = CONTAINER_ID + "=" + Kjar.DEFINITION.toString();
+    private static final String REPO_BRANCH = "master";
+    private static final String PROJECT_SOURCE_FOLDER = "/kjars-sources";
+    private static final Duration CLIENT_TIMEOUT = Duration.ofMinutes(5);
+
+    private static String gitRepositoryName = Git.getProvider().createGitRepository(REPOSITORY_NAME, KieServerScalingCurvePerfIntegrationTest.class.getResource(PROJECT_SOURCE_FOLDER).getFile());
+
+    @Parameter(value = 0)
+    public String testScenarioName;
+
+    @Parameter(value = 1)
+    public WorkbenchRuntimeSmartRouterImmutableKieServerWithDatabaseScenario deploymentScenario;
+
+    @Parameters(name = "{0}")
+    public static Collection<Object[]> data() {
+        List<Object[]> scenarios = new ArrayList<>();
+        DeploymentScenarioBuilderFactory deploymentScenarioFactory = DeploymentScenarioBuilderFactoryLoader.getInstance();
+
+        try {
+            WorkbenchRuntimeSmartRouterImmutableKieServerWithDatabaseScenario smartRouterScenario = deploymentScenarioFactory.getWorkbenchRuntimeSmartRouterImmutableKieServerWithPostgreSqlScenarioBuilder()
+                                                                                                                             .withContainerDeployment(KIE_CONTAINER_DEPLOYMENT)
+                                                                                                                             .withSourceLocation(Git.getProvider().getRepositoryUrl(gitRepositoryName), REPO_BRANCH, DEFINITION_PROJECT_NAME)
+                                                                                                                             .withKieServerMemoryLimit(HEAP)
+                                                                                                                             .build();
+            scenarios.add(new Object[] { "KIE Server HTTPS S2I", smartRouterScenario });
+        } catch (UnsupportedOperationException ex) {
+            logger.info("KIE Server HTTPS S2I is skipped.", ex);
+        }
+
+        return scenarios;
+    }
+
+    private ProcessServicesClient processClient;
+    private QueryServicesClient queryServicesClient;
+
+    @Override
+    protected WorkbenchRuntimeSmartRouterImmutableKieServerWithDatabaseScenario createDeploymentScenario(DeploymentScenarioBuilderFactory deploymentScenarioFactory) {
+        return deploymentScenario;
+    }
+
+    @Before
+    public void setUp() {
+        KieServerDeployment kieServerDeployment = deploymentScenario.getKieServerDeployment();
+        kieServerDeployment.setRouterTimeout(CLIENT_TIMEOUT);
+        if (TARGET == Hop.SMART_ROUTER) {
+            processClient = KieServerClientProvider.getSmartRouterClient(deploymentScenario.getSmartRouterDeployment(), kieServerDeployment.getUsername(),
+                                                                         kieServerDeployment.getPassword(), CLIENT_TIMEOUT.toMillis())
+                                                   .getServicesClient(ProcessServicesClient.class);
+        } else {
+            processClient = KieServerClientProvider.getKieServerClient(kieServerDeployment, CLIENT_TIMEOUT.toMillis()).getServicesClient(ProcessServicesClient.class);
+        }
+        queryServicesClient = KieServerClientProvider.getQueryClient(kieServerDeployment);
+    }
+
+    @After
+    public void resetRouterTimeout() {
+        deploymentScenario.getKieServerDeployment().resetRouterTimeout();
+    }
+
+    @AfterClass
+    public static void deleteRepo() {
+        Git.getProvider().deleteGitRepository(gitRepositoryName);
+    }
+
+    @Test
+    @Category(Performance.class)
+    public void testScalingCurve() {
+        ScalingCurve startCurve = new ScalingCurve();
+        ScalingCurve timerCurve = new ScalingCurve();
+        List<Integer> failedSteps = new ArrayList<>();
+        List<String> regressions = new ArrayList<>();
+        for (Integer replicas : REPLICAS) {
+            logger.info("Scaling KIE server to {} replicas", replicas);
+            deploymentScenario.getKieServerDeployment().scale(replicas);
+            deploymentScenario.getKieServerDeployment().waitForScale();
+
+            // Steady state: new pods are warmed up and no process instance of the previous step is running
+            startProcesses(WARMUP);
+            waitForAllProcessesToComplete();
+
+            Instant startTime = Instant.now();
+            LoadResult loadResult = startProcesses(DURATION);
+            waitForAllProcessesToComplete();
+            Duration completionTime = Duration.between(startTime, Instant.now());
+            double timerThroughput = loadResult.getIterations() * 1000.0 / Math.max(1, completionTime.toMillis());
+            logger.info("{} replicas: {}, all process instances completed in {}", replicas, loadResult, completionTime);
+            if (loadResult.getErrors() > 0) {
+                failedSteps.add(replicas);
+            }
+
+            ScalingPoint startPoint = new ScalingPoint(replicas, loadResult.getThroughput(), loadResult.getLatency().getValueAtPercentile(99));
+            ScalingPoint timerPoint = new ScalingPoint(replicas, timerThroughput, 0);
+            startCurve.add(startPoint);
+            timerCurve.add(timerPoint);
+
+            PerfResult result = PerfResultRecorder.newResult("scalingCurve");
+            result.addParameter("replicas", replicas)
+                  .addParameter("target", TARGET.getValue())
+                  .addParameter("concurrency", CONCURRENCY)
+                  .addParameter("duration", DURATION.getSeconds())
+                  .addParameter("heap", HEAP)
+                  .addMetric("errors", Metric.lowerIsBetter(loadResult.getErrors(), "count"))
+                  .addMetric("throughput", Metric.higherIsBetter(loadResult.getThroughput(), "1/s"))
+                  .addHistogram("latency", loadResult.getLatency(), "ms")
+                  .addMetric("timerThroughput", Metric.higherIsBetter(timerThroughput, "1/s"))
+                  .addMetric("timerSpeedup", Metric.higherIsBetter(timerCurve.getSpeedup(timerPoint), "x"))
+                  .addMetric("timerEfficiency", Metric.higherIsBetter(timerCurve.getEfficiency(timerPoint), "ratio"));
+            startCurve.addTo(result, startPoint);
+            regressions.addAll(PerfResultRecorder.recordAndCompare(result));
+        }
+
+        logger.info("Scaling curve of starting process instances through {}:\n{}", TARGET, startCurve.toChart());
+        logger.info("Scaling curve of process instances completed by timers:\n{}", timerCurve.toChart());
+        logger.info("Efficiency of starting process instances drops below {} at {} replicas, of timers at {} replicas (-1 means never)",
+                    EFFICIENCY_THRESHOLD, startCurve.getScalingLimit(EFFICIENCY_THRESHOLD), timerCurve.getScalingLimit(EFFICIENCY_THRESHOLD));
+
+        assertThat(failedSteps).as("Replicas with failed requests").isEmpty();
+        PerfResultRecorder.assertNoRegressions(regressions);
+    }
+
+    private LoadResult startProcesses(Duration duration) {
+        return new LoadDriverBuilder(UserActions.startProcess(processClient, CONTAINER_ID, ONE_TIMER_DATE_PROCESS_ID, Collections.emptyMap()))
+                .withUsers(CONCURRENCY)
+                .withConcurrency(CONCURRENCY)
+                .withDuration(duration)
+                .withIterationsPerUser(Long.MAX_VALUE)
+                .build()
+                .run();
+    }
+
+    private void waitForAllProcessesToComplete() {
+        TimeUtils.wait(COMPLETION_TIMEOUT, Duration.ofSeconds(1), () -> queryServicesClient.findProcessInstancesByStatus(Collections.singletonList(STATE_ACTIVE), 0, 1).isEmpty());
+    }
+}
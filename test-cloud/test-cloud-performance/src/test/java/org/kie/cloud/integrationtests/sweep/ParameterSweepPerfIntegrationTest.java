@@ -0,0 +1,175 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.kie.cloud.integrationtests.sweep;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.AfterClass;
+import org.junit.Assume;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.kie.cloud.api.deployment.JvmOptions;
+import org.kie.cloud.api.deployment.KieServerDeployment;
+import org.kie.cloud.api.scenario.WorkbenchRuntimeSmartRouterImmutableKieServerWithDatabaseScenario;
+import org.kie.cloud.api.scenario.builder.WorkbenchRuntimeSmartRouterImmutableKieServerWithDatabaseScenarioBuilder;
+import org.kie.cloud.common.provider.KieServerClientProvider;
+import org.kie.cloud.integrationtests.category.Performance;
+import org.kie.cloud.performance.results.Metric;
+import org.kie.cloud.performance.results.PerfResult;
+import org.kie.cloud.performance.statistics.GcStatistics;
+import org.kie.cloud.performance.sweep.ComparisonTable;
+import org.kie.cloud.performance.sweep.ParameterMatrix;
+import org.kie.cloud.performance.sweep.ParameterSweep;
+import org.kie.cloud.performance.sweep.SweepPoint;
+import org.kie.cloud.performance.util.PropertyUtils;
+import org.kie.cloud.provider.git.Git;
+import org.kie.cloud.tests.common.AbstractCloudIntegrationTest;
+import org.kie.cloud.tests.common.client.util.Kjar;
+import org.kie.cloud.tests.common.load.LoadDriverBuilder;
+import org.kie.cloud.tests.common.load.LoadResult;
+import org.kie.cloud.tests.common.load.ThinkTime;
+import org.kie.cloud.tests.common.load.UserActions;
+import org.kie.cloud.tests.common.time.TimeUtils;
+import org.kie.server.client.ProcessServicesClient;
+import org.kie.server.client.QueryServicesClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.kie.api.runtime.process.ProcessInstance.STATE_ACTIVE;
+
+/**
+ * Runs the same workload for every point of parameter matrix <code>sweep.matrix</code>, see {@link ParameterSweep}: users start
+ * process timers-testing.OneTimerDate, whose timer is due immediately, for a fixed time without any think time. Results of all points
+ * are stored under scenario <code>parameterSweep</code> and compared in one table.
+ */
+public class ParameterSweepPerfIntegrationTest extends AbstractCloudIntegrationTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ParameterSweepPerfIntegrationTest.class);
+
+    private static final String REPOSITORY_NAME = generateNameWithPrefix("KieServerS2iSweepRepository");
+
+    private static final String MATRIX = System.getProperty("sweep.matrix", "heap=2Gi,4Gi;limits.cpu=1000m,2000m");
+    private static final int SCALE = Integer.parseInt(System.getProperty("sweep.scale", "1"));
+    private static final int CONCURRENCY = Integer.parseInt(System.getProperty("sweep.concurrency", "32"));
+    private static final Duration WARMUP = ThinkTime.parseDuration(System.getProperty("sweep.warmup", "30s"));
+    private static final Duration DURATION = ThinkTime.parseDuration(System.getProperty("sweep.duration", "120s"));
+    private static final Duration COMPLETION_TIMEOUT = ThinkTime.parseDuration(System.getProperty("sweep.completionTimeout", "30m"));
+    private static final List<String> METRICS = PropertyUtils.getList("sweep.metrics", "throughput,latency.p99,timerThroughput,errors");
+    private static final String HEAP = System.getProperty("heap", "4Gi");
+
+    private static final String ONE_TIMER_DATE_PROCESS_ID = "timers-testing.OneTimerDate";
+    private static final String KIE_CONTAINER_DEPLOYMENT = CONTAINER_ID + "=" + Kjar.DEFINITION.toString();
+    private static final String REPO_BRANCH = "master";
+    private static final Duration CLIENT_TIMEOUT = Duration.ofMinutes(5);
+
+    private static String gitRepositoryName = Git.getProvider().createGitRepository(REPOSITORY_NAME, ParameterSweepPerfIntegrationTest.class.getResource(PROJECT_SOURCE_FOLDER).getFile());
+
+    @AfterClass
+    public static void deleteRepo() {
+        Git.getProvider().deleteGitRepository(gitRepositoryName);
+    }
+
+    @Test
+    @Category(Performance.class)
+    public void testParameterSweep() {
+        ParameterSweep<WorkbenchRuntimeSmartRouterImmutableKieServerWithDatabaseScenario> sweep =
+                new ParameterSweep<>("parameterSweep", ParameterMatrix.parse(MATRIX), this::createScenario,
+                                     WorkbenchRuntimeSmartRouterImmutableKieServerWithDatabaseScenario::getKieServerDeployment, METRICS);
+        if (GcStatistics.isEnabled()) {
+            // Applied with every rollout of the sweep, not per point
+            sweep.withJvmOptions(new JvmOptions().withGcLogging(true));
+        }
+
+        ComparisonTable table = sweep.run(this::runWorkload);
+
+        METRICS.forEach(metric -> logger.info("Best {}: {}", metric, table.getBest(metric).map(SweepPoint::toString).orElse("-")));
+        List<String> failedPoints = table.getResults().stream()
+                                         .filter(result -> result.getMetrics().get("errors").getValue() > 0)
+                                         .map(result -> result.getParameters().toString())
+                                         .collect(Collectors.toList());
+        assertThat(failedPoints).as("Sweep points with failed requests").isEmpty();
+    }
+
+    private WorkbenchRuntimeSmartRouterImmutableKieServerWithDatabaseScenario createScenario(SweepPoint point) {
+        try {
+            WorkbenchRuntimeSmartRouterImmutableKieServerWithDatabaseScenarioBuilder builder = deploymentScenarioFactory.getWorkbenchRuntimeSmartRouterImmutableKieServerWithPostgreSqlScenarioBuilder()
+                                                                                                                           .withContainerDeployment(KIE_CONTAINER_DEPLOYMENT)
+                                                                                                                           .withSourceLocation(Git.getProvider().getRepositoryUrl(gitRepositoryName), REPO_BRANCH, DEFINITION_PROJECT_NAME)
+                                                                                                                           .withKieServerMemoryLimit(point.getHeap().orElse(HEAP));
+            point.getRefreshInterval().ifPresent(builder::withTimerServiceDataStoreRefreshInterval);
+            return builder.build();
+        } catch (UnsupportedOperationException ex) {
+            logger.info("KIE Server HTTPS S2I is skipped.", ex);
+            Assume.assumeNoException(ex);
+            return null;
+        }
+    }
+
+    private void runWorkload(WorkbenchRuntimeSmartRouterImmutableKieServerWithDatabaseScenario scenario, SweepPoint point, PerfResult result) {
+        KieServerDeployment kieServerDeployment = scenario.getKieServerDeployment();
+        if (kieServerDeployment.getReplicas() != SCALE) {
+            kieServerDeployment.scale(SCALE);
+            kieServerDeployment.waitForScale();
+        }
+        ProcessServicesClient processClient = KieServerClientProvider.getKieServerClient(kieServerDeployment, CLIENT_TIMEOUT.toMillis())
+                                                                     .getServicesClient(ProcessServicesClient.class);
+        QueryServicesClient queryServicesClient = KieServerClientProvider.getQueryClient(kieServerDeployment);
+
+        startProcesses(processClient, WARMUP);
+        waitForAllProcessesToComplete(queryServicesClient);
+
+        GcStatistics gcStatistics = GcStatistics.isEnabled() ? GcStatistics.start(kieServerDeployment.getInstances()) : null;
+        Instant startTime = Instant.now();
+        LoadResult loadResult = startProcesses(processClient, DURATION);
+        waitForAllProcessesToComplete(queryServicesClient);
+        Duration completionTime = Duration.between(startTime, Instant.now());
+        if (gcStatistics != null) {
+            gcStatistics.collect(kieServerDeployment.getInstances()).addTo(result);
+        }
+        logger.info("{}: {}, all process instances completed in {}", point, loadResult, completionTime);
+
+        result.addParameter("scale", SCALE)
+              .addParameter("concurrency", CONCURRENCY)
+              .addParameter("duration", DURATION.getSeconds())
+              .addMetric("errors", Metric.lowerIsBetter(loadResult.getErrors(), "count"))
+              .addMetric("throughput", Metric.higherIsBetter(loadResult.getThroughput(), "1/s"))
+              .addHistogram("latency", loadResult.getLatency(), "ms")
+              .addMetric("timerThroughput", Metric.higherIsBetter(loadResult.getIterations() * 1000.0 / Math.max(1, completionTime.toMillis()), "1/s"));
+        if (!point.getHeap().isPresent()) {
+            result.addParameter("heap", HEAP);
+        }
+    }
+
+    private LoadResult startProcesses(ProcessServicesClient processClient, Duration duration) {
+        return new LoadDriverBuilder(UserActions.startProcess(processClient, CONTAINER_ID, ONE_TIMER_DATE_PROCESS_ID, Collections.emptyMap()))
+                .withUsers(CONCURRENCY)
+                .withConcurrency(CONCURRENCY)
+                .withDuration(duration)
+                .withIterationsPerUser(Long.MAX_VALUE)
+                .build()
+                .run();
+    }
+
+    private void waitForAllProcessesToComplete(QueryServicesClient queryServicesClient) {
+        TimeUtils.wait(COMPLETION_TIMEOUT, Duration.ofSeconds(1), () -> queryServicesClient.findProcessInstancesByStatus(Collections.singletonList(STATE_ACTIVE), 0, 1).isEmpty());
+    }
+}
@@ -0,0 +1,228 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.kie.cloud.integrationtests.tasks;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+import org.kie.cloud.api.DeploymentScenarioBuilderFactory;
+import org.kie.cloud.api.DeploymentScenarioBuilderFactoryLoader;
+import org.kie.cloud.api.deployment.KieServerDeployment;
+import org.kie.cloud.api.scenario.KieServerWithDatabaseScenario;
+import org.kie.cloud.common.provider.KieServerClientProvider;
+import org.kie.cloud.integrationtests.category.Performance;
+import org.kie.cloud.maven.MavenDeployer;
+import org.kie.cloud.performance.results.Metric;
+import org.kie.cloud.performance.results.PerfResult;
+import org.kie.cloud.performance.results.PerfResultRecorder;
+import org.kie.cloud.performance.tasks.TaskBacklog;
+import org.kie.cloud.performance.tasks.TaskLifecycle;
+import org.kie.cloud.performance.util.PropertyUtils;
+import org.kie.cloud.tests.common.AbstractMethodIsolatedCloudIntegrationTest;
+import org.kie.cloud.tests.common.client.util.Kjar;
+import org.kie.cloud.tests.common.load.LoadDriverBuilder;
+import org.kie.cloud.tests.common.load.LoadResult;
+import org.kie.cloud.tests.common.load.UserAction;
+import org.kie.server.api.model.KieContainerResource;
+import org.kie.server.api.model.ReleaseId;
+import org.kie.server.api.model.ServiceResponse;
+import org.kie.server.client.KieServicesClient;
+import org.kie.server.client.UserTaskServicesClient;
+import org.kie.server.integrationtests.shared.KieServerAssert;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Grows a backlog of open user tasks in steps and measures latency of task queries at every backlog size, then measures
+ * throughput of concurrent claim, start and complete of backlog tasks by many users. Runs against KIE server backed by
+ * a database, results are stored under scenario name <code>userTaskLifecycle</code>.
+ */
+@RunWith(Parameterized.class)
+public class UserTaskLifecyclePerfIntegrationTest extends AbstractMethodIsolatedCloudIntegrationTest<KieServerWithDatabaseScenario> {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserTaskLifecyclePerfIntegrationTest.class);
+
+    private static final List<Integer> BACKLOG_SIZES = PropertyUtils.getList("tasks.backlogSizes", "1000,10000,50000", Integer::valueOf)
+                                                                 .stream()
+                                                                 .sorted()
+                                                                 .collect(Collectors.toList());
+    private static final int TASK_USERS = Integer.parseInt(System.getProperty("tasks.users", "100"));
+    private static final int CONCURRENCY = Integer.parseInt(System.getProperty("tasks.concurrency", "20"));
+    private static final int QUERY_COUNT = Integer.parseInt(System.getProperty("tasks.queries", "500"));
+    private static final int QUERY_CONCURRENCY = Integer.parseInt(System.getProperty("tasks.queryConcurrency", "10"));
+    private static final int PAGE_SIZE = Integer.parseInt(System.getProperty("tasks.pageSize", "10"));
+    private static final int COMPLETED_TASKS = Integer.parseInt(System.getProperty("tasks.completed", "5000"));
+    private static final String HEAP = System.getProperty("heap", "4Gi");
+
+    private static final Kjar DEPLOYED_KJAR = Kjar.DEFINITION;
+    private static final String PROJECT_SOURCE_FOLDER = "/kjars-sources";
+
+    @Parameter(value = 0)
+    public String testScenarioName;
+
+    @Parameter(value = 1)
+    public KieServerWithDatabaseScenario deploymentScenario;
+
+    @Parameters(name = "{0}")
+    public static Collection<Object[]> data() {
+        List<Object[]> scenarios = new ArrayList<>();
+        DeploymentScenarioBuilderFactory deploymentScenarioFactory = DeploymentScenarioBuilderFactoryLoader.getInstance();
+
+        try {
+            KieServerWithDatabaseScenario kieServerPostgreSqlScenario = deploymentScenarioFactory.getKieServerWithPostgreSqlScenarioBuilder()
+                                                                                                 .withInternalMavenRepo(true)
+                                                                                                 .withMemoryLimit(HEAP)
+                                                                                                 .build();
+            scenarios.add(new Object[] { "KIE Server + PostgreSQL", kieServerPostgreSqlScenario });
+        } catch (UnsupportedOperationException ex) {
+            logger.info("KIE Server + PostgreSQL is skipped.", ex);
+        }
+
+        try {
+            KieServerWithDatabaseScenario kieServerMySqlScenario = deploymentScenarioFactory.getKieServerWithMySqlScenarioBuilder()
+                                                                                            .withInternalMavenRepo(true)
+                                                                                            .withMemoryLimit(HEAP)
+                                                                                            .build();
+            scenarios.add(new Object[] { "KIE Server + MySQL", kieServerMySqlScenario });
+        } catch (UnsupportedOperationException ex) {
+            logger.info("KIE Server + MySQL is skipped.", ex);
+        }
+
+        return scenarios;
+    }
+
+    private TaskBacklog backlog;
+    private UserTaskServicesClient taskClient;
+
+    @Override
+    protected KieServerWithDatabaseScenario createDeploymentScenario(DeploymentScenarioBuilderFactory deploymentScenarioFactory) {
+        return deploymentScenario;
+    }
+
+    @BeforeClass
+    public static void checkIterations() {
+        assertThat(QUERY_COUNT).as("Queries, %d query users need at least one query each", QUERY_CONCURRENCY)
+                               .isGreaterThanOrEqualTo(QUERY_CONCURRENCY);
+        assertThat(Math.min(COMPLETED_TASKS, BACKLOG_SIZES.get(BACKLOG_SIZES.size() - 1))).as("Completed tasks, %d users need at least one task each", TASK_USERS)
+                                                                                          .isGreaterThanOrEqualTo(TASK_USERS);
+    }
+
+    @Before
+    public void setUp() {
+        MavenDeployer.buildAndDeployMavenProject(UserTaskLifecyclePerfIntegrationTest.class.getResource(PROJECT_SOURCE_FOLDER + "/" + DEFINITION_PROJECT_NAME).getFile(),
+                                                 deploymentScenario.getMavenRepositoryDeployment());
+
+        KieServerDeployment kieServerDeployment = deploymentScenario.getKieServerDeployment();
+        KieServicesClient kieServerClient = KieServerClientProvider.getKieServerClient(kieServerDeployment);
+        ReleaseId releaseId = new ReleaseId(DEPLOYED_KJAR.getGroupId(), DEPLOYED_KJAR.getArtifactName(), DEPLOYED_KJAR.getVersion());
+        ServiceResponse<KieContainerResource> createContainer = kieServerClient.createContainer(CONTAINER_ID, new KieContainerResource(CONTAINER_ID, releaseId));
+        KieServerAssert.assertSuccess(createContainer);
+        kieServerDeployment.waitForContainerRespin();
+
+        taskClient = KieServerClientProvider.getTaskClient(kieServerDeployment);
+        backlog = new TaskBacklog(KieServerClientProvider.getProcessClient(kieServerDeployment), CONTAINER_ID, kieServerDeployment.getUsername(), TASK_USERS);
+    }
+
+    @Test
+    @Category(Performance.class)
+    public void testUserTaskLifecycle() {
+        PerfResult result = PerfResultRecorder.newResult("userTaskLifecycle");
+        result.addParameter("database", testScenarioName)
+              .addParameter("backlogSizes", BACKLOG_SIZES)
+              .addParameter("users", TASK_USERS)
+              .addParameter("concurrency", CONCURRENCY)
+              .addParameter("queries", QUERY_COUNT)
+              .addParameter("queryConcurrency", QUERY_CONCURRENCY)
+              .addParameter("pageSize", PAGE_SIZE)
+              .addParameter("completed", COMPLETED_TASKS)
+              .addParameter("heap", HEAP);
+
+        Map<String, UserAction> queries = new LinkedHashMap<>();
+        queries.put("findTasks", user -> taskClient.findTasks(taskUser(user.getId()), 0, PAGE_SIZE));
+        queries.put("findTasksAssignedAsPotentialOwner", user -> taskClient.findTasksAssignedAsPotentialOwner(taskUser(user.getId()), 0, PAGE_SIZE));
+
+        Map<String, List<LoadResult>> queryResults = new LinkedHashMap<>();
+        List<String> failedSteps = new ArrayList<>();
+        for (Integer backlogSize : BACKLOG_SIZES) {
+            LoadResult growResult = backlog.growTo(backlogSize, CONCURRENCY);
+            if (growResult != null) {
+                logger.info("Backlog grown to {} tasks: {}", backlogSize, growResult);
+                if (growResult.getErrors() > 0) {
+                    failedSteps.add("growing backlog to " + backlogSize + " tasks");
+                }
+            }
+
+            for (Map.Entry<String, UserAction> query : queries.entrySet()) {
+                LoadResult queryResult = new LoadDriverBuilder(query.getValue()).withUsers(QUERY_CONCURRENCY)
+                                                                                .withConcurrency(QUERY_CONCURRENCY)
+                                                                                .withTotalIterations(QUERY_COUNT)
+                                                                                .build()
+                                                                                .run();
+                logger.info("Query {} with backlog of {} tasks: {}", query.getKey(), backlogSize, queryResult);
+                if (queryResult.getErrors() > 0) {
+                    failedSteps.add("query " + query.getKey() + " with backlog of " + backlogSize + " tasks");
+                }
+
+                result.addHistogram("backlog" + backlogSize + "." + query.getKey(), queryResult.getLatency(), "ms");
+                queryResults.computeIfAbsent(query.getKey(), key -> new ArrayList<>()).add(queryResult);
+            }
+        }
+
+        // Median latency with the biggest backlog relative to the smallest backlog
+        queryResults.forEach((query, results) -> {
+            long smallestBacklogLatency = Math.max(1, results.get(0).getLatency().getValueAtPercentile(50));
+            long biggestBacklogLatency = results.get(results.size() - 1).getLatency().getValueAtPercentile(50);
+            result.addMetric(query + ".degradation", Metric.lowerIsBetter((double) biggestBacklogLatency / smallestBacklogLatency, "ratio"));
+        });
+
+        TaskLifecycle lifecycle = new TaskLifecycle(taskClient, CONTAINER_ID, backlog);
+        LoadResult lifecycleResult = new LoadDriverBuilder(lifecycle.processNextTask()).withUsers(TASK_USERS)
+                                                                                        .withConcurrency(CONCURRENCY)
+                                                                                        .withTotalIterations(Math.min(COMPLETED_TASKS, backlog.size()))
+                                                                                        .build()
+                                                                                        .run();
+        logger.info("Task lifecycle: {}, steps: {}", lifecycleResult, lifecycle);
+
+        result.addMetric("lifecycle.throughput", Metric.higherIsBetter(lifecycleResult.getThroughput(), "1/s"))
+              .addMetric("lifecycle.errors", Metric.lowerIsBetter(lifecycleResult.getErrors(), "count"))
+              .addHistogram("lifecycle.latency", lifecycleResult.getLatency(), "ms");
+        lifecycle.addTo(result, "lifecycle");
+        List<String> regressions = PerfResultRecorder.recordAndCompare(result);
+
+        assertThat(failedSteps).as("Steps with failed requests").isEmpty();
+        assertThat(lifecycleResult.getErrors()).as("Errors of task lifecycle").isZero();
+        PerfResultRecorder.assertNoRegressions(regressions);
+    }
+
+    private static String taskUser(int simulatedUser) {
+        return TaskBacklog.userName(simulatedUser % TASK_USERS);
+    }
+}
@@ -0,0 +1,232 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.cloud.integrationtests.workload;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+import org.kie.cloud.api.DeploymentScenarioBuilderFactory;
+import org.kie.cloud.api.DeploymentScenarioBuilderFactoryLoader;
+import org.kie.cloud.api.deployment.JvmOptions;
+import org.kie.cloud.api.deployment.KieServerDeployment;
+import org.kie.cloud.api.scenario.WorkbenchRuntimeSmartRouterImmutableKieServerWithDatabaseScenario;
+import org.kie.cloud.integrationtests.category.Performance;
+import org.kie.cloud.performance.prometheus.PrometheusClient;
+import org.kie.cloud.performance.prometheus.PrometheusPhaseCollector;
+import org.kie.cloud.performance.results.PerfResult;
+import org.kie.cloud.performance.results.PerfResultRecorder;
+import org.kie.cloud.performance.statistics.GcStatistics;
+import org.kie.cloud.performance.statistics.ScrapedMetricsSummary;
+import org.kie.cloud.performance.util.PropertyUtils;
+import org.kie.cloud.performance.workload.Workload;
+import org.kie.cloud.performance.workload.WorkloadEngine;
+import org.kie.cloud.performance.workload.WorkloadPhase;
+import org.kie.cloud.performance.workload.WorkloadPhaseListener;
+import org.kie.cloud.performance.workload.WorkloadReport;
+import org.kie.cloud.performance.workload.WorkloadTarget;
+import org.kie.cloud.provider.git.Git;
+import org.kie.cloud.tests.common.AbstractMethodIsolatedCloudIntegrationTest;
+import org.kie.cloud.tests.common.client.util.Kjar;
+import org.kie.cloud.tests.common.load.ThinkTime;
+import org.kie.cloud.tests.common.metrics.MetricsScraper;
+import org.kie.cloud.tests.common.profiling.JfrRecording;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static java.util.Collections.singletonMap;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs workload defined by YAML or JSON file (system property <code>workload</code>) against KIE server or smart router
+ * with the definition-project kjar deployed, see {@link Workload}.
+ */
+@RunWith(Parameterized.class)
+public class WorkloadPerfIntegrationTest extends AbstractMethodIsolatedCloudIntegrationTest<WorkbenchRuntimeSmartRouterImmutableKieServerWithDatabaseScenario> {
+
+    private static final Logger logger = LoggerFactory.getLogger(WorkloadPerfIntegrationTest.class);
+
+    private static final String WORKLOAD = System.getProperty("workload", "/workloads/timers-mixed.yaml");
+    private static final int SCALE_COUNT = Integer.parseInt(System.getProperty("scale", "1"));
+    private static final String HEAP = System.getProperty("heap", "4Gi");
+    private static final String PROFILING_PHASE = System.getProperty("profiling.phase", "");
+    private static final String PROFILING_SETTINGS = System.getProperty("profiling.settings", JfrRecording.DEFAULT_SETTINGS);
+    private static final Optional<Duration> METRICS_INTERVAL = Optional.of(System.getProperty("metrics.interval", "")).filter(interval -> !interval.isEmpty()).map(ThinkTime::parseDuration);
+    private static final String PROMETHEUS_URL = System.getProperty("prometheus.url", "");
+    private static final Duration PROMETHEUS_STEP = ThinkTime.parseDuration(System.getProperty("prometheus.step", "15s"));
+    private static final List<String> METRICS_NAMES = PropertyUtils.getList("metrics.names", "kie_server_process_instance_started_total,kie_server_process_instance_completed_total,kie_server_job_executed_total");
+
+    private static final String REPOSITORY_NAME = generateNameWithPrefix("KieServerS2iWorkloadRepository");
+    private static final String KIE_CONTAINER_DEPLOYMENT = CONTAINER_ID + "=" + Kjar.DEFINITION.toString();
+    private static final String REPO_BRANCH = "master";
+    private static final String PROJECT_SOURCE_FOLDER = "/kjars-sources";
+
+    private static String gitRepositoryName = Git.getProvider().createGitRepository(REPOSITORY_NAME, WorkloadPerfIntegrationTest.class.getResource(PROJECT_SOURCE_FOLDER).getFile());
+
+    @Parameter(value = 0)
+    public String testScenarioName;
+
+    @Parameter(value = 1)
+    public WorkbenchRuntimeSmartRouterImmutableKieServerWithDatabaseScenario deploymentScenario;
+
+    @Parameters(name = "{0}")
+    public static Collection<Object[]> data() {
+        List<Object[]> scenarios = new ArrayList<>();
+        DeploymentScenarioBuilderFactory deploymentScenarioFactory = DeploymentScenarioBuilderFactoryLoader.getInstance();
+
+        try {
+            WorkbenchRuntimeSmartRouterImmutableKieServerWithDatabaseScenario scenario = deploymentScenarioFactory.getWorkbenchRuntimeSmartRouterImmutableKieServerWithPostgreSqlScenarioBuilder()
+                                                                                                                  .withContainerDeployment(KIE_CONTAINER_DEPLOYMENT)
+                                                                                                                  .withSourceLocation(Git.getProvider().getRepositoryUrl(gitRepositoryName), REPO_BRANCH, DEFINITION_PROJECT_NAME)
+                                                                                                                  .withKieServerMemoryLimit(HEAP)
+                                                                                                                  .build();
+            scenarios.add(new Object[] { "KIE Server HTTPS S2I", scenario });
+        } catch (UnsupportedOperationException ex) {
+            logger.info("KIE Server HTTPS S2I is skipped.", ex);
+        }
+
+        return scenarios;
+    }
+
+    @Override
+    protected WorkbenchRuntimeSmartRouterImmutableKieServerWithDatabaseScenario createDeploymentScenario(DeploymentScenarioBuilderFactory deploymentScenarioFactory) {
+        return deploymentScenario;
+    }
+
+    @Before
+    public void setUp() {
+        if (GcStatistics.isEnabled()) {
+            deploymentScenario.getKieServerDeployment().setJvmOptions(new JvmOptions().withGcLogging(true));
+        }
+        if (METRICS_INTERVAL.isPresent()) {
+            // Scale to 0 so no pod without Prometheus extension is running once the deployment is scaled back
+            deploymentScenario.getKieServerDeployment().scale(0);
+            deploymentScenario.getKieServerDeployment().waitForScale();
+            deploymentScenario.getKieServerDeployment().setEnvironmentVariables(singletonMap(MetricsScraper.PROMETHEUS_EXTENSION_DISABLED, "false"));
+        }
+        deploymentScenario.getKieServerDeployment().scale(SCALE_COUNT);
+        deploymentScenario.getKieServerDeployment().waitForScale();
+    }
+
+    @AfterClass
+    public static void deleteRepo() {
+        Git.getProvider().deleteGitRepository(gitRepositoryName);
+    }
+
+    @Test
+    @Category(Performance.class)
+    public void testWorkload() {
+        Workload workload = Workload.load(WORKLOAD);
+
+        WorkloadEngine engine;
+        KieServerDeployment kieServerDeployment = deploymentScenario.getKieServerDeployment();
+        if (workload.getTarget() == WorkloadTarget.SMART_ROUTER) {
+            engine = WorkloadEngine.forSmartRouter(deploymentScenario.getSmartRouterDeployment(), kieServerDeployment.getUsername(), kieServerDeployment.getPassword(), CONTAINER_ID);
+        } else {
+            engine = WorkloadEngine.forKieServer(kieServerDeployment, CONTAINER_ID);
+        }
+        if (!PROFILING_PHASE.isEmpty()) {
+            engine.withPhaseListener(new ProfilingListener(kieServerDeployment));
+        }
+        PrometheusPhaseCollector prometheusCollector = null;
+        if (!PROMETHEUS_URL.isEmpty()) {
+            prometheusCollector = new PrometheusPhaseCollector(new PrometheusClient(toUrl(PROMETHEUS_URL)), PROMETHEUS_STEP);
+            engine.withPhaseListener(prometheusCollector);
+        }
+        GcStatistics gcStatistics = GcStatistics.isEnabled() ? GcStatistics.start(kieServerDeployment.getInstances()) : null;
+        WorkloadReport report;
+        MetricsScraper metricsScraper = METRICS_INTERVAL.map(interval -> MetricsScraper.forKieServerInstances(kieServerDeployment, interval)).orElse(null);
+        try {
+            if (metricsScraper != null) {
+                metricsScraper.start();
+            }
+            report = engine.run(workload);
+        } finally {
+            if (metricsScraper != null) {
+                metricsScraper.close();
+            }
+        }
+
+        PerfResult result = PerfResultRecorder.newResult("workload." + workload.getName());
+        result.addParameter("workload", WORKLOAD)
+              .addParameter("target", workload.getTarget().getValue())
+              .addParameter("scale", SCALE_COUNT)
+              .addParameter("heap", HEAP);
+        report.addTo(result);
+        if (gcStatistics != null) {
+            gcStatistics.collect(kieServerDeployment.getInstances()).addTo(result);
+        }
+        if (metricsScraper != null) {
+            ScrapedMetricsSummary.addTo(metricsScraper, METRICS_NAMES, result);
+        }
+        if (prometheusCollector != null) {
+            prometheusCollector.addTo(result);
+        }
+        PerfResultRecorder.record(result);
+
+        assertThat(report.getFailedAssertions()).as("Failed assertions of workload %s", workload.getName()).isEmpty();
+    }
+
+    private static URL toUrl(String url) {
+        try {
+            return new URL(url);
+        } catch (MalformedURLException e) {
+            throw new RuntimeException("Malformed URL " + url, e);
+        }
+    }
+
+    /**
+     * Records all KIE server pods by JFR during the phase given by <code>profiling.phase</code>.
+     */
+    private class ProfilingListener implements WorkloadPhaseListener {
+
+        private final KieServerDeployment kieServerDeployment;
+        private List<JfrRecording> recordings = new ArrayList<>();
+
+        private ProfilingListener(KieServerDeployment kieServerDeployment) {
+            this.kieServerDeployment = kieServerDeployment;
+        }
+
+        @Override
+        public void beforePhase(WorkloadPhase phase) {
+            if (PROFILING_PHASE.equals(phase.getName())) {
+                String recordingName = "workload-" + phase.getName().replaceAll("[^A-Za-z0-9_.-]", "_");
+                recordings = kieServerDeployment.getInstances().stream()
+                                                .map(instance -> JfrRecording.start(instance, recordingName, PROFILING_SETTINGS))
+                                                .collect(Collectors.toList());
+            }
+        }
+
+        @Override
+        public void afterPhase(WorkloadPhase phase) {
+            recordings.forEach(recording -> recording.stop(deploymentScenario.getLogFolderName()));
+            recordings.clear();
+        }
+    }
+}
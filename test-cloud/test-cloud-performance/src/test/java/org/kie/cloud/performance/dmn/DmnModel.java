@@ -0,0 +1,210 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.kie.cloud.performance.dmn;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Generated decision model with decision <code>Score</code> implemented by a decision table with <code>tableSize</code> rules
+ * and hit policy FIRST, plus a catch-all rule. Inputs are <code>Age</code> (number from 0 to tableSize), <code>Income</code>
+ * (number from 0 to 100000) and <code>Category</code> (A, B or C). Random inputs hit rules uniformly, so on average half of
+ * the table is evaluated.
+ */
+public class DmnModel {
+
+    public static final String SCORE_DECISION = "Score";
+    public static final String RATING_DECISION = "Rating";
+
+    private static final String DMN_NAMESPACE = "http://www.omg.org/spec/DMN/20180521/MODEL/";
+    private static final String MODEL_NAMESPACE_PREFIX = "https://kiegroup.org/dmn/perf/";
+    private static final int MAX_INCOME = 100000;
+    private static final List<String> CATEGORIES = Arrays.asList("A", "B", "C");
+
+    private final int tableSize;
+    private final FeelComplexity complexity;
+
+    public DmnModel(int tableSize, FeelComplexity complexity) {
+        if (tableSize < 1) {
+            throw new IllegalArgumentException("Table size has to be positive, was " + tableSize);
+        }
+        this.tableSize = tableSize;
+        this.complexity = complexity;
+    }
+
+    public int getTableSize() {
+        return tableSize;
+    }
+
+    public FeelComplexity getComplexity() {
+        return complexity;
+    }
+
+    public String getName() {
+        return "score-" + complexity.getValue() + "-" + tableSize;
+    }
+
+    public String getNamespace() {
+        return MODEL_NAMESPACE_PREFIX + getName();
+    }
+
+    /**
+     * @return Names of decisions which have to be evaluated successfully.
+     */
+    public List<String> getDecisionNames() {
+        return complexity == FeelComplexity.COMPLEX ? Arrays.asList(SCORE_DECISION, RATING_DECISION) : Collections.singletonList(SCORE_DECISION);
+    }
+
+    /**
+     * @return Random values of all model inputs.
+     */
+    public Map<String, Object> randomInputs() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Map<String, Object> inputs = new HashMap<>();
+        inputs.put("Age", BigDecimal.valueOf(random.nextInt(tableSize)));
+        inputs.put("Income", BigDecimal.valueOf(random.nextInt(MAX_INCOME + 1)));
+        inputs.put("Category", CATEGORIES.get(random.nextInt(CATEGORIES.size())));
+        return inputs;
+    }
+
+    /**
+     * @return Model in DMN 1.2 XML format.
+     */
+    public String toXml() {
+        StringBuilder xml = new StringBuilder();
+        xml.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+           .append("<definitions xmlns=\"").append(DMN_NAMESPACE).append("\" id=\"_").append(getName()).append("\" name=\"").append(getName())
+           .append("\" namespace=\"").append(getNamespace()).append("\">\n");
+        appendInputData(xml, "Age", "number");
+        appendInputData(xml, "Income", "number");
+        appendInputData(xml, "Category", "string");
+
+        List<String[]> inputs = tableInputs();
+        xml.append("  <decision id=\"_Score\" name=\"").append(SCORE_DECISION).append("\">\n")
+           .append("    <variable id=\"_Score_variable\" name=\"").append(SCORE_DECISION).append("\" typeRef=\"number\"/>\n");
+        appendRequiredInputs(xml, "Score", usedInputs());
+        xml.append("    <decisionTable id=\"_Score_table\" hitPolicy=\"FIRST\">\n");
+        for (int i = 0; i < inputs.size(); i++) {
+            xml.append("      <input id=\"_Score_input").append(i).append("\">\n")
+               .append("        <inputExpression id=\"_Score_inputExpression").append(i).append("\" typeRef=\"").append(inputs.get(i)[1]).append("\">\n")
+               .append("          <text>").append(escape(inputs.get(i)[0])).append("</text>\n")
+               .append("        </inputExpression>\n")
+               .append("      </input>\n");
+        }
+        xml.append("      <output id=\"_Score_output\" typeRef=\"number\"/>\n");
+        for (int rule = 0; rule < tableSize; rule++) {
+            appendRule(xml, rule, ruleEntries(rule), String.valueOf(rule));
+        }
+        List<String> catchAll = new ArrayList<>();
+        inputs.forEach(input -> catchAll.add("-"));
+        appendRule(xml, tableSize, catchAll, "-1");
+        xml.append("    </decisionTable>\n")
+           .append("  </decision>\n");
+
+        if (complexity == FeelComplexity.COMPLEX) {
+            xml.append("  <decision id=\"_Rating\" name=\"").append(RATING_DECISION).append("\">\n")
+               .append("    <variable id=\"_Rating_variable\" name=\"").append(RATING_DECISION).append("\" typeRef=\"number\"/>\n")
+               .append("    <informationRequirement id=\"_Rating_requirement_Score\">\n")
+               .append("      <requiredDecision href=\"#_Score\"/>\n")
+               .append("    </informationRequirement>\n");
+            appendRequiredInputs(xml, "Rating", Arrays.asList("Age", "Income", "Category"));
+            xml.append("    <literalExpression id=\"_Rating_expression\">\n")
+               .append("      <text>").append(escape("if Score >= 0 then decimal(sum([Score, Age, Income / 1000]) * (if Category = \"A\" then 1.1 else 0.9), 2) else 0")).append("</text>\n")
+               .append("    </literalExpression>\n")
+               .append("  </decision>\n");
+        }
+        xml.append("</definitions>\n");
+        return xml.toString();
+    }
+
+    /**
+     * @return Pairs of input expression and its type.
+     */
+    private List<String[]> tableInputs() {
+        switch (complexity) {
+            case SIMPLE:
+                return Collections.singletonList(new String[] {"Age", "number"});
+            case MODERATE:
+                return Arrays.asList(new String[] {"Age", "number"},
+                                     new String[] {"Income", "number"},
+                                     new String[] {"Category", "string"});
+            default:
+                return Arrays.asList(new String[] {"Age + floor(Income / 1000000)", "number"},
+                                     new String[] {"Income * (1 + Age / 100)", "number"},
+                                     new String[] {"upper case(Category) + string(modulo(Age, 3))", "string"});
+        }
+    }
+
+    private List<String> usedInputs() {
+        return complexity == FeelComplexity.SIMPLE ? Collections.singletonList("Age") : Arrays.asList("Age", "Income", "Category");
+    }
+
+    private List<String> ruleEntries(int rule) {
+        String ageEntry = "[" + rule + ".." + (rule + 1) + ")";
+        String incomeEntry = ">= " + (rule % 5) * (MAX_INCOME / 5);
+        switch (complexity) {
+            case SIMPLE:
+                return Collections.singletonList(ageEntry);
+            case MODERATE:
+                return Arrays.asList(ageEntry, incomeEntry, rule % 2 == 0 ? "\"A\",\"B\"" : "not(\"C\")");
+            default:
+                return Arrays.asList(ageEntry, incomeEntry, rule % 2 == 0 ? "not(\"C0\",\"C1\",\"C2\")" : "\"A0\",\"B1\",\"C2\"");
+        }
+    }
+
+    private static void appendInputData(StringBuilder xml, String name, String typeRef) {
+        xml.append("  <inputData id=\"_").append(name).append("\" name=\"").append(name).append("\">\n")
+           .append("    <variable id=\"_").append(name).append("_variable\" name=\"").append(name).append("\" typeRef=\"").append(typeRef).append("\"/>\n")
+           .append("  </inputData>\n");
+    }
+
+    private static void appendRequiredInputs(StringBuilder xml, String decision, List<String> inputNames) {
+        for (String input : inputNames) {
+            xml.append("    <informationRequirement id=\"_").append(decision).append("_requirement_").append(input).append("\">\n")
+               .append("      <requiredInput href=\"#_").append(input).append("\"/>\n")
+               .append("    </informationRequirement>\n");
+        }
+    }
+
+    private static void appendRule(StringBuilder xml, int rule, List<String> entries, String output) {
+        xml.append("      <rule id=\"_Score_rule").append(rule).append("\">\n");
+        for (int i = 0; i < entries.size(); i++) {
+            xml.append("        <inputEntry id=\"_Score_rule").append(rule).append("_input").append(i).append("\">\n")
+               .append("          <text>").append(escape(entries.get(i))).append("</text>\n")
+               .append("        </inputEntry>\n");
+        }
+        xml.append("        <outputEntry id=\"_Score_rule").append(rule).append("_output\">\n")
+           .append("          <text>").append(output).append("</text>\n")
+           .append("        </outputEntry>\n")
+           .append("      </rule>\n");
+    }
+
+    private static String escape(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+
+    @Override
+    public String toString() {
+        return getName();
+    }
+}
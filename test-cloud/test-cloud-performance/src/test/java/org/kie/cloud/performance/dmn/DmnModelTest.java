@@ -0,0 +1,67 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.kie.cloud.performance.dmn;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.junit.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DmnModelTest {
+
+    @Test
+    public void testDecisionTableSize() throws Exception {
+        for (FeelComplexity complexity : FeelComplexity.values()) {
+            Document model = parse(new DmnModel(50, complexity));
+
+            // Generated rules plus the catch-all rule
+            assertThat(model.getElementsByTagName("rule").getLength()).as("Rules of %s model", complexity).isEqualTo(51);
+            assertThat(model.getElementsByTagName("decision").getLength()).as("Decisions of %s model", complexity)
+                                                                           .isEqualTo(complexity == FeelComplexity.COMPLEX ? 2 : 1);
+        }
+    }
+
+    @Test
+    public void testElementIdsAreUnique() throws Exception {
+        for (FeelComplexity complexity : FeelComplexity.values()) {
+            NodeList elements = parse(new DmnModel(10, complexity)).getElementsByTagName("*");
+
+            Set<String> ids = new HashSet<>();
+            for (int i = 0; i < elements.getLength(); i++) {
+                String id = ((Element) elements.item(i)).getAttribute("id");
+                if (!id.isEmpty()) {
+                    assertThat(ids.add(id)).as("Id %s of %s model is unique", id, complexity).isTrue();
+                }
+            }
+        }
+    }
+
+    private static Document parse(DmnModel model) throws Exception {
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        return factory.newDocumentBuilder().parse(new ByteArrayInputStream(model.toXml().getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.kie.cloud.performance.dmn;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+
+import org.kie.server.api.model.ReleaseId;
+
+/**
+ * Writes Maven project of a kjar containing generated decision models, so the kjar can be built by
+ * {@link org.kie.cloud.maven.MavenDeployer} like kjars from <code>kjars-sources</code>.
+ */
+public class DmnProjectGenerator {
+
+    public static final String GROUP_ID = "org.kie.server.testing";
+    public static final String ARTIFACT_ID = "dmn-perf-project";
+    public static final String VERSION = "1.0.0-SNAPSHOT";
+
+    private static final String MODELS_FOLDER = "src/main/resources/org/kie/server/testing/dmn";
+
+    private DmnProjectGenerator() {}
+
+    public static ReleaseId getReleaseId() {
+        return new ReleaseId(GROUP_ID, ARTIFACT_ID, VERSION);
+    }
+
+    /**
+     * @param projectDir Directory where the project is written, existing files are overwritten.
+     * @param models Models included in the kjar.
+     */
+    public static void generate(Path projectDir, Collection<DmnModel> models) {
+        try {
+            Path modelsDir = Files.createDirectories(projectDir.resolve(MODELS_FOLDER));
+            Path metaInfDir = Files.createDirectories(projectDir.resolve("src/main/resources/META-INF"));
+
+            write(projectDir.resolve("pom.xml"), pom());
+            write(metaInfDir.resolve("kmodule.xml"), "<kmodule xmlns=\"http://www.drools.org/xsd/kmodule\"/>\n");
+            for (DmnModel model : models) {
+                write(modelsDir.resolve(model.getName() + ".dmn"), model.toXml());
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Error while generating DMN project in " + projectDir, e);
+        }
+    }
+
+    private static String pom() {
+        return "<project xmlns=\"http://maven.apache.org/POM/4.0.0\" xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\"\n" +
+               "         xsi:schemaLocation=\"http://maven.apache.org/POM/4.0.0 http://maven.apache.org/xsd/maven-4.0.0.xsd\">\n" +
+               "  <modelVersion>4.0.0</modelVersion>\n" +
+               "\n" +
+               "  <groupId>" + GROUP_ID + "</groupId>\n" +
+               "  <artifactId>" + ARTIFACT_ID + "</artifactId>\n" +
+               "  <version>" + VERSION + "</version>\n" +
+               "\n" +
+               "  <properties>\n" +
+               "    <project.build.sourceEncoding>UTF-8</project.build.sourceEncoding>\n" +
+               "  </properties>\n" +
+               "</project>\n";
+    }
+
+    private static void write(Path file, String content) throws IOException {
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.kie.cloud.performance.dmn;
+
+import java.util.Arrays;
+
+/**
+ * Complexity of FEEL expressions used by generated decision tables, see {@link DmnModel}.
+ */
+public enum FeelComplexity {
+
+    /**
+     * One input used directly, range tests only.
+     */
+    SIMPLE("simple"),
+    /**
+     * Three inputs used directly, range, comparison and string list tests.
+     */
+    MODERATE("moderate"),
+    /**
+     * Three computed input expressions using arithmetic and built-in functions and a literal expression decision depending
+     * on the decision table result.
+     */
+    COMPLEX("complex");
+
+    private final String value;
+
+    FeelComplexity(String value) {
+        this.value = value;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public static FeelComplexity fromValue(String value) {
+        return Arrays.stream(values())
+                     .filter(complexity -> complexity.value.equalsIgnoreCase(value.trim()))
+                     .findFirst()
+                     .orElseThrow(() -> new IllegalArgumentException("Unknown FEEL complexity " + value + ", supported values are simple, moderate and complex"));
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.kie.cloud.performance.optaplanner;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.kie.cloud.api.deployment.CommandExecutionResult;
+import org.kie.cloud.api.deployment.Deployment;
+import org.kie.cloud.api.deployment.Instance;
+import org.kie.cloud.performance.results.PerfResult;
+import org.kie.cloud.tests.common.statistics.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Periodically samples memory usage of all pods of a deployment as reported by their memory cgroup, so it includes the whole
+ * container, not just the JVM heap. Both cgroup v1 and v2 are supported.
+ */
+public class PodMemorySampler implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(PodMemorySampler.class);
+
+    private static final String READ_MEMORY_USAGE = "cat /sys/fs/cgroup/memory/memory.usage_in_bytes 2>/dev/null || cat /sys/fs/cgroup/memory.current";
+    private static final long MEBIBYTE = 1024 * 1024;
+
+    private final Deployment deployment;
+    private final SortedMap<String, Histogram> memoryPerPod = new ConcurrentSkipListMap<>();
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+
+    private PodMemorySampler(Deployment deployment) {
+        this.deployment = deployment;
+    }
+
+    /**
+     * Start sampling memory of all pods of the deployment until the sampler is closed.
+     */
+    public static PodMemorySampler start(Deployment deployment, Duration interval) {
+        PodMemorySampler sampler = new PodMemorySampler(deployment);
+        sampler.executor.scheduleWithFixedDelay(sampler::sample, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+        return sampler;
+    }
+
+    private void sample() {
+        try {
+            for (Instance instance : deployment.getInstances()) {
+                CommandExecutionResult result = instance.runCommand("sh", "-c", READ_MEMORY_USAGE);
+                String output = result.getOutput() == null ? "" : result.getOutput().trim();
+                if (output.isEmpty()) {
+                    logger.warn("Memory usage of pod {} not available: {}", instance.getName(), result.getError());
+                    continue;
+                }
+                memoryPerPod.computeIfAbsent(instance.getName(), pod -> new Histogram()).record(Long.parseLong(output) / MEBIBYTE);
+            }
+        } catch (RuntimeException e) {
+            // Sampling must not stop because of a pod being restarted
+            logger.warn("Error while sampling memory of pods", e);
+        }
+    }
+
+    /**
+     * @return Memory usage histograms in MiB per pod.
+     */
+    public SortedMap<String, Histogram> getMemoryPerPod() {
+        return memoryPerPod;
+    }
+
+    /**
+     * Add memory usage of all pods as metrics and maximal memory usage of each pod as a distribution to the result.
+     */
+    public void addTo(PerfResult result) {
+        Histogram totalMemory = new Histogram();
+        Map<String, Long> maxMemory = new TreeMap<>();
+        memoryPerPod.forEach((pod, memory) -> {
+            totalMemory.add(memory);
+            maxMemory.put(pod, memory.getMax());
+        });
+        result.addHistogram("podMemory", totalMemory, "MiB");
+        result.addDistribution("podMemoryMax", maxMemory);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        try {
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while stopping memory sampling", e);
+        }
+    }
+}
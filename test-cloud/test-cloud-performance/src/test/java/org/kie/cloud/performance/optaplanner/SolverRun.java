@@ -0,0 +1,168 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.kie.cloud.performance.optaplanner;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.kie.server.api.model.instance.SolverInstance;
+
+/**
+ * Progression of the best score of one solver, built from periodic polls of the solver status. The best score reported by the
+ * solver changes only when it improves, so every change is recorded as an improvement at the time of the poll which noticed it.
+ */
+public class SolverRun {
+
+    private static final Pattern SCORE_PATTERN = Pattern.compile("(?:(-?\\d+)init/)?(-?\\d+)hard/(-?\\d+)soft");
+
+    private final String solverId;
+    private final long startNanos;
+    private final List<ScorePoint> progression = new ArrayList<>();
+    private long finishedMillis = -1;
+
+    public SolverRun(String solverId) {
+        this.solverId = solverId;
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * Record the current state of the solver.
+     *
+     * @param solver Solver returned by the solver client, without best solution.
+     */
+    public void update(SolverInstance solver) {
+        long elapsedMillis = elapsedMillis();
+        if (solver.getScoreWrapper() != null && solver.getScoreWrapper().getScoreString() != null) {
+            String score = solver.getScoreWrapper().getScoreString();
+            if (progression.isEmpty() || !progression.get(progression.size() - 1).getScore().equals(score)) {
+                progression.add(new ScorePoint(elapsedMillis, score));
+            }
+        }
+        if (solver.getStatus() == SolverInstance.SolverStatus.NOT_SOLVING && finishedMillis < 0) {
+            finishedMillis = elapsedMillis;
+        }
+    }
+
+    public String getSolverId() {
+        return solverId;
+    }
+
+    public boolean isFinished() {
+        return finishedMillis >= 0;
+    }
+
+    /**
+     * @return Milliseconds from submitting the problem until the solver stopped, -1 if it is still solving.
+     */
+    public long getSolveTimeMillis() {
+        return finishedMillis;
+    }
+
+    /**
+     * @return Milliseconds from submitting the problem until the last improvement of the best score, -1 if no score was reported.
+     */
+    public long getTimeToBestScoreMillis() {
+        return progression.isEmpty() ? -1 : progression.get(progression.size() - 1).getElapsedMillis();
+    }
+
+    public ScorePoint getBestScore() {
+        return progression.isEmpty() ? null : progression.get(progression.size() - 1);
+    }
+
+    /**
+     * @return Best score which was known at given time since submitting the problem, null if no score was reported yet.
+     */
+    public ScorePoint getBestScoreAt(long elapsedMillis) {
+        ScorePoint best = null;
+        for (ScorePoint point : progression) {
+            if (point.getElapsedMillis() > elapsedMillis) {
+                break;
+            }
+            best = point;
+        }
+        return best;
+    }
+
+    public List<ScorePoint> getProgression() {
+        return Collections.unmodifiableList(progression);
+    }
+
+    private long elapsedMillis() {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    @Override
+    public String toString() {
+        return "Solver " + solverId + " best score " + getBestScore() + " solved in " + finishedMillis + " ms";
+    }
+
+    /**
+     * Best score of a hard/soft score solution, the init part is present only while the construction heuristic is running.
+     */
+    public static class ScorePoint {
+
+        private final long elapsedMillis;
+        private final String score;
+        private final long initScore;
+        private final long hardScore;
+        private final long softScore;
+
+        ScorePoint(long elapsedMillis, String score) {
+            Matcher matcher = SCORE_PATTERN.matcher(score);
+            if (!matcher.matches()) {
+                throw new IllegalArgumentException("Score " + score + " is not a hard/soft score");
+            }
+            this.elapsedMillis = elapsedMillis;
+            this.score = score;
+            this.initScore = matcher.group(1) == null ? 0 : Long.parseLong(matcher.group(1));
+            this.hardScore = Long.parseLong(matcher.group(2));
+            this.softScore = Long.parseLong(matcher.group(3));
+        }
+
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+
+        public String getScore() {
+            return score;
+        }
+
+        public boolean isInitialized() {
+            return initScore == 0;
+        }
+
+        public boolean isFeasible() {
+            return isInitialized() && hardScore >= 0;
+        }
+
+        public long getHardScore() {
+            return hardScore;
+        }
+
+        public long getSoftScore() {
+            return softScore;
+        }
+
+        @Override
+        public String toString() {
+            return score + " at " + elapsedMillis + " ms";
+        }
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.kie.cloud.performance.prometheus;
+
+/**
+ * Predefined range queries of KIE server metrics exposed by its Prometheus extension. All pods are aggregated into one series.
+ * The expression of every query can be overridden by system property <code>prometheus.query.&lt;name&gt;</code>, for example if
+ * metric names differ between KIE server versions.
+ */
+public enum KieQuery {
+
+    PROCESS_START_RATE("processStartRate", "sum(rate(kie_server_process_instance_started_total[1m]))", "1/s", true),
+    PROCESS_COMPLETION_RATE("processCompletionRate", "sum(rate(kie_server_process_instance_completed_total[1m]))", "1/s", true),
+    // KIE server has no timer specific metric, timers executed by jobs executor are counted as jobs
+    JOB_EXECUTION_RATE("jobExecutionRate", "sum(rate(kie_server_job_executed_total[1m]))", "1/s", true),
+    HEAP_USED("heapUsed", "sum(jvm_memory_bytes_used{area=\"heap\"}) / 1048576", "MB", false),
+    THREADS("threads", "sum(jvm_threads_current)", "count", false),
+    HTTP_REQUEST_DURATION("httpRequestDuration", "1000 * sum(rate(http_request_duration_seconds_sum[1m])) / sum(rate(http_request_duration_seconds_count[1m]))", "ms", false);
+
+    private static final String QUERY_PROPERTY_PREFIX = "prometheus.query.";
+
+    private final String name;
+    private final String defaultQuery;
+    private final String unit;
+    private final boolean higherIsBetter;
+
+    KieQuery(String name, String defaultQuery, String unit, boolean higherIsBetter) {
+        this.name = name;
+        this.defaultQuery = defaultQuery;
+        this.unit = unit;
+        this.higherIsBetter = higherIsBetter;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return PromQL expression, the default one unless overridden by system property.
+     */
+    public String getQuery() {
+        return System.getProperty(QUERY_PROPERTY_PREFIX + name, defaultQuery);
+    }
+
+    public String getUnit() {
+        return unit;
+    }
+
+    public boolean isHigherIsBetter() {
+        return higherIsBetter;
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.cloud.performance.prometheus;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UnsupportedEncodingException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import com.google.gson.Gson;
+import org.kie.cloud.api.deployment.PrometheusDeployment;
+import org.kie.cloud.tests.common.metrics.MetricSeries;
+import org.kie.cloud.tests.common.metrics.MetricsSource;
+import org.kie.cloud.tests.common.metrics.PrometheusTextParser;
+
+/**
+ * Client of Prometheus HTTP API range queries (<code>/api/v1/query_range</code>).
+ */
+public class PrometheusClient {
+
+    public static final String QUERY_RANGE_PATH = "/api/v1/query_range";
+
+    private static final String SUCCESS_STATUS = "success";
+    private static final String MATRIX_RESULT_TYPE = "matrix";
+    private static final String METRIC_NAME_LABEL = "__name__";
+
+    private static final Gson GSON = new Gson();
+
+    private final URL url;
+
+    /**
+     * @param url Prometheus URL, without the API path.
+     */
+    public PrometheusClient(URL url) {
+        this.url = url;
+    }
+
+    public static PrometheusClient forDeployment(PrometheusDeployment prometheusDeployment) {
+        return new PrometheusClient(prometheusDeployment.getUrl());
+    }
+
+    /**
+     * Evaluate the query over a time range.
+     *
+     * @param query PromQL expression.
+     * @param start Start of the range, inclusive.
+     * @param end End of the range, inclusive.
+     * @param step Resolution of the returned series.
+     * @return One series per label set returned by the query, empty if the query matches no data.
+     */
+    public List<RangeSeries> queryRange(String query, Instant start, Instant end, Duration step) {
+        URL queryUrl = queryRangeUrl(query, start, end, step);
+        try {
+            HttpURLConnection connection = (HttpURLConnection) queryUrl.openConnection();
+            connection.setConnectTimeout(MetricsSource.HTTP_TIMEOUT_MILLIS);
+            connection.setReadTimeout(MetricsSource.HTTP_TIMEOUT_MILLIS);
+            connection.setRequestProperty("Accept", "application/json");
+            int responseCode = connection.getResponseCode();
+            // Failed queries return error details in JSON body together with 4xx or 5xx status
+            InputStream body = responseCode < HttpURLConnection.HTTP_BAD_REQUEST ? connection.getInputStream() : connection.getErrorStream();
+            if (body == null) {
+                throw new RuntimeException("Prometheus query " + query + " failed with response code " + responseCode);
+            }
+            try (Reader reader = new InputStreamReader(body, StandardCharsets.UTF_8)) {
+                return toSeries(query, GSON.fromJson(reader, QueryResponse.class));
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Error while querying Prometheus " + queryUrl, e);
+        }
+    }
+
+    URL queryRangeUrl(String query, Instant start, Instant end, Duration step) {
+        String baseUrl = url.toExternalForm().replaceAll("/+$", "");
+        String parameters = "query=" + encode(query) + "&start=" + toSeconds(start) + "&end=" + toSeconds(end) + "&step=" + toSeconds(step.toMillis());
+        try {
+            return new URL(baseUrl + QUERY_RANGE_PATH + "?" + parameters);
+        } catch (IOException e) {
+            throw new RuntimeException("Invalid Prometheus URL " + baseUrl, e);
+        }
+    }
+
+    private static List<RangeSeries> toSeries(String query, QueryResponse response) {
+        if (response == null || !SUCCESS_STATUS.equals(response.status)) {
+            String error = response == null ? "empty response" : response.errorType + ": " + response.error;
+            throw new RuntimeException("Prometheus query " + query + " failed with " + error);
+        }
+        if (!MATRIX_RESULT_TYPE.equals(response.data.resultType)) {
+            throw new RuntimeException("Prometheus query " + query + " returned " + response.data.resultType + " instead of " + MATRIX_RESULT_TYPE);
+        }
+
+        List<RangeSeries> series = new ArrayList<>();
+        for (MatrixResult result : response.data.result) {
+            Map<String, String> labels = result.metric == null ? Collections.emptyMap() : result.metric;
+            MetricSeries values = new MetricSeries(labels.getOrDefault(METRIC_NAME_LABEL, query) + labels);
+            for (List<Object> value : result.values) {
+                long timestamp = Math.round(((Number) value.get(0)).doubleValue() * 1000);
+                values.add(timestamp, PrometheusTextParser.parseValue(String.valueOf(value.get(1))));
+            }
+            series.add(new RangeSeries(labels, values));
+        }
+        return series;
+    }
+
+    private static String toSeconds(Instant instant) {
+        return toSeconds(instant.toEpochMilli());
+    }
+
+    private static String toSeconds(long millis) {
+        return String.format("%d.%03d", millis / 1000, millis % 1000);
+    }
+
+    private static String encode(String value) {
+        try {
+            return URLEncoder.encode(value, StandardCharsets.UTF_8.name());
+        } catch (UnsupportedEncodingException e) {
+            throw new RuntimeException("UTF-8 encoding is not supported", e);
+        }
+    }
+
+    // JSON structure of query_range response, filled by Gson
+    private static class QueryResponse {
+
+        private String status;
+        private String errorType;
+        private String error;
+        private QueryData data;
+    }
+
+    private static class QueryData {
+
+        private String resultType;
+        private List<MatrixResult> result = new ArrayList<>();
+    }
+
+    private static class MatrixResult {
+
+        private Map<String, String> metric;
+        private List<List<Object>> values = new ArrayList<>();
+    }
+}
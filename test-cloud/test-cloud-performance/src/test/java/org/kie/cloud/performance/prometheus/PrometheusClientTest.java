@@ -0,0 +1,105 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.kie.cloud.performance.prometheus;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.cloud.tests.common.metrics.MetricSeries;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+
+public class PrometheusClientTest {
+
+    private static final String HEAP_QUERY = "sum(jvm_memory_bytes_used{area=\"heap\"}) by (pod)";
+    private static final String INVALID_QUERY = "sum(";
+
+    private HttpServer server;
+    private PrometheusClient client;
+    private volatile String requestQuery;
+
+    @Before
+    public void startServer() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext(PrometheusClient.QUERY_RANGE_PATH, exchange -> {
+            requestQuery = URLDecoder.decode(exchange.getRequestURI().getRawQuery(), StandardCharsets.UTF_8.name());
+            boolean invalid = requestQuery.contains("query=" + INVALID_QUERY + "&");
+            byte[] body = recordedResponse(invalid ? "query_range_error.json" : "query_range.json");
+            exchange.sendResponseHeaders(invalid ? 400 : 200, body.length);
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(body);
+            }
+        });
+        server.start();
+        client = new PrometheusClient(new URL("http://localhost:" + server.getAddress().getPort() + "/"));
+    }
+
+    @After
+    public void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    public void testQueryRange() {
+        List<RangeSeries> series = client.queryRange(HEAP_QUERY, Instant.ofEpochSecond(1602590400), Instant.ofEpochMilli(1602590431250L), Duration.ofMillis(15500));
+
+        assertThat(requestQuery).isEqualTo("query=" + HEAP_QUERY + "&start=1602590400.000&end=1602590431.250&step=15.500");
+        assertThat(series).hasSize(2);
+        assertThat(series.get(0).getLabels()).contains(entry("pod", "kieserver-1-abcde"), entry("area", "heap"));
+
+        MetricSeries first = series.get(0).getValues();
+        assertThat(first.size()).isEqualTo(3);
+        assertThat(first.getTimestamp(1)).isEqualTo(1602590415500L);
+        assertThat(first.getValue(1)).isEqualTo(209715200);
+        assertThat(first.getValue(2)).isNaN();
+        assertThat(first.getMean()).isEqualTo(157286400);
+        assertThat(first.getMax()).isEqualTo(209715200);
+
+        assertThat(series.get(1).getValues().getMax()).isEqualTo(Double.POSITIVE_INFINITY);
+    }
+
+    @Test
+    public void testFailedQuery() {
+        assertThatThrownBy(() -> client.queryRange(INVALID_QUERY, Instant.ofEpochSecond(1602590400), Instant.ofEpochSecond(1602590460), Duration.ofSeconds(15)))
+            .isInstanceOf(RuntimeException.class)
+            .hasMessageContaining("bad_data");
+    }
+
+    private static byte[] recordedResponse(String name) throws IOException {
+        try {
+            return Files.readAllBytes(Paths.get(PrometheusClientTest.class.getResource("/prometheus/" + name).toURI()));
+        } catch (URISyntaxException e) {
+            throw new IOException(e);
+        }
+    }
+}
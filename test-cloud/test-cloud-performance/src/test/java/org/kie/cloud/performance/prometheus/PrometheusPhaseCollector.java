@@ -0,0 +1,127 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.cloud.performance.prometheus;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+
+import org.kie.cloud.performance.results.Metric;
+import org.kie.cloud.performance.results.PerfResult;
+import org.kie.cloud.performance.results.PerfResultStore;
+import org.kie.cloud.performance.workload.WorkloadPhase;
+import org.kie.cloud.performance.workload.WorkloadPhaseListener;
+import org.kie.cloud.tests.common.metrics.MetricSeries;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Remembers the time window of every workload phase and pulls {@link KieQuery} results of each window from Prometheus.
+ *
+ * Metrics <code>&lt;phase&gt;.prometheus.&lt;query&gt;.avg</code> and <code>.max</code> are added to the result, all returned series
+ * are stored as report <code>prometheus</code>. A query failure is only logged, so an unavailable Prometheus doesn't fail the run.
+ * NaN and infinite samples, for example a request duration ratio in a window without requests, are left out of the metrics.
+ */
+public class PrometheusPhaseCollector implements WorkloadPhaseListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(PrometheusPhaseCollector.class);
+
+    private static final String METRICS_PREFIX = ".prometheus.";
+    private static final String PROMETHEUS_REPORT = "prometheus";
+
+    private final PrometheusClient client;
+    private final Duration step;
+    private final Map<String, Instant[]> phaseWindows = new LinkedHashMap<>();
+    private Instant phaseStart;
+
+    /**
+     * @param client Client of Prometheus scraping the KIE server pods.
+     * @param step Resolution of queried series.
+     */
+    public PrometheusPhaseCollector(PrometheusClient client, Duration step) {
+        this.client = client;
+        this.step = step;
+    }
+
+    @Override
+    public void beforePhase(WorkloadPhase phase) {
+        phaseStart = Instant.now();
+    }
+
+    @Override
+    public void afterPhase(WorkloadPhase phase) {
+        phaseWindows.put(phase.getName(), new Instant[] { phaseStart, Instant.now() });
+    }
+
+    /**
+     * Query all phases finished so far. As Prometheus scrapes periodically, call it some time after the last phase to have its end covered.
+     */
+    public void addTo(PerfResult result) {
+        StringBuilder csv = new StringBuilder("phase,query,series,timestamp,value").append(System.lineSeparator());
+        phaseWindows.forEach((phaseName, window) -> {
+            for (KieQuery query : KieQuery.values()) {
+                List<RangeSeries> series;
+                try {
+                    series = client.queryRange(query.getQuery(), window[0], window[1], step);
+                } catch (RuntimeException e) {
+                    logger.warn("Prometheus query {} of phase {} failed, query is skipped.", query.getName(), phaseName, e);
+                    continue;
+                }
+                if (series.isEmpty()) {
+                    logger.warn("Prometheus query {} of phase {} returned no data.", query.getName(), phaseName);
+                    continue;
+                }
+
+                series.forEach(s -> appendCsv(csv, phaseName, query, s.getValues()));
+                OptionalDouble max = series.stream().flatMapToDouble(s -> finiteValues(s.getValues())).max();
+                if (!max.isPresent()) {
+                    logger.warn("Prometheus query {} of phase {} returned no finite value.", query.getName(), phaseName);
+                    continue;
+                }
+
+                String metricName = phaseName + METRICS_PREFIX + query.getName();
+                double mean = series.stream().map(s -> finiteValues(s.getValues()).average()).filter(OptionalDouble::isPresent).mapToDouble(OptionalDouble::getAsDouble).sum();
+                result.addMetric(metricName + ".avg", metric(query, mean));
+                result.addMetric(metricName + ".max", metric(query, max.getAsDouble()));
+            }
+        });
+        PerfResultStore.fromSystemProperties().storeReport(result.getScenario(), result.getTimestamp(), PROMETHEUS_REPORT, csv.toString());
+    }
+
+    private static Metric metric(KieQuery query, double value) {
+        return query.isHigherIsBetter() ? Metric.higherIsBetter(value, query.getUnit()) : Metric.lowerIsBetter(value, query.getUnit());
+    }
+
+    private static DoubleStream finiteValues(MetricSeries values) {
+        return IntStream.range(0, values.size()).mapToDouble(values::getValue).filter(Double::isFinite);
+    }
+
+    private static void appendCsv(StringBuilder csv, String phaseName, KieQuery query, MetricSeries values) {
+        for (int i = 0; i < values.size(); i++) {
+            csv.append(quote(phaseName)).append(',').append(query.getName()).append(',').append(quote(values.getSeries())).append(',')
+               .append(values.getTimestamp(i)).append(',').append(values.getValue(i)).append(System.lineSeparator());
+        }
+    }
+
+    private static String quote(String value) {
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+}
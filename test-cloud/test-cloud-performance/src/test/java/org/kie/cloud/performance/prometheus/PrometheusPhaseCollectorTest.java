@@ -0,0 +1,99 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.cloud.performance.prometheus;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.kie.cloud.performance.results.PerfResult;
+import org.kie.cloud.performance.results.PerfResultStore;
+import org.kie.cloud.performance.workload.WorkloadPhase;
+import org.kie.cloud.tests.common.metrics.MetricSeries;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PrometheusPhaseCollectorTest {
+
+    private static final String PHASE = "steady";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private PerfResultStore store;
+
+    @Before
+    public void setResultsDirectory() throws IOException {
+        store = new PerfResultStore(temporaryFolder.newFolder().toPath());
+        System.setProperty(PerfResultStore.RESULTS_DIR_KEY, store.getResultsDirectory().toString());
+    }
+
+    @After
+    public void clearResultsDirectory() {
+        System.clearProperty(PerfResultStore.RESULTS_DIR_KEY);
+    }
+
+    @Test
+    public void testNonFiniteValuesAreSkipped() {
+        PrometheusPhaseCollector collector = new PrometheusPhaseCollector(new FixedPrometheusClient(), Duration.ofSeconds(15));
+        WorkloadPhase phase = new WorkloadPhase();
+        phase.setName(PHASE);
+        collector.beforePhase(phase);
+        collector.afterPhase(phase);
+
+        PerfResult result = new PerfResult("prometheus");
+        collector.addTo(result);
+
+        String heapUsed = PHASE + ".prometheus." + KieQuery.HEAP_USED.getName();
+        assertThat(result.getMetrics().get(heapUsed + ".avg").getValue()).isEqualTo(150);
+        assertThat(result.getMetrics().get(heapUsed + ".max").getValue()).isEqualTo(200);
+        assertThat(result.getMetrics()).doesNotContainKeys(PHASE + ".prometheus." + KieQuery.HTTP_REQUEST_DURATION.getName() + ".avg",
+                                                           PHASE + ".prometheus." + KieQuery.HTTP_REQUEST_DURATION.getName() + ".max");
+        assertThat(store.store(result)).exists();
+    }
+
+    /**
+     * Returns idle window series for the request duration query, which is NaN without requests, and partially finite series otherwise.
+     */
+    private static class FixedPrometheusClient extends PrometheusClient {
+
+        FixedPrometheusClient() {
+            super(null);
+        }
+
+        @Override
+        public List<RangeSeries> queryRange(String query, Instant start, Instant end, Duration step) {
+            MetricSeries values = new MetricSeries(query);
+            if (query.equals(KieQuery.HTTP_REQUEST_DURATION.getQuery())) {
+                values.add(1000, Double.NaN);
+                values.add(2000, Double.NaN);
+            } else {
+                values.add(1000, 100);
+                values.add(2000, Double.NaN);
+                values.add(3000, 200);
+                values.add(4000, Double.POSITIVE_INFINITY);
+            }
+            return Collections.singletonList(new RangeSeries(Collections.emptyMap(), values));
+        }
+    }
+}
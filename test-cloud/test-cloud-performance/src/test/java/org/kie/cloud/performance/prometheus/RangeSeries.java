@@ -0,0 +1,51 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.kie.cloud.performance.prometheus;
+
+import java.util.Map;
+
+import org.kie.cloud.tests.common.metrics.MetricSeries;
+
+/**
+ * One series of a range query result, identified by its labels.
+ */
+public class RangeSeries {
+
+    private final Map<String, String> labels;
+    private final MetricSeries values;
+
+    public RangeSeries(Map<String, String> labels, MetricSeries values) {
+        this.labels = labels;
+        this.values = values;
+    }
+
+    public Map<String, String> getLabels() {
+        return labels;
+    }
+
+    /**
+     * @return Values of the series, timestamps are in epoch milliseconds.
+     */
+    public MetricSeries getValues() {
+        return values;
+    }
+
+    @Override
+    public String toString() {
+        return values.toString();
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.cloud.performance.results;
+
+/**
+ * Single measured value of a performance run.
+ */
+public class Metric {
+
+    private double value;
+    private String unit;
+    private boolean higherIsBetter;
+
+    public Metric() {
+    }
+
+    public Metric(double value, String unit, boolean higherIsBetter) {
+        this.value = value;
+        this.unit = unit;
+        this.higherIsBetter = higherIsBetter;
+    }
+
+    /**
+     * @return Metric where smaller value means better performance, for example duration or latency.
+     */
+    public static Metric lowerIsBetter(double value, String unit) {
+        return new Metric(value, unit, false);
+    }
+
+    /**
+     * @return Metric where bigger value means better performance, for example throughput.
+     */
+    public static Metric higherIsBetter(double value, String unit) {
+        return new Metric(value, unit, true);
+    }
+
+    public double getValue() {
+        return value;
+    }
+
+    public void setValue(double value) {
+        this.value = value;
+    }
+
+    public String getUnit() {
+        return unit;
+    }
+
+    public void setUnit(String unit) {
+        this.unit = unit;
+    }
+
+    public boolean isHigherIsBetter() {
+        return higherIsBetter;
+    }
+
+    public void setHigherIsBetter(boolean higherIsBetter) {
+        this.higherIsBetter = higherIsBetter;
+    }
+
+    @Override
+    public String toString() {
+        return value + " " + unit;
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.cloud.performance.results;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import org.kie.cloud.tests.common.statistics.Histogram;
+
+/**
+ * Result of one performance run. All maps are sorted by key so serialized results have stable column order
+ * regardless of the order in which values were recorded.
+ */
+public class PerfResult {
+
+    /**
+     * Version of the result schema. Increase it whenever meaning of stored fields changes.
+     */
+    public static final int SCHEMA_VERSION = 1;
+
+    private int schemaVersion = SCHEMA_VERSION;
+    private String scenario;
+    private String timestamp;
+    private SortedMap<String, String> parameters = new TreeMap<>();
+    private SortedMap<String, Metric> metrics = new TreeMap<>();
+    private SortedMap<String, String> environment = new TreeMap<>();
+    private SortedMap<String, SortedMap<String, Long>> distributions = new TreeMap<>();
+
+    public PerfResult() {
+    }
+
+    public PerfResult(String scenario) {
+        this.scenario = scenario;
+        this.timestamp = Instant.now().toString();
+    }
+
+    public PerfResult addParameter(String name, Object value) {
+        parameters.put(name, String.valueOf(value));
+        return this;
+    }
+
+    public PerfResult addMetric(String name, Metric metric) {
+        metrics.put(name, metric);
+        return this;
+    }
+
+    public PerfResult addDuration(String name, Duration duration) {
+        return addMetric(name, Metric.lowerIsBetter(duration.toMillis() / 1000.0, "s"));
+    }
+
+    /**
+     * Add mean, median, 90th, 99th percentile and maximum of the histogram as lower-is-better metrics.
+     */
+    public PerfResult addHistogram(String name, Histogram histogram, String unit) {
+        addMetric(name + ".mean", Metric.lowerIsBetter(histogram.getMean(), unit));
+        addMetric(name + ".p50", Metric.lowerIsBetter(histogram.getValueAtPercentile(50), unit));
+        addMetric(name + ".p90", Metric.lowerIsBetter(histogram.getValueAtPercentile(90), unit));
+        addMetric(name + ".p99", Metric.lowerIsBetter(histogram.getValueAtPercentile(99), unit));
+        addMetric(name + ".max", Metric.lowerIsBetter(histogram.getMax(), unit));
+        return this;
+    }
+
+    public PerfResult addEnvironment(String name, String value) {
+        if (value != null) {
+            environment.put(name, value);
+        }
+        return this;
+    }
+
+    public PerfResult addDistribution(String name, Map<String, ? extends Number> distribution) {
+        SortedMap<String, Long> sortedDistribution = new TreeMap<>();
+        distribution.forEach((key, value) -> sortedDistribution.put(key, value.longValue()));
+        distributions.put(name, sortedDistribution);
+        return this;
+    }
+
+    public int getSchemaVersion() {
+        return schemaVersion;
+    }
+
+    public String getScenario() {
+        return scenario;
+    }
+
+    public String getTimestamp() {
+        return timestamp;
+    }
+
+    public SortedMap<String, String> getParameters() {
+        return parameters;
+    }
+
+    public SortedMap<String, Metric> getMetrics() {
+        return metrics;
+    }
+
+    public SortedMap<String, String> getEnvironment() {
+        return environment;
+    }
+
+    public SortedMap<String, SortedMap<String, Long>> getDistributions() {
+        return distributions;
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.cloud.performance.results;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import org.kie.cloud.api.deployment.constants.DeploymentConstants;
+import org.kie.cloud.performance.results.RegressionComparator.MetricComparison;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Entry point for performance tests to persist their results and verify them against a baseline.
+ */
+public class PerfResultRecorder {
+
+    private static final Logger logger = LoggerFactory.getLogger(PerfResultRecorder.class);
+
+    private PerfResultRecorder() {}
+
+    /**
+     * Create new result for scenario, prefilled with information about test environment.
+     *
+     * @param scenario Scenario name, used as a key to find baseline results.
+     * @return New result.
+     */
+    public static PerfResult newResult(String scenario) {
+        PerfResult result = new PerfResult(scenario);
+        result.addEnvironment("kieArtifactVersion", DeploymentConstants.getKieArtifactVersion());
+        result.addEnvironment("templateProject", System.getProperty("template.project"));
+        result.addEnvironment("openshiftVersion", System.getProperty("openshift.version"));
+        result.addEnvironment("javaVersion", System.getProperty("java.version"));
+        return result;
+    }
+
+    /**
+     * Store the result and, if baseline directory is configured, fail when a statistically significant regression is found.
+     *
+     * Tests recording several configurations in a loop should use {@link #recordAndCompare(PerfResult)} and
+     * {@link #assertNoRegressions(List)} instead, so a regression of one configuration doesn't prevent the others from being recorded.
+     *
+     * @param result Result of the current run.
+     */
+    public static void record(PerfResult result) {
+        assertNoRegressions(recordAndCompare(result));
+    }
+
+    /**
+     * Store the result and, if baseline directory is configured, compare it with the baseline.
+     *
+     * @param result Result of the current run.
+     * @return Statistically significant regressions, described together with scenario and parameters of the result.
+     */
+    public static List<String> recordAndCompare(PerfResult result) {
+        PerfResultStore.fromSystemProperties().store(result);
+
+        Optional<PerfResultStore> baselineStore = PerfResultStore.baselineFromSystemProperties();
+        if (!baselineStore.isPresent()) {
+            logger.info("Baseline directory not defined by system property {}, skipping regression check.", PerfResultStore.BASELINE_DIR_KEY);
+            return Collections.emptyList();
+        }
+
+        List<PerfResult> baseline = baselineStore.get().loadWithSameParameters(result);
+        if (baseline.isEmpty()) {
+            logger.warn("No baseline results found for scenario {} with parameters {}, skipping regression check.", result.getScenario(), result.getParameters());
+            return Collections.emptyList();
+        }
+
+        List<MetricComparison> comparisons = RegressionComparator.fromSystemProperties().compare(baseline, Collections.singletonList(result));
+        comparisons.forEach(comparison -> logger.info("Comparison with baseline: {}", comparison));
+
+        return comparisons.stream()
+                          .filter(MetricComparison::isRegression)
+                          .map(comparison -> String.format("%s %s: %s", result.getScenario(), result.getParameters(), comparison))
+                          .collect(Collectors.toList());
+    }
+
+    /**
+     * @param regressions Regressions returned by {@link #recordAndCompare(PerfResult)}, typically of all recorded configurations.
+     */
+    public static void assertNoRegressions(List<String> regressions) {
+        assertThat(regressions).as("Performance regressions against baseline").isEmpty();
+    }
+}
@@ -0,0 +1,248 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.cloud.performance.results;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+import org.apache.commons.csv.CSVRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Stores performance results as JSON documents (one per run) and as rows of a CSV file with a header (one file per scenario).
+ *
+ * Layout of results directory:
+ * <pre>
+ * [perf.results.dir]/[scenario]/[timestamp].json
+ * [perf.results.dir]/[scenario].csv
+ * [perf.results.dir]/[scenario]/[timestamp]-[report].txt
+ * </pre>
+ * Baseline directory uses the same layout, only JSON documents are read from it.
+ */
+public class PerfResultStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(PerfResultStore.class);
+
+    public static final String RESULTS_DIR_KEY = "perf.results.dir";
+    public static final String BASELINE_DIR_KEY = "perf.baseline.dir";
+
+    private static final String DEFAULT_RESULTS_DIR = "perf-results";
+    private static final String JSON_SUFFIX = ".json";
+    private static final String CSV_SUFFIX = ".csv";
+    private static final String TXT_SUFFIX = ".txt";
+
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+
+    private final Path resultsDirectory;
+
+    public PerfResultStore(Path resultsDirectory) {
+        this.resultsDirectory = resultsDirectory;
+    }
+
+    /**
+     * @return Store writing results to directory defined by system property perf.results.dir.
+     */
+    public static PerfResultStore fromSystemProperties() {
+        return new PerfResultStore(Paths.get(System.getProperty(RESULTS_DIR_KEY, DEFAULT_RESULTS_DIR)));
+    }
+
+    /**
+     * @return Store containing baseline results if system property perf.baseline.dir is defined.
+     */
+    public static Optional<PerfResultStore> baselineFromSystemProperties() {
+        return Optional.ofNullable(System.getProperty(BASELINE_DIR_KEY))
+                       .map(Paths::get)
+                       .map(PerfResultStore::new);
+    }
+
+    public Path getResultsDirectory() {
+        return resultsDirectory;
+    }
+
+    /**
+     * Store result as JSON document and append it as a row to scenario CSV file.
+     *
+     * @param result Result to be stored.
+     * @return Path to stored JSON document.
+     */
+    public Path store(PerfResult result) {
+        try {
+            Path scenarioDirectory = resultsDirectory.resolve(result.getScenario());
+            Files.createDirectories(scenarioDirectory);
+
+            Path jsonFile = scenarioDirectory.resolve(toFileName(result.getTimestamp()) + JSON_SUFFIX);
+            try (Writer writer = Files.newBufferedWriter(jsonFile, StandardCharsets.UTF_8)) {
+                GSON.toJson(result, writer);
+            }
+            appendCsvRecord(result);
+
+            logger.info("Performance results of scenario {} stored to {}", result.getScenario(), jsonFile.toAbsolutePath());
+            return jsonFile;
+        } catch (IOException e) {
+            throw new RuntimeException("Error while storing performance results of scenario " + result.getScenario(), e);
+        }
+    }
+
+    /**
+     * Store text report summarizing several results of the scenario, for example a comparison table.
+     *
+     * @param scenario Scenario name.
+     * @param timestamp Timestamp of the first summarized result.
+     * @param name Report name.
+     * @param report Report content.
+     * @return Path to stored report.
+     */
+    public Path storeReport(String scenario, String timestamp, String name, String report) {
+        try {
+            Path scenarioDirectory = resultsDirectory.resolve(scenario);
+            Files.createDirectories(scenarioDirectory);
+
+            Path reportFile = scenarioDirectory.resolve(toFileName(timestamp) + "-" + name + TXT_SUFFIX);
+            Files.write(reportFile, report.getBytes(StandardCharsets.UTF_8));
+
+            logger.info("Report {} of scenario {} stored to {}", name, scenario, reportFile.toAbsolutePath());
+            return reportFile;
+        } catch (IOException e) {
+            throw new RuntimeException("Error while storing report " + name + " of scenario " + scenario, e);
+        }
+    }
+
+    /**
+     * @param scenario Scenario name.
+     * @return All results stored for the scenario, sorted by timestamp.
+     */
+    public List<PerfResult> load(String scenario) {
+        Path scenarioDirectory = resultsDirectory.resolve(scenario);
+        if (!Files.isDirectory(scenarioDirectory)) {
+            return Collections.emptyList();
+        }
+
+        List<PerfResult> results = new ArrayList<>();
+        try (DirectoryStream<Path> jsonFiles = Files.newDirectoryStream(scenarioDirectory, "*" + JSON_SUFFIX)) {
+            for (Path jsonFile : jsonFiles) {
+                try (Reader reader = Files.newBufferedReader(jsonFile, StandardCharsets.UTF_8)) {
+                    PerfResult result = GSON.fromJson(reader, PerfResult.class);
+                    if (result.getSchemaVersion() == PerfResult.SCHEMA_VERSION) {
+                        results.add(result);
+                    } else {
+                        logger.warn("Ignoring result {} with schema version {}, expected version {}", jsonFile, result.getSchemaVersion(), PerfResult.SCHEMA_VERSION);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Error while loading performance results of scenario " + scenario, e);
+        }
+        results.sort((r1, r2) -> r1.getTimestamp().compareTo(r2.getTimestamp()));
+        return results;
+    }
+
+    /**
+     * @param result Result defining scenario and parameters.
+     * @return Stored results of the same scenario which were run with the same parameters.
+     */
+    public List<PerfResult> loadWithSameParameters(PerfResult result) {
+        return load(result.getScenario()).stream()
+                                         .filter(storedResult -> storedResult.getParameters().equals(result.getParameters()))
+                                         .collect(Collectors.toList());
+    }
+
+    private void appendCsvRecord(PerfResult result) throws IOException {
+        List<String> header = csvHeader(result);
+        Path csvFile = resultsDirectory.resolve(result.getScenario() + CSV_SUFFIX);
+
+        // Columns depend on scenario parameters, start new file if they changed since the last run
+        if (Files.exists(csvFile) && !header.equals(readCsvHeader(csvFile))) {
+            csvFile = resultsDirectory.resolve(result.getScenario() + "__" + toFileName(result.getTimestamp()) + CSV_SUFFIX);
+            logger.warn("Columns of scenario {} changed, writing CSV results to new file {}", result.getScenario(), csvFile);
+        }
+
+        boolean writeHeader = !Files.exists(csvFile);
+        try (CSVPrinter csvPrinter = new CSVPrinter(Files.newBufferedWriter(csvFile, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND), CSVFormat.DEFAULT)) {
+            if (writeHeader) {
+                csvPrinter.printRecord(header);
+            }
+            csvPrinter.printRecord(csvValues(result));
+            csvPrinter.flush();
+        }
+    }
+
+    private static List<String> csvHeader(PerfResult result) {
+        List<String> header = new ArrayList<>();
+        header.add("schemaVersion");
+        header.add("timestamp");
+        result.getParameters().keySet().forEach(key -> header.add("parameter." + key));
+        result.getMetrics().forEach((key, metric) -> header.add("metric." + key + " [" + metric.getUnit() + "]"));
+        result.getDistributions().keySet().forEach(key -> header.add("distribution." + key));
+        result.getEnvironment().keySet().forEach(key -> header.add("environment." + key));
+        return header;
+    }
+
+    private static List<Object> csvValues(PerfResult result) {
+        List<Object> values = new ArrayList<>();
+        values.add(result.getSchemaVersion());
+        values.add(result.getTimestamp());
+        values.addAll(result.getParameters().values());
+        result.getMetrics().values().forEach(metric -> values.add(metric.getValue()));
+        result.getDistributions().values().forEach(distribution -> values.add(formatDistribution(distribution)));
+        values.addAll(result.getEnvironment().values());
+        return values;
+    }
+
+    private static String formatDistribution(Map<String, Long> distribution) {
+        return distribution.entrySet().stream()
+                           .map(entry -> entry.getKey() + "=" + entry.getValue())
+                           .collect(Collectors.joining(";"));
+    }
+
+    private static List<String> readCsvHeader(Path csvFile) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(csvFile, StandardCharsets.UTF_8)) {
+            String headerLine = reader.readLine();
+            if (headerLine == null) {
+                return Collections.emptyList();
+            }
+
+            List<String> header = new ArrayList<>();
+            for (CSVRecord record : CSVFormat.DEFAULT.parse(new StringReader(headerLine))) {
+                record.forEach(header::add);
+            }
+            return header;
+        }
+    }
+
+    private static String toFileName(String timestamp) {
+        return timestamp.replace(':', '-');
+    }
+}
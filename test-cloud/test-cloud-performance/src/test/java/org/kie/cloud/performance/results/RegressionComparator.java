@@ -0,0 +1,226 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.cloud.performance.results;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Compares metrics of current runs with baseline runs of the same scenario.
+ *
+ * Metric is reported as regression when it got worse by more than the relative tolerance and the difference is statistically
+ * significant according to one-sided Welch's t-test on 95% confidence level. If there are not enough samples to estimate
+ * variance (less than two baseline runs) only the relative tolerance is used.
+ */
+public class RegressionComparator {
+
+    public static final String TOLERANCE_KEY = "perf.regression.tolerance";
+
+    private static final double DEFAULT_TOLERANCE = 0.05;
+    // One-sided 95% quantile of standard normal distribution
+    private static final double NORMAL_QUANTILE_95 = 1.6448536;
+    // One-sided 95% quantiles of Student's t-distribution for 1 to 30 degrees of freedom
+    private static final double[] T_QUANTILES_95 = {6.314, 2.920, 2.353, 2.132, 2.015, 1.943, 1.895, 1.860, 1.833, 1.812,
+                                                    1.796, 1.782, 1.771, 1.761, 1.753, 1.746, 1.740, 1.734, 1.729, 1.725,
+                                                    1.721, 1.717, 1.714, 1.711, 1.708, 1.706, 1.703, 1.701, 1.699, 1.697};
+
+    private final double tolerance;
+
+    public RegressionComparator(double tolerance) {
+        this.tolerance = tolerance;
+    }
+
+    public static RegressionComparator fromSystemProperties() {
+        return new RegressionComparator(Double.parseDouble(System.getProperty(TOLERANCE_KEY, String.valueOf(DEFAULT_TOLERANCE))));
+    }
+
+    /**
+     * Compare all metrics available in both current and baseline results.
+     *
+     * @param baseline Baseline results, typically several repetitions of the same scenario.
+     * @param current Current results, typically repetitions of the current run.
+     * @return Comparison for each metric.
+     */
+    public List<MetricComparison> compare(Collection<PerfResult> baseline, Collection<PerfResult> current) {
+        Set<String> metricNames = new TreeSet<>();
+        current.forEach(result -> metricNames.addAll(result.getMetrics().keySet()));
+
+        List<MetricComparison> comparisons = new ArrayList<>();
+        for (String metricName : metricNames) {
+            double[] baselineValues = values(baseline, metricName);
+            double[] currentValues = values(current, metricName);
+            if (baselineValues.length > 0 && currentValues.length > 0) {
+                boolean higherIsBetter = current.stream()
+                                                .filter(result -> result.getMetrics().containsKey(metricName))
+                                                .findFirst()
+                                                .map(result -> result.getMetrics().get(metricName).isHigherIsBetter())
+                                                .orElse(false);
+                comparisons.add(compare(metricName, baselineValues, currentValues, higherIsBetter));
+            }
+        }
+        return comparisons;
+    }
+
+    /**
+     * @return Only comparisons marked as regression.
+     */
+    public List<MetricComparison> findRegressions(Collection<PerfResult> baseline, Collection<PerfResult> current) {
+        return compare(baseline, current).stream()
+                                         .filter(MetricComparison::isRegression)
+                                         .collect(Collectors.toList());
+    }
+
+    private MetricComparison compare(String metricName, double[] baselineValues, double[] currentValues, boolean higherIsBetter) {
+        double baselineMean = mean(baselineValues);
+        double currentMean = mean(currentValues);
+        // Positive value means the metric got worse
+        double worsening = higherIsBetter ? baselineMean - currentMean : currentMean - baselineMean;
+        double relativeWorsening = baselineMean == 0 ? 0 : worsening / Math.abs(baselineMean);
+
+        boolean significant;
+        double tStatistic = Double.NaN;
+        if (baselineValues.length < 2) {
+            significant = true;
+        } else {
+            double baselineVariance = variance(baselineValues, baselineMean);
+            // With single current sample assume the same variance as baseline
+            double currentVariance = currentValues.length < 2 ? baselineVariance : variance(currentValues, currentMean);
+            double baselineError = baselineVariance / baselineValues.length;
+            double currentError = currentVariance / currentValues.length;
+            double standardError = Math.sqrt(baselineError + currentError);
+
+            if (standardError == 0) {
+                significant = worsening != 0;
+            } else {
+                tStatistic = worsening / standardError;
+                double degreesOfFreedom = welchDegreesOfFreedom(baselineError, baselineValues.length, currentError, currentValues.length);
+                significant = tStatistic > tQuantile95(degreesOfFreedom);
+            }
+        }
+
+        boolean regression = significant && relativeWorsening > tolerance;
+        return new MetricComparison(metricName, baselineMean, currentMean, relativeWorsening, tStatistic, regression);
+    }
+
+    private static double welchDegreesOfFreedom(double baselineError, int baselineCount, double currentError, int currentCount) {
+        double numerator = Math.pow(baselineError + currentError, 2);
+        double denominator = Math.pow(baselineError, 2) / (baselineCount - 1) + (currentCount < 2 ? 0 : Math.pow(currentError, 2) / (currentCount - 1));
+        if (denominator == 0) {
+            return baselineCount - 1;
+        }
+        return numerator / denominator;
+    }
+
+    /**
+     * One-sided 95% quantile of Student's t-distribution. Quantiles for up to 30 degrees of freedom are taken from a table, fractional
+     * degrees of freedom of Welch's test are rounded down, which makes the test more conservative. Cornish-Fisher expansion is used
+     * above 30 degrees of freedom, where it is accurate.
+     */
+    static double tQuantile95(double degreesOfFreedom) {
+        if (degreesOfFreedom < T_QUANTILES_95.length + 1) {
+            int df = Math.max(1, (int) Math.floor(degreesOfFreedom));
+            return T_QUANTILES_95[df - 1];
+        }
+        double z = NORMAL_QUANTILE_95;
+        double z3 = z * z * z;
+        double z5 = z3 * z * z;
+        double df = degreesOfFreedom;
+        return z
+               + (z3 + z) / (4 * df)
+               + (5 * z5 + 16 * z3 + 3 * z) / (96 * df * df);
+    }
+
+    private static double[] values(Collection<PerfResult> results, String metricName) {
+        return results.stream()
+                      .filter(result -> result.getMetrics().containsKey(metricName))
+                      .mapToDouble(result -> result.getMetrics().get(metricName).getValue())
+                      .toArray();
+    }
+
+    private static double mean(double[] values) {
+        double sum = 0;
+        for (double value : values) {
+            sum += value;
+        }
+        return sum / values.length;
+    }
+
+    private static double variance(double[] values, double mean) {
+        double sum = 0;
+        for (double value : values) {
+            sum += (value - mean) * (value - mean);
+        }
+        return sum / (values.length - 1);
+    }
+
+    public static class MetricComparison {
+
+        private final String metricName;
+        private final double baselineMean;
+        private final double currentMean;
+        private final double relativeWorsening;
+        private final double tStatistic;
+        private final boolean regression;
+
+        MetricComparison(String metricName, double baselineMean, double currentMean, double relativeWorsening, double tStatistic, boolean regression) {
+            this.metricName = metricName;
+            this.baselineMean = baselineMean;
+            this.currentMean = currentMean;
+            this.relativeWorsening = relativeWorsening;
+            this.tStatistic = tStatistic;
+            this.regression = regression;
+        }
+
+        public String getMetricName() {
+            return metricName;
+        }
+
+        public double getBaselineMean() {
+            return baselineMean;
+        }
+
+        public double getCurrentMean() {
+            return currentMean;
+        }
+
+        /**
+         * @return Relative change of the metric, positive value means the metric got worse.
+         */
+        public double getRelativeWorsening() {
+            return relativeWorsening;
+        }
+
+        /**
+         * @return Welch's t statistic or NaN if there were not enough samples to compute it.
+         */
+        public double getTStatistic() {
+            return tStatistic;
+        }
+
+        public boolean isRegression() {
+            return regression;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: baseline %.3f, current %.3f, worse by %.1f%%, t=%.2f%s", metricName, baselineMean, currentMean, relativeWorsening * 100, tStatistic, regression ? " REGRESSION" : "");
+        }
+    }
+}
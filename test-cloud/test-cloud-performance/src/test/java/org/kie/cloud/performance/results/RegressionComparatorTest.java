@@ -0,0 +1,118 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.cloud.performance.results;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+import org.kie.cloud.performance.results.RegressionComparator.MetricComparison;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class RegressionComparatorTest {
+
+    private static final String DURATION = "duration";
+    private static final String THROUGHPUT = "throughput";
+
+    private RegressionComparator comparator = new RegressionComparator(0.05);
+
+    @Test
+    public void testNoRegressionWithinNoise() {
+        List<PerfResult> baseline = results(DURATION, false, 100, 102, 98, 101, 99);
+        List<PerfResult> current = results(DURATION, false, 101);
+
+        assertThat(comparator.findRegressions(baseline, current)).isEmpty();
+    }
+
+    @Test
+    public void testSignificantDurationRegression() {
+        List<PerfResult> baseline = results(DURATION, false, 100, 102, 98, 101, 99);
+        List<PerfResult> current = results(DURATION, false, 130, 128);
+
+        List<MetricComparison> regressions = comparator.findRegressions(baseline, current);
+        assertThat(regressions).hasSize(1);
+        assertThat(regressions.get(0).getMetricName()).isEqualTo(DURATION);
+        assertThat(regressions.get(0).getRelativeWorsening()).isCloseTo(0.29, within(0.001));
+    }
+
+    @Test
+    public void testFasterDurationIsNotRegression() {
+        List<PerfResult> baseline = results(DURATION, false, 100, 102, 98);
+        List<PerfResult> current = results(DURATION, false, 50);
+
+        assertThat(comparator.findRegressions(baseline, current)).isEmpty();
+    }
+
+    @Test
+    public void testThroughputDropIsRegression() {
+        List<PerfResult> baseline = results(THROUGHPUT, true, 500, 510, 490);
+        List<PerfResult> current = results(THROUGHPUT, true, 300);
+
+        assertThat(comparator.findRegressions(baseline, current)).extracting(MetricComparison::getMetricName).containsExactly(THROUGHPUT);
+    }
+
+    @Test
+    public void testChangeBelowToleranceIsNotRegression() {
+        // Stable baseline makes even small difference significant, tolerance has to filter it out
+        List<PerfResult> baseline = results(DURATION, false, 100, 100.1, 99.9, 100);
+        List<PerfResult> current = results(DURATION, false, 103);
+
+        assertThat(comparator.findRegressions(baseline, current)).isEmpty();
+    }
+
+    @Test
+    public void testSingleBaselineSampleUsesTolerance() {
+        List<PerfResult> baseline = results(DURATION, false, 100);
+
+        assertThat(comparator.findRegressions(baseline, results(DURATION, false, 104))).isEmpty();
+        assertThat(comparator.findRegressions(baseline, results(DURATION, false, 110))).hasSize(1);
+    }
+
+    @Test
+    public void testMissingBaselineMetricIsIgnored() {
+        List<PerfResult> baseline = results(THROUGHPUT, true, 500, 510);
+        List<PerfResult> current = results(DURATION, false, 100);
+
+        assertThat(comparator.compare(baseline, current)).isEmpty();
+    }
+
+    @Test
+    public void testTQuantileConvergesToNormalQuantile() {
+        assertThat(RegressionComparator.tQuantile95(5)).isCloseTo(2.015, within(0.01));
+        assertThat(RegressionComparator.tQuantile95(1000)).isCloseTo(1.646, within(0.001));
+    }
+
+    @Test
+    public void testTQuantileWithFewDegreesOfFreedom() {
+        assertThat(RegressionComparator.tQuantile95(1)).isCloseTo(6.314, within(0.001));
+        assertThat(RegressionComparator.tQuantile95(2)).isCloseTo(2.920, within(0.001));
+        // Fractional degrees of freedom of Welch's test are rounded down
+        assertThat(RegressionComparator.tQuantile95(1.6)).isCloseTo(6.314, within(0.001));
+    }
+
+    private static List<PerfResult> results(String metricName, boolean higherIsBetter, double... values) {
+        List<PerfResult> results = new ArrayList<>();
+        for (double value : values) {
+            PerfResult result = new PerfResult("scenario");
+            result.addMetric(metricName, new Metric(value, "unit", higherIsBetter));
+            results.add(result);
+        }
+        return Collections.unmodifiableList(results);
+    }
+}
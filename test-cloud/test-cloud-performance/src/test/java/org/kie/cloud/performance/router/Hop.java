@@ -0,0 +1,51 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.kie.cloud.performance.router;
+
+/**
+ * Network path of a request from the test client to KIE server, every hop adds one more component to the path of the previous one.
+ */
+public enum Hop {
+
+    /**
+     * Request sent from inside of the KIE server pod to localhost, no network involved.
+     */
+    POD("pod"),
+    /**
+     * Request sent to the OpenShift route of KIE server, balanced by HAProxy of the OpenShift router.
+     */
+    ROUTE("route"),
+    /**
+     * Request sent to the OpenShift route of smart router which forwards it to KIE server.
+     */
+    SMART_ROUTER("smartRouter");
+
+    private final String value;
+
+    Hop(String value) {
+        this.value = value;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return value;
+    }
+}
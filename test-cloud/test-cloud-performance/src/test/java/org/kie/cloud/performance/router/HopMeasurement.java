@@ -0,0 +1,114 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.kie.cloud.performance.router;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.kie.cloud.performance.results.Metric;
+import org.kie.cloud.performance.results.PerfResult;
+import org.kie.cloud.tests.common.load.LoadResult;
+import org.kie.cloud.tests.common.statistics.Histogram;
+
+/**
+ * Latency, throughput and distribution of requests among pods of one run of the workload through one {@link Hop}.
+ */
+public class HopMeasurement {
+
+    private final Hop hop;
+    private final long iterations;
+    private final long errors;
+    private final Histogram latency;
+    private final Duration elapsedTime;
+    private Map<String, Long> podDistribution = Collections.emptyMap();
+
+    public HopMeasurement(Hop hop, long iterations, long errors, Histogram latency, Duration elapsedTime) {
+        this.hop = hop;
+        this.iterations = iterations;
+        this.errors = errors;
+        this.latency = latency;
+        this.elapsedTime = elapsedTime;
+    }
+
+    public static HopMeasurement of(Hop hop, LoadResult loadResult) {
+        return new HopMeasurement(hop, loadResult.getIterations(), loadResult.getErrors(), loadResult.getLatency(), loadResult.getElapsedTime());
+    }
+
+    public Hop getHop() {
+        return hop;
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    public Histogram getLatency() {
+        return latency;
+    }
+
+    /**
+     * @return Executed requests per second.
+     */
+    public double getThroughput() {
+        long elapsedMillis = elapsedTime.toMillis();
+        return elapsedMillis == 0 ? 0 : iterations * 1000.0 / elapsedMillis;
+    }
+
+    /**
+     * @param podDistribution Number of requests handled by every pod.
+     */
+    public void setPodDistribution(Map<String, Long> podDistribution) {
+        this.podDistribution = new TreeMap<>(podDistribution);
+    }
+
+    public Map<String, Long> getPodDistribution() {
+        return podDistribution;
+    }
+
+    /**
+     * Add metrics of this hop to the result. Overhead is the difference of latency percentiles between this hop and the
+     * previous one, so it is the latency added by the component this hop puts on the path.
+     *
+     * @param previous Measurement of the previous hop, null if there is none.
+     */
+    public void addTo(PerfResult result, HopMeasurement previous) {
+        result.addMetric("errors", Metric.lowerIsBetter(errors, "count"))
+              .addMetric("throughput", Metric.higherIsBetter(getThroughput(), "1/s"))
+              .addHistogram("latency", latency, "ms");
+        if (previous != null) {
+            result.addMetric("overhead.mean", Metric.lowerIsBetter(latency.getMean() - previous.latency.getMean(), "ms"))
+                  .addMetric("overhead.p50", Metric.lowerIsBetter(percentileOverhead(previous, 50), "ms"))
+                  .addMetric("overhead.p90", Metric.lowerIsBetter(percentileOverhead(previous, 90), "ms"))
+                  .addMetric("overhead.p99", Metric.lowerIsBetter(percentileOverhead(previous, 99), "ms"));
+        }
+        if (!podDistribution.isEmpty()) {
+            result.addDistribution("podRequests", podDistribution);
+        }
+    }
+
+    private long percentileOverhead(HopMeasurement previous, double percentile) {
+        return latency.getValueAtPercentile(percentile) - previous.latency.getValueAtPercentile(percentile);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: iterations=%d, errors=%d, elapsed=%s, throughput=%.1f/s, latency [ms]: %s, pods: %s",
+                             hop, iterations, errors, elapsedTime, getThroughput(), latency, podDistribution);
+    }
+}
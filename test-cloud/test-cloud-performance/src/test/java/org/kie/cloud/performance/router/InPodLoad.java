@@ -0,0 +1,85 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.kie.cloud.performance.router;
+
+import java.time.Duration;
+
+import org.kie.cloud.api.deployment.CommandExecutionResult;
+import org.kie.cloud.api.deployment.Instance;
+import org.kie.cloud.tests.common.statistics.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Starts process instances by curl running inside of a KIE server pod against localhost, so the measured latency doesn't
+ * include any network hop. Latency and elapsed time are measured inside of the pod, the time of executing the command in
+ * the pod is excluded.
+ */
+public class InPodLoad {
+
+    private static final Logger logger = LoggerFactory.getLogger(InPodLoad.class);
+
+    private static final String KIE_SERVER_LOCAL_URL = "http://localhost:8080/services/rest/server";
+
+    // Positional parameters: requests, concurrency, credentials, URL. Prints HTTP status and time in seconds of every request.
+    private static final String LOAD_SCRIPT = "start=$(date +%s%N); "
+            + "seq 1 \"$1\" | xargs -P \"$2\" -I{} curl -s -o /dev/null -w '%{http_code} %{time_total}\\n' -u \"$3\" "
+            + "-H 'Content-Type: application/json' -H 'Accept: application/json' -X POST -d '{}' \"$4\"; "
+            + "echo \"elapsed $(( $(date +%s%N) - start ))\"";
+
+    private InPodLoad() {}
+
+    /**
+     * Start process instances without parameters from inside of the pod.
+     *
+     * @param instance KIE server pod.
+     * @param requests Number of process instances to start.
+     * @param concurrency Number of requests in flight.
+     */
+    public static HopMeasurement startProcesses(Instance instance, String userName, String password, String containerId, String processId,
+                                                int requests, int concurrency) {
+        String url = KIE_SERVER_LOCAL_URL + "/containers/" + containerId + "/processes/" + processId + "/instances";
+        CommandExecutionResult result = instance.runCommand("sh", "-c", LOAD_SCRIPT, "sh", String.valueOf(requests), String.valueOf(concurrency),
+                                                            userName + ":" + password, url);
+        if (result.getOutput() == null || !result.getOutput().contains("elapsed")) {
+            throw new RuntimeException("Load in pod " + instance.getName() + " failed, curl may not be available: " + result.getError());
+        }
+
+        Histogram latency = new Histogram();
+        long iterations = 0;
+        long errors = 0;
+        Duration elapsedTime = Duration.ZERO;
+        for (String line : result.getOutput().split("\n")) {
+            String[] parts = line.trim().split(" ");
+            if (parts.length != 2) {
+                continue;
+            }
+            if ("elapsed".equals(parts[0])) {
+                elapsedTime = Duration.ofNanos(Long.parseLong(parts[1]));
+                continue;
+            }
+            iterations++;
+            if (parts[0].startsWith("2")) {
+                latency.record(Math.round(Double.parseDouble(parts[1]) * 1000));
+            } else {
+                errors++;
+                logger.debug("Request in pod {} failed with status {}", instance.getName(), parts[0]);
+            }
+        }
+        return new HopMeasurement(Hop.POD, iterations, errors, latency, elapsedTime);
+    }
+}
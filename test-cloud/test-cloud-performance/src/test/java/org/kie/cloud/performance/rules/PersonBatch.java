@@ -0,0 +1,106 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.kie.cloud.performance.rules;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.kie.api.KieServices;
+import org.kie.api.command.BatchExecutionCommand;
+import org.kie.api.command.Command;
+import org.kie.api.command.KieCommands;
+import org.kie.api.runtime.ExecutionResults;
+import org.kie.cloud.tests.common.load.UserAction;
+import org.kie.server.api.model.ServiceResponse;
+import org.kie.server.client.RuleServicesClient;
+import org.kie.server.integrationtests.shared.KieServerReflections;
+
+/**
+ * Batch inserting Person facts of the rule-throughput kjar and firing rules. Every second person is named Darth, so half
+ * of the facts are modified by the rules. The batch is created once and sent repeatedly, so client side marshalling is the
+ * only client work included in the measured latency.
+ */
+public class PersonBatch {
+
+    public static final String PERSON_CLASS_NAME = "org.kie.server.testing.Person";
+
+    private static final String FIRED_RULES_OUT_IDENTIFIER = "firedRules";
+
+    private final SessionType sessionType;
+    private final BatchExecutionCommand command;
+    private final int expectedFiredRules;
+    private final LongAdder firedRules = new LongAdder();
+
+    /**
+     * @param kjarClassLoader Class loader of the rule-throughput kjar.
+     * @param batchSize Number of inserted facts.
+     * @param sessionType Session executing the batch.
+     */
+    public PersonBatch(ClassLoader kjarClassLoader, int batchSize, SessionType sessionType) {
+        this.sessionType = sessionType;
+        KieCommands commandsFactory = KieServices.Factory.get().getCommands();
+
+        List<Object> persons = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            String firstname = i % 2 == 0 ? "Darth" : "Luke";
+            persons.add(KieServerReflections.createInstance(PERSON_CLASS_NAME, kjarClassLoader, firstname, "Person" + i));
+        }
+
+        List<Command<?>> commands = new ArrayList<>();
+        commands.add(commandsFactory.newInsertElements(persons));
+        commands.add(commandsFactory.newFireAllRules(FIRED_RULES_OUT_IDENTIFIER));
+        command = commandsFactory.newBatchExecution(commands, sessionType.getKieSessionName());
+
+        int darthCount = (batchSize + 1) / 2;
+        // Stateful session fires the cleanup rule for every fact too
+        expectedFiredRules = sessionType == SessionType.STATEFUL ? darthCount + batchSize : darthCount;
+    }
+
+    /**
+     * @return Action sending the batch to the container, failing if the call is not successful. Stateless batch also fails
+     * if an unexpected number of rules was fired. Concurrent batches sent to the stateful session can fire rules for facts
+     * of each other, so only their total is checked, see {@link #getFiredRules()}.
+     */
+    public UserAction execute(RuleServicesClient ruleServicesClient, String containerId) {
+        return user -> {
+            ServiceResponse<ExecutionResults> response = ruleServicesClient.executeCommandsWithResults(containerId, command);
+            if (response.getType() != ServiceResponse.ResponseType.SUCCESS) {
+                throw new RuntimeException("Rule batch execution failed: " + response.getMsg());
+            }
+            int fired = ((Number) response.getResult().getValue(FIRED_RULES_OUT_IDENTIFIER)).intValue();
+            if (sessionType == SessionType.STATELESS && fired != expectedFiredRules) {
+                throw new RuntimeException("Expected " + expectedFiredRules + " fired rules, but was " + fired);
+            }
+            firedRules.add(fired);
+        };
+    }
+
+    /**
+     * @return Number of rules fired by one batch if executed alone.
+     */
+    public int getExpectedFiredRules() {
+        return expectedFiredRules;
+    }
+
+    /**
+     * @return Number of rules fired by all successfully executed batches.
+     */
+    public long getFiredRules() {
+        return firedRules.sum();
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.kie.cloud.performance.rules;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.kie.cloud.performance.results.PerfResult;
+import org.kie.cloud.performance.util.PropertyUtils;
+
+/**
+ * One measured combination of transport, session type, batch size and concurrency.
+ */
+public class RuleThroughputConfiguration {
+
+    public static final String TRANSPORTS_KEY = "rules.transports";
+    public static final String SESSION_TYPES_KEY = "rules.sessionTypes";
+    public static final String BATCH_SIZES_KEY = "rules.batchSizes";
+    public static final String CONCURRENCY_KEY = "rules.concurrency";
+
+    private final Transport transport;
+    private final SessionType sessionType;
+    private final int batchSize;
+    private final int concurrency;
+
+    public RuleThroughputConfiguration(Transport transport, SessionType sessionType, int batchSize, int concurrency) {
+        if (batchSize < 1 || concurrency < 1) {
+            throw new IllegalArgumentException("Batch size and concurrency have to be positive, batch size: " + batchSize + ", concurrency: " + concurrency);
+        }
+        this.transport = transport;
+        this.sessionType = sessionType;
+        this.batchSize = batchSize;
+        this.concurrency = concurrency;
+    }
+
+    /**
+     * Every combination of comma separated values of system properties rules.transports, rules.sessionTypes, rules.batchSizes
+     * and rules.concurrency.
+     */
+    public static List<RuleThroughputConfiguration> fromSystemProperties() {
+        List<Transport> transports = PropertyUtils.getList(TRANSPORTS_KEY, "rest,jms", Transport::fromValue);
+        List<SessionType> sessionTypes = PropertyUtils.getList(SESSION_TYPES_KEY, "stateless,stateful", SessionType::fromValue);
+        List<Integer> batchSizes = PropertyUtils.getList(BATCH_SIZES_KEY, "1,10,100,1000,10000", Integer::valueOf);
+        List<Integer> concurrencies = PropertyUtils.getList(CONCURRENCY_KEY, "1,8,32", Integer::valueOf);
+
+        List<RuleThroughputConfiguration> configurations = new ArrayList<>();
+        for (Transport transport : transports) {
+            for (SessionType sessionType : sessionTypes) {
+                for (Integer batchSize : batchSizes) {
+                    for (Integer concurrency : concurrencies) {
+                        configurations.add(new RuleThroughputConfiguration(transport, sessionType, batchSize, concurrency));
+                    }
+                }
+            }
+        }
+        return configurations;
+    }
+
+    public Transport getTransport() {
+        return transport;
+    }
+
+    public SessionType getSessionType() {
+        return sessionType;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    /**
+     * Add the configuration as result parameters, so results are compared only with baseline of the same configuration.
+     */
+    public void addTo(PerfResult result) {
+        result.addParameter("transport", transport.getValue())
+              .addParameter("sessionType", sessionType.getValue())
+              .addParameter("batchSize", batchSize)
+              .addParameter("concurrency", concurrency);
+    }
+
+    @Override
+    public String toString() {
+        return "transport=" + transport.getValue() + ", sessionType=" + sessionType.getValue() + ", batchSize=" + batchSize + ", concurrency=" + concurrency;
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.kie.cloud.performance.rules;
+
+import java.util.Arrays;
+
+/**
+ * KIE session of the rule-throughput kjar used to execute rule batches.
+ */
+public enum SessionType {
+
+    /**
+     * New session is created for every batch.
+     */
+    STATELESS("stateless", "kbase1.stateless"),
+    /**
+     * One session is shared by all batches, processed facts are deleted by a cleanup rule at the end of every batch.
+     */
+    STATEFUL("stateful", "kbase1.stateful");
+
+    private final String value;
+    private final String kieSessionName;
+
+    SessionType(String value, String kieSessionName) {
+        this.value = value;
+        this.kieSessionName = kieSessionName;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public String getKieSessionName() {
+        return kieSessionName;
+    }
+
+    public static SessionType fromValue(String value) {
+        return Arrays.stream(values())
+                     .filter(sessionType -> sessionType.value.equalsIgnoreCase(value.trim()))
+                     .findFirst()
+                     .orElseThrow(() -> new IllegalArgumentException("Unknown session type " + value + ", supported values are stateless and stateful"));
+    }
+}
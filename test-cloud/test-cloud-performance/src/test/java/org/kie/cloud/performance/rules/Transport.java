@@ -0,0 +1,45 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.kie.cloud.performance.rules;
+
+import java.util.Arrays;
+
+/**
+ * Transport used by the KIE server client to send rule batches.
+ */
+public enum Transport {
+
+    REST("rest"),
+    JMS("jms");
+
+    private final String value;
+
+    Transport(String value) {
+        this.value = value;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public static Transport fromValue(String value) {
+        return Arrays.stream(values())
+                     .filter(transport -> transport.value.equalsIgnoreCase(value.trim()))
+                     .findFirst()
+                     .orElseThrow(() -> new IllegalArgumentException("Unknown transport " + value + ", supported values are rest and jms"));
+    }
+}
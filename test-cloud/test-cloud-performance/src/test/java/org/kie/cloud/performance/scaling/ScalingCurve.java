@@ -0,0 +1,104 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.kie.cloud.performance.scaling;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import org.kie.cloud.performance.results.Metric;
+import org.kie.cloud.performance.results.PerfResult;
+
+/**
+ * Throughput and latency of the same workload measured at different numbers of replicas. Speedup of a step is its throughput
+ * divided by throughput of the step with the fewest replicas, efficiency is the speedup divided by the relative increase of
+ * replicas, so a perfectly scaling deployment has efficiency 1 at every step.
+ */
+public class ScalingCurve {
+
+    private static final int CHART_WIDTH = 50;
+
+    private final List<ScalingPoint> points = new ArrayList<>();
+
+    public void add(ScalingPoint point) {
+        points.add(point);
+        points.sort(Comparator.comparingInt(ScalingPoint::getReplicas));
+    }
+
+    public List<ScalingPoint> getPoints() {
+        return Collections.unmodifiableList(points);
+    }
+
+    public double getSpeedup(ScalingPoint point) {
+        ScalingPoint first = points.get(0);
+        return first.getThroughput() == 0 ? 0 : point.getThroughput() / first.getThroughput();
+    }
+
+    public double getEfficiency(ScalingPoint point) {
+        double replicasRatio = (double) point.getReplicas() / points.get(0).getReplicas();
+        return getSpeedup(point) / replicasRatio;
+    }
+
+    /**
+     * @return Fewest replicas at which efficiency drops below the threshold, -1 if efficiency never drops below it.
+     */
+    public int getScalingLimit(double efficiencyThreshold) {
+        return points.stream()
+                     .filter(point -> getEfficiency(point) < efficiencyThreshold)
+                     .mapToInt(ScalingPoint::getReplicas)
+                     .findFirst()
+                     .orElse(-1);
+    }
+
+    /**
+     * Add speedup and efficiency of the step to its result.
+     */
+    public void addTo(PerfResult result, ScalingPoint point) {
+        result.addMetric("speedup", Metric.higherIsBetter(getSpeedup(point), "x"))
+              .addMetric("efficiency", Metric.higherIsBetter(getEfficiency(point), "ratio"));
+    }
+
+    /**
+     * @return Text chart of throughput and p99 latency against replicas, bars are scaled to the maximal value.
+     */
+    public String toChart() {
+        double maxThroughput = points.stream().mapToDouble(ScalingPoint::getThroughput).max().orElse(0);
+        long maxLatency = points.stream().mapToLong(ScalingPoint::getLatencyP99).max().orElse(0);
+        StringBuilder chart = new StringBuilder(String.format("%8s | %-" + CHART_WIDTH + "s | %-" + CHART_WIDTH + "s | %7s | %10s%n",
+                                                              "replicas", "throughput [1/s]", "p99 latency [ms]", "speedup", "efficiency"));
+        for (ScalingPoint point : points) {
+            chart.append(String.format("%8d | %-" + CHART_WIDTH + "s | %-" + CHART_WIDTH + "s | %7.2f | %10.2f%n",
+                                       point.getReplicas(),
+                                       bar(point.getThroughput(), maxThroughput, String.format("%.1f", point.getThroughput())),
+                                       bar(point.getLatencyP99(), maxLatency, String.valueOf(point.getLatencyP99())),
+                                       getSpeedup(point),
+                                       getEfficiency(point)));
+        }
+        return chart.toString();
+    }
+
+    private static String bar(double value, double max, String label) {
+        int labelWidth = label.length() + 1;
+        int length = max == 0 ? 0 : (int) Math.round(value / max * (CHART_WIDTH - labelWidth));
+        StringBuilder bar = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            bar.append('#');
+        }
+        return bar.append(' ').append(label).toString();
+    }
+}
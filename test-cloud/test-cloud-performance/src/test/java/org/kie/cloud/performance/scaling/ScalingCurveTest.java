@@ -0,0 +1,49 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.kie.cloud.performance.scaling;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class ScalingCurveTest {
+
+    @Test
+    public void testSpeedupAndEfficiency() {
+        ScalingCurve curve = new ScalingCurve();
+        curve.add(new ScalingPoint(4, 260, 400));
+        curve.add(new ScalingPoint(1, 100, 80));
+        curve.add(new ScalingPoint(2, 180, 120));
+
+        assertThat(curve.getPoints()).extracting(ScalingPoint::getReplicas).containsExactly(1, 2, 4);
+        ScalingPoint four = curve.getPoints().get(2);
+        assertThat(curve.getSpeedup(four)).isCloseTo(2.6, within(0.001));
+        assertThat(curve.getEfficiency(four)).isCloseTo(0.65, within(0.001));
+        assertThat(curve.getScalingLimit(0.7)).isEqualTo(4);
+        assertThat(curve.getScalingLimit(0.5)).isEqualTo(-1);
+    }
+
+    @Test
+    public void testEfficiencyRelativeToFewestReplicas() {
+        ScalingCurve curve = new ScalingCurve();
+        curve.add(new ScalingPoint(2, 200, 100));
+        curve.add(new ScalingPoint(4, 400, 100));
+
+        assertThat(curve.getEfficiency(curve.getPoints().get(1))).isCloseTo(1, within(0.001));
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.kie.cloud.performance.scaling;
+
+/**
+ * Workload measured at one number of replicas.
+ */
+public class ScalingPoint {
+
+    private final int replicas;
+    private final double throughput;
+    private final long latencyP99;
+
+    public ScalingPoint(int replicas, double throughput, long latencyP99) {
+        if (replicas < 1) {
+            throw new IllegalArgumentException("Number of replicas has to be positive: " + replicas);
+        }
+        this.replicas = replicas;
+        this.throughput = throughput;
+        this.latencyP99 = latencyP99;
+    }
+
+    public int getReplicas() {
+        return replicas;
+    }
+
+    /**
+     * @return Throughput of the workload in operations per second.
+     */
+    public double getThroughput() {
+        return throughput;
+    }
+
+    /**
+     * @return 99th percentile of latency in milliseconds.
+     */
+    public long getLatencyP99() {
+        return latencyP99;
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.kie.cloud.performance.statistics;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.ToDoubleFunction;
+
+import org.kie.cloud.api.deployment.Instance;
+import org.kie.cloud.performance.results.Metric;
+import org.kie.cloud.performance.results.PerfResult;
+import org.kie.cloud.tests.common.profiling.GcLog;
+import org.kie.cloud.tests.common.statistics.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Collects GC statistics of instances running with GC logging enabled (see {@link org.kie.cloud.api.deployment.JvmOptions#withGcLogging(boolean)})
+ * from their logs. Only collections logged after {@link #start(List)} are included, so deployment and warmup don't affect the statistics.
+ */
+public class GcStatistics {
+
+    private static final Logger logger = LoggerFactory.getLogger(GcStatistics.class);
+
+    public static final String GC_LOGGING_KEY = "gc.logging";
+
+    private final Map<String, GcLog> initialLogs = new HashMap<>();
+    private final SortedMap<String, GcLog> logPerInstance = new TreeMap<>();
+
+    /**
+     * @return True if GC statistics are enabled by system property <code>gc.logging</code>.
+     */
+    public static boolean isEnabled() {
+        return Boolean.getBoolean(GC_LOGGING_KEY);
+    }
+
+    /**
+     * Remember collections logged so far by the instances.
+     */
+    public static GcStatistics start(List<Instance> instances) {
+        GcStatistics statistics = new GcStatistics();
+        instances.forEach(instance -> statistics.initialLogs.put(instance.getName(), GcLog.of(instance)));
+        return statistics;
+    }
+
+    /**
+     * Read collections logged by the instances since {@link #start(List)}.
+     */
+    public GcStatistics collect(List<Instance> instances) {
+        for (Instance instance : instances) {
+            GcLog log = GcLog.of(instance);
+            GcLog initialLog = initialLogs.get(instance.getName());
+            logPerInstance.put(instance.getName(), initialLog == null ? log : log.since(initialLog));
+        }
+        logPerInstance.forEach((instance, log) -> logger.info("GC of instance {}: {}", instance, log));
+        return this;
+    }
+
+    public SortedMap<String, GcLog> getLogPerInstance() {
+        return logPerInstance;
+    }
+
+    /**
+     * Add pause percentiles, total pause time and full GC count of all instances, maximal allocation rate, heap after GC and its
+     * trend among instances as metrics and statistics of each instance as distributions to the result.
+     */
+    public void addTo(PerfResult result) {
+        Histogram pauses = new Histogram();
+        logPerInstance.values().forEach(log -> pauses.add(log.getPauses()));
+        result.addHistogram("gcPause", pauses, "us")
+              .addMetric("gcPauseTotal", Metric.lowerIsBetter(sum(GcLog::getTotalPauseMillis), "ms"))
+              .addMetric("gcFullCount", Metric.lowerIsBetter(sum(GcLog::getFullGcCount), "count"))
+              .addMetric("gcAllocationRate", Metric.lowerIsBetter(max(GcLog::getAllocationRate), "MB/s"))
+              .addMetric("gcHeapAfterGcMax", Metric.lowerIsBetter(max(GcLog::getMaxHeapAfterGc), "MB"))
+              .addMetric("gcHeapAfterGcTrend", Metric.lowerIsBetter(max(GcLog::getHeapAfterGcTrend), "MB/min"))
+              .addDistribution("gcPauseCount", instanceStatistic(log -> log.getPauses().getCount()))
+              .addDistribution("gcPauseMax", instanceStatistic(log -> log.getPauses().getMax()))
+              .addDistribution("gcAllocationRate", instanceStatistic(GcLog::getAllocationRate))
+              .addDistribution("gcHeapAfterGcMax", instanceStatistic(GcLog::getMaxHeapAfterGc));
+    }
+
+    private double sum(ToDoubleFunction<GcLog> statistic) {
+        return logPerInstance.values().stream().mapToDouble(statistic).sum();
+    }
+
+    private double max(ToDoubleFunction<GcLog> statistic) {
+        return logPerInstance.values().stream().mapToDouble(statistic).max().orElse(0);
+    }
+
+    private Map<String, Double> instanceStatistic(ToDoubleFunction<GcLog> statistic) {
+        Map<String, Double> values = new TreeMap<>();
+        logPerInstance.forEach((instance, log) -> values.put(instance, statistic.applyAsDouble(log)));
+        return values;
+    }
+}
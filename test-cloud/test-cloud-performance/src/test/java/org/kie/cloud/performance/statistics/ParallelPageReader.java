@@ -0,0 +1,72 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.cloud.performance.statistics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+/**
+ * Reads pages of query results in parallel and passes every item to a consumer as soon as its page is loaded, so the whole
+ * result is never kept in memory.
+ */
+public class ParallelPageReader {
+
+    public static final String THREADS_KEY = "statistics.threads";
+
+    private static final int DEFAULT_THREADS = 4;
+
+    private ParallelPageReader() {}
+
+    /**
+     * @param pageCount Number of pages to read.
+     * @param pageReader Function returning the page with given index.
+     * @param consumer Consumer of page items, has to be thread safe.
+     */
+    public static <T> void readPages(int pageCount, IntFunction<List<T>> pageReader, Consumer<? super T> consumer) {
+        int threads = Math.max(1, Math.min(pageCount, Integer.getInteger(THREADS_KEY, DEFAULT_THREADS)));
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> pages = new ArrayList<>();
+            for (int page = 0; page < pageCount; page++) {
+                int pageIndex = page;
+                pages.add(executor.submit(() -> pageReader.apply(pageIndex).forEach(consumer)));
+            }
+            for (Future<?> page : pages) {
+                page.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while reading query results", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Error while reading query results", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * @return Number of pages needed to read the expected number of items, including one additional page to check there are no more items.
+     */
+    public static int pageCount(long expectedCount, int pageSize) {
+        return (int) (expectedCount / pageSize) + 1;
+    }
+}
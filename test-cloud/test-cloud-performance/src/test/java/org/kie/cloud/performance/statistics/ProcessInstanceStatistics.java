@@ -0,0 +1,96 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.cloud.performance.statistics;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.kie.server.client.QueryServicesClient;
+
+/**
+ * Process instance counts computed by the database using aggregate queries registered by the kjar, so only a few rows are
+ * transferred regardless of number of process instances.
+ */
+public class ProcessInstanceStatistics {
+
+    public static final String COUNT_BY_STATUS_QUERY = "jbpmProcessInstanceCountByStatus";
+    public static final String HOST_NAME_COUNT_QUERY = "jbpmHostNameCountSearch";
+
+    // Both queries return just a few rows (one per status or per pair of pods)
+    private static final int PAGE_SIZE = 1000;
+
+    private final Map<Integer, Long> countByStatus = new HashMap<>();
+    private final Map<String, Long> startedHostNameDistribution = new TreeMap<>();
+    private final Map<String, Long> completedHostNameDistribution = new TreeMap<>();
+
+    /**
+     * @param queryServicesClient Client used to run aggregate queries.
+     * @param pods Pods which are always included in distributions, even if they didn't start or complete any process instance.
+     * @return Statistics of process instances of timers-testing.OneTimerDate process.
+     */
+    @SuppressWarnings("rawtypes")
+    public static ProcessInstanceStatistics collect(QueryServicesClient queryServicesClient, List<String> pods) {
+        ProcessInstanceStatistics statistics = new ProcessInstanceStatistics();
+        pods.forEach(pod -> {
+            statistics.startedHostNameDistribution.put(pod, 0L);
+            statistics.completedHostNameDistribution.put(pod, 0L);
+        });
+
+        List<List> statusCounts = queryServicesClient.query(COUNT_BY_STATUS_QUERY, QueryServicesClient.QUERY_MAP_RAW, 0, PAGE_SIZE, List.class);
+        for (List row : statusCounts) {
+            statistics.countByStatus.put((int) toLong(row.get(0)), toLong(row.get(1)));
+        }
+
+        List<List> hostNameCounts = queryServicesClient.query(HOST_NAME_COUNT_QUERY, QueryServicesClient.QUERY_MAP_RAW, 0, PAGE_SIZE, List.class);
+        for (List row : hostNameCounts) {
+            long count = toLong(row.get(2));
+            statistics.startedHostNameDistribution.merge(String.valueOf(row.get(0)), count, Long::sum);
+            statistics.completedHostNameDistribution.merge(String.valueOf(row.get(1)), count, Long::sum);
+        }
+        return statistics;
+    }
+
+    /**
+     * @param status Process instance status, see {@link org.kie.api.runtime.process.ProcessInstance}.
+     * @return Number of process instances in given status.
+     */
+    public long getCount(int status) {
+        return countByStatus.getOrDefault(status, 0L);
+    }
+
+    /**
+     * @return Number of completed process instances per pod which started them.
+     */
+    public Map<String, Long> getStartedHostNameDistribution() {
+        return startedHostNameDistribution;
+    }
+
+    /**
+     * @return Number of completed process instances per pod which completed them.
+     */
+    public Map<String, Long> getCompletedHostNameDistribution() {
+        return completedHostNameDistribution;
+    }
+
+    static long toLong(Object value) {
+        if (value instanceof Number) {
+            return ((Number) value).longValue();
+        }
+        return Long.parseLong(String.valueOf(value));
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.kie.cloud.performance.statistics;
+
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import org.kie.cloud.performance.results.Metric;
+import org.kie.cloud.performance.results.PerfResult;
+import org.kie.cloud.performance.results.PerfResultStore;
+import org.kie.cloud.tests.common.metrics.MetricsScraper;
+import org.kie.cloud.tests.common.metrics.PrometheusTextParser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Summary of metrics scraped during a run by {@link MetricsScraper}. Counters are summarized by their rate, other metrics by their
+ * maximal value. All scraped values are stored as a report beside the result, so they can be analyzed later without Prometheus.
+ */
+public class ScrapedMetricsSummary {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScrapedMetricsSummary.class);
+
+    public static final String METRICS_PREFIX = "metrics.";
+
+    private static final String METRICS_REPORT = "metrics";
+    private static final String COUNTER_TYPE = "counter";
+
+    private ScrapedMetricsSummary() {}
+
+    /**
+     * @param scraper Stopped scraper.
+     * @param metricNames Metrics added to the result, series of all targets and labels are aggregated.
+     * @param result Result the summary is added to, values of every target are added as distributions.
+     */
+    public static void addTo(MetricsScraper scraper, List<String> metricNames, PerfResult result) {
+        for (String metricName : metricNames) {
+            SortedMap<String, Double> perTarget = new TreeMap<>();
+            boolean counter = isCounter(scraper, metricName);
+            scraper.getSeries().forEach((target, targetSeries) -> targetSeries.forEach((series, values) -> {
+                if (PrometheusTextParser.metricName(series).equals(metricName)) {
+                    perTarget.merge(target, counter ? values.getRate() : values.getMax(), counter ? Double::sum : Math::max);
+                }
+            }));
+            if (perTarget.isEmpty()) {
+                logger.warn("Metric {} was not scraped from any target.", metricName);
+                continue;
+            }
+
+            if (counter) {
+                result.addMetric(METRICS_PREFIX + metricName + ".rate", Metric.higherIsBetter(sum(perTarget), "1/s"));
+            } else {
+                result.addMetric(METRICS_PREFIX + metricName + ".max", Metric.lowerIsBetter(perTarget.values().stream().mapToDouble(Double::doubleValue).max().getAsDouble(), null));
+            }
+            result.addDistribution(METRICS_PREFIX + metricName, perTarget);
+        }
+        result.addMetric(METRICS_PREFIX + "failedScrapes", Metric.lowerIsBetter(scraper.getFailedScrapeCount(), "count"));
+
+        PerfResultStore.fromSystemProperties().storeReport(result.getScenario(), result.getTimestamp(), METRICS_REPORT, scraper.toCsv());
+    }
+
+    private static boolean isCounter(MetricsScraper scraper, String metricName) {
+        return scraper.getType(metricName)
+                      .map(COUNTER_TYPE::equals)
+                      .orElseGet(() -> metricName.endsWith("_total") || metricName.endsWith("_count"));
+    }
+
+    private static double sum(Map<String, Double> values) {
+        return values.values().stream().mapToDouble(Double::doubleValue).sum();
+    }
+
+}
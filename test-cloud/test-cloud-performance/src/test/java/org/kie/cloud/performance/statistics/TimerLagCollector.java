@@ -0,0 +1,137 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.cloud.performance.statistics;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+
+import org.kie.cloud.performance.results.PerfResult;
+import org.kie.cloud.tests.common.statistics.Histogram;
+import org.kie.server.client.QueryServicesClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Collects lag between scheduled and actual fire time of the timer in timers-testing.OneTimerDate process, grouped by the pod
+ * which completed the process instance.
+ *
+ * Actual fire time is stored by the process itself in variable firedAt right after the timer is triggered. Scheduled fire time
+ * is taken from variable fireAt, processes started without fireAt have their timer due immediately, so the time of process
+ * start (variable startedAt) is used instead. Note that fireAt is computed by the test client, so a clock skew between the client
+ * and the cluster affects the lag, startedAt and firedAt are both taken from the cluster clock.
+ */
+public class TimerLagCollector {
+
+    private static final Logger logger = LoggerFactory.getLogger(TimerLagCollector.class);
+
+    public static final String TIMER_LAG_QUERY = "jbpmTimerLagSearch";
+
+    private static final int PAGE_SIZE = 5000;
+
+    // Column order of jbpmTimerLagSearch query
+    private static final int HOST_NAME_COLUMN = 1;
+    private static final int STARTED_AT_COLUMN = 2;
+    private static final int FIRED_AT_COLUMN = 3;
+    private static final int FIRE_AT_COLUMN = 4;
+
+    private final SortedMap<String, Histogram> lagPerPod = new ConcurrentSkipListMap<>();
+    private final Histogram totalLag = new Histogram();
+    private final LongAdder earlyFiredCount = new LongAdder();
+
+    /**
+     * Read timer lag of all completed process instances. Pages of the query are read in parallel, see {@link ParallelPageReader}.
+     *
+     * @param queryServicesClient Client used to run jbpmTimerLagSearch query registered by the kjar.
+     * @param expectedCount Expected number of completed process instances, used to compute number of pages.
+     * @return Collected lag.
+     */
+    public static TimerLagCollector collect(QueryServicesClient queryServicesClient, long expectedCount) {
+        TimerLagCollector collector = new TimerLagCollector();
+        ParallelPageReader.readPages(ParallelPageReader.pageCount(expectedCount, PAGE_SIZE),
+                                     page -> queryServicesClient.query(TIMER_LAG_QUERY, QueryServicesClient.QUERY_MAP_RAW, "processInstanceId", page, PAGE_SIZE, List.class),
+                                     collector::addRow);
+
+        logger.info("Timer lag in milliseconds: {}", collector.totalLag);
+        collector.lagPerPod.forEach((pod, lag) -> logger.info("Timer lag in milliseconds of pod {}: {}", pod, lag));
+        if (collector.earlyFiredCount.sum() > 0) {
+            logger.warn("{} timers fired before their scheduled time, check clock synchronization between test client and cluster.", collector.earlyFiredCount.sum());
+        }
+        return collector;
+    }
+
+    /**
+     * Record timer lag of one process instance. Can be called concurrently.
+     *
+     * @param hostName Pod which completed the process instance.
+     * @param scheduledTime Scheduled fire time in epoch milliseconds.
+     * @param firedTime Actual fire time in epoch milliseconds.
+     */
+    public void record(String hostName, long scheduledTime, long firedTime) {
+        long lag = firedTime - scheduledTime;
+        if (lag < 0) {
+            earlyFiredCount.increment();
+        }
+        lagPerPod.computeIfAbsent(hostName, pod -> new Histogram()).record(lag);
+        totalLag.record(lag);
+    }
+
+    /**
+     * @return Timer lag histograms in milliseconds per pod.
+     */
+    public SortedMap<String, Histogram> getLagPerPod() {
+        return lagPerPod;
+    }
+
+    /**
+     * @return Timer lag histogram in milliseconds of all pods.
+     */
+    public Histogram getTotalLag() {
+        return totalLag;
+    }
+
+    /**
+     * Add lag percentiles of all pods as metrics and lag percentiles of each pod as distributions to the result.
+     * Distributions are keyed by the pod name so CSV columns stay the same regardless of pod names.
+     */
+    public void addTo(PerfResult result) {
+        result.addHistogram("timerLag", totalLag, "ms");
+        result.addDistribution("timerLagCount", podStatistic(Histogram::getCount));
+        result.addDistribution("timerLagP50", podStatistic(lag -> lag.getValueAtPercentile(50)));
+        result.addDistribution("timerLagP90", podStatistic(lag -> lag.getValueAtPercentile(90)));
+        result.addDistribution("timerLagP99", podStatistic(lag -> lag.getValueAtPercentile(99)));
+        result.addDistribution("timerLagMax", podStatistic(Histogram::getMax));
+    }
+
+    private Map<String, Long> podStatistic(ToLongFunction<Histogram> statistic) {
+        Map<String, Long> values = new TreeMap<>();
+        lagPerPod.forEach((pod, lag) -> values.put(pod, statistic.applyAsLong(lag)));
+        return values;
+    }
+
+    private void addRow(List<?> row) {
+        String hostName = String.valueOf(row.get(HOST_NAME_COLUMN));
+        long firedTime = Long.parseLong(String.valueOf(row.get(FIRED_AT_COLUMN)));
+        Object fireAt = row.get(FIRE_AT_COLUMN);
+        long scheduledTime = fireAt == null ? Long.parseLong(String.valueOf(row.get(STARTED_AT_COLUMN))) : OffsetDateTime.parse(String.valueOf(fireAt)).toInstant().toEpochMilli();
+        record(hostName, scheduledTime, firedTime);
+    }
+}
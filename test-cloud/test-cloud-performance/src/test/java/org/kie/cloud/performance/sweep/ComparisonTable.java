@@ -0,0 +1,142 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.kie.cloud.performance.sweep;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.kie.cloud.performance.results.Metric;
+import org.kie.cloud.performance.results.PerfResult;
+
+/**
+ * Consolidated comparison of results of all sweep points, one row per point. The best value of every metric is marked by <code>*</code>.
+ */
+public class ComparisonTable {
+
+    private static final String BEST_MARK = "*";
+    private static final String MISSING = "-";
+
+    private final List<String> metricNames;
+    private final List<SweepPoint> points = new ArrayList<>();
+    private final List<PerfResult> results = new ArrayList<>();
+
+    /**
+     * @param metricNames Metrics shown in the table, in order of columns.
+     */
+    public ComparisonTable(List<String> metricNames) {
+        this.metricNames = new ArrayList<>(metricNames);
+    }
+
+    public void add(SweepPoint point, PerfResult result) {
+        points.add(point);
+        results.add(result);
+    }
+
+    public List<PerfResult> getResults() {
+        return results;
+    }
+
+    /**
+     * @return Point with the best value of the metric, empty if no result contains the metric.
+     */
+    public Optional<SweepPoint> getBest(String metricName) {
+        int best = bestRow(metricName);
+        return best < 0 ? Optional.empty() : Optional.of(points.get(best));
+    }
+
+    public String toTable() {
+        Set<String> parameterNames = new LinkedHashSet<>();
+        points.forEach(point -> parameterNames.addAll(point.getValues().keySet()));
+
+        List<String> header = new ArrayList<>(parameterNames);
+        metricNames.forEach(metricName -> header.add(metricName + unit(metricName)));
+
+        List<List<String>> rows = new ArrayList<>();
+        for (int row = 0; row < points.size(); row++) {
+            SweepPoint point = points.get(row);
+            List<String> cells = parameterNames.stream()
+                                               .map(name -> point.get(name).orElse(MISSING))
+                                               .collect(Collectors.toList());
+            for (String metricName : metricNames) {
+                Metric metric = results.get(row).getMetrics().get(metricName);
+                cells.add(metric == null ? MISSING : String.format("%.2f", metric.getValue()) + (bestRow(metricName) == row ? BEST_MARK : ""));
+            }
+            rows.add(cells);
+        }
+
+        int[] widths = new int[header.size()];
+        for (int column = 0; column < header.size(); column++) {
+            widths[column] = header.get(column).length();
+            for (List<String> cells : rows) {
+                widths[column] = Math.max(widths[column], cells.get(column).length());
+            }
+        }
+
+        StringBuilder table = new StringBuilder();
+        appendRow(table, header, widths);
+        List<String> separator = new ArrayList<>();
+        for (int width : widths) {
+            separator.add(String.join("", Collections.nCopies(width, "-")));
+        }
+        appendRow(table, separator, widths);
+        rows.forEach(cells -> appendRow(table, cells, widths));
+        return table.toString();
+    }
+
+    private int bestRow(String metricName) {
+        int best = -1;
+        for (int row = 0; row < results.size(); row++) {
+            Metric metric = results.get(row).getMetrics().get(metricName);
+            if (metric == null) {
+                continue;
+            }
+            if (best < 0) {
+                best = row;
+                continue;
+            }
+            double bestValue = results.get(best).getMetrics().get(metricName).getValue();
+            if (metric.isHigherIsBetter() ? metric.getValue() > bestValue : metric.getValue() < bestValue) {
+                best = row;
+            }
+        }
+        return best;
+    }
+
+    private String unit(String metricName) {
+        return results.stream()
+                      .map(result -> result.getMetrics().get(metricName))
+                      .filter(metric -> metric != null && metric.getUnit() != null)
+                      .findFirst()
+                      .map(metric -> " [" + metric.getUnit() + "]")
+                      .orElse("");
+    }
+
+    private static void appendRow(StringBuilder table, List<String> cells, int[] widths) {
+        for (int column = 0; column < cells.size(); column++) {
+            if (column > 0) {
+                table.append(" | ");
+            }
+            table.append(column == cells.size() - 1 ? cells.get(column) : String.format("%-" + widths[column] + "s", cells.get(column)));
+        }
+        table.append(System.lineSeparator());
+    }
+}
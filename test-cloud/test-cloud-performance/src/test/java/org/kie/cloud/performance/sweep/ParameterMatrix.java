@@ -0,0 +1,96 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.kie.cloud.performance.sweep;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.kie.cloud.performance.util.PropertyUtils;
+
+/**
+ * Values of sweep parameters, every combination of the values is one {@link SweepPoint}.
+ */
+public class ParameterMatrix {
+
+    private final Map<String, List<String>> dimensions = new LinkedHashMap<>();
+
+    /**
+     * Parse matrix from its textual definition, suitable for system properties. Parameters are separated by <code>;</code>,
+     * values of a parameter by <code>,</code>, for example <code>heap=2Gi,4Gi;limits.cpu=1000m,2000m;env.GC_MAX_METASPACE_SIZE=512</code>.
+     * See {@link SweepLevel} for supported parameters.
+     */
+    public static ParameterMatrix parse(String definition) {
+        ParameterMatrix matrix = new ParameterMatrix();
+        for (String dimension : definition.split(";")) {
+            if (dimension.trim().isEmpty()) {
+                continue;
+            }
+            int separator = dimension.indexOf('=');
+            if (separator < 1) {
+                throw new IllegalArgumentException("Sweep parameter " + dimension + " doesn't have format <name>=<value>[,<value>...]");
+            }
+            matrix.add(dimension.substring(0, separator).trim(), PropertyUtils.parseList(dimension.substring(separator + 1)));
+        }
+        return matrix;
+    }
+
+    public ParameterMatrix add(String name, List<String> values) {
+        SweepLevel.of(name);
+        if (values.isEmpty()) {
+            throw new IllegalArgumentException("Sweep parameter " + name + " doesn't have any value");
+        }
+        if (dimensions.putIfAbsent(name, new ArrayList<>(values)) != null) {
+            throw new IllegalArgumentException("Sweep parameter " + name + " is defined more than once");
+        }
+        return this;
+    }
+
+    public Map<String, List<String>> getDimensions() {
+        return Collections.unmodifiableMap(dimensions);
+    }
+
+    /**
+     * @return All combinations of parameter values. Parameters of more expensive levels change less often, so consecutive points
+     * share the deployment and the rollout as much as possible. Empty matrix has one point without any value.
+     */
+    public List<SweepPoint> getPoints() {
+        List<String> names = dimensions.keySet().stream()
+                                       .sorted(Comparator.comparing(SweepLevel::of))
+                                       .collect(Collectors.toList());
+        List<SweepPoint> points = new ArrayList<>();
+        addPoints(names, 0, new LinkedHashMap<>(), points);
+        return points;
+    }
+
+    private void addPoints(List<String> names, int index, LinkedHashMap<String, String> values, List<SweepPoint> points) {
+        if (index == names.size()) {
+            points.add(new SweepPoint(values));
+            return;
+        }
+        String name = names.get(index);
+        for (String value : dimensions.get(name)) {
+            values.put(name, value);
+            addPoints(names, index + 1, values, points);
+        }
+        values.remove(name);
+    }
+}
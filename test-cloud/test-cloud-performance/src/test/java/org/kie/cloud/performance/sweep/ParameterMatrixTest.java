@@ -0,0 +1,68 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.kie.cloud.performance.sweep;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+
+public class ParameterMatrixTest {
+
+    @Test
+    public void testPointsOrderedByLevel() {
+        ParameterMatrix matrix = ParameterMatrix.parse("routerTimeout=1,5; limits.cpu=1000m,2000m; heap=2Gi,4Gi");
+
+        List<SweepPoint> points = matrix.getPoints();
+
+        assertThat(points).hasSize(8);
+        assertThat(points.stream().map(SweepPoint::toString).collect(Collectors.toList()))
+                .startsWith("heap=2Gi, limits.cpu=1000m, routerTimeout=1",
+                            "heap=2Gi, limits.cpu=1000m, routerTimeout=5",
+                            "heap=2Gi, limits.cpu=2000m, routerTimeout=1")
+                .endsWith("heap=4Gi, limits.cpu=2000m, routerTimeout=5");
+    }
+
+    @Test
+    public void testPointValues() {
+        SweepPoint point = ParameterMatrix.parse("requests.cpu=500m;limits.memory=4Gi;env.GC_MAX_METASPACE_SIZE=512;refreshInterval=30")
+                                          .getPoints().get(0);
+
+        assertThat(point.getValues(SweepLevel.SCENARIO)).containsExactly(entry("refreshInterval", "30"));
+        assertThat(point.getValues(SweepLevel.ROLLOUT)).containsOnlyKeys("env.GC_MAX_METASPACE_SIZE", "limits.memory", "requests.cpu");
+        assertThat(point.getResourceRequests()).containsExactly(entry("cpu", "500m"));
+        assertThat(point.getResourceLimits()).containsExactly(entry("memory", "4Gi"));
+        assertThat(point.getEnvironmentVariables()).containsExactly(entry("GC_MAX_METASPACE_SIZE", "512"));
+        assertThat(point.getRefreshInterval()).hasValueSatisfying(interval -> assertThat(interval.getSeconds()).isEqualTo(30));
+        assertThat(point.getRouterTimeout()).isEmpty();
+    }
+
+    @Test
+    public void testEmptyMatrixHasOnePoint() {
+        assertThat(ParameterMatrix.parse("").getPoints()).hasSize(1);
+    }
+
+    @Test
+    public void testUnsupportedParameter() {
+        assertThatThrownBy(() -> ParameterMatrix.parse("scale=1,2")).isInstanceOf(IllegalArgumentException.class)
+                                                                    .hasMessageContaining("scale");
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.kie.cloud.performance.sweep;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+import org.kie.cloud.api.deployment.Deployment;
+import org.kie.cloud.api.deployment.JvmOptions;
+import org.kie.cloud.api.deployment.JvmOptions.GarbageCollector;
+import org.kie.cloud.api.deployment.KieServerDeployment;
+import org.kie.cloud.api.scenario.DeploymentScenario;
+import org.kie.cloud.performance.results.PerfResult;
+import org.kie.cloud.performance.results.PerfResultRecorder;
+import org.kie.cloud.performance.results.PerfResultStore;
+import org.kie.cloud.tests.common.ScenarioDeployer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs a workload for every point of a parameter matrix. Scenario is deployed again only when a parameter of level
+ * {@link SweepLevel#SCENARIO} changes, parameters of level {@link SweepLevel#ROLLOUT} are applied by scaling the target deployment
+ * down, changing it and scaling it back, parameters of level {@link SweepLevel#RUNTIME} are applied directly.
+ *
+ * Result of every point contains all point values as parameters and is recorded by {@link PerfResultRecorder}, selected metrics of
+ * all points are logged and stored as a comparison table, see {@link ComparisonTable}.
+ *
+ * @param <T> Type of deployment scenario.
+ */
+public class ParameterSweep<T extends DeploymentScenario<?>> {
+
+    private static final Logger logger = LoggerFactory.getLogger(ParameterSweep.class);
+
+    private static final String COMPARISON_REPORT = "comparison";
+
+    /**
+     * Workload run for every sweep point.
+     */
+    @FunctionalInterface
+    public interface Workload<T> {
+
+        /**
+         * @param scenario Deployed scenario with point parameters applied.
+         * @param point Current sweep point.
+         * @param result Result of the point, workload adds its metrics.
+         */
+        void run(T scenario, SweepPoint point, PerfResult result);
+    }
+
+    private final String scenarioName;
+    private final ParameterMatrix matrix;
+    private final Function<SweepPoint, T> scenarioFactory;
+    private final Function<T, Deployment> targetDeployment;
+    private final List<String> comparedMetrics;
+    private JvmOptions jvmOptions;
+
+    private int deploymentCount;
+    private int rolloutCount;
+
+    /**
+     * @param scenarioName Name of the performance scenario used for results.
+     * @param matrix Swept parameters.
+     * @param scenarioFactory Creates (not deploys) the scenario for parameters of level {@link SweepLevel#SCENARIO} of the point.
+     * @param targetDeployment Deployment of the scenario which parameters of levels {@link SweepLevel#ROLLOUT} and {@link SweepLevel#RUNTIME} are applied to.
+     * @param comparedMetrics Metrics shown in the comparison table.
+     */
+    public ParameterSweep(String scenarioName, ParameterMatrix matrix, Function<SweepPoint, T> scenarioFactory, Function<T, Deployment> targetDeployment,
+                          List<String> comparedMetrics) {
+        this.scenarioName = scenarioName;
+        this.matrix = matrix;
+        this.scenarioFactory = scenarioFactory;
+        this.targetDeployment = targetDeployment;
+        this.comparedMetrics = comparedMetrics;
+    }
+
+    /**
+     * @param jvmOptions JVM options of Kie server target deployment applied together with swept parameters, so a point sweeping
+     * <code>env.JAVA_OPTS_APPEND</code> keeps them and the workload doesn't need another rollout to apply them.
+     */
+    public ParameterSweep<T> withJvmOptions(JvmOptions jvmOptions) {
+        this.jvmOptions = jvmOptions;
+        return this;
+    }
+
+    /**
+     * Run the workload for all points of the matrix, the last deployed scenario is undeployed at the end. Regressions against
+     * baseline are checked once all points are recorded.
+     *
+     * @return Comparison of all points.
+     */
+    public ComparisonTable run(Workload<T> workload) {
+        List<SweepPoint> points = matrix.getPoints();
+        ComparisonTable table = new ComparisonTable(comparedMetrics);
+        T scenario = null;
+        Map<String, String> deployedValues = null;
+        Map<String, String> rolledOutValues = null;
+        List<String> regressions = new ArrayList<>();
+        try {
+            for (int i = 0; i < points.size(); i++) {
+                SweepPoint point = points.get(i);
+                logger.info("Sweep point {}/{}: {}", i + 1, points.size(), point);
+
+                Map<String, String> scenarioValues = point.getValues(SweepLevel.SCENARIO);
+                if (scenario == null || !scenarioValues.equals(deployedValues)) {
+                    ScenarioDeployer.undeployScenario(scenario);
+                    scenario = deploy(point);
+                    deployedValues = scenarioValues;
+                    // New deployment runs with default values of rollout parameters, JVM options need a rollout to be applied
+                    rolledOutValues = jvmOptions == null ? Collections.emptyMap() : null;
+                }
+
+                Deployment deployment = targetDeployment.apply(scenario);
+                Map<String, String> rolloutValues = point.getValues(SweepLevel.ROLLOUT);
+                if (!rolloutValues.equals(rolledOutValues)) {
+                    rollOut(deployment, point);
+                    rolledOutValues = rolloutValues;
+                }
+                point.getRouterTimeout().ifPresent(deployment::setRouterTimeout);
+
+                PerfResult result = PerfResultRecorder.newResult(scenarioName);
+                point.addTo(result);
+                workload.run(scenario, point, result);
+                table.add(point, result);
+                regressions.addAll(PerfResultRecorder.recordAndCompare(result));
+            }
+        } finally {
+            ScenarioDeployer.undeployScenario(scenario);
+            report(table);
+        }
+        PerfResultRecorder.assertNoRegressions(regressions);
+        return table;
+    }
+
+    public int getDeploymentCount() {
+        return deploymentCount;
+    }
+
+    public int getRolloutCount() {
+        return rolloutCount;
+    }
+
+    private T deploy(SweepPoint point) {
+        deploymentCount++;
+        logger.info("Deploying scenario for {}", point.getValues(SweepLevel.SCENARIO));
+        T scenario = scenarioFactory.apply(point);
+        scenario.setLogFolderName(scenarioName + "-" + deploymentCount);
+        ScenarioDeployer.deployScenario(scenario);
+        return scenario;
+    }
+
+    private void rollOut(Deployment deployment, SweepPoint point) {
+        rolloutCount++;
+        logger.info("Rolling out {}", point.getValues(SweepLevel.ROLLOUT));
+        int replicas = deployment.getReplicas();
+        // Scale to 0 so no pod with the previous configuration is running once the deployment is scaled back
+        deployment.scale(0);
+        deployment.waitForScale();
+
+        Map<String, String> requests = point.getResourceRequests();
+        Map<String, String> limits = point.getResourceLimits();
+        if (!requests.isEmpty() || !limits.isEmpty()) {
+            deployment.setResources(requests, limits);
+        }
+        Map<String, String> environmentVariables = point.getEnvironmentVariables();
+        if (!environmentVariables.isEmpty()) {
+            deployment.setEnvironmentVariables(environmentVariables);
+        }
+        Optional<GarbageCollector> garbageCollector = point.getGarbageCollector();
+        if (garbageCollector.isPresent()) {
+            toKieServerDeployment(deployment, "Garbage collector").setJvmOptions(new JvmOptions().withGarbageCollector(garbageCollector.get()));
+        }
+        // Applied after environment variables, options are added to the swept JAVA_OPTS_APPEND
+        if (jvmOptions != null) {
+            toKieServerDeployment(deployment, "JVM options").setJvmOptions(jvmOptions);
+        }
+
+        deployment.scale(replicas);
+        deployment.waitForScale();
+    }
+
+    private static KieServerDeployment toKieServerDeployment(Deployment deployment, String parameter) {
+        if (!(deployment instanceof KieServerDeployment)) {
+            throw new IllegalArgumentException(parameter + " can be swept only on Kie server deployment");
+        }
+        return (KieServerDeployment) deployment;
+    }
+
+    private void report(ComparisonTable table) {
+        if (table.getResults().isEmpty()) {
+            return;
+        }
+        String comparison = table.toTable();
+        logger.info("Sweep of scenario {} finished with {} deployments and {} rollouts:{}{}", scenarioName, deploymentCount, rolloutCount,
+                    System.lineSeparator(), comparison);
+        PerfResultStore.fromSystemProperties().storeReport(scenarioName, table.getResults().get(0).getTimestamp(), COMPARISON_REPORT, comparison);
+    }
+}
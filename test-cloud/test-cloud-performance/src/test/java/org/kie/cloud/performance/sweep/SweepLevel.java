@@ -0,0 +1,70 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.kie.cloud.performance.sweep;
+
+/**
+ * Level at which a sweep parameter is applied, parameters of a cheaper level can change without repeating the more expensive steps.
+ */
+public enum SweepLevel {
+
+    /**
+     * Parameter is defined by the scenario builder, changing it requires a new deployment of the scenario.
+     * Supported parameters: <code>heap</code> (KIE server memory limit) and <code>refreshInterval</code> (timer service data
+     * store refresh interval in seconds).
+     */
+    SCENARIO,
+    /**
+     * Parameter is defined by the deployment of KIE server, changing it requires a rollout of its pods.
+     * Supported parameters: <code>requests.&lt;resource&gt;</code>, <code>limits.&lt;resource&gt;</code> (for example
+     * <code>limits.cpu</code>), <code>env.&lt;variable&gt;</code> (environment variable of KIE server) and <code>gc</code> (garbage
+     * collector of KIE server, see {@link org.kie.cloud.api.deployment.JvmOptions.GarbageCollector}).
+     */
+    ROLLOUT,
+    /**
+     * Parameter can be changed on running deployment.
+     * Supported parameters: <code>routerTimeout</code> (timeout of the KIE server route in minutes).
+     */
+    RUNTIME;
+
+    public static final String HEAP = "heap";
+    public static final String REFRESH_INTERVAL = "refreshInterval";
+    public static final String ROUTER_TIMEOUT = "routerTimeout";
+    public static final String GARBAGE_COLLECTOR = "gc";
+    public static final String REQUESTS_PREFIX = "requests.";
+    public static final String LIMITS_PREFIX = "limits.";
+    public static final String ENV_PREFIX = "env.";
+
+    /**
+     * @param parameterName Name of the sweep parameter.
+     * @return Level at which the parameter is applied.
+     * @throws IllegalArgumentException If the parameter is not supported.
+     */
+    public static SweepLevel of(String parameterName) {
+        if (HEAP.equals(parameterName) || REFRESH_INTERVAL.equals(parameterName)) {
+            return SCENARIO;
+        } else if (GARBAGE_COLLECTOR.equals(parameterName) || isPrefixedName(parameterName, REQUESTS_PREFIX) || isPrefixedName(parameterName, LIMITS_PREFIX) || isPrefixedName(parameterName, ENV_PREFIX)) {
+            return ROLLOUT;
+        } else if (ROUTER_TIMEOUT.equals(parameterName)) {
+            return RUNTIME;
+        }
+        throw new IllegalArgumentException("Unsupported sweep parameter " + parameterName);
+    }
+
+    private static boolean isPrefixedName(String parameterName, String prefix) {
+        return parameterName.startsWith(prefix) && parameterName.length() > prefix.length();
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.kie.cloud.performance.sweep;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import org.kie.cloud.api.deployment.JvmOptions.GarbageCollector;
+import org.kie.cloud.performance.results.PerfResult;
+
+/**
+ * One point of a parameter matrix, values of all matrix parameters in order of the matrix definition.
+ */
+public class SweepPoint {
+
+    private final Map<String, String> values;
+
+    public SweepPoint(Map<String, String> values) {
+        this.values = Collections.unmodifiableMap(new LinkedHashMap<>(values));
+    }
+
+    public Map<String, String> getValues() {
+        return values;
+    }
+
+    public Optional<String> get(String name) {
+        return Optional.ofNullable(values.get(name));
+    }
+
+    /**
+     * @return Values of parameters of given level, points with the same values share the steps of that level.
+     */
+    public Map<String, String> getValues(SweepLevel level) {
+        return values.entrySet().stream()
+                     .filter(value -> SweepLevel.of(value.getKey()) == level)
+                     .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> b, TreeMap::new));
+    }
+
+    public Optional<String> getHeap() {
+        return get(SweepLevel.HEAP);
+    }
+
+    public Optional<Duration> getRefreshInterval() {
+        return get(SweepLevel.REFRESH_INTERVAL).map(interval -> Duration.ofSeconds(Long.parseLong(interval)));
+    }
+
+    public Optional<Duration> getRouterTimeout() {
+        return get(SweepLevel.ROUTER_TIMEOUT).map(timeout -> Duration.ofMinutes(Long.parseLong(timeout)));
+    }
+
+    public Optional<GarbageCollector> getGarbageCollector() {
+        return get(SweepLevel.GARBAGE_COLLECTOR).map(GarbageCollector::valueOf);
+    }
+
+    /**
+     * @return Resource requests keyed by resource name, for example <code>cpu</code>.
+     */
+    public Map<String, String> getResourceRequests() {
+        return withPrefix(SweepLevel.REQUESTS_PREFIX);
+    }
+
+    /**
+     * @return Resource limits keyed by resource name, for example <code>memory</code>.
+     */
+    public Map<String, String> getResourceLimits() {
+        return withPrefix(SweepLevel.LIMITS_PREFIX);
+    }
+
+    public Map<String, String> getEnvironmentVariables() {
+        return withPrefix(SweepLevel.ENV_PREFIX);
+    }
+
+    /**
+     * Add all values as parameters of the result, so results of different points are never compared with each other.
+     */
+    public void addTo(PerfResult result) {
+        values.forEach(result::addParameter);
+    }
+
+    private Map<String, String> withPrefix(String prefix) {
+        return values.entrySet().stream()
+                     .filter(value -> value.getKey().startsWith(prefix))
+                     .collect(Collectors.toMap(value -> value.getKey().substring(prefix.length()), Map.Entry::getValue, (a, b) -> b, TreeMap::new));
+    }
+
+    @Override
+    public String toString() {
+        return values.entrySet().stream()
+                     .map(value -> value.getKey() + "=" + value.getValue())
+                     .collect(Collectors.joining(", "));
+    }
+}
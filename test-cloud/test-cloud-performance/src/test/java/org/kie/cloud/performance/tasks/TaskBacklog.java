@@ -0,0 +1,116 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.kie.cloud.performance.tasks;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.kie.cloud.tests.common.load.LoadDriverBuilder;
+import org.kie.cloud.tests.common.load.LoadResult;
+import org.kie.cloud.tests.common.load.UserActions;
+import org.kie.server.client.ProcessServicesClient;
+
+/**
+ * Backlog of open user tasks created by process definition-project.usertask-owners. Every task is owned by one of
+ * <code>taskUsers</code> users named <code>user-&lt;n&gt;</code> and by the KIE server user, because KIE server uses the
+ * authenticated user instead of the user parameter unless KIE_SERVER_BYPASS_AUTH_USER is enabled.
+ */
+public class TaskBacklog {
+
+    public static final String PROCESS_ID = "definition-project.usertask-owners";
+
+    private static final String OWNERS_VARIABLE = "owners";
+
+    private final ProcessServicesClient processClient;
+    private final String containerId;
+    private final String kieServerUser;
+    private final int taskUsers;
+    private final Map<String, Queue<Long>> processInstancesPerUser = new ConcurrentHashMap<>();
+    private final AtomicInteger size = new AtomicInteger();
+    // Owner of the next created task, tasks of all growth steps are spread round robin over the users
+    private int nextOwner;
+
+    public TaskBacklog(ProcessServicesClient processClient, String containerId, String kieServerUser, int taskUsers) {
+        this.processClient = processClient;
+        this.containerId = containerId;
+        this.kieServerUser = kieServerUser;
+        this.taskUsers = taskUsers;
+        for (int user = 0; user < taskUsers; user++) {
+            processInstancesPerUser.put(userName(user), new ConcurrentLinkedQueue<>());
+        }
+    }
+
+    public static String userName(int user) {
+        return "user-" + user;
+    }
+
+    /**
+     * Start process instances until the backlog contains the given number of tasks. Owners continue where the previous growth
+     * stopped, so tasks of all growths are spread evenly over the users.
+     *
+     * @param backlogSize Requested number of open tasks.
+     * @param concurrency Number of process starts in flight.
+     * @return Result of process starts, null if the backlog is already big enough.
+     */
+    public LoadResult growTo(int backlogSize, int concurrency) {
+        int missing = backlogSize - size.get();
+        if (missing <= 0) {
+            return null;
+        }
+        int firstOwner = nextOwner;
+        nextOwner = (firstOwner + missing) % taskUsers;
+        return new LoadDriverBuilder(UserActions.sequence(UserActions.startProcess(processClient, containerId, PROCESS_ID,
+                                                                                   user -> Collections.singletonMap(OWNERS_VARIABLE, owners(firstOwner + user.getId()))),
+                                                          user -> add(userName((firstOwner + user.getId()) % taskUsers), (Long) user.getAttributes().get(UserActions.LAST_PROCESS_INSTANCE_ID))))
+                .withUsers(missing)
+                .withConcurrency(concurrency)
+                .build()
+                .run();
+    }
+
+    /**
+     * @return Process instance of the next open task of the user or null if the user has no open task.
+     */
+    public Long poll(String userName) {
+        Long processInstanceId = processInstancesPerUser.get(userName).poll();
+        if (processInstanceId != null) {
+            size.decrementAndGet();
+        }
+        return processInstanceId;
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    public int getTaskUsers() {
+        return taskUsers;
+    }
+
+    private String owners(int user) {
+        return userName(user % taskUsers) + "," + kieServerUser;
+    }
+
+    private void add(String userName, Long processInstanceId) {
+        processInstancesPerUser.get(userName).add(processInstanceId);
+        size.incrementAndGet();
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.cloud.performance.tasks;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+import org.kie.server.client.ProcessServicesClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TaskBacklogTest {
+
+    private static final int TASK_USERS = 100;
+
+    // Owners of every started process instance
+    private final Map<Long, String> owners = new ConcurrentHashMap<>();
+
+    @Test(timeout = 30_000)
+    public void testUnevenGrowthStepsSpreadTasksEvenly() {
+        TaskBacklog backlog = new TaskBacklog(processClient(), "container", "kieserver", TASK_USERS);
+
+        assertThat(backlog.growTo(1050, 4).getErrors()).isZero();
+        assertThat(backlog.growTo(2100, 4).getErrors()).isZero();
+        assertThat(backlog.size()).isEqualTo(2100);
+
+        for (int user = 0; user < TASK_USERS; user++) {
+            String userName = TaskBacklog.userName(user);
+            int tasks = 0;
+            for (Long processInstanceId = backlog.poll(userName); processInstanceId != null; processInstanceId = backlog.poll(userName)) {
+                assertThat(owners.get(processInstanceId)).isEqualTo(userName + ",kieserver");
+                tasks++;
+            }
+            assertThat(tasks).as("Tasks of %s", userName).isEqualTo(21);
+        }
+    }
+
+    /**
+     * @return Client starting process instances with increasing IDs and remembering their owners.
+     */
+    @SuppressWarnings("unchecked")
+    private ProcessServicesClient processClient() {
+        AtomicLong processInstanceIds = new AtomicLong();
+        return (ProcessServicesClient) Proxy.newProxyInstance(ProcessServicesClient.class.getClassLoader(), new Class<?>[] { ProcessServicesClient.class }, (proxy, method, args) -> {
+            if (!method.getName().equals("startProcess") || args.length != 3) {
+                throw new UnsupportedOperationException(method.getName());
+            }
+            long processInstanceId = processInstanceIds.incrementAndGet();
+            owners.put(processInstanceId, (String) ((Map<String, Object>) args[2]).get("owners"));
+            return processInstanceId;
+        });
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.kie.cloud.performance.tasks;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.kie.cloud.performance.results.PerfResult;
+import org.kie.cloud.tests.common.load.UserAction;
+import org.kie.cloud.tests.common.statistics.Histogram;
+import org.kie.server.api.model.instance.TaskSummary;
+import org.kie.server.client.UserTaskServicesClient;
+
+/**
+ * Claims, starts and completes tasks from a {@link TaskBacklog} and records latency of every step.
+ */
+public class TaskLifecycle {
+
+    private static final List<String> READY_STATUS = Collections.singletonList("Ready");
+
+    private final UserTaskServicesClient taskClient;
+    private final String containerId;
+    private final TaskBacklog backlog;
+
+    private final Histogram find = new Histogram();
+    private final Histogram claim = new Histogram();
+    private final Histogram start = new Histogram();
+    private final Histogram complete = new Histogram();
+
+    public TaskLifecycle(UserTaskServicesClient taskClient, String containerId, TaskBacklog backlog) {
+        this.taskClient = taskClient;
+        this.containerId = containerId;
+        this.backlog = backlog;
+    }
+
+    /**
+     * @return Action processing the next task owned by the simulated user, user ids have to be lower than number of task users
+     * of the backlog. Fails if the user has no open task.
+     */
+    public UserAction processNextTask() {
+        return user -> {
+            String userName = TaskBacklog.userName(user.getId());
+            Long processInstanceId = backlog.poll(userName);
+            if (processInstanceId == null) {
+                throw new IllegalStateException("No open task left for user " + userName);
+            }
+            List<TaskSummary> tasks = measure(find, () -> taskClient.findTasksByStatusByProcessInstanceId(processInstanceId, READY_STATUS, 0, 1));
+            if (tasks.isEmpty()) {
+                throw new IllegalStateException("Task of process instance " + processInstanceId + " isn't ready");
+            }
+            Long taskId = tasks.get(0).getId();
+            measureCall(claim, () -> taskClient.claimTask(containerId, taskId, userName));
+            measureCall(start, () -> taskClient.startTask(containerId, taskId, userName));
+            measureCall(complete, () -> taskClient.completeTask(containerId, taskId, userName, null));
+        };
+    }
+
+    /**
+     * Add latency of every lifecycle step, names are prefixed by <code>prefix.</code>.
+     */
+    public void addTo(PerfResult result, String prefix) {
+        result.addHistogram(prefix + ".find", find, "ms")
+              .addHistogram(prefix + ".claim", claim, "ms")
+              .addHistogram(prefix + ".start", start, "ms")
+              .addHistogram(prefix + ".complete", complete, "ms");
+    }
+
+    @Override
+    public String toString() {
+        return "find [ms]: " + find + ", claim [ms]: " + claim + ", start [ms]: " + start + ", complete [ms]: " + complete;
+    }
+
+    private static <T> T measure(Histogram latency, Supplier<T> call) {
+        long startNanos = System.nanoTime();
+        T result = call.get();
+        latency.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        return result;
+    }
+
+    private static void measureCall(Histogram latency, Runnable call) {
+        measure(latency, () -> {
+            call.run();
+            return null;
+        });
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.cloud.performance.util;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Parsing of comma separated lists used in system properties of performance tests. Values are trimmed, empty values are skipped.
+ */
+public class PropertyUtils {
+
+    private static final String SEPARATOR = ",";
+
+    private PropertyUtils() {
+    }
+
+    public static List<String> getList(String key, String defaultValue) {
+        return parseList(System.getProperty(key, defaultValue));
+    }
+
+    public static <T> List<T> getList(String key, String defaultValue, Function<String, T> parser) {
+        return parseList(System.getProperty(key, defaultValue), parser);
+    }
+
+    public static List<String> parseList(String values) {
+        return parseList(values, Function.identity());
+    }
+
+    public static <T> List<T> parseList(String values, Function<String, T> parser) {
+        return Arrays.stream(values.split(SEPARATOR))
+                     .map(String::trim)
+                     .filter(value -> !value.isEmpty())
+                     .map(parser)
+                     .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.cloud.performance.workload;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.kie.cloud.tests.common.load.UserAction;
+import org.kie.cloud.tests.common.statistics.Histogram;
+
+/**
+ * Count, errors and latency of operations with the same name.
+ */
+public class OperationStatistics {
+
+    private final String name;
+    private final Histogram latency = new Histogram();
+    private final LongAdder count = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+
+    public OperationStatistics(String name) {
+        this.name = name;
+    }
+
+    /**
+     * @return Action recording its execution into these statistics, errors are still propagated to the caller.
+     */
+    public UserAction measure(UserAction action) {
+        return user -> {
+            long startNanos = System.nanoTime();
+            count.increment();
+            try {
+                action.execute(user);
+                latency.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+            } catch (Exception | AssertionError e) {
+                errors.increment();
+                throw e;
+            }
+        };
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    /**
+     * @return Latency of successful operations in milliseconds.
+     */
+    public Histogram getLatency() {
+        return latency;
+    }
+
+    /**
+     * @param metric Metric name as used in {@link WorkloadAssertion}.
+     * @return Value of the metric or null if the metric is not available for an operation.
+     */
+    public Double getMetric(String metric) {
+        switch (metric) {
+            case "iterations":
+                return (double) getCount();
+            case "errors":
+                return (double) getErrors();
+            case "errorRate":
+                return getCount() == 0 ? 0 : (double) getErrors() / getCount();
+            default:
+                return PhaseReport.latencyMetric(latency, metric);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.cloud.performance.workload;
+
+import java.util.stream.Stream;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+
+/**
+ * Types of operations supported in workload definition.
+ */
+public enum OperationType {
+
+    /**
+     * Start process <code>processId</code> with <code>parameters</code>.
+     */
+    START_PROCESS("startProcess"),
+    /**
+     * Complete first task <code>user</code> is potential owner of, with <code>parameters</code> as task output.
+     */
+    COMPLETE_TASK("completeTask"),
+    /**
+     * Send signal <code>signalName</code> with <code>event</code> to the last process instance started by the simulated user.
+     */
+    SIGNAL("signal"),
+    /**
+     * Execute batch command <code>payload</code> (JSON) against the container, typically inserting facts and firing rules.
+     */
+    FIRE_RULES("fireRules"),
+    /**
+     * Run custom query <code>queryName</code> using <code>mapper</code>, or list process instances if no query is defined.
+     */
+    QUERY("query");
+
+    private final String value;
+
+    OperationType(String value) {
+        this.value = value;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    @JsonCreator
+    public static OperationType fromValue(String value) {
+        return Stream.of(values())
+                     .filter(type -> type.value.equals(value))
+                     .findFirst()
+                     .orElseThrow(() -> new IllegalArgumentException("Unknown operation type " + value));
+    }
+}
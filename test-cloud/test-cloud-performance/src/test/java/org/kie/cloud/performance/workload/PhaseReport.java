@@ -0,0 +1,125 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.cloud.performance.workload;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedMap;
+
+import org.kie.cloud.performance.results.Metric;
+import org.kie.cloud.performance.results.PerfResult;
+import org.kie.cloud.tests.common.load.LoadResult;
+import org.kie.cloud.tests.common.statistics.Histogram;
+
+/**
+ * Results of one workload phase together with evaluated assertions.
+ */
+public class PhaseReport {
+
+    private final String phaseName;
+    private final LoadResult loadResult;
+    private final SortedMap<String, OperationStatistics> operations;
+    private final List<String> failedAssertions = new ArrayList<>();
+
+    PhaseReport(String phaseName, LoadResult loadResult, SortedMap<String, OperationStatistics> operations) {
+        this.phaseName = phaseName;
+        this.loadResult = loadResult;
+        this.operations = operations;
+    }
+
+    public String getPhaseName() {
+        return phaseName;
+    }
+
+    public LoadResult getLoadResult() {
+        return loadResult;
+    }
+
+    public SortedMap<String, OperationStatistics> getOperations() {
+        return operations;
+    }
+
+    public List<String> getFailedAssertions() {
+        return failedAssertions;
+    }
+
+    /**
+     * @param metric Metric name as used in {@link WorkloadAssertion}.
+     * @return Value of the phase metric or null if the metric is unknown.
+     */
+    public Double getMetric(String metric) {
+        switch (metric) {
+            case "iterations":
+                return (double) loadResult.getIterations();
+            case "errors":
+                return (double) loadResult.getErrors();
+            case "errorRate":
+                return loadResult.getIterations() == 0 ? 0 : (double) loadResult.getErrors() / loadResult.getIterations();
+            case "throughput":
+                return loadResult.getThroughput();
+            default:
+                return latencyMetric(loadResult.getLatency(), metric);
+        }
+    }
+
+    void evaluate(List<WorkloadAssertion> assertions) {
+        for (WorkloadAssertion assertion : assertions) {
+            Double value;
+            if (assertion.getOperation() == null) {
+                value = getMetric(assertion.getMetric());
+            } else if (operations.containsKey(assertion.getOperation())) {
+                value = operations.get(assertion.getOperation()).getMetric(assertion.getMetric());
+            } else {
+                failedAssertions.add(phaseName + ": " + assertion + " refers to unknown operation");
+                continue;
+            }
+
+            if (value == null) {
+                failedAssertions.add(phaseName + ": " + assertion + " refers to unknown metric");
+            } else if ((assertion.getMin() != null && value < assertion.getMin()) || (assertion.getMax() != null && value > assertion.getMax())) {
+                failedAssertions.add(phaseName + ": " + assertion + " not fulfilled, actual value " + value);
+            }
+        }
+    }
+
+    void addTo(PerfResult result) {
+        String prefix = phaseName + ".";
+        result.addMetric(prefix + "throughput", Metric.higherIsBetter(loadResult.getThroughput(), "1/s"));
+        result.addMetric(prefix + "errors", Metric.lowerIsBetter(loadResult.getErrors(), "count"));
+        result.addHistogram(prefix + "latency", loadResult.getLatency(), "ms");
+        for (OperationStatistics operation : operations.values()) {
+            result.addMetric(prefix + operation.getName() + ".errors", Metric.lowerIsBetter(operation.getErrors(), "count"));
+            result.addHistogram(prefix + operation.getName() + ".latency", operation.getLatency(), "ms");
+        }
+    }
+
+    static Double latencyMetric(Histogram latency, String metric) {
+        switch (metric) {
+            case "latency.mean":
+                return latency.getMean();
+            case "latency.p50":
+                return (double) latency.getValueAtPercentile(50);
+            case "latency.p90":
+                return (double) latency.getValueAtPercentile(90);
+            case "latency.p99":
+                return (double) latency.getValueAtPercentile(99);
+            case "latency.max":
+                return (double) latency.getMax();
+            default:
+                return null;
+        }
+    }
+}
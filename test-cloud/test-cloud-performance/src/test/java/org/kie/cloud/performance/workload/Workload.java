@@ -0,0 +1,122 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.cloud.performance.workload;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+
+/**
+ * Declarative definition of a performance workload, loaded from YAML or JSON file. Phases are executed one after another,
+ * see {@link WorkloadEngine}.
+ *
+ * <pre>
+ * name: timersMixed
+ * target: kieServer
+ * phases:
+ *   - name: steady
+ *     users: 1000
+ *     concurrency: 50
+ *     duration: 5m
+ *     thinkTime: exponential:2s
+ *     operations:
+ *       - type: startProcess
+ *         weight: 4
+ *         processId: timers-testing.OneTimerDate
+ *       - type: query
+ *         weight: 1
+ *     assertions:
+ *       - metric: latency.p99
+ *         max: 2000
+ * </pre>
+ */
+public class Workload {
+
+    // YAML is a superset of JSON, so the same mapper reads both formats
+    private static final ObjectMapper MAPPER = new ObjectMapper(new YAMLFactory());
+
+    private String name;
+    private WorkloadTarget target = WorkloadTarget.KIE_SERVER;
+    private String containerId;
+    private List<WorkloadPhase> phases = new ArrayList<>();
+
+    /**
+     * Load workload from file system path or, if such file doesn't exist, from classpath resource.
+     *
+     * @param location Path to YAML or JSON file.
+     * @return Loaded workload.
+     */
+    public static Workload load(String location) {
+        Path path = Paths.get(location);
+        try {
+            if (Files.isRegularFile(path)) {
+                try (InputStream inputStream = Files.newInputStream(path)) {
+                    return MAPPER.readValue(inputStream, Workload.class);
+                }
+            }
+            try (InputStream inputStream = Workload.class.getResourceAsStream(location)) {
+                if (inputStream == null) {
+                    throw new RuntimeException("Workload definition " + location + " not found neither on file system nor on classpath");
+                }
+                return MAPPER.readValue(inputStream, Workload.class);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Error while loading workload definition " + location, e);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public WorkloadTarget getTarget() {
+        return target;
+    }
+
+    public void setTarget(WorkloadTarget target) {
+        this.target = target;
+    }
+
+    /**
+     * @return Container the operations are executed against, if not defined the engine default is used.
+     */
+    public String getContainerId() {
+        return containerId;
+    }
+
+    public void setContainerId(String containerId) {
+        this.containerId = containerId;
+    }
+
+    public List<WorkloadPhase> getPhases() {
+        return phases;
+    }
+
+    public void setPhases(List<WorkloadPhase> phases) {
+        this.phases = phases;
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.cloud.performance.workload;
+
+/**
+ * Bound of a metric measured in a workload phase.
+ *
+ * Phase metrics: <code>iterations</code>, <code>errors</code>, <code>errorRate</code>, <code>throughput</code> (per second)
+ * and <code>latency.mean</code>, <code>latency.p50</code>, <code>latency.p90</code>, <code>latency.p99</code>, <code>latency.max</code>
+ * (milliseconds). If <code>operation</code> is defined, the metric is taken from operations with that name, throughput isn't
+ * available for single operation.
+ */
+public class WorkloadAssertion {
+
+    private String operation;
+    private String metric;
+    private Double min;
+    private Double max;
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public void setOperation(String operation) {
+        this.operation = operation;
+    }
+
+    public String getMetric() {
+        return metric;
+    }
+
+    public void setMetric(String metric) {
+        this.metric = metric;
+    }
+
+    public Double getMin() {
+        return min;
+    }
+
+    public void setMin(Double min) {
+        this.min = min;
+    }
+
+    public Double getMax() {
+        return max;
+    }
+
+    public void setMax(Double max) {
+        this.max = max;
+    }
+
+    @Override
+    public String toString() {
+        return (operation == null ? "" : operation + ".") + metric + (min == null ? "" : " >= " + min) + (max == null ? "" : " <= " + max);
+    }
+}
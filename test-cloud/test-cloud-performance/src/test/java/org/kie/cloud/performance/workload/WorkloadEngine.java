@@ -0,0 +1,195 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.cloud.performance.workload;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.kie.api.runtime.ExecutionResults;
+import org.kie.cloud.api.deployment.KieServerDeployment;
+import org.kie.cloud.api.deployment.SmartRouterDeployment;
+import org.kie.cloud.common.provider.KieServerClientProvider;
+import org.kie.cloud.tests.common.load.LoadDriver;
+import org.kie.cloud.tests.common.load.LoadDriverBuilder;
+import org.kie.cloud.tests.common.load.LoadResult;
+import org.kie.cloud.tests.common.load.ThinkTime;
+import org.kie.cloud.tests.common.load.UserAction;
+import org.kie.cloud.tests.common.load.UserActions;
+import org.kie.server.api.model.ServiceResponse;
+import org.kie.server.api.model.instance.ProcessInstance;
+import org.kie.server.api.model.instance.TaskInstance;
+import org.kie.server.client.KieServicesClient;
+import org.kie.server.client.ProcessServicesClient;
+import org.kie.server.client.QueryServicesClient;
+import org.kie.server.client.RuleServicesClient;
+import org.kie.server.client.UserTaskServicesClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Executes {@link Workload} against KIE server or smart router. Every phase is run by {@link org.kie.cloud.tests.common.load.LoadDriver},
+ * in each iteration a simulated user picks one operation of the phase randomly according to operation weights.
+ */
+public class WorkloadEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(WorkloadEngine.class);
+
+    private static final long CLIENT_TIMEOUT = Duration.ofMinutes(5).toMillis();
+
+    private final String defaultContainerId;
+    private final ProcessServicesClient processClient;
+    private final UserTaskServicesClient taskClient;
+    private final QueryServicesClient queryClient;
+    private final RuleServicesClient ruleClient;
+    private final List<WorkloadPhaseListener> phaseListeners = new ArrayList<>();
+
+    /**
+     * @param kieServicesClient Client connected to KIE server or smart router.
+     * @param defaultContainerId Container used if workload doesn't define one.
+     */
+    public WorkloadEngine(KieServicesClient kieServicesClient, String defaultContainerId) {
+        this.defaultContainerId = defaultContainerId;
+        this.processClient = kieServicesClient.getServicesClient(ProcessServicesClient.class);
+        this.taskClient = kieServicesClient.getServicesClient(UserTaskServicesClient.class);
+        this.queryClient = kieServicesClient.getServicesClient(QueryServicesClient.class);
+        this.ruleClient = kieServicesClient.getServicesClient(RuleServicesClient.class);
+    }
+
+    public static WorkloadEngine forKieServer(KieServerDeployment kieServerDeployment, String defaultContainerId) {
+        return new WorkloadEngine(KieServerClientProvider.getKieServerClient(kieServerDeployment, CLIENT_TIMEOUT), defaultContainerId);
+    }
+
+    public static WorkloadEngine forSmartRouter(SmartRouterDeployment smartRouterDeployment, String userName, String password, String defaultContainerId) {
+        return new WorkloadEngine(KieServerClientProvider.getSmartRouterClient(smartRouterDeployment, userName, password, CLIENT_TIMEOUT), defaultContainerId);
+    }
+
+    public WorkloadEngine withPhaseListener(WorkloadPhaseListener phaseListener) {
+        phaseListeners.add(phaseListener);
+        return this;
+    }
+
+    /**
+     * Run all phases of the workload one after another and evaluate their assertions.
+     *
+     * @param workload Workload to run.
+     * @return Report of all phases, assertions are evaluated but not enforced.
+     */
+    public WorkloadReport run(Workload workload) {
+        String containerId = workload.getContainerId() != null ? workload.getContainerId() : defaultContainerId;
+        WorkloadReport report = new WorkloadReport(workload.getName());
+        for (WorkloadPhase phase : workload.getPhases()) {
+            report.addPhase(runPhase(phase, containerId));
+        }
+        return report;
+    }
+
+    private PhaseReport runPhase(WorkloadPhase phase, String containerId) {
+        if (phase.getOperations().isEmpty()) {
+            throw new IllegalArgumentException("Workload phase " + phase.getName() + " doesn't define any operation");
+        }
+        logger.info("Running workload phase {}", phase.getName());
+
+        SortedMap<String, OperationStatistics> operations = new TreeMap<>();
+        LoadDriver loadDriver = new LoadDriverBuilder(createMix(phase.getOperations(), operations, containerId))
+                .withUsers(phase.getUsers())
+                .withConcurrency(phase.getConcurrency())
+                .withRampUp(ThinkTime.parseDuration(phase.getRampUp()))
+                .withDuration(ThinkTime.parseDuration(phase.getDuration()))
+                .withIterationsPerUser(phase.getIterationsPerUser())
+                .withThinkTime(ThinkTime.parse(phase.getThinkTime()))
+                .withRate(phase.getRate())
+                .build();
+
+        phaseListeners.forEach(listener -> listener.beforePhase(phase));
+        LoadResult loadResult;
+        try {
+            loadResult = loadDriver.run();
+        } finally {
+            phaseListeners.forEach(listener -> listener.afterPhase(phase));
+        }
+
+        PhaseReport phaseReport = new PhaseReport(phase.getName(), loadResult, operations);
+        phaseReport.evaluate(phase.getAssertions());
+        operations.values().forEach(operation -> logger.info("Operation {} of phase {}: count={}, errors={}, latency [ms]: {}", operation.getName(), phase.getName(),
+                                                             operation.getCount(), operation.getErrors(), operation.getLatency()));
+        phaseReport.getFailedAssertions().forEach(failure -> logger.warn("Workload assertion failed: {}", failure));
+        return phaseReport;
+    }
+
+    private UserAction createMix(List<WorkloadOperation> operations, SortedMap<String, OperationStatistics> statistics, String containerId) {
+        UserAction[] actions = new UserAction[operations.size()];
+        double[] cumulativeWeights = new double[operations.size()];
+        double totalWeight = 0;
+        for (int i = 0; i < operations.size(); i++) {
+            WorkloadOperation operation = operations.get(i);
+            OperationStatistics operationStatistics = statistics.computeIfAbsent(operation.getName(), OperationStatistics::new);
+            actions[i] = operationStatistics.measure(createAction(operation, containerId));
+            totalWeight += operation.getWeight();
+            cumulativeWeights[i] = totalWeight;
+        }
+
+        double weightSum = totalWeight;
+        return user -> {
+            double random = ThreadLocalRandom.current().nextDouble() * weightSum;
+            int index = 0;
+            while (index < cumulativeWeights.length - 1 && random >= cumulativeWeights[index]) {
+                index++;
+            }
+            actions[index].execute(user);
+        };
+    }
+
+    private UserAction createAction(WorkloadOperation operation, String containerId) {
+        switch (operation.getType()) {
+            case START_PROCESS:
+                return UserActions.startProcess(processClient, containerId, operation.getProcessId(), operation.getParameters());
+            case COMPLETE_TASK:
+                return UserActions.completeNextTask(taskClient, containerId, user -> operation.getUser(), operation.getParameters());
+            case SIGNAL:
+                return UserActions.signalLastProcessInstance(processClient, containerId, operation.getSignalName(), operation.getEvent());
+            case FIRE_RULES:
+                return user -> {
+                    ServiceResponse<ExecutionResults> response = ruleClient.executeCommandsWithResults(containerId, operation.getPayload());
+                    if (response.getType() != ServiceResponse.ResponseType.SUCCESS) {
+                        throw new IllegalStateException("Rule execution failed: " + response.getMsg());
+                    }
+                };
+            case QUERY:
+                if (operation.getQueryName() == null) {
+                    return user -> queryClient.findProcessInstances(0, operation.getPageSize());
+                }
+                Class<?> resultType = queryResultType(operation.getMapper());
+                return user -> queryClient.query(operation.getQueryName(), operation.getMapper(), 0, operation.getPageSize(), resultType);
+            default:
+                throw new IllegalArgumentException("Unsupported operation type " + operation.getType());
+        }
+    }
+
+    private static Class<?> queryResultType(String mapper) {
+        if (mapper.startsWith("ProcessInstances")) {
+            return ProcessInstance.class;
+        } else if (mapper.startsWith("UserTasks")) {
+            return TaskInstance.class;
+        } else if (QueryServicesClient.QUERY_MAP_RAW.equals(mapper)) {
+            return List.class;
+        }
+        return Object.class;
+    }
+}
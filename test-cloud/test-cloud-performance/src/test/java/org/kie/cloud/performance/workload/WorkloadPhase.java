@@ -0,0 +1,120 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.cloud.performance.workload;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Phase of a workload, population of simulated users executing a weighted mix of operations.
+ * Durations are defined as a number with unit ms, s or m, think time as described in {@link org.kie.cloud.tests.common.load.ThinkTime#parse(String)}.
+ */
+public class WorkloadPhase {
+
+    private String name;
+    private int users = 1;
+    private int concurrency = 1;
+    private String rampUp = "0s";
+    private String duration = "60m";
+    private long iterationsPerUser = Long.MAX_VALUE;
+    private String thinkTime = "none";
+    private double rate = 0;
+    private List<WorkloadOperation> operations = new ArrayList<>();
+    private List<WorkloadAssertion> assertions = new ArrayList<>();
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public int getUsers() {
+        return users;
+    }
+
+    public void setUsers(int users) {
+        this.users = users;
+    }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    public void setConcurrency(int concurrency) {
+        this.concurrency = concurrency;
+    }
+
+    public String getRampUp() {
+        return rampUp;
+    }
+
+    public void setRampUp(String rampUp) {
+        this.rampUp = rampUp;
+    }
+
+    public String getDuration() {
+        return duration;
+    }
+
+    public void setDuration(String duration) {
+        this.duration = duration;
+    }
+
+    public long getIterationsPerUser() {
+        return iterationsPerUser;
+    }
+
+    public void setIterationsPerUser(long iterationsPerUser) {
+        this.iterationsPerUser = iterationsPerUser;
+    }
+
+    public String getThinkTime() {
+        return thinkTime;
+    }
+
+    public void setThinkTime(String thinkTime) {
+        this.thinkTime = thinkTime;
+    }
+
+    /**
+     * @return Target number of operations per second of all users together, zero means users are limited only by think time.
+     */
+    public double getRate() {
+        return rate;
+    }
+
+    public void setRate(double rate) {
+        this.rate = rate;
+    }
+
+    public List<WorkloadOperation> getOperations() {
+        return operations;
+    }
+
+    public void setOperations(List<WorkloadOperation> operations) {
+        this.operations = operations;
+    }
+
+    public List<WorkloadAssertion> getAssertions() {
+        return assertions;
+    }
+
+    public void setAssertions(List<WorkloadAssertion> assertions) {
+        this.assertions = assertions;
+    }
+}
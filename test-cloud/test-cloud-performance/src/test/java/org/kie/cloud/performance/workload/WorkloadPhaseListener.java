@@ -0,0 +1,33 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+
+package org.kie.cloud.performance.workload;
+
+/**
+ * Callback notified around every phase run by {@link WorkloadEngine}, for example to capture diagnostics of a single phase.
+ */
+public interface WorkloadPhaseListener {
+
+    /**
+     * Called right before load of the phase is started.
+     */
+    default void beforePhase(WorkloadPhase phase) {}
+
+    /**
+     * Called right after load of the phase finished, also if the phase failed.
+     */
+    default void afterPhase(WorkloadPhase phase) {}
+}
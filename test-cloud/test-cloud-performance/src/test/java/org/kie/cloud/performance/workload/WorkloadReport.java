@@ -0,0 +1,63 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.cloud.performance.workload;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.kie.cloud.performance.results.PerfResult;
+
+/**
+ * Results of all phases of a workload.
+ */
+public class WorkloadReport {
+
+    private final String workloadName;
+    private final List<PhaseReport> phases = new ArrayList<>();
+
+    WorkloadReport(String workloadName) {
+        this.workloadName = workloadName;
+    }
+
+    void addPhase(PhaseReport phase) {
+        phases.add(phase);
+    }
+
+    public String getWorkloadName() {
+        return workloadName;
+    }
+
+    public List<PhaseReport> getPhases() {
+        return phases;
+    }
+
+    /**
+     * @return Descriptions of assertions which weren't fulfilled in any phase.
+     */
+    public List<String> getFailedAssertions() {
+        return phases.stream()
+                     .flatMap(phase -> phase.getFailedAssertions().stream())
+                     .collect(Collectors.toList());
+    }
+
+    /**
+     * Add metrics of all phases to the result, metric names are prefixed by phase name.
+     */
+    public void addTo(PerfResult result) {
+        phases.forEach(phase -> phase.addTo(result));
+    }
+}
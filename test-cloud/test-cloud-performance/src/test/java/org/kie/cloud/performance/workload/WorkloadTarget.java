@@ -0,0 +1,47 @@
+/*
+ * Copyright 2020 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.cloud.performance.workload;
+
+import java.util.stream.Stream;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+
+/**
+ * Deployment the workload is executed against.
+ */
+public enum WorkloadTarget {
+
+    KIE_SERVER("kieServer"),
+    SMART_ROUTER("smartRouter");
+
+    private final String value;
+
+    WorkloadTarget(String value) {
+        this.value = value;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    @JsonCreator
+    public static WorkloadTarget fromValue(String value) {
+        return Stream.of(values())
+                     .filter(target -> target.value.equals(value))
+                     .findFirst()
+                     .orElseThrow(() -> new IllegalArgumentException("Unknown workload target " + value));
+    }
+}
@@ -15,7 +15,11 @@
  */
 package org.kie.cloud.api.deployment;
 
-import org.kie.cloud.maven.MavenDeployer;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.stream.Collectors;
+
+import org.kie.cloud.maven.KjarBatchDeployer;
 import org.kie.cloud.tests.common.client.util.Kjar;
 
 public class KjarDeployer {
@@ -33,9 +37,18 @@ public class KjarDeployer {
     }
 
     public void deploy(MavenRepositoryDeployment repositoryDeployment) {
-        // Synchronize on kjar deployment to avoid conflicts
-        synchronized (kjar) {
-            MavenDeployer.buildAndDeployMavenProject(KjarDeployer.class.getResource(KJAR_SOURCES_FOLDER + kjar.getProjectName()).getFile(), repositoryDeployment);
-        }
+        // Batch deployer synchronizes builds of the same kjar to avoid conflicts
+        KjarBatchDeployer.create(Collections.singletonList(getSourcesPath(kjar))).deploy(repositoryDeployment);
+    }
+
+    /**
+     * Build and deploy kjars concurrently.
+     */
+    public static void deployAll(Collection<Kjar> kjars, MavenRepositoryDeployment repositoryDeployment) {
+        KjarBatchDeployer.create(kjars.stream().map(KjarDeployer::getSourcesPath).collect(Collectors.toList())).deploy(repositoryDeployment);
+    }
+
+    private static String getSourcesPath(Kjar kjar) {
+        return KjarDeployer.class.getResource(KJAR_SOURCES_FOLDER + kjar.getProjectName()).getFile();
     }
 }